@@ -0,0 +1,31 @@
+plugins {
+    java
+    id("me.champeau.jmh") version "0.7.3"
+}
+
+description = "JMH benchmarks for fx-rates-java-client"
+
+java {
+    toolchain {
+        languageVersion = JavaLanguageVersion.of(17)
+    }
+}
+
+dependencies {
+    jmh(project(":fx-rates-core"))
+}
+
+jmh {
+    jmhVersion = "1.37"
+    warmupIterations = 3
+    iterations = 5
+    fork = 1
+    benchmarkMode = listOf("thrpt")
+    timeUnit = "ms"
+    profilers = listOf("gc")
+    // The JDK HttpServer stub otherwise adds Nagle/delayed-ACK stalls to every round trip.
+    jvmArgs = listOf("-Dsun.net.httpserver.nodelay=true")
+    resultFormat = "JSON"
+    (findProperty("jmhIncludes") as String?)?.let { includes = listOf(it) }
+    (findProperty("jmhThreadGroups") as String?)?.let { groups -> threadGroups = groups.split(",").map { it.trim().toInt() } }
+}
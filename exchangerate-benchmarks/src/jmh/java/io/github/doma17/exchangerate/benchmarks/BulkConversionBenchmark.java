@@ -0,0 +1,92 @@
+package io.github.doma17.exchangerate.benchmarks;
+
+import io.github.doma17.exchangerate.ExchangeRateApiClient;
+import io.github.doma17.exchangerate.conversion.RateTable;
+import io.github.doma17.exchangerate.model.ExchangeRateSnapshot;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Map;
+import java.util.Random;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Converting a batch of line items: BigDecimal map lookups versus the primitive {@link RateTable}.
+ */
+@State(Scope.Benchmark)
+public class BulkConversionBenchmark {
+
+    @Param({"10000"})
+    public int items;
+
+    private Map<String, BigDecimal> rateMap;
+    private RateTable table;
+    private int eurIndex;
+    private int krwIndex;
+    private BigDecimal[] decimalAmounts;
+    private double[] doubleAmounts;
+    private long[] minorUnitAmounts;
+    private double[] doubleOut;
+    private long[] longOut;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ExchangeRateSnapshot snapshot;
+        try (RecordedPayloadServer server = RecordedPayloadServer.start()) {
+            snapshot = new ExchangeRateApiClient(server.options().build()).getLatestRates("USD");
+        }
+        rateMap = snapshot.conversionRates();
+        table = RateTable.of(snapshot);
+        eurIndex = table.indexOf("EUR");
+        krwIndex = table.indexOf("KRW");
+
+        Random random = new Random(17);
+        decimalAmounts = new BigDecimal[items];
+        doubleAmounts = new double[items];
+        minorUnitAmounts = new long[items];
+        for (int i = 0; i < items; i++) {
+            long cents = 100 + random.nextInt(1_000_000);
+            minorUnitAmounts[i] = cents;
+            doubleAmounts[i] = cents / 100.0;
+            decimalAmounts[i] = BigDecimal.valueOf(cents, 2);
+        }
+        doubleOut = new double[items];
+        longOut = new long[items];
+    }
+
+    /**
+     * EUR to KRW, one rate division and one BigDecimal multiplication per item.
+     */
+    @Benchmark
+    public BigDecimal[] bigDecimalMap() {
+        BigDecimal[] out = new BigDecimal[items];
+        BigDecimal rate = rateMap.get("KRW").divide(rateMap.get("EUR"), MathContext.DECIMAL64);
+        for (int i = 0; i < items; i++) {
+            out[i] = decimalAmounts[i].multiply(rate);
+        }
+        return out;
+    }
+
+    /**
+     * EUR to KRW over the double rates.
+     */
+    @Benchmark
+    public double[] rateTableDouble() {
+        table.convert(doubleAmounts, eurIndex, krwIndex, doubleOut);
+        return doubleOut;
+    }
+
+    /**
+     * Base currency (USD) to KRW in minor units, exact integer arithmetic.
+     */
+    @Benchmark
+    public long[] rateTableFixedPoint() {
+        table.convertScaled(minorUnitAmounts, krwIndex, longOut);
+        return longOut;
+    }
+}
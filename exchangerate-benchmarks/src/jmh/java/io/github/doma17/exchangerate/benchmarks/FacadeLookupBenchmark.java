@@ -0,0 +1,69 @@
+package io.github.doma17.exchangerate.benchmarks;
+
+import io.github.doma17.exchangerate.ExchangeRateApiClient;
+import io.github.doma17.exchangerate.ExchangeRateFacade;
+import io.github.doma17.exchangerate.cache.CachingExchangeRateClient;
+import io.github.doma17.exchangerate.model.CurrencyCode;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Facade lookups. The cached variants isolate code normalization and rate-map lookup from I/O.
+ */
+@State(Scope.Benchmark)
+public class FacadeLookupBenchmark {
+
+    private static final CurrencyCode USD = CurrencyCode.parse("USD");
+    private static final CurrencyCode KRW = CurrencyCode.parse("KRW");
+
+    private RecordedPayloadServer server;
+    private ExchangeRateFacade uncachedFacade;
+    private ExchangeRateFacade cachedFacade;
+    private ExchangeRateFacade crossRateFacade;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        server = RecordedPayloadServer.start();
+        ExchangeRateApiClient client = new ExchangeRateApiClient(server.options().build());
+        // The recorded payload's nextUpdateAt is in the past, so keep entries alive via the minimum TTL.
+        CachingExchangeRateClient cachingClient = CachingExchangeRateClient.builder(client)
+                .minimumTimeToLive(Duration.ofDays(1))
+                .build();
+
+        uncachedFacade = new ExchangeRateFacade(client);
+        cachedFacade = new ExchangeRateFacade(cachingClient);
+        crossRateFacade = new ExchangeRateFacade(cachingClient).withCrossRates("USD");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.close();
+    }
+
+    @Benchmark
+    public BigDecimal uncachedGetRate() {
+        return uncachedFacade.getRate("USD", "KRW");
+    }
+
+    @Benchmark
+    public BigDecimal cachedGetRate() {
+        return cachedFacade.getRate("usd", "krw");
+    }
+
+    @Benchmark
+    public BigDecimal cachedGetRateWithCurrencyCode() {
+        return cachedFacade.getRate(USD, KRW);
+    }
+
+    @Benchmark
+    public BigDecimal crossRateGetRate() {
+        return crossRateFacade.getRate("EUR", "KRW");
+    }
+}
@@ -0,0 +1,156 @@
+package io.github.doma17.exchangerate.benchmarks;
+
+import io.github.doma17.exchangerate.ExchangeRateApiClient;
+import io.github.doma17.exchangerate.cache.RateRegistry;
+import io.github.doma17.exchangerate.model.CurrencyCode;
+import io.github.doma17.exchangerate.model.ExchangeRateSnapshot;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Shared snapshot lookups under contention: readers resolve base snapshots while one writer keeps
+ * republishing them, as a refresh would. Compares {@link RateRegistry} with a
+ * {@code ConcurrentHashMap} and a synchronized {@code HashMap} keyed by code strings.
+ * <p>
+ * Each group defaults to 7 readers and 1 writer; vary the reader count to see read scaling, e.g.
+ * {@code -PjmhThreadGroups=1,1}, {@code 3,1}, {@code 15,1}, {@code 31,1}.
+ */
+@State(Scope.Benchmark)
+public class RateRegistryBenchmark {
+
+    /**
+     * Number of registered base currencies.
+     */
+    @Param({"32"})
+    public int bases;
+
+    /**
+     * CPU work between two writes; lower values mean more frequent refreshes.
+     */
+    @Param({"1000"})
+    public long writeBackoffTokens;
+
+    private String[] baseCodes;
+    private CurrencyCode[] currencyCodes;
+    private ExchangeRateSnapshot[][] versions;
+
+    private RateRegistry registry;
+    private Map<String, ExchangeRateSnapshot> concurrentMap;
+    private Map<String, ExchangeRateSnapshot> synchronizedMap;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Map<String, BigDecimal> rates;
+        try (RecordedPayloadServer server = RecordedPayloadServer.start()) {
+            rates = new ExchangeRateApiClient(server.options().build()).getLatestRates("USD").conversionRates();
+        }
+        baseCodes = rates.keySet().stream().sorted().limit(bases).toArray(String[]::new);
+        currencyCodes = new CurrencyCode[baseCodes.length];
+        versions = new ExchangeRateSnapshot[2][baseCodes.length];
+        for (int i = 0; i < baseCodes.length; i++) {
+            currencyCodes[i] = CurrencyCode.parse(baseCodes[i]);
+            for (int version = 0; version < versions.length; version++) {
+                versions[version][i] = new ExchangeRateSnapshot(
+                        Instant.ofEpochSecond(version),
+                        Instant.ofEpochSecond(version),
+                        baseCodes[i],
+                        rates
+                );
+            }
+        }
+
+        registry = new RateRegistry();
+        concurrentMap = new ConcurrentHashMap<>();
+        synchronizedMap = Collections.synchronizedMap(new HashMap<>());
+        for (ExchangeRateSnapshot snapshot : versions[0]) {
+            registry.put(snapshot);
+            concurrentMap.put(snapshot.baseCode(), snapshot);
+            synchronizedMap.put(snapshot.baseCode(), snapshot);
+        }
+    }
+
+    @Benchmark
+    @Group("registry")
+    @GroupThreads(7)
+    public ExchangeRateSnapshot registryRead(Cursor cursor) {
+        return registry.get(currencyCodes[cursor.next(currencyCodes.length)]);
+    }
+
+    @Benchmark
+    @Group("registry")
+    @GroupThreads(1)
+    public ExchangeRateSnapshot registryWrite(Cursor cursor) {
+        Blackhole.consumeCPU(writeBackoffTokens);
+        int index = cursor.next(baseCodes.length);
+        return registry.put(versions[cursor.version()][index]);
+    }
+
+    @Benchmark
+    @Group("concurrentMap")
+    @GroupThreads(7)
+    public ExchangeRateSnapshot concurrentMapRead(Cursor cursor) {
+        return concurrentMap.get(baseCodes[cursor.next(baseCodes.length)]);
+    }
+
+    @Benchmark
+    @Group("concurrentMap")
+    @GroupThreads(1)
+    public ExchangeRateSnapshot concurrentMapWrite(Cursor cursor) {
+        Blackhole.consumeCPU(writeBackoffTokens);
+        int index = cursor.next(baseCodes.length);
+        return concurrentMap.put(baseCodes[index], versions[cursor.version()][index]);
+    }
+
+    @Benchmark
+    @Group("synchronizedMap")
+    @GroupThreads(7)
+    public ExchangeRateSnapshot synchronizedMapRead(Cursor cursor) {
+        return synchronizedMap.get(baseCodes[cursor.next(baseCodes.length)]);
+    }
+
+    @Benchmark
+    @Group("synchronizedMap")
+    @GroupThreads(1)
+    public ExchangeRateSnapshot synchronizedMapWrite(Cursor cursor) {
+        Blackhole.consumeCPU(writeBackoffTokens);
+        int index = cursor.next(baseCodes.length);
+        return synchronizedMap.put(baseCodes[index], versions[cursor.version()][index]);
+    }
+
+    /**
+     * Per-thread position in the base code rotation, so threads do not share a counter.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int position;
+        private int version;
+
+        int next(int length) {
+            position++;
+            if (position == length) {
+                position = 0;
+                version ^= 1;
+            }
+            return position;
+        }
+
+        int version() {
+            return version;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package io.github.doma17.exchangerate.benchmarks;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.doma17.exchangerate.ExchangeRateApiOptions;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * In-process ExchangeRate-API stand-in that replays recorded payloads from {@code payloads/}.
+ */
+final class RecordedPayloadServer implements AutoCloseable {
+
+    static final String API_KEY = "bench-key";
+
+    private static final byte[] NOT_FOUND =
+            "{\"result\":\"error\",\"error-type\":\"malformed-request\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, byte[]> payloads;
+
+    private RecordedPayloadServer(Map<String, byte[]> payloads) throws IOException {
+        this.payloads = payloads;
+        this.executor = Executors.newFixedThreadPool(4);
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.server.createContext("/", this::handle);
+        this.server.setExecutor(executor);
+        this.server.start();
+    }
+
+    /**
+     * Starts a server answering {@code latest/USD}, {@code history/USD/2025/12/31} and {@code pair/USD/KRW}.
+     */
+    static RecordedPayloadServer start() throws IOException {
+        String prefix = "/v6/" + API_KEY + "/";
+        return new RecordedPayloadServer(Map.of(
+                prefix + "latest/USD", load("latest-USD.json"),
+                prefix + "history/USD/2025/12/31", load("history-USD.json"),
+                prefix + "pair/USD/KRW", load("pair-USD-KRW.json")
+        ));
+    }
+
+    static byte[] load(String name) {
+        try (InputStream in = RecordedPayloadServer.class.getResourceAsStream("/payloads/" + name)) {
+            if (in == null) {
+                throw new IllegalStateException("missing payload " + name);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    ExchangeRateApiOptions.Builder options() {
+        return ExchangeRateApiOptions.builder(API_KEY)
+                .baseUri(URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/v6"));
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        byte[] payload = payloads.get(exchange.getRequestURI().getPath());
+        int status = payload == null ? 404 : 200;
+        byte[] body = payload == null ? NOT_FOUND : payload;
+
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+}
@@ -0,0 +1,59 @@
+package io.github.doma17.exchangerate.benchmarks;
+
+import io.github.doma17.exchangerate.ExchangeRateApiClient;
+import io.github.doma17.exchangerate.model.ExchangeRateSnapshot;
+import io.github.doma17.exchangerate.model.HistoricalRates;
+import io.github.doma17.exchangerate.model.PairRate;
+import java.io.IOException;
+import java.time.LocalDate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * End-to-end client calls (request building, HTTP round trip, decoding) against recorded payloads.
+ * <p>
+ * Compare {@code streamingParser=false} (JsonNode tree) with {@code true} (single-pass parser),
+ * ideally with {@code -prof gc} to see allocation per call.
+ */
+@State(Scope.Benchmark)
+public class ResponseParsingBenchmark {
+
+    private static final LocalDate HISTORY_DATE = LocalDate.of(2025, 12, 31);
+
+    @Param({"false", "true"})
+    public boolean streamingParser;
+
+    private RecordedPayloadServer server;
+    private ExchangeRateApiClient client;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        server = RecordedPayloadServer.start();
+        client = new ExchangeRateApiClient(server.options().streamingParser(streamingParser).build());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.close();
+    }
+
+    @Benchmark
+    public ExchangeRateSnapshot latest() {
+        return client.getLatestRates("USD");
+    }
+
+    @Benchmark
+    public HistoricalRates history() {
+        return client.getHistoricalRates("USD", HISTORY_DATE);
+    }
+
+    @Benchmark
+    public PairRate pair() {
+        return client.getPairRate("USD", "KRW");
+    }
+}
@@ -0,0 +1,107 @@
+package io.github.doma17.exchangerate.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.doma17.exchangerate.ExchangeRateApiClient;
+import io.github.doma17.exchangerate.codec.RateCodec;
+import io.github.doma17.exchangerate.codec.SnapshotView;
+import io.github.doma17.exchangerate.model.ExchangeRateSnapshot;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Re-encoding a latest snapshot for other services: Jackson JSON in the API's response shape
+ * versus {@link RateCodec} frames, plus a single in-place lookup through {@link SnapshotView}.
+ */
+@State(Scope.Benchmark)
+public class SnapshotCodecBenchmark {
+
+    private static final TypeReference<Map<String, Object>> JSON_OBJECT = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+
+    private ExchangeRateSnapshot snapshot;
+    private ExchangeRateSnapshot previous;
+    private byte[] json;
+    private byte[] frame;
+    private byte[] delta;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        try (RecordedPayloadServer server = RecordedPayloadServer.start()) {
+            snapshot = new ExchangeRateApiClient(server.options().build()).getLatestRates("USD");
+        }
+        Map<String, BigDecimal> previousRates = new LinkedHashMap<>(snapshot.conversionRates());
+        previousRates.replaceAll((code, rate) -> code.compareTo("M") < 0 ? rate.add(BigDecimal.ONE) : rate);
+        previous = new ExchangeRateSnapshot(Instant.EPOCH, snapshot.lastUpdatedAt(), snapshot.baseCode(), previousRates);
+
+        json = encodeJson();
+        frame = RateCodec.encode(snapshot);
+        delta = RateCodec.encodeDelta(previous, snapshot);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("time_last_update_unix", snapshot.lastUpdatedAt().getEpochSecond());
+        body.put("time_next_update_unix", snapshot.nextUpdateAt().getEpochSecond());
+        body.put("base_code", snapshot.baseCode());
+        body.put("conversion_rates", snapshot.conversionRates());
+        return objectMapper.writeValueAsBytes(body);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public ExchangeRateSnapshot decodeJson() throws IOException {
+        Map<String, Object> body = objectMapper.readValue(json, JSON_OBJECT);
+        Map<String, BigDecimal> rates = new LinkedHashMap<>();
+        ((Map<String, Object>) body.get("conversion_rates")).forEach((code, rate) ->
+                rates.put(code, rate instanceof BigDecimal decimal ? decimal : new BigDecimal(rate.toString())));
+        return new ExchangeRateSnapshot(
+                Instant.ofEpochSecond(((Number) body.get("time_last_update_unix")).longValue()),
+                Instant.ofEpochSecond(((Number) body.get("time_next_update_unix")).longValue()),
+                (String) body.get("base_code"),
+                rates
+        );
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() {
+        return RateCodec.encode(snapshot);
+    }
+
+    @Benchmark
+    public ExchangeRateSnapshot decodeBinary() {
+        return RateCodec.decodeSnapshot(ByteBuffer.wrap(frame));
+    }
+
+    @Benchmark
+    public byte[] encodeBinaryDelta() {
+        return RateCodec.encodeDelta(previous, snapshot);
+    }
+
+    @Benchmark
+    public ExchangeRateSnapshot applyBinaryDelta() {
+        return RateCodec.applyDelta(previous, ByteBuffer.wrap(delta));
+    }
+
+    /**
+     * One rate read from the encoded frame, without decoding the rest.
+     */
+    @Benchmark
+    public BigDecimal viewLookup() {
+        return SnapshotView.of(ByteBuffer.wrap(frame)).rate("KRW");
+    }
+}
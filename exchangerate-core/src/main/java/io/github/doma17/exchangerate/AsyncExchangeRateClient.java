@@ -0,0 +1,116 @@
+package io.github.doma17.exchangerate;
+
+import io.github.doma17.exchangerate.model.EnrichedRate;
+import io.github.doma17.exchangerate.model.ExchangeRateSnapshot;
+import io.github.doma17.exchangerate.model.HistoricalRates;
+import io.github.doma17.exchangerate.model.PairRate;
+import io.github.doma17.exchangerate.model.QuotaStatus;
+import io.github.doma17.exchangerate.model.SupportedCurrency;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Non-blocking contract for calling ExchangeRate-API endpoints.
+ * <p>
+ * Mirrors {@link ExchangeRateClient}; returned futures complete exceptionally with the same
+ * exception types the blocking methods throw.
+ */
+public interface AsyncExchangeRateClient {
+
+    /**
+     * Returns the latest rates for all supported currencies against the given base currency.
+     *
+     * @param baseCode base ISO-4217 code (for example {@code USD})
+     * @return future of the latest snapshot for the base currency
+     */
+    CompletableFuture<ExchangeRateSnapshot> getLatestRatesAsync(String baseCode);
+
+    /**
+     * Returns the latest conversion rate between two currencies.
+     *
+     * @param baseCode base ISO-4217 code
+     * @param targetCode target ISO-4217 code
+     * @return future of the latest pair rate
+     */
+    CompletableFuture<PairRate> getPairRateAsync(String baseCode, String targetCode);
+
+    /**
+     * Converts an amount using the latest pair rate.
+     *
+     * @param baseCode base ISO-4217 code
+     * @param targetCode target ISO-4217 code
+     * @param amount amount to convert
+     * @return future of the pair rate including conversion result
+     */
+    CompletableFuture<PairRate> convertPairAmountAsync(String baseCode, String targetCode, BigDecimal amount);
+
+    /**
+     * Returns historical rates for all available currencies at a specific date.
+     *
+     * @param baseCode base ISO-4217 code
+     * @param date date to query
+     * @return future of the historical rates snapshot
+     */
+    CompletableFuture<HistoricalRates> getHistoricalRatesAsync(String baseCode, LocalDate date);
+
+    /**
+     * Converts an amount to all available currencies for a specific historical date.
+     *
+     * @param baseCode base ISO-4217 code
+     * @param date date to query
+     * @param amount amount to convert
+     * @return future of the historical conversion amounts response
+     */
+    CompletableFuture<HistoricalRates> getHistoricalConvertedAmountsAsync(String baseCode, LocalDate date, BigDecimal amount);
+
+    /**
+     * Returns the API quota status for the current account.
+     *
+     * @return future of the quota metadata
+     */
+    CompletableFuture<QuotaStatus> getQuotaStatusAsync();
+
+    /**
+     * Returns the list of currently supported currency codes.
+     *
+     * @return future of the supported currency codes and display names
+     */
+    CompletableFuture<List<SupportedCurrency>> getSupportedCurrenciesAsync();
+
+    /**
+     * Returns enriched conversion data between two currencies.
+     *
+     * @param baseCode base ISO-4217 code
+     * @param targetCode target ISO-4217 code
+     * @return future of the enriched pair rate metadata
+     */
+    CompletableFuture<EnrichedRate> getEnrichedRateAsync(String baseCode, String targetCode);
+
+    /**
+     * Adapts a blocking client by running each call on a dedicated executor shared by the library:
+     * virtual threads when the JDK provides them, otherwise a bounded pool of daemon threads.
+     * The common fork-join pool is never used for blocking calls.
+     *
+     * @param client blocking client
+     * @return asynchronous view of the client
+     */
+    static AsyncExchangeRateClient fromBlocking(ExchangeRateClient client) {
+        return new BlockingAsyncExchangeRateClient(client, BlockingAsyncExchangeRateClient.defaultExecutor());
+    }
+
+    /**
+     * Adapts a blocking client by running each call on the given executor.
+     * <p>
+     * Useful for decorators such as caches that only implement {@link ExchangeRateClient}.
+     *
+     * @param client blocking client
+     * @param executor executor that runs the blocking calls
+     * @return asynchronous view of the client
+     */
+    static AsyncExchangeRateClient fromBlocking(ExchangeRateClient client, Executor executor) {
+        return new BlockingAsyncExchangeRateClient(client, executor);
+    }
+}
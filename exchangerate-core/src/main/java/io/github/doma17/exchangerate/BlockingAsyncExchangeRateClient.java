@@ -0,0 +1,92 @@
+package io.github.doma17.exchangerate;
+
+import io.github.doma17.exchangerate.model.EnrichedRate;
+import io.github.doma17.exchangerate.model.ExchangeRateSnapshot;
+import io.github.doma17.exchangerate.model.HistoricalRates;
+import io.github.doma17.exchangerate.model.PairRate;
+import io.github.doma17.exchangerate.model.QuotaStatus;
+import io.github.doma17.exchangerate.model.SupportedCurrency;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * {@link AsyncExchangeRateClient} that offloads a blocking client to an executor.
+ */
+final class BlockingAsyncExchangeRateClient implements AsyncExchangeRateClient {
+
+    private static final int MAX_BLOCKING_THREADS = 64;
+
+    private final ExchangeRateClient client;
+    private final Executor executor;
+
+    BlockingAsyncExchangeRateClient(ExchangeRateClient client, Executor executor) {
+        this.client = Objects.requireNonNull(client, "client");
+        this.executor = Objects.requireNonNull(executor, "executor");
+    }
+
+    /**
+     * Returns the executor shared by clients adapted without an explicit one: virtual threads when
+     * the JDK provides them, otherwise a bounded pool of daemon threads that time out when idle.
+     * Blocking HTTP calls never occupy the common fork-join pool.
+     */
+    static Executor defaultExecutor() {
+        return DefaultExecutorHolder.EXECUTOR;
+    }
+
+    private static final class DefaultExecutorHolder {
+
+        private static final Executor EXECUTOR = create();
+
+        private static Executor create() {
+            Executor virtualThreads = ExchangeRateApiClient.virtualThreadExecutor();
+            if (virtualThreads != null) {
+                return virtualThreads;
+            }
+            return DaemonThreadFactory.pool("exchangerate-blocking", MAX_BLOCKING_THREADS);
+        }
+    }
+
+    @Override
+    public CompletableFuture<ExchangeRateSnapshot> getLatestRatesAsync(String baseCode) {
+        return CompletableFuture.supplyAsync(() -> client.getLatestRates(baseCode), executor);
+    }
+
+    @Override
+    public CompletableFuture<PairRate> getPairRateAsync(String baseCode, String targetCode) {
+        return CompletableFuture.supplyAsync(() -> client.getPairRate(baseCode, targetCode), executor);
+    }
+
+    @Override
+    public CompletableFuture<PairRate> convertPairAmountAsync(String baseCode, String targetCode, BigDecimal amount) {
+        return CompletableFuture.supplyAsync(() -> client.convertPairAmount(baseCode, targetCode, amount), executor);
+    }
+
+    @Override
+    public CompletableFuture<HistoricalRates> getHistoricalRatesAsync(String baseCode, LocalDate date) {
+        return CompletableFuture.supplyAsync(() -> client.getHistoricalRates(baseCode, date), executor);
+    }
+
+    @Override
+    public CompletableFuture<HistoricalRates> getHistoricalConvertedAmountsAsync(String baseCode, LocalDate date, BigDecimal amount) {
+        return CompletableFuture.supplyAsync(() -> client.getHistoricalConvertedAmounts(baseCode, date, amount), executor);
+    }
+
+    @Override
+    public CompletableFuture<QuotaStatus> getQuotaStatusAsync() {
+        return CompletableFuture.supplyAsync(client::getQuotaStatus, executor);
+    }
+
+    @Override
+    public CompletableFuture<List<SupportedCurrency>> getSupportedCurrenciesAsync() {
+        return CompletableFuture.supplyAsync(client::getSupportedCurrencies, executor);
+    }
+
+    @Override
+    public CompletableFuture<EnrichedRate> getEnrichedRateAsync(String baseCode, String targetCode) {
+        return CompletableFuture.supplyAsync(() -> client.getEnrichedRate(baseCode, targetCode), executor);
+    }
+}
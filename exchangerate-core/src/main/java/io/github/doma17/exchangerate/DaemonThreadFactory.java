@@ -0,0 +1,53 @@
+package io.github.doma17.exchangerate;
+
+import java.util.Objects;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link ThreadFactory} behind the library's default executors: daemon threads named
+ * {@code <prefix>-<n>}, so background work never keeps the JVM alive.
+ */
+public final class DaemonThreadFactory implements ThreadFactory {
+
+    private static final long IDLE_TIMEOUT_SECONDS = 60;
+
+    private final String prefix;
+    private final AtomicInteger counter = new AtomicInteger();
+
+    /**
+     * Creates a factory naming its threads after a prefix.
+     *
+     * @param prefix thread name prefix, for example {@code exchangerate-refresh}
+     */
+    public DaemonThreadFactory(String prefix) {
+        this.prefix = Objects.requireNonNull(prefix, "prefix");
+    }
+
+    /**
+     * Creates a pool of up to {@code threads} daemon threads that exit after a minute without work.
+     * Tasks beyond the running threads wait in an unbounded queue.
+     *
+     * @param prefix thread name prefix
+     * @param threads maximum number of threads
+     * @return new pool, which starts no thread until the first task
+     */
+    public static ThreadPoolExecutor pool(String prefix, int threads) {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                threads, threads, IDLE_TIMEOUT_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                new DaemonThreadFactory(prefix)
+        );
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    @Override
+    public Thread newThread(Runnable task) {
+        Thread thread = new Thread(task, prefix + "-" + counter.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    }
+}
@@ -1,5 +1,7 @@
 package io.github.doma17.exchangerate;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.json.JsonMapper;
@@ -7,6 +9,8 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import io.github.doma17.exchangerate.exception.ExchangeRateApiErrorType;
 import io.github.doma17.exchangerate.exception.ExchangeRateApiException;
 import io.github.doma17.exchangerate.exception.ExchangeRateClientException;
+import io.github.doma17.exchangerate.exception.ExchangeRateException;
+import io.github.doma17.exchangerate.model.CurrencyCode;
 import io.github.doma17.exchangerate.model.EnrichedRate;
 import io.github.doma17.exchangerate.model.ExchangeRateSnapshot;
 import io.github.doma17.exchangerate.model.HistoricalRates;
@@ -14,7 +18,10 @@ import io.github.doma17.exchangerate.model.PairRate;
 import io.github.doma17.exchangerate.model.QuotaStatus;
 import io.github.doma17.exchangerate.model.SupportedCurrency;
 import io.github.doma17.exchangerate.model.TargetCurrencyMetadata;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.net.URI;
 import java.net.URLEncoder;
@@ -22,19 +29,35 @@ import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
 
 /**
  * HTTP client for ExchangeRate-API v6.
+ * <p>
+ * Blocking calls use {@link HttpClient#send}; the {@link AsyncExchangeRateClient} methods use
+ * {@link HttpClient#sendAsync} and complete on the HTTP client's executor. Failed calls are retried,
+ * and slow calls hedged, as configured by {@link ExchangeRateApiOptions#retryPolicy()}.
  */
-public class ExchangeRateApiClient implements ExchangeRateClient {
+public class ExchangeRateApiClient implements ExchangeRateClient, AsyncExchangeRateClient {
 
     private static final String RESULT_SUCCESS = "success";
 
@@ -71,9 +94,7 @@ public class ExchangeRateApiClient implements ExchangeRateClient {
         this.options = Objects.requireNonNull(options, "options");
         this.httpClient = httpClient != null
                 ? httpClient
-                : HttpClient.newBuilder()
-                        .connectTimeout(options.connectTimeout())
-                        .build();
+                : newHttpClient(options);
         this.objectMapper = objectMapper != null
                 ? objectMapper
                 : JsonMapper.builder()
@@ -81,68 +102,219 @@ public class ExchangeRateApiClient implements ExchangeRateClient {
                         .build();
     }
 
+    private static HttpClient newHttpClient(ExchangeRateApiOptions options) {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(options.httpVersion())
+                .connectTimeout(options.connectTimeout());
+        Executor executor = options.executor();
+        if (executor == null && options.virtualThreads()) {
+            executor = virtualThreadExecutor();
+        }
+        if (executor != null) {
+            builder.executor(executor);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Looks up {@code Executors.newVirtualThreadPerTaskExecutor()} reflectively so the client keeps
+     * running on JDK 17, where it returns {@code null}.
+     */
+    static Executor virtualThreadExecutor() {
+        try {
+            return (Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Opens a connection to the API host ahead of the first call, so that call does not pay for
+     * the TCP and TLS handshakes. Sends a {@code HEAD} request for the base URI, which carries no
+     * API key and does not count against the quota; the response status is ignored.
+     *
+     * @return future completing once the host has answered, or exceptionally with
+     *         {@link ExchangeRateClientException} when it cannot be reached
+     */
+    public CompletableFuture<Void> warmUp() {
+        URI uri = options.baseUri();
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                .timeout(options.readTimeout())
+                .build();
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    if (error == null) {
+                        result.complete(null);
+                        return;
+                    }
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause()
+                            : error;
+                    result.completeExceptionally(new ExchangeRateClientException("Unable to connect to " + uri, cause));
+                });
+        return result;
+    }
+
     @Override
     public ExchangeRateSnapshot getLatestRates(String baseCode) {
-        JsonNode root = request("latest", normalizeCode(baseCode));
-        return new ExchangeRateSnapshot(
-                toInstant(root.path("time_last_update_unix")),
-                toInstant(root.path("time_next_update_unix")),
-                normalizeCode(root.path("base_code").asText()),
-                toRateMap(root.path("conversion_rates"))
-        );
+        String[] segments = {"latest", normalizeCode(baseCode)};
+        if (options.streamingParser()) {
+            return requestStreaming(StreamingResponseDecoder::readSnapshot, segments);
+        }
+        return toSnapshot(request(segments));
     }
 
     @Override
     public PairRate getPairRate(String baseCode, String targetCode) {
-        JsonNode root = request("pair", normalizeCode(baseCode), normalizeCode(targetCode));
-        return toPairRate(root);
+        return toPairRate(request("pair", normalizeCode(baseCode), normalizeCode(targetCode)));
     }
 
     @Override
     public PairRate convertPairAmount(String baseCode, String targetCode, BigDecimal amount) {
+        return toPairRate(request(convertPairAmountSegments(baseCode, targetCode, amount)));
+    }
+
+    @Override
+    public HistoricalRates getHistoricalRates(String baseCode, LocalDate date) {
+        String[] segments = historicalSegments(baseCode, date);
+        if (options.streamingParser()) {
+            return requestStreaming(StreamingResponseDecoder::readHistoricalRates, segments);
+        }
+        return toHistoricalRates(request(segments));
+    }
+
+    @Override
+    public HistoricalRates getHistoricalConvertedAmounts(String baseCode, LocalDate date, BigDecimal amount) {
+        String[] segments = historicalAmountSegments(baseCode, date, amount);
+        if (options.streamingParser()) {
+            return requestStreaming(StreamingResponseDecoder::readHistoricalAmounts, segments);
+        }
+        return toHistoricalAmounts(request(segments));
+    }
+
+    @Override
+    public QuotaStatus getQuotaStatus() {
+        return toQuotaStatus(request("quota"));
+    }
+
+    @Override
+    public List<SupportedCurrency> getSupportedCurrencies() {
+        return toSupportedCurrencies(request("codes"));
+    }
+
+    @Override
+    public EnrichedRate getEnrichedRate(String baseCode, String targetCode) {
+        return toEnrichedRate(request("enriched", normalizeCode(baseCode), normalizeCode(targetCode)));
+    }
+
+    @Override
+    public CompletableFuture<ExchangeRateSnapshot> getLatestRatesAsync(String baseCode) {
+        String[] segments = {"latest", normalizeCode(baseCode)};
+        if (options.streamingParser()) {
+            return requestStreamingAsync(StreamingResponseDecoder::readSnapshot, segments);
+        }
+        return requestAsync(ExchangeRateApiClient::toSnapshot, segments);
+    }
+
+    @Override
+    public CompletableFuture<PairRate> getPairRateAsync(String baseCode, String targetCode) {
+        return requestAsync(ExchangeRateApiClient::toPairRate, "pair", normalizeCode(baseCode), normalizeCode(targetCode));
+    }
+
+    @Override
+    public CompletableFuture<PairRate> convertPairAmountAsync(String baseCode, String targetCode, BigDecimal amount) {
+        return requestAsync(ExchangeRateApiClient::toPairRate, convertPairAmountSegments(baseCode, targetCode, amount));
+    }
+
+    @Override
+    public CompletableFuture<HistoricalRates> getHistoricalRatesAsync(String baseCode, LocalDate date) {
+        String[] segments = historicalSegments(baseCode, date);
+        if (options.streamingParser()) {
+            return requestStreamingAsync(StreamingResponseDecoder::readHistoricalRates, segments);
+        }
+        return requestAsync(ExchangeRateApiClient::toHistoricalRates, segments);
+    }
+
+    @Override
+    public CompletableFuture<HistoricalRates> getHistoricalConvertedAmountsAsync(String baseCode, LocalDate date, BigDecimal amount) {
+        String[] segments = historicalAmountSegments(baseCode, date, amount);
+        if (options.streamingParser()) {
+            return requestStreamingAsync(StreamingResponseDecoder::readHistoricalAmounts, segments);
+        }
+        return requestAsync(ExchangeRateApiClient::toHistoricalAmounts, segments);
+    }
+
+    @Override
+    public CompletableFuture<QuotaStatus> getQuotaStatusAsync() {
+        return requestAsync(ExchangeRateApiClient::toQuotaStatus, "quota");
+    }
+
+    @Override
+    public CompletableFuture<List<SupportedCurrency>> getSupportedCurrenciesAsync() {
+        return requestAsync(ExchangeRateApiClient::toSupportedCurrencies, "codes");
+    }
+
+    @Override
+    public CompletableFuture<EnrichedRate> getEnrichedRateAsync(String baseCode, String targetCode) {
+        return requestAsync(ExchangeRateApiClient::toEnrichedRate, "enriched", normalizeCode(baseCode), normalizeCode(targetCode));
+    }
+
+    private static String[] convertPairAmountSegments(String baseCode, String targetCode, BigDecimal amount) {
         Objects.requireNonNull(amount, "amount");
-        JsonNode root = request(
+        return new String[] {
                 "pair",
                 normalizeCode(baseCode),
                 normalizeCode(targetCode),
                 amount.stripTrailingZeros().toPlainString()
-        );
-        return toPairRate(root);
+        };
     }
 
-    @Override
-    public HistoricalRates getHistoricalRates(String baseCode, LocalDate date) {
+    private static String[] historicalSegments(String baseCode, LocalDate date) {
         Objects.requireNonNull(date, "date");
-        JsonNode root = request(
+        return new String[] {
                 "history",
                 normalizeCode(baseCode),
                 String.valueOf(date.getYear()),
                 String.valueOf(date.getMonthValue()),
                 String.valueOf(date.getDayOfMonth())
-        );
-
-        return new HistoricalRates(
-                toLocalDate(root),
-                normalizeCode(root.path("base_code").asText()),
-                toRateMap(root.path("conversion_rates")),
-                null,
-                Map.of()
-        );
+        };
     }
 
-    @Override
-    public HistoricalRates getHistoricalConvertedAmounts(String baseCode, LocalDate date, BigDecimal amount) {
+    private static String[] historicalAmountSegments(String baseCode, LocalDate date, BigDecimal amount) {
         Objects.requireNonNull(date, "date");
         Objects.requireNonNull(amount, "amount");
-        JsonNode root = request(
+        return new String[] {
                 "history",
                 normalizeCode(baseCode),
                 String.valueOf(date.getYear()),
                 String.valueOf(date.getMonthValue()),
                 String.valueOf(date.getDayOfMonth()),
                 amount.stripTrailingZeros().toPlainString()
+        };
+    }
+
+    private static ExchangeRateSnapshot toSnapshot(JsonNode root) {
+        return new ExchangeRateSnapshot(
+                toInstant(root.path("time_last_update_unix")),
+                toInstant(root.path("time_next_update_unix")),
+                normalizeCode(root.path("base_code").asText()),
+                toRateMap(root.path("conversion_rates"))
         );
+    }
 
+    private static HistoricalRates toHistoricalRates(JsonNode root) {
+        return new HistoricalRates(
+                toLocalDate(root),
+                normalizeCode(root.path("base_code").asText()),
+                toRateMap(root.path("conversion_rates")),
+                null,
+                Map.of()
+        );
+    }
+
+    private static HistoricalRates toHistoricalAmounts(JsonNode root) {
         return new HistoricalRates(
                 toLocalDate(root),
                 normalizeCode(root.path("base_code").asText()),
@@ -152,9 +324,7 @@ public class ExchangeRateApiClient implements ExchangeRateClient {
         );
     }
 
-    @Override
-    public QuotaStatus getQuotaStatus() {
-        JsonNode root = request("quota");
+    private static QuotaStatus toQuotaStatus(JsonNode root) {
         return new QuotaStatus(
                 root.path("plan_quota").asInt(),
                 root.path("requests_remaining").asInt(),
@@ -162,9 +332,7 @@ public class ExchangeRateApiClient implements ExchangeRateClient {
         );
     }
 
-    @Override
-    public List<SupportedCurrency> getSupportedCurrencies() {
-        JsonNode root = request("codes");
+    private static List<SupportedCurrency> toSupportedCurrencies(JsonNode root) {
         JsonNode supportedCodes = root.path("supported_codes");
         if (!supportedCodes.isArray()) {
             return List.of();
@@ -179,10 +347,7 @@ public class ExchangeRateApiClient implements ExchangeRateClient {
         return List.copyOf(currencies);
     }
 
-    @Override
-    public EnrichedRate getEnrichedRate(String baseCode, String targetCode) {
-        JsonNode root = request("enriched", normalizeCode(baseCode), normalizeCode(targetCode));
-
+    private static EnrichedRate toEnrichedRate(JsonNode root) {
         JsonNode targetData = root.path("target_data");
         TargetCurrencyMetadata metadata = new TargetCurrencyMetadata(
                 targetData.path("locale").asText(),
@@ -203,7 +368,7 @@ public class ExchangeRateApiClient implements ExchangeRateClient {
         );
     }
 
-    private PairRate toPairRate(JsonNode root) {
+    private static PairRate toPairRate(JsonNode root) {
         return new PairRate(
                 toInstant(root.path("time_last_update_unix")),
                 toInstant(root.path("time_next_update_unix")),
@@ -215,18 +380,184 @@ public class ExchangeRateApiClient implements ExchangeRateClient {
     }
 
     private JsonNode request(String... endpointSegments) {
+        return send(
+                HttpResponse.BodyHandlers.ofByteArray(),
+                (response, uri) -> readResponse(endpointSegments[0], response, uri),
+                endpointSegments
+        );
+    }
+
+    /**
+     * Maps the body inside the request future rather than in a dependent stage, so that
+     * cancelling the returned future reaches the HTTP exchange.
+     */
+    private <T> CompletableFuture<T> requestAsync(Function<JsonNode, T> mapper, String... endpointSegments) {
+        return sendAsync(
+                HttpResponse.BodyHandlers.ofByteArray(),
+                (response, uri) -> mapper.apply(readResponse(endpointSegments[0], response, uri)),
+                endpointSegments
+        );
+    }
+
+    private <T> T requestStreaming(StreamingResponseDecoder.Reader<T> reader, String... endpointSegments) {
+        if (options.retryPolicy().hedgeDelay() != null) {
+            // Hedged attempts complete on HttpClient threads, which must not block pulling a body stream.
+            return await(requestStreamingAsync(reader, endpointSegments), buildUri(endpointSegments));
+        }
+        return send(
+                HttpResponse.BodyHandlers.ofInputStream(),
+                (response, uri) -> {
+                    long startedAt = System.nanoTime();
+                    try (CountingInputStream body = new CountingInputStream(response.body())) {
+                        try {
+                            InputStream content = isGzipEncoded(response) ? new GZIPInputStream(body) : body;
+                            return decode(reader, objectMapper.getFactory().createParser(content), response.statusCode(), uri);
+                        } finally {
+                            notifyResponse(endpointSegments[0], response.statusCode(), body.count, startedAt);
+                        }
+                    }
+                },
+                endpointSegments
+        );
+    }
+
+    private <T> CompletableFuture<T> requestStreamingAsync(StreamingResponseDecoder.Reader<T> reader, String... endpointSegments) {
+        return sendAsync(
+                HttpResponse.BodyHandlers.ofByteArray(),
+                (response, uri) -> {
+                    long startedAt = System.nanoTime();
+                    try {
+                        return decode(reader, newParser(response), response.statusCode(), uri);
+                    } finally {
+                        notifyResponse(endpointSegments[0], response.statusCode(), response.body().length, startedAt);
+                    }
+                },
+                endpointSegments
+        );
+    }
+
+    private <B, T> T send(HttpResponse.BodyHandler<B> bodyHandler, ResponseReader<B, T> reader, String... endpointSegments) {
         URI uri = buildUri(endpointSegments);
-        HttpRequest request = HttpRequest.newBuilder(uri)
-                .GET()
-                .timeout(options.readTimeout())
-                .header("Accept", "application/json")
-                .build();
+        RetryPolicy retryPolicy = options.retryPolicy();
+        if (retryPolicy.hedgeDelay() != null) {
+            return await(withRetry(() -> sendOnceAsync(uri, bodyHandler, reader)), uri);
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return sendOnce(uri, bodyHandler, reader);
+            } catch (ExchangeRateException e) {
+                if (!retryPolicy.shouldRetry(e, attempt)) {
+                    throw e;
+                }
+                sleep(retryPolicy.backoff(attempt), uri);
+            }
+        }
+    }
+
+    private <B, T> CompletableFuture<T> sendAsync(
+            HttpResponse.BodyHandler<B> bodyHandler,
+            ResponseReader<B, T> reader,
+            String... endpointSegments
+    ) {
+        URI uri = buildUri(endpointSegments);
+        return withRetry(() -> sendOnceAsync(uri, bodyHandler, reader));
+    }
+
+    /**
+     * Runs {@code call} with the configured retries and hedging. Cancelling the returned future
+     * cancels the attempt in flight and stops further retries.
+     */
+    private <T> CompletableFuture<T> withRetry(Supplier<CompletableFuture<T>> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<T>> current = new AtomicReference<>();
+        result.whenComplete((value, error) -> {
+            CompletableFuture<T> inFlight = current.get();
+            if (result.isCancelled() && inFlight != null) {
+                inFlight.cancel(true);
+            }
+        });
+        attempt(call, 1, result, current);
+        return result;
+    }
+
+    private <T> void attempt(
+            Supplier<CompletableFuture<T>> call,
+            int attempt,
+            CompletableFuture<T> result,
+            AtomicReference<CompletableFuture<T>> current
+    ) {
+        if (result.isDone()) {
+            return;
+        }
+        RetryPolicy retryPolicy = options.retryPolicy();
+        CompletableFuture<T> inFlight = hedge(call, retryPolicy.hedgeDelay());
+        current.set(inFlight);
+        if (result.isCancelled()) {
+            inFlight.cancel(true);
+        }
+        inFlight.whenComplete((value, error) -> {
+            if (error == null) {
+                result.complete(value);
+            } else if (error instanceof ExchangeRateException failure && retryPolicy.shouldRetry(failure, attempt)) {
+                CompletableFuture.delayedExecutor(retryPolicy.backoff(attempt).toNanos(), TimeUnit.NANOSECONDS)
+                        .execute(() -> attempt(call, attempt + 1, result, current));
+            } else {
+                result.completeExceptionally(error);
+            }
+        });
+    }
 
+    /**
+     * Starts {@code call} and, when it is still running after {@code hedgeDelay}, starts it once more.
+     * The returned future takes the first success, or the last failure when both attempts fail; once
+     * it completes, or is cancelled, the attempt still running is cancelled.
+     */
+    private static <T> CompletableFuture<T> hedge(Supplier<CompletableFuture<T>> call, Duration hedgeDelay) {
+        CompletableFuture<T> primary = call.get();
+        if (hedgeDelay == null) {
+            return primary;
+        }
+
+        CompletableFuture<T> first = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<T>> hedged = new AtomicReference<>();
+        first.whenComplete((value, error) -> {
+            primary.cancel(true);
+            CompletableFuture<T> second = hedged.get();
+            if (second != null) {
+                second.cancel(true);
+            }
+        });
+        AtomicInteger running = new AtomicInteger(1);
+        BiConsumer<T, Throwable> settle = (value, error) -> {
+            if (error == null) {
+                first.complete(value);
+            } else if (running.decrementAndGet() == 0) {
+                first.completeExceptionally(error);
+            }
+        };
+        primary.whenComplete(settle);
+        CompletableFuture.delayedExecutor(hedgeDelay.toNanos(), TimeUnit.NANOSECONDS).execute(() -> {
+            if (first.isDone() || running.getAndUpdate(count -> count == 0 ? 0 : count + 1) == 0) {
+                return;
+            }
+            try {
+                CompletableFuture<T> second = call.get();
+                hedged.set(second);
+                if (first.isDone()) {
+                    second.cancel(true);
+                }
+                second.whenComplete(settle);
+            } catch (RuntimeException e) {
+                settle.accept(null, e);
+            }
+        });
+        return first;
+    }
+
+    private <B, T> T sendOnce(URI uri, HttpResponse.BodyHandler<B> bodyHandler, ResponseReader<B, T> reader) {
         try {
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-            JsonNode root = parseBody(response.body(), uri);
-            validateApiResult(root, response.statusCode(), uri);
-            return root;
+            HttpResponse<B> response = httpClient.send(newRequest(uri), bodyHandler);
+            return reader.read(response, uri);
         } catch (IOException e) {
             throw new ExchangeRateClientException("I/O error while calling " + uri, e);
         } catch (InterruptedException e) {
@@ -235,21 +566,166 @@ public class ExchangeRateApiClient implements ExchangeRateClient {
         }
     }
 
-    private JsonNode parseBody(String body, URI uri) {
+    /**
+     * Sends one request. Cancelling the returned future cancels the HTTP exchange, which aborts
+     * the request if it is still in flight.
+     */
+    private <B, T> CompletableFuture<T> sendOnceAsync(URI uri, HttpResponse.BodyHandler<B> bodyHandler, ResponseReader<B, T> reader) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        CompletableFuture<HttpResponse<B>> exchange = httpClient.sendAsync(newRequest(uri), bodyHandler);
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                exchange.cancel(true);
+            }
+        });
+        exchange.whenComplete((response, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause()
+                        : error;
+                result.completeExceptionally(new ExchangeRateClientException("I/O error while calling " + uri, cause));
+                return;
+            }
+            try {
+                result.complete(reader.read(response, uri));
+            } catch (IOException e) {
+                result.completeExceptionally(new ExchangeRateClientException("I/O error while calling " + uri, e));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Waits for an asynchronous call from a blocking method. Unlike {@code join()}, the wait can be
+     * interrupted; the call is then cancelled and the interrupt status restored.
+     */
+    private static <T> T await(CompletableFuture<T> future, URI uri) {
         try {
-            return objectMapper.readTree(body);
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ExchangeRateClientException("Interrupted while calling " + uri, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new ExchangeRateClientException("Failed while calling " + uri, cause);
+        }
+    }
+
+    private static void sleep(Duration delay, URI uri) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(delay.toNanos());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExchangeRateClientException("Interrupted while retrying " + uri, e);
+        }
+    }
+
+    private static <T> T decode(StreamingResponseDecoder.Reader<T> reader, JsonParser parser, int statusCode, URI uri)
+            throws IOException {
+        try (parser) {
+            return reader.read(parser, statusCode, uri);
+        } catch (JsonProcessingException e) {
+            throw unparsableResponse(statusCode, uri, e);
+        }
+    }
+
+    private HttpRequest newRequest(URI uri) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .GET()
+                .timeout(options.readTimeout())
+                .header("Accept", "application/json");
+        if (options.gzip()) {
+            builder.header("Accept-Encoding", "gzip");
+        }
+        return builder.build();
+    }
+
+    private JsonParser newParser(HttpResponse<byte[]> response) throws IOException {
+        if (isGzipEncoded(response)) {
+            return objectMapper.getFactory().createParser(new GZIPInputStream(new ByteArrayInputStream(response.body())));
+        }
+        return objectMapper.getFactory().createParser(response.body());
+    }
+
+    private static boolean isGzipEncoded(HttpResponse<?> response) {
+        return response.headers()
+                .firstValue("Content-Encoding")
+                .filter("gzip"::equalsIgnoreCase)
+                .isPresent();
+    }
+
+    private JsonNode readResponse(String endpoint, HttpResponse<byte[]> response, URI uri) {
+        long startedAt = System.nanoTime();
+        JsonNode root;
+        try {
+            root = parseBody(response, uri);
+        } catch (ExchangeRateClientException e) {
+            throw unparsableResponse(response.statusCode(), uri, e.getCause());
+        } finally {
+            notifyResponse(endpoint, response.statusCode(), response.body().length, startedAt);
+        }
+        validateApiResult(root, response.statusCode(), uri);
+        return root;
+    }
+
+    private void notifyResponse(String endpoint, int statusCode, long payloadBytes, long startedAt) {
+        ExchangeRateResponseListener listener = options.responseListener();
+        if (listener != null) {
+            listener.onResponse(endpoint, statusCode, payloadBytes, System.nanoTime() - startedAt);
+        }
+    }
+
+    private JsonNode parseBody(HttpResponse<byte[]> response, URI uri) {
+        try {
+            if (isGzipEncoded(response)) {
+                return objectMapper.readTree(new GZIPInputStream(new ByteArrayInputStream(response.body())));
+            }
+            return objectMapper.readTree(response.body());
         } catch (IOException e) {
             throw new ExchangeRateClientException("Unable to parse JSON response from " + uri, e);
         }
     }
 
-    private void validateApiResult(JsonNode root, int statusCode, URI uri) {
-        String result = root.path("result").asText("");
+    /**
+     * Maps a body that could not be decoded by its status: an error status (for example a 502 or
+     * 503 HTML page from a proxy, or an empty 429) becomes an {@link ExchangeRateApiException}
+     * carrying that status, so it is classified like any other error response; only a successful
+     * status with a bad body is reported as a parse failure.
+     */
+    private static ExchangeRateException unparsableResponse(int statusCode, URI uri, Throwable cause) {
+        if (statusCode >= 200 && statusCode < 300) {
+            return new ExchangeRateClientException("Unable to parse JSON response from " + uri, cause);
+        }
+        ExchangeRateApiException failure = new ExchangeRateApiException(
+                statusCode,
+                ExchangeRateApiErrorType.UNKNOWN_ERROR,
+                "ExchangeRate-API returned HTTP " + statusCode + " without a JSON body for " + uri
+        );
+        failure.initCause(cause);
+        return failure;
+    }
+
+    private static void validateApiResult(JsonNode root, int statusCode, URI uri) {
+        validateApiResult(root.path("result").asText(""), root.path("error-type").asText(null), statusCode, uri);
+    }
+
+    static void validateApiResult(String result, String errorTypeWire, int statusCode, URI uri) {
         if (RESULT_SUCCESS.equalsIgnoreCase(result)) {
             return;
         }
 
-        String errorTypeWire = root.path("error-type").asText("unknown-error");
+        if (errorTypeWire == null) {
+            errorTypeWire = "unknown-error";
+        }
         ExchangeRateApiErrorType errorType = ExchangeRateApiErrorType.fromWireValue(errorTypeWire);
 
         throw new ExchangeRateApiException(
@@ -277,13 +753,8 @@ public class ExchangeRateApiClient implements ExchangeRateClient {
         return URLEncoder.encode(segment, StandardCharsets.UTF_8).replace("+", "%20");
     }
 
-    private static String normalizeCode(String currencyCode) {
-        Objects.requireNonNull(currencyCode, "currencyCode");
-        String normalized = currencyCode.trim().toUpperCase(Locale.ROOT);
-        if (!normalized.matches("[A-Z]{3}")) {
-            throw new IllegalArgumentException("currency code must be ISO-4217 alpha-3: " + currencyCode);
-        }
-        return normalized;
+    static String normalizeCode(String currencyCode) {
+        return CurrencyCode.parse(currencyCode).code();
     }
 
     private static Instant toInstant(JsonNode epochSecondsNode) {
@@ -311,4 +782,36 @@ public class ExchangeRateApiClient implements ExchangeRateClient {
         return node.properties().stream()
                 .collect(Collectors.toUnmodifiableMap(entry -> normalizeCode(entry.getKey()), entry -> entry.getValue().decimalValue()));
     }
+
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = super.read();
+            if (value >= 0) {
+                count++;
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+    }
+
+    @FunctionalInterface
+    private interface ResponseReader<B, T> {
+        T read(HttpResponse<B> response, URI uri) throws IOException;
+    }
 }
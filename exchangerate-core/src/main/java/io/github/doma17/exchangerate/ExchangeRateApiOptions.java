@@ -1,8 +1,10 @@
 package io.github.doma17.exchangerate;
 
 import java.net.URI;
+import java.net.http.HttpClient;
 import java.time.Duration;
 import java.util.Objects;
+import java.util.concurrent.Executor;
 
 /**
  * Immutable options for {@link ExchangeRateApiClient}.
@@ -21,17 +23,35 @@ public final class ExchangeRateApiOptions {
      * Default HTTP read timeout.
      */
     public static final Duration DEFAULT_READ_TIMEOUT = Duration.ofSeconds(10);
+    /**
+     * Default preferred HTTP protocol version; HTTP/2 falls back to HTTP/1.1 when the server does not offer it.
+     */
+    public static final HttpClient.Version DEFAULT_HTTP_VERSION = HttpClient.Version.HTTP_2;
 
     private final String apiKey;
     private final URI baseUri;
     private final Duration connectTimeout;
     private final Duration readTimeout;
+    private final HttpClient.Version httpVersion;
+    private final Executor executor;
+    private final boolean virtualThreads;
+    private final boolean gzip;
+    private final boolean streamingParser;
+    private final ExchangeRateResponseListener responseListener;
+    private final RetryPolicy retryPolicy;
 
     private ExchangeRateApiOptions(Builder builder) {
         this.apiKey = requireNonBlank(builder.apiKey, "apiKey");
         this.baseUri = Objects.requireNonNull(builder.baseUri, "baseUri");
         this.connectTimeout = Objects.requireNonNull(builder.connectTimeout, "connectTimeout");
         this.readTimeout = Objects.requireNonNull(builder.readTimeout, "readTimeout");
+        this.httpVersion = Objects.requireNonNull(builder.httpVersion, "httpVersion");
+        this.executor = builder.executor;
+        this.virtualThreads = builder.virtualThreads;
+        this.gzip = builder.gzip;
+        this.streamingParser = builder.streamingParser;
+        this.responseListener = builder.responseListener;
+        this.retryPolicy = Objects.requireNonNull(builder.retryPolicy, "retryPolicy");
     }
 
     /**
@@ -70,6 +90,69 @@ public final class ExchangeRateApiOptions {
         return readTimeout;
     }
 
+    /**
+     * Returns the preferred HTTP protocol version of the default HTTP client.
+     *
+     * @return HTTP version
+     */
+    public HttpClient.Version httpVersion() {
+        return httpVersion;
+    }
+
+    /**
+     * Returns the executor for the default HTTP client, used to run asynchronous calls.
+     *
+     * @return executor, or {@code null} to use the HTTP client default
+     */
+    public Executor executor() {
+        return executor;
+    }
+
+    /**
+     * Returns whether the default HTTP client runs on virtual threads when no executor is set.
+     *
+     * @return {@code true} when virtual threads are requested
+     */
+    public boolean virtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Returns whether responses are requested gzip-compressed and decompressed transparently.
+     *
+     * @return {@code true} when gzip is enabled
+     */
+    public boolean gzip() {
+        return gzip;
+    }
+
+    /**
+     * Returns whether rate-table responses are decoded with the single-pass streaming parser.
+     *
+     * @return {@code true} when streaming decoding is enabled
+     */
+    public boolean streamingParser() {
+        return streamingParser;
+    }
+
+    /**
+     * Returns the listener notified with payload size and decode time of each response.
+     *
+     * @return response listener, or {@code null} when none is set
+     */
+    public ExchangeRateResponseListener responseListener() {
+        return responseListener;
+    }
+
+    /**
+     * Returns the retry and hedging policy applied to every HTTP call.
+     *
+     * @return retry policy, {@link RetryPolicy#none()} by default
+     */
+    public RetryPolicy retryPolicy() {
+        return retryPolicy;
+    }
+
     /**
      * Creates a builder with the required API key.
      *
@@ -96,6 +179,13 @@ public final class ExchangeRateApiOptions {
         private URI baseUri = DEFAULT_BASE_URI;
         private Duration connectTimeout = DEFAULT_CONNECT_TIMEOUT;
         private Duration readTimeout = DEFAULT_READ_TIMEOUT;
+        private HttpClient.Version httpVersion = DEFAULT_HTTP_VERSION;
+        private Executor executor;
+        private boolean virtualThreads;
+        private boolean gzip;
+        private boolean streamingParser;
+        private ExchangeRateResponseListener responseListener;
+        private RetryPolicy retryPolicy = RetryPolicy.none();
 
         private Builder(String apiKey) {
             this.apiKey = apiKey;
@@ -134,6 +224,92 @@ public final class ExchangeRateApiOptions {
             return this;
         }
 
+        /**
+         * Sets the preferred HTTP protocol version of the default HTTP client.
+         * Ignored when a custom {@code HttpClient} is passed to {@link ExchangeRateApiClient}.
+         *
+         * @param httpVersion HTTP version
+         * @return this builder
+         */
+        public Builder httpVersion(HttpClient.Version httpVersion) {
+            this.httpVersion = httpVersion;
+            return this;
+        }
+
+        /**
+         * Sets the executor used by the default HTTP client for asynchronous calls.
+         * Ignored when a custom {@code HttpClient} is passed to {@link ExchangeRateApiClient}.
+         *
+         * @param executor executor, or {@code null} to use the HTTP client default
+         * @return this builder
+         */
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Runs the default HTTP client on a virtual-thread-per-task executor when no
+         * {@link #executor(Executor) executor} is set. Requires JDK 21 or newer; on older runtimes
+         * the HTTP client default executor is used. Disabled by default.
+         *
+         * @param virtualThreads whether to use virtual threads
+         * @return this builder
+         */
+        public Builder virtualThreads(boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+            return this;
+        }
+
+        /**
+         * Sends {@code Accept-Encoding: gzip} and decompresses gzip-encoded responses before
+         * decoding them. Rate tables compress well, so this mainly helps on slow links.
+         * Disabled by default.
+         *
+         * @param gzip whether to request gzip-compressed responses
+         * @return this builder
+         */
+        public Builder gzip(boolean gzip) {
+            this.gzip = gzip;
+            return this;
+        }
+
+        /**
+         * Enables single-pass streaming decoding of {@code latest} and {@code history} responses.
+         * The body is read with a Jackson {@code JsonParser} directly into model records instead of
+         * being buffered into a string and a {@code JsonNode} tree. Disabled by default.
+         *
+         * @param streamingParser whether to use the streaming parser
+         * @return this builder
+         */
+        public Builder streamingParser(boolean streamingParser) {
+            this.streamingParser = streamingParser;
+            return this;
+        }
+
+        /**
+         * Sets the listener notified with payload size and decode time of each response,
+         * for example to feed metrics.
+         *
+         * @param responseListener response listener, or {@code null} for none
+         * @return this builder
+         */
+        public Builder responseListener(ExchangeRateResponseListener responseListener) {
+            this.responseListener = responseListener;
+            return this;
+        }
+
+        /**
+         * Sets the retry and hedging policy applied to every HTTP call.
+         *
+         * @param retryPolicy retry policy
+         * @return this builder
+         */
+        public Builder retryPolicy(RetryPolicy retryPolicy) {
+            this.retryPolicy = retryPolicy;
+            return this;
+        }
+
         /**
          * Builds immutable options.
          *
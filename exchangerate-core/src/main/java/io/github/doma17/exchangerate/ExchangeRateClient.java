@@ -1,5 +1,6 @@
 package io.github.doma17.exchangerate;
 
+import io.github.doma17.exchangerate.model.CurrencyCode;
 import io.github.doma17.exchangerate.model.EnrichedRate;
 import io.github.doma17.exchangerate.model.ExchangeRateSnapshot;
 import io.github.doma17.exchangerate.model.HistoricalRates;
@@ -9,9 +10,14 @@ import io.github.doma17.exchangerate.model.SupportedCurrency;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 
 /**
  * Contract for calling ExchangeRate-API endpoints.
+ * <p>
+ * The {@link CurrencyCode} overloads avoid re-normalizing codes that are already parsed;
+ * by default they delegate to the {@code String} methods with {@link CurrencyCode#code()}.
  */
 public interface ExchangeRateClient {
 
@@ -83,4 +89,85 @@ public interface ExchangeRateClient {
      * @return enriched pair rate metadata
      */
     EnrichedRate getEnrichedRate(String baseCode, String targetCode);
+
+    /**
+     * Returns the latest rates for all supported currencies against the given base currency.
+     *
+     * @param baseCode base currency
+     * @return latest snapshot for the base currency
+     */
+    default ExchangeRateSnapshot getLatestRates(CurrencyCode baseCode) {
+        return getLatestRates(baseCode.code());
+    }
+
+    /**
+     * Returns the latest conversion rate between two currencies.
+     *
+     * @param baseCode base currency
+     * @param targetCode target currency
+     * @return latest pair rate
+     */
+    default PairRate getPairRate(CurrencyCode baseCode, CurrencyCode targetCode) {
+        return getPairRate(baseCode.code(), targetCode.code());
+    }
+
+    /**
+     * Converts an amount using the latest pair rate.
+     *
+     * @param baseCode base currency
+     * @param targetCode target currency
+     * @param amount amount to convert
+     * @return pair rate including conversion result
+     */
+    default PairRate convertPairAmount(CurrencyCode baseCode, CurrencyCode targetCode, BigDecimal amount) {
+        return convertPairAmount(baseCode.code(), targetCode.code(), amount);
+    }
+
+    /**
+     * Returns historical rates for all available currencies at a specific date.
+     *
+     * @param baseCode base currency
+     * @param date date to query
+     * @return historical rates snapshot
+     */
+    default HistoricalRates getHistoricalRates(CurrencyCode baseCode, LocalDate date) {
+        return getHistoricalRates(baseCode.code(), date);
+    }
+
+    /**
+     * Converts an amount to all available currencies for a specific historical date.
+     *
+     * @param baseCode base currency
+     * @param date date to query
+     * @param amount amount to convert
+     * @return historical conversion amounts response
+     */
+    default HistoricalRates getHistoricalConvertedAmounts(CurrencyCode baseCode, LocalDate date, BigDecimal amount) {
+        return getHistoricalConvertedAmounts(baseCode.code(), date, amount);
+    }
+
+    /**
+     * Returns enriched conversion data between two currencies.
+     *
+     * @param baseCode base currency
+     * @param targetCode target currency
+     * @return enriched pair rate metadata
+     */
+    default EnrichedRate getEnrichedRate(CurrencyCode baseCode, CurrencyCode targetCode) {
+        return getEnrichedRate(baseCode.code(), targetCode.code());
+    }
+
+    /**
+     * Finds a client of the given type among this client and the clients it decorates, so a
+     * capability such as the store of a {@code HistoricalCachingExchangeRateClient} stays reachable
+     * through wrappers. Decorators continue the lookup in their delegate.
+     *
+     * @param type client type to find
+     * @param <T> client type
+     * @return the outermost client of that type, or empty when none is found
+     */
+    default <T> Optional<T> unwrap(Class<T> type) {
+        Objects.requireNonNull(type, "type");
+        return type.isInstance(this) ? Optional.of(type.cast(this)) : Optional.empty();
+    }
 }
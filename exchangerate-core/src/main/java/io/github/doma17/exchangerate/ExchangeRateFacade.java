@@ -1,23 +1,63 @@
 package io.github.doma17.exchangerate;
 
+import io.github.doma17.exchangerate.cache.HistoricalCachingExchangeRateClient;
+import io.github.doma17.exchangerate.cache.HistoricalRateStore;
+import io.github.doma17.exchangerate.conversion.ConversionSession;
+import io.github.doma17.exchangerate.conversion.CrossRateEngine;
 import io.github.doma17.exchangerate.exception.ExchangeRateException;
+import io.github.doma17.exchangerate.model.ConversionRequest;
+import io.github.doma17.exchangerate.model.CurrencyCode;
 import io.github.doma17.exchangerate.model.ExchangeRateSnapshot;
 import io.github.doma17.exchangerate.model.HistoricalRates;
 import io.github.doma17.exchangerate.model.PairRate;
+import io.github.doma17.exchangerate.timeseries.RateHistory;
 import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
 import java.time.Clock;
 import java.time.LocalDate;
-import java.util.Locale;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Convenience facade for common lookups in application code.
+ * <p>
+ * By default each lookup queries the requested base currency. A facade returned by
+ * {@link #withCrossRates(String)} instead derives every pair from one pivot snapshot.
  */
 public class ExchangeRateFacade {
 
+    /**
+     * Default number of dates fetched concurrently by {@link #getHistoricalRange(String, LocalDate, LocalDate)}.
+     */
+    public static final int DEFAULT_RANGE_CONCURRENCY = 8;
+
+    private static final int DEFAULT_MINOR_UNITS = 2;
+    /**
+     * Default fraction digits per {@link CurrencyCode#index()}, plus one; zero means not looked up yet.
+     */
+    private static final byte[] MINOR_UNITS = new byte[CurrencyCode.INDEX_COUNT];
+
     private final ExchangeRateClient client;
+    private final AsyncExchangeRateClient asyncClient;
     private final Clock clock;
+    private final String pivotCode;
+    private final MathContext crossRateMathContext;
+    private final HistoricalRateStore historicalStore;
+    private volatile PivotEngine latestPivotEngine;
 
     /**
      * Creates a facade using the system UTC clock.
@@ -30,13 +70,79 @@ public class ExchangeRateFacade {
 
     /**
      * Creates a facade with a custom clock.
+     * <p>
+     * Asynchronous lookups use the client directly when it implements {@link AsyncExchangeRateClient};
+     * otherwise its blocking calls are offloaded as described by
+     * {@link AsyncExchangeRateClient#fromBlocking(ExchangeRateClient)}. Pass
+     * {@link AsyncExchangeRateClient#fromBlocking(ExchangeRateClient, java.util.concurrent.Executor)} to
+     * {@link #ExchangeRateFacade(ExchangeRateClient, AsyncExchangeRateClient, Clock)} to choose the executor.
      *
      * @param client API client implementation
      * @param clock clock used to determine today's date
      */
     public ExchangeRateFacade(ExchangeRateClient client, Clock clock) {
+        this(client, defaultAsyncClient(client), clock);
+    }
+
+    /**
+     * Creates a facade with separate blocking and asynchronous clients.
+     *
+     * @param client API client implementation used by blocking lookups
+     * @param asyncClient API client implementation used by asynchronous lookups
+     * @param clock clock used to determine today's date
+     */
+    public ExchangeRateFacade(ExchangeRateClient client, AsyncExchangeRateClient asyncClient, Clock clock) {
+        this(client, asyncClient, clock, null, null);
+    }
+
+    private ExchangeRateFacade(
+            ExchangeRateClient client,
+            AsyncExchangeRateClient asyncClient,
+            Clock clock,
+            String pivotCode,
+            MathContext crossRateMathContext
+    ) {
         this.client = Objects.requireNonNull(client, "client");
+        this.asyncClient = Objects.requireNonNull(asyncClient, "asyncClient");
         this.clock = Objects.requireNonNull(clock, "clock");
+        this.pivotCode = pivotCode;
+        this.crossRateMathContext = crossRateMathContext;
+        this.historicalStore = client.unwrap(HistoricalCachingExchangeRateClient.class)
+                .map(HistoricalCachingExchangeRateClient::store)
+                .orElse(null);
+    }
+
+    /**
+     * Returns a facade that derives all rates from a single pivot snapshot
+     * using {@link CrossRateEngine#DEFAULT_MATH_CONTEXT}.
+     *
+     * @param pivotCode pivot ISO-4217 code (for example {@code USD})
+     * @return cross-rate facade sharing this facade's clients and clock
+     * @see #withCrossRates(String, MathContext)
+     */
+    public ExchangeRateFacade withCrossRates(String pivotCode) {
+        return withCrossRates(pivotCode, CrossRateEngine.DEFAULT_MATH_CONTEXT);
+    }
+
+    /**
+     * Returns a facade that derives all rates from a single pivot snapshot.
+     * <p>
+     * Every lookup fetches only {@code pivotCode} rates and computes {@code rate[target] / rate[base]},
+     * so one API call answers any pair. Conversions are computed locally instead of with the pair endpoint,
+     * and derived values may differ from direct quotes in the last digits.
+     *
+     * @param pivotCode pivot ISO-4217 code (for example {@code USD})
+     * @param mathContext precision and rounding of derived rates
+     * @return cross-rate facade sharing this facade's clients and clock
+     */
+    public ExchangeRateFacade withCrossRates(String pivotCode, MathContext mathContext) {
+        return new ExchangeRateFacade(
+                client,
+                asyncClient,
+                clock,
+                normalizeCode(pivotCode),
+                Objects.requireNonNull(mathContext, "mathContext")
+        );
     }
 
     /**
@@ -47,7 +153,24 @@ public class ExchangeRateFacade {
      * @return latest conversion rate value
      */
     public BigDecimal getRate(String baseCode, String targetCode) {
-        ExchangeRateSnapshot snapshot = client.getLatestRates(normalizeCode(baseCode));
+        return getRate(CurrencyCode.parse(baseCode), CurrencyCode.parse(targetCode));
+    }
+
+    /**
+     * Returns the latest conversion rate for a pair.
+     *
+     * @param baseCode base currency
+     * @param targetCode target currency
+     * @return latest conversion rate value
+     */
+    public BigDecimal getRate(CurrencyCode baseCode, CurrencyCode targetCode) {
+        Objects.requireNonNull(baseCode, "baseCode");
+        Objects.requireNonNull(targetCode, "targetCode");
+        if (pivotCode != null) {
+            return latestCrossRates(client.getLatestRates(pivotCode)).rate(baseCode.code(), targetCode.code());
+        }
+
+        ExchangeRateSnapshot snapshot = client.getLatestRates(baseCode);
         return findRate(snapshot.conversionRates(), targetCode, snapshot.baseCode(), "latest");
     }
 
@@ -61,18 +184,30 @@ public class ExchangeRateFacade {
      * @return conversion rate for the requested date
      */
     public BigDecimal getRate(String baseCode, String targetCode, LocalDate date) {
-        Objects.requireNonNull(date, "date");
+        return getRate(CurrencyCode.parse(baseCode), CurrencyCode.parse(targetCode), date);
+    }
 
-        LocalDate today = LocalDate.now(clock);
-        if (date.isAfter(today)) {
-            throw new IllegalArgumentException("date must not be in the future: " + date);
+    /**
+     * Returns the conversion rate for a specific date.
+     * If the date is today, latest rates are used.
+     *
+     * @param baseCode base currency
+     * @param targetCode target currency
+     * @param date target date, not in the future
+     * @return conversion rate for the requested date
+     */
+    public BigDecimal getRate(CurrencyCode baseCode, CurrencyCode targetCode, LocalDate date) {
+        if (isToday(date)) {
+            return getRate(baseCode, targetCode);
         }
 
-        if (date.equals(today)) {
-            return getRate(baseCode, targetCode);
+        Objects.requireNonNull(baseCode, "baseCode");
+        Objects.requireNonNull(targetCode, "targetCode");
+        if (pivotCode != null) {
+            return historicalCrossRates(client.getHistoricalRates(pivotCode, date)).rate(baseCode.code(), targetCode.code());
         }
 
-        HistoricalRates historicalRates = client.getHistoricalRates(normalizeCode(baseCode), date);
+        HistoricalRates historicalRates = client.getHistoricalRates(baseCode, date);
         return findRate(historicalRates.conversionRates(), targetCode, historicalRates.baseCode(), date.toString());
     }
 
@@ -85,8 +220,26 @@ public class ExchangeRateFacade {
      * @return converted amount
      */
     public BigDecimal convert(String baseCode, String targetCode, BigDecimal amount) {
+        return convert(CurrencyCode.parse(baseCode), CurrencyCode.parse(targetCode), amount);
+    }
+
+    /**
+     * Converts an amount with the latest pair endpoint.
+     *
+     * @param baseCode base currency
+     * @param targetCode target currency
+     * @param amount amount to convert
+     * @return converted amount
+     */
+    public BigDecimal convert(CurrencyCode baseCode, CurrencyCode targetCode, BigDecimal amount) {
+        Objects.requireNonNull(baseCode, "baseCode");
+        Objects.requireNonNull(targetCode, "targetCode");
         Objects.requireNonNull(amount, "amount");
-        PairRate rate = client.convertPairAmount(normalizeCode(baseCode), normalizeCode(targetCode), amount);
+        if (pivotCode != null) {
+            return latestCrossRates(client.getLatestRates(pivotCode)).convert(baseCode.code(), targetCode.code(), amount);
+        }
+
+        PairRate rate = client.convertPairAmount(baseCode, targetCode, amount);
 
         if (rate.conversionResult() == null) {
             throw new ExchangeRateException("conversion result not returned by API");
@@ -94,6 +247,109 @@ public class ExchangeRateFacade {
         return rate.conversionResult();
     }
 
+    /**
+     * Converts many amounts with latest rates, rounding half-even to each target currency's minor units.
+     *
+     * @param requests amounts to convert
+     * @return converted amounts, in input order
+     * @see #convertAll(List, RoundingMode)
+     */
+    public List<BigDecimal> convertAll(List<ConversionRequest> requests) {
+        return convertAll(requests, RoundingMode.HALF_EVEN);
+    }
+
+    /**
+     * Converts many amounts with latest rates.
+     * <p>
+     * Instead of one {@code pair} call per amount, the latest snapshot of every distinct base currency
+     * is fetched once (concurrently, through the asynchronous client) and all amounts are converted
+     * locally as {@code amount * rate}. Each result is rounded with {@code roundingMode} to the default
+     * fraction digits of its target currency (two when the currency has none, such as {@code XAU}).
+     * A cross-rate facade fetches only its pivot snapshot.
+     *
+     * @param requests amounts to convert
+     * @param roundingMode rounding applied to every result
+     * @return converted amounts, in input order
+     */
+    public List<BigDecimal> convertAll(List<ConversionRequest> requests, RoundingMode roundingMode) {
+        Objects.requireNonNull(requests, "requests");
+        BatchConversion batch = new BatchConversion(roundingMode);
+        batch.prefetch(requests);
+        BigDecimal[] results = new BigDecimal[requests.size()];
+        int i = 0;
+        for (ConversionRequest request : requests) {
+            results[i++] = batch.convert(request);
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Lazily converts a stream of amounts with latest rates, rounding half-even to each target
+     * currency's minor units.
+     *
+     * @param requests amounts to convert
+     * @return converted amounts, in input order
+     * @see #convertAll(Stream, RoundingMode)
+     */
+    public Stream<BigDecimal> convertAll(Stream<ConversionRequest> requests) {
+        return convertAll(requests, RoundingMode.HALF_EVEN);
+    }
+
+    /**
+     * Lazily converts a stream of amounts with latest rates, for inputs too large to hold in memory.
+     * <p>
+     * Rounding matches {@link #convertAll(List, RoundingMode)}. The stream is processed sequentially;
+     * the snapshot of each base currency is fetched when it is first encountered and reused for the
+     * rest of the stream.
+     *
+     * @param requests amounts to convert
+     * @param roundingMode rounding applied to every result
+     * @return converted amounts, in input order
+     */
+    public Stream<BigDecimal> convertAll(Stream<ConversionRequest> requests, RoundingMode roundingMode) {
+        Objects.requireNonNull(requests, "requests");
+        BatchConversion batch = new BatchConversion(roundingMode);
+        return requests.sequential().map(batch::convert);
+    }
+
+    /**
+     * Opens a session pinned to the current latest snapshots of the given base currencies.
+     * <p>
+     * The snapshots are fetched once, concurrently, when the session is opened; every later rate or
+     * conversion through the session is answered from them without I/O, so multi-leg calculations
+     * use one consistent set of rates. A cross-rate facade always pins its pivot snapshot, which
+     * answers any pair, and {@code baseCodes} may be empty.
+     *
+     * @param baseCodes base ISO-4217 codes to pin
+     * @return pinned conversion session
+     */
+    public ConversionSession openSession(String... baseCodes) {
+        Objects.requireNonNull(baseCodes, "baseCodes");
+        Set<String> bases = new LinkedHashSet<>();
+        if (pivotCode != null) {
+            bases.add(pivotCode);
+        }
+        for (String baseCode : baseCodes) {
+            bases.add(normalizeCode(baseCode));
+        }
+        if (bases.isEmpty()) {
+            throw new IllegalArgumentException("baseCodes must not be empty");
+        }
+
+        List<CompletableFuture<ExchangeRateSnapshot>> pending = new ArrayList<>(bases.size());
+        for (String baseCode : bases) {
+            pending.add(asyncClient.getLatestRatesAsync(baseCode));
+        }
+        List<ExchangeRateSnapshot> snapshots = new ArrayList<>(pending.size());
+        for (CompletableFuture<ExchangeRateSnapshot> snapshot : pending) {
+            snapshots.add(await(snapshot));
+        }
+        return ConversionSession.of(
+                snapshots,
+                crossRateMathContext != null ? crossRateMathContext : CrossRateEngine.DEFAULT_MATH_CONTEXT
+        );
+    }
+
     /**
      * Returns all rates for a given base currency and date.
      * If the date is today, latest rates are used.
@@ -103,37 +359,350 @@ public class ExchangeRateFacade {
      * @return map of target currency code to rate
      */
     public Map<String, BigDecimal> getRates(String baseCode, LocalDate date) {
-        Objects.requireNonNull(date, "date");
+        return getRates(CurrencyCode.parse(baseCode), date);
+    }
 
-        LocalDate today = LocalDate.now(clock);
-        if (date.isAfter(today)) {
+    /**
+     * Returns all rates for a given base currency and date.
+     * If the date is today, latest rates are used.
+     *
+     * @param baseCode base currency
+     * @param date target date, not in the future
+     * @return map of target currency code to rate
+     */
+    public Map<String, BigDecimal> getRates(CurrencyCode baseCode, LocalDate date) {
+        Objects.requireNonNull(baseCode, "baseCode");
+        if (pivotCode != null) {
+            CrossRateEngine engine = isToday(date)
+                    ? latestCrossRates(client.getLatestRates(pivotCode))
+                    : historicalCrossRates(client.getHistoricalRates(pivotCode, date));
+            return engine.ratesFrom(baseCode.code());
+        }
+
+        if (isToday(date)) {
+            return client.getLatestRates(baseCode).conversionRates();
+        }
+
+        return client.getHistoricalRates(baseCode, date).conversionRates();
+    }
+
+    /**
+     * Asynchronously returns the latest conversion rate for a pair.
+     *
+     * @param baseCode base ISO-4217 code
+     * @param targetCode target ISO-4217 code
+     * @return future of the latest conversion rate value
+     */
+    public CompletableFuture<BigDecimal> getRateAsync(String baseCode, String targetCode) {
+        CurrencyCode normalizedTarget = CurrencyCode.parse(targetCode);
+        if (pivotCode != null) {
+            String normalizedBase = normalizeCode(baseCode);
+            return asyncClient.getLatestRatesAsync(pivotCode)
+                    .thenApply(snapshot -> latestCrossRates(snapshot).rate(normalizedBase, normalizedTarget.code()));
+        }
+
+        return asyncClient.getLatestRatesAsync(normalizeCode(baseCode))
+                .thenApply(snapshot -> findRate(snapshot.conversionRates(), normalizedTarget, snapshot.baseCode(), "latest"));
+    }
+
+    /**
+     * Asynchronously returns the conversion rate for a specific date.
+     * If the date is today, latest rates are used.
+     *
+     * @param baseCode base ISO-4217 code
+     * @param targetCode target ISO-4217 code
+     * @param date target date, not in the future
+     * @return future of the conversion rate for the requested date
+     */
+    public CompletableFuture<BigDecimal> getRateAsync(String baseCode, String targetCode, LocalDate date) {
+        if (isToday(date)) {
+            return getRateAsync(baseCode, targetCode);
+        }
+
+        CurrencyCode normalizedTarget = CurrencyCode.parse(targetCode);
+        if (pivotCode != null) {
+            String normalizedBase = normalizeCode(baseCode);
+            return asyncClient.getHistoricalRatesAsync(pivotCode, date)
+                    .thenApply(rates -> historicalCrossRates(rates).rate(normalizedBase, normalizedTarget.code()));
+        }
+
+        return asyncClient.getHistoricalRatesAsync(normalizeCode(baseCode), date)
+                .thenApply(rates -> findRate(rates.conversionRates(), normalizedTarget, rates.baseCode(), date.toString()));
+    }
+
+    /**
+     * Asynchronously converts an amount with the latest pair endpoint.
+     *
+     * @param baseCode base ISO-4217 code
+     * @param targetCode target ISO-4217 code
+     * @param amount amount to convert
+     * @return future of the converted amount
+     */
+    public CompletableFuture<BigDecimal> convertAsync(String baseCode, String targetCode, BigDecimal amount) {
+        Objects.requireNonNull(amount, "amount");
+        if (pivotCode != null) {
+            String normalizedBase = normalizeCode(baseCode);
+            String normalizedTarget = normalizeCode(targetCode);
+            return asyncClient.getLatestRatesAsync(pivotCode)
+                    .thenApply(snapshot -> latestCrossRates(snapshot).convert(normalizedBase, normalizedTarget, amount));
+        }
+
+        return asyncClient.convertPairAmountAsync(normalizeCode(baseCode), normalizeCode(targetCode), amount)
+                .thenApply(rate -> {
+                    if (rate.conversionResult() == null) {
+                        throw new ExchangeRateException("conversion result not returned by API");
+                    }
+                    return rate.conversionResult();
+                });
+    }
+
+    /**
+     * Asynchronously returns all rates for a given base currency and date.
+     * If the date is today, latest rates are used.
+     *
+     * @param baseCode base ISO-4217 code
+     * @param date target date, not in the future
+     * @return future of the map of target currency code to rate
+     */
+    public CompletableFuture<Map<String, BigDecimal>> getRatesAsync(String baseCode, LocalDate date) {
+        if (pivotCode != null) {
+            String normalizedBase = normalizeCode(baseCode);
+            CompletableFuture<CrossRateEngine> engine = isToday(date)
+                    ? asyncClient.getLatestRatesAsync(pivotCode).thenApply(this::latestCrossRates)
+                    : asyncClient.getHistoricalRatesAsync(pivotCode, date).thenApply(this::historicalCrossRates);
+            return engine.thenApply(crossRates -> crossRates.ratesFrom(normalizedBase));
+        }
+
+        if (isToday(date)) {
+            return asyncClient.getLatestRatesAsync(normalizeCode(baseCode)).thenApply(ExchangeRateSnapshot::conversionRates);
+        }
+
+        return asyncClient.getHistoricalRatesAsync(normalizeCode(baseCode), date).thenApply(HistoricalRates::conversionRates);
+    }
+
+    /**
+     * Returns rates for every date in a range, fetching up to {@link #DEFAULT_RANGE_CONCURRENCY}
+     * dates concurrently.
+     *
+     * @param baseCode base ISO-4217 code
+     * @param from first date, inclusive
+     * @param to last date, inclusive, not in the future
+     * @return lazy stream of rates in date order
+     * @see #getHistoricalRange(String, LocalDate, LocalDate, int)
+     */
+    public Stream<HistoricalRates> getHistoricalRange(String baseCode, LocalDate from, LocalDate to) {
+        return getHistoricalRange(baseCode, from, to, DEFAULT_RANGE_CONCURRENCY);
+    }
+
+    /**
+     * Returns rates for every date in a range.
+     * <p>
+     * Dates are fetched through the asynchronous client with at most {@code maxConcurrency}
+     * requests in flight. Nothing is fetched until the stream is consumed; each element is
+     * emitted in date order as soon as it and all earlier dates are available, so the full range
+     * is never held in memory. When the facade's client is, or decorates, a
+     * {@link HistoricalCachingExchangeRateClient} (found through {@link ExchangeRateClient#unwrap(Class)}),
+     * stored dates are read from its store without a request. If the range ends today, the last
+     * element holds the latest rates. Closing the stream cancels lookups that were not consumed.
+     *
+     * @param baseCode base ISO-4217 code
+     * @param from first date, inclusive
+     * @param to last date, inclusive, not in the future
+     * @param maxConcurrency maximum number of dates fetched at once, at least {@code 1}
+     * @return lazy stream of rates in date order
+     */
+    public Stream<HistoricalRates> getHistoricalRange(String baseCode, LocalDate from, LocalDate to, int maxConcurrency) {
+        String normalizedBase = normalizeCode(baseCode);
+        Objects.requireNonNull(from, "from");
+        requireNotFuture(to);
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to: " + from + " > " + to);
+        }
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be at least 1");
+        }
+
+        HistoricalRangeSpliterator spliterator = new HistoricalRangeSpliterator(
+                date -> historicalRatesAsync(normalizedBase, date),
+                from,
+                to,
+                maxConcurrency
+        );
+        return StreamSupport.stream(spliterator, false).onClose(spliterator::cancel);
+    }
+
+    /**
+     * Collects the rates of every date in a range into a columnar {@link RateHistory}, for
+     * rolling statistics and cross-pair series over the whole range.
+     * <p>
+     * Dates are fetched as by {@link #getHistoricalRange(String, LocalDate, LocalDate)}; only the
+     * primitive columns are kept, not the individual responses.
+     *
+     * @param baseCode base ISO-4217 code
+     * @param from first date, inclusive
+     * @param to last date, inclusive, not in the future
+     * @return rate history of {@code baseCode}
+     */
+    public RateHistory getRateHistory(String baseCode, LocalDate from, LocalDate to) {
+        RateHistory.Builder builder = RateHistory.builder(baseCode);
+        try (Stream<HistoricalRates> range = getHistoricalRange(baseCode, from, to)) {
+            range.forEach(builder::add);
+        }
+        return builder.build();
+    }
+
+    private CompletableFuture<HistoricalRates> historicalRatesAsync(String baseCode, LocalDate date) {
+        if (pivotCode != null) {
+            return isToday(date)
+                    ? asyncClient.getLatestRatesAsync(pivotCode)
+                            .thenApply(snapshot -> toHistorical(date, baseCode, latestCrossRates(snapshot).ratesFrom(baseCode)))
+                    : asyncClient.getHistoricalRatesAsync(pivotCode, date)
+                            .thenApply(rates -> toHistorical(date, baseCode, historicalCrossRates(rates).ratesFrom(baseCode)));
+        }
+
+        if (isToday(date)) {
+            return asyncClient.getLatestRatesAsync(baseCode)
+                    .thenApply(snapshot -> toHistorical(date, baseCode, snapshot.conversionRates()));
+        }
+        if (historicalStore != null) {
+            Optional<HistoricalRates> stored = historicalStore.find(baseCode, date);
+            if (stored.isPresent()) {
+                return CompletableFuture.completedFuture(stored.get());
+            }
+        }
+        return asyncClient.getHistoricalRatesAsync(baseCode, date);
+    }
+
+    private CrossRateEngine latestCrossRates(ExchangeRateSnapshot snapshot) {
+        PivotEngine cached = latestPivotEngine;
+        if (cached != null && cached.snapshot() == snapshot) {
+            return cached.engine();
+        }
+
+        CrossRateEngine engine = CrossRateEngine.of(snapshot, crossRateMathContext);
+        latestPivotEngine = new PivotEngine(snapshot, engine);
+        return engine;
+    }
+
+    private CrossRateEngine historicalCrossRates(HistoricalRates historicalRates) {
+        return CrossRateEngine.of(historicalRates, crossRateMathContext);
+    }
+
+    private boolean isToday(LocalDate date) {
+        return requireNotFuture(date).equals(LocalDate.now(clock));
+    }
+
+    private LocalDate requireNotFuture(LocalDate date) {
+        Objects.requireNonNull(date, "date");
+        if (date.isAfter(LocalDate.now(clock))) {
             throw new IllegalArgumentException("date must not be in the future: " + date);
         }
+        return date;
+    }
 
-        if (date.equals(today)) {
-            return client.getLatestRates(normalizeCode(baseCode)).conversionRates();
+    private static AsyncExchangeRateClient defaultAsyncClient(ExchangeRateClient client) {
+        Objects.requireNonNull(client, "client");
+        if (client instanceof AsyncExchangeRateClient asyncClient) {
+            return asyncClient;
         }
+        return AsyncExchangeRateClient.fromBlocking(client);
+    }
 
-        return client.getHistoricalRates(normalizeCode(baseCode), date).conversionRates();
+    private static HistoricalRates toHistorical(LocalDate date, String baseCode, Map<String, BigDecimal> rates) {
+        return new HistoricalRates(date, baseCode, rates, null, Map.of());
     }
 
-    private static BigDecimal findRate(Map<String, BigDecimal> rates, String targetCode, String baseCode, String from) {
-        String normalizedTarget = normalizeCode(targetCode);
-        BigDecimal rate = rates.get(normalizedTarget);
+    private static BigDecimal findRate(Map<String, BigDecimal> rates, CurrencyCode targetCode, String baseCode, String from) {
+        BigDecimal rate = rates.get(targetCode.code());
         if (rate == null) {
             throw new ExchangeRateException(
-                    "No rate found for target code " + normalizedTarget + " from " + baseCode + " at " + from
+                    "No rate found for target code " + targetCode + " from " + baseCode + " at " + from
             );
         }
         return rate;
     }
 
     private static String normalizeCode(String currencyCode) {
-        Objects.requireNonNull(currencyCode, "currencyCode");
-        String normalized = currencyCode.trim().toUpperCase(Locale.ROOT);
-        if (!normalized.matches("[A-Z]{3}")) {
-            throw new IllegalArgumentException("currency code must be ISO-4217 alpha-3: " + currencyCode);
+        return CurrencyCode.parse(currencyCode).code();
+    }
+
+    private static ExchangeRateSnapshot await(CompletableFuture<ExchangeRateSnapshot> pending) {
+        try {
+            return pending.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    private static int minorUnits(CurrencyCode currencyCode) {
+        int cached = MINOR_UNITS[currencyCode.index()];
+        if (cached != 0) {
+            return cached - 1;
+        }
+        int digits;
+        try {
+            digits = Currency.getInstance(currencyCode.code()).getDefaultFractionDigits();
+        } catch (IllegalArgumentException e) {
+            digits = -1;
+        }
+        digits = digits < 0 ? DEFAULT_MINOR_UNITS : digits;
+        MINOR_UNITS[currencyCode.index()] = (byte) (digits + 1);
+        return digits;
+    }
+
+    private record PivotEngine(ExchangeRateSnapshot snapshot, CrossRateEngine engine) {
+    }
+
+    /**
+     * Rates fetched for one batch conversion, at most one snapshot per base currency.
+     */
+    private final class BatchConversion {
+
+        private final RoundingMode roundingMode;
+        private final Map<CurrencyCode, Map<String, BigDecimal>> ratesByBase = new HashMap<>();
+        private CrossRateEngine pivotEngine;
+
+        private BatchConversion(RoundingMode roundingMode) {
+            this.roundingMode = Objects.requireNonNull(roundingMode, "roundingMode");
+        }
+
+        private void prefetch(List<ConversionRequest> requests) {
+            if (pivotCode != null) {
+                pivotEngine = latestCrossRates(client.getLatestRates(pivotCode));
+                return;
+            }
+            Map<CurrencyCode, CompletableFuture<ExchangeRateSnapshot>> pending = new LinkedHashMap<>();
+            for (ConversionRequest request : requests) {
+                if (request.baseCode() != request.targetCode() && !pending.containsKey(request.baseCode())) {
+                    pending.put(request.baseCode(), asyncClient.getLatestRatesAsync(request.baseCode().code()));
+                }
+            }
+            pending.forEach((baseCode, snapshot) -> ratesByBase.put(baseCode, await(snapshot).conversionRates()));
+        }
+
+        private BigDecimal convert(ConversionRequest request) {
+            CurrencyCode baseCode = request.baseCode();
+            CurrencyCode targetCode = request.targetCode();
+            BigDecimal converted;
+            if (pivotCode != null) {
+                if (pivotEngine == null) {
+                    pivotEngine = latestCrossRates(client.getLatestRates(pivotCode));
+                }
+                converted = pivotEngine.convert(baseCode.code(), targetCode.code(), request.amount());
+            } else if (baseCode == targetCode) {
+                converted = request.amount();
+            } else {
+                Map<String, BigDecimal> rates = ratesByBase.get(baseCode);
+                if (rates == null) {
+                    rates = client.getLatestRates(baseCode).conversionRates();
+                    ratesByBase.put(baseCode, rates);
+                }
+                converted = request.amount().multiply(findRate(rates, targetCode, baseCode.code(), "latest"));
+            }
+            return converted.setScale(minorUnits(targetCode), roundingMode);
         }
-        return normalized;
     }
 }
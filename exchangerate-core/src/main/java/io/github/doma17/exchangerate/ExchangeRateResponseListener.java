@@ -0,0 +1,21 @@
+package io.github.doma17.exchangerate;
+
+/**
+ * Callback notified by {@link ExchangeRateApiClient} after each response body has been decoded.
+ * <p>
+ * Implementations run on the thread that decoded the response and must be fast and must not throw.
+ */
+@FunctionalInterface
+public interface ExchangeRateResponseListener {
+
+    /**
+     * Called once per response, including API error responses that were decoded successfully.
+     *
+     * @param endpoint first path segment of the call, such as {@code latest} or {@code pair}
+     * @param statusCode HTTP status code
+     * @param payloadBytes size of the response body in bytes as received, before gzip decompression
+     * @param parseNanos time spent decoding the body; with the streaming parser on blocking calls
+     *                   this includes reading the body from the network
+     */
+    void onResponse(String endpoint, int statusCode, long payloadBytes, long parseNanos);
+}
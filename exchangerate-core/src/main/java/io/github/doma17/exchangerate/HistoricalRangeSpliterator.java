@@ -0,0 +1,96 @@
+package io.github.doma17.exchangerate;
+
+import io.github.doma17.exchangerate.model.HistoricalRates;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Ordered spliterator over a date range that keeps up to {@code maxConcurrency} lookups in flight.
+ * <p>
+ * Lookups start lazily on the first {@link #tryAdvance(Consumer)}. Each element is handed over in
+ * date order as soon as it and every earlier date have completed; its slot is refilled before the
+ * element is passed to the consumer, so later dates keep loading while the consumer works.
+ */
+final class HistoricalRangeSpliterator implements Spliterator<HistoricalRates> {
+
+    private final Function<LocalDate, CompletableFuture<HistoricalRates>> lookup;
+    private final LocalDate to;
+    private final int maxConcurrency;
+    private final ArrayDeque<CompletableFuture<HistoricalRates>> window;
+    private LocalDate next;
+
+    HistoricalRangeSpliterator(
+            Function<LocalDate, CompletableFuture<HistoricalRates>> lookup,
+            LocalDate from,
+            LocalDate to,
+            int maxConcurrency
+    ) {
+        this.lookup = lookup;
+        this.next = from;
+        this.to = to;
+        this.maxConcurrency = maxConcurrency;
+        this.window = new ArrayDeque<>(maxConcurrency);
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super HistoricalRates> action) {
+        fillWindow();
+        CompletableFuture<HistoricalRates> head = window.poll();
+        if (head == null) {
+            return false;
+        }
+        HistoricalRates rates = await(head);
+        fillWindow();
+        action.accept(rates);
+        return true;
+    }
+
+    @Override
+    public Spliterator<HistoricalRates> trySplit() {
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        long pending = next.isAfter(to) ? 0 : ChronoUnit.DAYS.between(next, to) + 1;
+        return pending + window.size();
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL | SIZED;
+    }
+
+    /**
+     * Cancels lookups that were started but not consumed.
+     */
+    void cancel() {
+        window.forEach(pending -> pending.cancel(false));
+        window.clear();
+        next = to.plusDays(1);
+    }
+
+    private void fillWindow() {
+        while (window.size() < maxConcurrency && !next.isAfter(to)) {
+            window.add(lookup.apply(next));
+            next = next.plusDays(1);
+        }
+    }
+
+    private static HistoricalRates await(CompletableFuture<HistoricalRates> pending) {
+        try {
+            return pending.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package io.github.doma17.exchangerate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.github.doma17.exchangerate.exception.ExchangeRateApiErrorType;
+import io.github.doma17.exchangerate.exception.ExchangeRateApiException;
+import io.github.doma17.exchangerate.exception.ExchangeRateClientException;
+import io.github.doma17.exchangerate.exception.ExchangeRateException;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+/**
+ * Retry and hedging policy applied by {@link ExchangeRateApiClient} to every HTTP call.
+ * <p>
+ * A failed attempt is retried when {@link #isRetryable(ExchangeRateException)} accepts the failure
+ * and fewer than {@link #maxAttempts()} attempts were made. The delay before retry {@code n} grows
+ * exponentially from {@link #initialBackoff()} by {@link #multiplier()}, is capped at
+ * {@link #maxBackoff()}, and is then shortened by a random fraction of up to {@link #jitter()} so
+ * that clients failing together do not retry in lockstep.
+ * <p>
+ * When {@link #hedgeDelay()} is set, an attempt that has not completed after that delay is
+ * duplicated, and whichever response arrives first is used. Hedging trades extra requests for a
+ * shorter latency tail; every retried or hedged request counts against the API quota.
+ * <p>
+ * {@link #none()} makes exactly one attempt and is the default.
+ */
+public final class RetryPolicy {
+
+    /**
+     * Default delay before the first retry.
+     */
+    public static final Duration DEFAULT_INITIAL_BACKOFF = Duration.ofMillis(100);
+    /**
+     * Default upper bound of the delay between retries.
+     */
+    public static final Duration DEFAULT_MAX_BACKOFF = Duration.ofSeconds(2);
+    /**
+     * Default backoff growth factor.
+     */
+    public static final double DEFAULT_MULTIPLIER = 2.0;
+    /**
+     * Default maximum fraction by which a backoff delay is randomly shortened.
+     */
+    public static final double DEFAULT_JITTER = 0.5;
+
+    private static final RetryPolicy NONE = builder().build();
+
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final double multiplier;
+    private final double jitter;
+    private final Duration hedgeDelay;
+    private final Predicate<ExchangeRateException> retryable;
+
+    private RetryPolicy(Builder builder) {
+        if (builder.maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1");
+        }
+        if (builder.multiplier < 1.0) {
+            throw new IllegalArgumentException("multiplier must be at least 1");
+        }
+        if (builder.jitter < 0.0 || builder.jitter > 1.0) {
+            throw new IllegalArgumentException("jitter must be between 0 and 1");
+        }
+        this.maxAttempts = builder.maxAttempts;
+        this.initialBackoff = requireNonNegative(builder.initialBackoff, "initialBackoff");
+        this.maxBackoff = requireNonNegative(builder.maxBackoff, "maxBackoff");
+        this.multiplier = builder.multiplier;
+        this.jitter = builder.jitter;
+        this.hedgeDelay = builder.hedgeDelay == null ? null : requireNonNegative(builder.hedgeDelay, "hedgeDelay");
+        this.retryable = Objects.requireNonNull(builder.retryable, "retryable");
+    }
+
+    /**
+     * Returns a policy that makes a single attempt and never hedges.
+     *
+     * @return no-retry policy
+     */
+    public static RetryPolicy none() {
+        return NONE;
+    }
+
+    /**
+     * Creates a builder. Without changes it builds the same policy as {@link #none()}.
+     *
+     * @return policy builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Default retryable classification: connection failures and timeouts, and every response with
+     * a 5xx or 429 status, whatever its body, except a 429 reporting
+     * {@link ExchangeRateApiErrorType#QUOTA_REACHED}.
+     * <p>
+     * Unparseable successful responses, interrupts and typed API errors such as
+     * {@link ExchangeRateApiErrorType#INVALID_KEY} or {@link ExchangeRateApiErrorType#QUOTA_REACHED}
+     * are not retried, because repeating the request cannot change their outcome.
+     *
+     * @param failure failed attempt
+     * @return {@code true} when the failure is transient
+     */
+    public static boolean isTransient(ExchangeRateException failure) {
+        if (failure instanceof ExchangeRateClientException) {
+            Throwable cause = failure.getCause();
+            return cause instanceof IOException && !(cause instanceof JsonProcessingException);
+        }
+        if (failure instanceof ExchangeRateApiException apiException) {
+            int status = apiException.statusCode();
+            return status >= 500
+                    || status == 429 && apiException.errorType() != ExchangeRateApiErrorType.QUOTA_REACHED;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the maximum number of attempts per call, including the first one.
+     *
+     * @return maximum attempts
+     */
+    public int maxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Returns the delay before the first retry.
+     *
+     * @return initial backoff
+     */
+    public Duration initialBackoff() {
+        return initialBackoff;
+    }
+
+    /**
+     * Returns the upper bound of the delay between retries.
+     *
+     * @return maximum backoff
+     */
+    public Duration maxBackoff() {
+        return maxBackoff;
+    }
+
+    /**
+     * Returns the factor applied to the backoff after each retry.
+     *
+     * @return backoff multiplier
+     */
+    public double multiplier() {
+        return multiplier;
+    }
+
+    /**
+     * Returns the maximum fraction by which a backoff delay is randomly shortened.
+     *
+     * @return jitter fraction between 0 and 1
+     */
+    public double jitter() {
+        return jitter;
+    }
+
+    /**
+     * Returns the latency after which an unfinished attempt is duplicated.
+     *
+     * @return hedge delay, or {@code null} when hedging is disabled
+     */
+    public Duration hedgeDelay() {
+        return hedgeDelay;
+    }
+
+    /**
+     * Returns whether a failed attempt may be retried by this policy.
+     *
+     * @param failure failed attempt
+     * @return {@code true} when the failure is classified as retryable
+     */
+    public boolean isRetryable(ExchangeRateException failure) {
+        return retryable.test(failure);
+    }
+
+    /**
+     * Returns whether another attempt should follow a failure.
+     *
+     * @param failure failed attempt
+     * @param attempt number of attempts made so far, starting at 1
+     * @return {@code true} when the call should be retried
+     */
+    boolean shouldRetry(ExchangeRateException failure, int attempt) {
+        return attempt < maxAttempts && isRetryable(failure);
+    }
+
+    /**
+     * Computes the jittered delay before a retry.
+     *
+     * @param retry retry number, starting at 1
+     * @return delay before the retry
+     */
+    Duration backoff(int retry) {
+        double nanos = initialBackoff.toNanos() * Math.pow(multiplier, retry - 1);
+        double capped = Math.min(nanos, maxBackoff.toNanos());
+        double jittered = capped * (1.0 - jitter * ThreadLocalRandom.current().nextDouble());
+        return Duration.ofNanos((long) jittered);
+    }
+
+    private static Duration requireNonNegative(Duration value, String fieldName) {
+        Objects.requireNonNull(value, fieldName);
+        if (value.isNegative()) {
+            throw new IllegalArgumentException(fieldName + " must not be negative");
+        }
+        return value;
+    }
+
+    /**
+     * Builder for {@link RetryPolicy}.
+     */
+    public static final class Builder {
+
+        private int maxAttempts = 1;
+        private Duration initialBackoff = DEFAULT_INITIAL_BACKOFF;
+        private Duration maxBackoff = DEFAULT_MAX_BACKOFF;
+        private double multiplier = DEFAULT_MULTIPLIER;
+        private double jitter = DEFAULT_JITTER;
+        private Duration hedgeDelay;
+        private Predicate<ExchangeRateException> retryable = RetryPolicy::isTransient;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the maximum number of attempts per call, including the first one.
+         *
+         * @param maxAttempts attempts, at least 1
+         * @return this builder
+         */
+        public Builder maxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * Sets the delay before the first retry.
+         *
+         * @param initialBackoff non-negative initial backoff
+         * @return this builder
+         */
+        public Builder initialBackoff(Duration initialBackoff) {
+            this.initialBackoff = initialBackoff;
+            return this;
+        }
+
+        /**
+         * Sets the upper bound of the delay between retries.
+         *
+         * @param maxBackoff non-negative maximum backoff
+         * @return this builder
+         */
+        public Builder maxBackoff(Duration maxBackoff) {
+            this.maxBackoff = maxBackoff;
+            return this;
+        }
+
+        /**
+         * Sets the factor applied to the backoff after each retry.
+         *
+         * @param multiplier growth factor, at least 1
+         * @return this builder
+         */
+        public Builder multiplier(double multiplier) {
+            this.multiplier = multiplier;
+            return this;
+        }
+
+        /**
+         * Sets the maximum fraction by which a backoff delay is randomly shortened.
+         * {@code 0} disables jitter; {@code 1} picks any delay up to the computed backoff.
+         *
+         * @param jitter fraction between 0 and 1
+         * @return this builder
+         */
+        public Builder jitter(double jitter) {
+            this.jitter = jitter;
+            return this;
+        }
+
+        /**
+         * Enables hedging: an attempt still running after this delay is duplicated and the first
+         * response wins. A good value is around the observed p95 latency.
+         *
+         * @param hedgeDelay non-negative hedge delay, or {@code null} to disable hedging
+         * @return this builder
+         */
+        public Builder hedgeDelay(Duration hedgeDelay) {
+            this.hedgeDelay = hedgeDelay;
+            return this;
+        }
+
+        /**
+         * Replaces the retryable classification; defaults to {@link RetryPolicy#isTransient}.
+         *
+         * @param retryable predicate returning {@code true} for failures worth retrying
+         * @return this builder
+         */
+        public Builder retryOn(Predicate<ExchangeRateException> retryable) {
+            this.retryable = retryable;
+            return this;
+        }
+
+        /**
+         * Builds the policy.
+         *
+         * @return new policy
+         */
+        public RetryPolicy build() {
+            return new RetryPolicy(this);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package io.github.doma17.exchangerate;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.github.doma17.exchangerate.model.ExchangeRateSnapshot;
+import io.github.doma17.exchangerate.model.HistoricalRates;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Single-pass decoder for rate-table responses that reads tokens straight into model records.
+ * <p>
+ * Used by {@link ExchangeRateApiClient} when {@link ExchangeRateApiOptions#streamingParser()} is enabled,
+ * avoiding the intermediate body {@code String} and {@code JsonNode} tree for the large
+ * {@code conversion_rates} objects.
+ */
+final class StreamingResponseDecoder {
+
+    private StreamingResponseDecoder() {
+    }
+
+    static ExchangeRateSnapshot readSnapshot(JsonParser parser, int statusCode, URI uri) throws IOException {
+        Fields fields = readFields(parser, statusCode, uri);
+        return new ExchangeRateSnapshot(
+                toInstant(fields.lastUpdateUnix),
+                toInstant(fields.nextUpdateUnix),
+                ExchangeRateApiClient.normalizeCode(fields.baseCode),
+                fields.conversionRates
+        );
+    }
+
+    static HistoricalRates readHistoricalRates(JsonParser parser, int statusCode, URI uri) throws IOException {
+        Fields fields = readFields(parser, statusCode, uri);
+        return new HistoricalRates(
+                toLocalDate(fields),
+                ExchangeRateApiClient.normalizeCode(fields.baseCode),
+                fields.conversionRates,
+                null,
+                Map.of()
+        );
+    }
+
+    static HistoricalRates readHistoricalAmounts(JsonParser parser, int statusCode, URI uri) throws IOException {
+        Fields fields = readFields(parser, statusCode, uri);
+        return new HistoricalRates(
+                toLocalDate(fields),
+                ExchangeRateApiClient.normalizeCode(fields.baseCode),
+                Map.of(),
+                fields.requestedAmount,
+                fields.conversionAmounts
+        );
+    }
+
+    private static Fields readFields(JsonParser parser, int statusCode, URI uri) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "expected JSON object");
+        }
+
+        Fields fields = new Fields();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (name) {
+                case "result" -> fields.result = parser.getValueAsString("");
+                case "error-type" -> fields.errorType = parser.getValueAsString();
+                case "time_last_update_unix" -> fields.lastUpdateUnix = parser.getValueAsLong(Long.MIN_VALUE);
+                case "time_next_update_unix" -> fields.nextUpdateUnix = parser.getValueAsLong(Long.MIN_VALUE);
+                case "base_code" -> fields.baseCode = parser.getValueAsString("");
+                case "year" -> fields.year = parser.getValueAsInt(-1);
+                case "month" -> fields.month = parser.getValueAsInt(-1);
+                case "day" -> fields.day = parser.getValueAsInt(-1);
+                case "requested_amount" -> fields.requestedAmount = readDecimal(parser, value);
+                case "conversion_rates" -> fields.conversionRates = readRates(parser, value);
+                case "conversion_amounts" -> fields.conversionAmounts = readRates(parser, value);
+                default -> parser.skipChildren();
+            }
+        }
+
+        ExchangeRateApiClient.validateApiResult(fields.result, fields.errorType, statusCode, uri);
+        return fields;
+    }
+
+    private static Map<String, BigDecimal> readRates(JsonParser parser, JsonToken value) throws IOException {
+        if (value != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return Map.of();
+        }
+
+        Map<String, BigDecimal> rates = new HashMap<>(256);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String code = ExchangeRateApiClient.normalizeCode(parser.currentName());
+            rates.put(code, readDecimal(parser, parser.nextToken()));
+        }
+        return rates;
+    }
+
+    /**
+     * Reads a numeric value the way {@code JsonNode#decimalValue()} does on the tree path, so both
+     * parsers agree: non-numeric values such as {@code null} or strings decode to zero.
+     */
+    private static BigDecimal readDecimal(JsonParser parser, JsonToken value) throws IOException {
+        if (value.isNumeric()) {
+            return parser.getDecimalValue();
+        }
+        parser.skipChildren();
+        return BigDecimal.ZERO;
+    }
+
+    private static Instant toInstant(long epochSeconds) {
+        if (epochSeconds == Long.MIN_VALUE) {
+            throw new IllegalArgumentException("missing epoch seconds field");
+        }
+        return Instant.ofEpochSecond(epochSeconds);
+    }
+
+    private static LocalDate toLocalDate(Fields fields) {
+        if (fields.year < 0 || fields.month < 0 || fields.day < 0) {
+            throw new IllegalArgumentException("historical response missing date fields");
+        }
+        return LocalDate.of(fields.year, fields.month, fields.day);
+    }
+
+    @FunctionalInterface
+    interface Reader<T> {
+        T read(JsonParser parser, int statusCode, URI uri) throws IOException;
+    }
+
+    private static final class Fields {
+        private String result = "";
+        private String errorType;
+        private long lastUpdateUnix = Long.MIN_VALUE;
+        private long nextUpdateUnix = Long.MIN_VALUE;
+        private String baseCode = "";
+        private int year = -1;
+        private int month = -1;
+        private int day = -1;
+        private BigDecimal requestedAmount;
+        private Map<String, BigDecimal> conversionRates = Map.of();
+        private Map<String, BigDecimal> conversionAmounts = Map.of();
+    }
+}
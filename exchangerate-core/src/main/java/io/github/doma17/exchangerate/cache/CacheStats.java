@@ -0,0 +1,44 @@
+package io.github.doma17.exchangerate.cache;
+
+/**
+ * Point-in-time counters of a {@link CachingExchangeRateClient}.
+ *
+ * @param hitCount lookups served from the cache
+ * @param missCount lookups that called the delegate client
+ * @param evictionCount entries removed to respect the maximum size
+ * @param size number of cached snapshots
+ * @param staleCount lookups answered with an expired snapshot, either while revalidating or after a failed fetch
+ */
+public record CacheStats(long hitCount, long missCount, long evictionCount, int size, long staleCount) {
+
+    /**
+     * Creates statistics without stale lookups.
+     *
+     * @param hitCount lookups served from the cache
+     * @param missCount lookups that called the delegate client
+     * @param evictionCount entries removed to respect the maximum size
+     * @param size number of cached snapshots
+     */
+    public CacheStats(long hitCount, long missCount, long evictionCount, int size) {
+        this(hitCount, missCount, evictionCount, size, 0);
+    }
+
+    /**
+     * Returns the total number of lookups.
+     *
+     * @return hits plus misses
+     */
+    public long requestCount() {
+        return hitCount + missCount;
+    }
+
+    /**
+     * Returns the ratio of lookups served from the cache.
+     *
+     * @return hit ratio between {@code 0} and {@code 1}, or {@code 1} when no lookups were made
+     */
+    public double hitRate() {
+        long requests = requestCount();
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+}
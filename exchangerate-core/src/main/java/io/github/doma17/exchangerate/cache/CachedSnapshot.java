@@ -0,0 +1,56 @@
+package io.github.doma17.exchangerate.cache;
+
+import io.github.doma17.exchangerate.model.ExchangeRateSnapshot;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Latest snapshot returned by {@link CachingExchangeRateClient#lookup(String)}, together with
+ * how it was served.
+ *
+ * @param snapshot cached or freshly fetched snapshot
+ * @param freshness whether the snapshot was fresh or served past its expiry
+ * @param fetchedAt time the snapshot was fetched from the delegate client
+ */
+public record CachedSnapshot(ExchangeRateSnapshot snapshot, Freshness freshness, Instant fetchedAt) {
+
+    /**
+     * Creates a cached snapshot result.
+     *
+     * @param snapshot cached or freshly fetched snapshot
+     * @param freshness whether the snapshot was fresh or served past its expiry
+     * @param fetchedAt time the snapshot was fetched from the delegate client
+     */
+    public CachedSnapshot {
+        Objects.requireNonNull(snapshot, "snapshot");
+        Objects.requireNonNull(freshness, "freshness");
+        Objects.requireNonNull(fetchedAt, "fetchedAt");
+    }
+
+    /**
+     * Returns whether the snapshot was served after its cache expiry.
+     *
+     * @return {@code true} unless {@link Freshness#FRESH}
+     */
+    public boolean isStale() {
+        return freshness != Freshness.FRESH;
+    }
+
+    /**
+     * How a snapshot was served.
+     */
+    public enum Freshness {
+        /**
+         * Served before its expiry, or fetched by this call.
+         */
+        FRESH,
+        /**
+         * Served after expiry while a background refresh runs (stale-while-revalidate).
+         */
+        STALE_WHILE_REVALIDATE,
+        /**
+         * Served after expiry because fetching a new snapshot failed (stale-if-error).
+         */
+        STALE_IF_ERROR
+    }
+}
@@ -0,0 +1,445 @@
+package io.github.doma17.exchangerate.cache;
+
+import io.github.doma17.exchangerate.DaemonThreadFactory;
+import io.github.doma17.exchangerate.ExchangeRateClient;
+import io.github.doma17.exchangerate.RetryPolicy;
+import io.github.doma17.exchangerate.cache.CachedSnapshot.Freshness;
+import io.github.doma17.exchangerate.exception.ExchangeRateApiErrorType;
+import io.github.doma17.exchangerate.exception.ExchangeRateApiException;
+import io.github.doma17.exchangerate.exception.ExchangeRateException;
+import io.github.doma17.exchangerate.exception.ExchangeRateThrottledException;
+import io.github.doma17.exchangerate.model.CurrencyCode;
+import io.github.doma17.exchangerate.model.EnrichedRate;
+import io.github.doma17.exchangerate.model.ExchangeRateSnapshot;
+import io.github.doma17.exchangerate.model.HistoricalRates;
+import io.github.doma17.exchangerate.model.PairRate;
+import io.github.doma17.exchangerate.model.QuotaStatus;
+import io.github.doma17.exchangerate.model.SupportedCurrency;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link ExchangeRateClient} decorator that caches latest snapshots per base currency.
+ * <p>
+ * A snapshot is served until its {@link ExchangeRateSnapshot#nextUpdateAt()} (or the configured
+ * minimum time-to-live, whichever is later). The cache is bounded and evicts the least recently
+ * used base currency when full. All other endpoints are delegated unchanged.
+ * <p>
+ * Two optional serving modes trade freshness for availability, both bounded by a window past
+ * expiry. With {@link Builder#staleWhileRevalidate(Duration)}, an expired snapshot is returned
+ * immediately while one background call fetches its replacement. With
+ * {@link Builder#staleIfError(Duration)}, an expired snapshot is returned when fetching its
+ * replacement fails with an outage-type error: a transient failure as classified by
+ * {@link RetryPolicy#isTransient(ExchangeRateException)}, a throttled or circuit-open call, or a
+ * reached quota. Errors that a stale value would only hide, such as an invalid key or an
+ * unsupported code, are always thrown. Use {@link #lookup(String)} or a
+ * {@link Builder#staleListener(StaleSnapshotListener)} to tell whether a snapshot was served stale.
+ */
+public class CachingExchangeRateClient implements ExchangeRateClient {
+
+    /**
+     * Default maximum number of cached base currencies.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 256;
+    /**
+     * Default minimum time a snapshot is kept, even when {@code nextUpdateAt} has already passed.
+     */
+    public static final Duration DEFAULT_MINIMUM_TIME_TO_LIVE = Duration.ofMinutes(1);
+
+    private static final int DEFAULT_REVALIDATION_THREADS = 4;
+
+    private final ExchangeRateClient delegate;
+    private final Clock clock;
+    private final Duration minimumTimeToLive;
+    private final Duration staleWhileRevalidate;
+    private final Duration staleIfError;
+    private final Object revalidationLock = new Object();
+    private volatile Executor revalidationExecutor;
+    private final List<StaleSnapshotListener> staleListeners;
+    private final Map<String, CacheEntry> entries;
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder staleCount = new LongAdder();
+
+    private CachingExchangeRateClient(Builder builder) {
+        this.delegate = Objects.requireNonNull(builder.delegate, "delegate");
+        this.clock = Objects.requireNonNull(builder.clock, "clock");
+        this.minimumTimeToLive = requireNonNegative(builder.minimumTimeToLive, "minimumTimeToLive");
+        this.staleWhileRevalidate = requireNonNegative(builder.staleWhileRevalidate, "staleWhileRevalidate");
+        this.staleIfError = requireNonNegative(builder.staleIfError, "staleIfError");
+        this.revalidationExecutor = builder.revalidationExecutor;
+        this.staleListeners = List.copyOf(builder.staleListeners);
+        if (builder.maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive");
+        }
+
+        int maximumSize = builder.maximumSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+                if (size() > maximumSize) {
+                    evictionCount.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Creates a caching client with default settings.
+     *
+     * @param delegate client used on cache misses
+     */
+    public CachingExchangeRateClient(ExchangeRateClient delegate) {
+        this(builder(delegate));
+    }
+
+    /**
+     * Creates a builder for a caching client.
+     *
+     * @param delegate client used on cache misses
+     * @return caching client builder
+     */
+    public static Builder builder(ExchangeRateClient delegate) {
+        return new Builder(delegate);
+    }
+
+    @Override
+    public ExchangeRateSnapshot getLatestRates(String baseCode) {
+        return lookup(baseCode).snapshot();
+    }
+
+    /**
+     * Returns the latest snapshot for a base currency along with whether it was served stale.
+     *
+     * @param baseCode base ISO-4217 code
+     * @return snapshot and its freshness
+     * @throws ExchangeRateException when no usable snapshot is cached and the delegate call fails
+     */
+    public CachedSnapshot lookup(String baseCode) {
+        String key = cacheKey(baseCode);
+        Instant now = clock.instant();
+
+        CacheEntry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry != null && now.isBefore(entry.expiresAt())) {
+            hitCount.increment();
+            return entry.toResult(Freshness.FRESH);
+        }
+        if (entry != null && now.isBefore(entry.expiresAt().plus(staleWhileRevalidate))) {
+            hitCount.increment();
+            staleCount.increment();
+            revalidate(key);
+            return stale(entry.toResult(Freshness.STALE_WHILE_REVALIDATE), null);
+        }
+
+        missCount.increment();
+        try {
+            return load(key).toResult(Freshness.FRESH);
+        } catch (ExchangeRateException e) {
+            if (entry != null && now.isBefore(entry.expiresAt().plus(staleIfError)) && isOutage(e)) {
+                staleCount.increment();
+                return stale(entry.toResult(Freshness.STALE_IF_ERROR), e);
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public PairRate getPairRate(String baseCode, String targetCode) {
+        return delegate.getPairRate(baseCode, targetCode);
+    }
+
+    @Override
+    public PairRate convertPairAmount(String baseCode, String targetCode, BigDecimal amount) {
+        return delegate.convertPairAmount(baseCode, targetCode, amount);
+    }
+
+    @Override
+    public HistoricalRates getHistoricalRates(String baseCode, LocalDate date) {
+        return delegate.getHistoricalRates(baseCode, date);
+    }
+
+    @Override
+    public HistoricalRates getHistoricalConvertedAmounts(String baseCode, LocalDate date, BigDecimal amount) {
+        return delegate.getHistoricalConvertedAmounts(baseCode, date, amount);
+    }
+
+    @Override
+    public QuotaStatus getQuotaStatus() {
+        return delegate.getQuotaStatus();
+    }
+
+    @Override
+    public List<SupportedCurrency> getSupportedCurrencies() {
+        return delegate.getSupportedCurrencies();
+    }
+
+    @Override
+    public EnrichedRate getEnrichedRate(String baseCode, String targetCode) {
+        return delegate.getEnrichedRate(baseCode, targetCode);
+    }
+
+    @Override
+    public <T> Optional<T> unwrap(Class<T> type) {
+        return ExchangeRateClient.super.unwrap(type).or(() -> delegate.unwrap(type));
+    }
+
+    /**
+     * Removes the cached snapshot for a base currency, if present.
+     *
+     * @param baseCode base ISO-4217 code
+     */
+    public void invalidate(String baseCode) {
+        String key = cacheKey(baseCode);
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * Removes all cached snapshots.
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the cache counters.
+     *
+     * @return current cache statistics
+     */
+    public CacheStats stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new CacheStats(hitCount.sum(), missCount.sum(), evictionCount.sum(), size, staleCount.sum());
+    }
+
+    private CacheEntry load(String key) {
+        ExchangeRateSnapshot snapshot = delegate.getLatestRates(key);
+        Instant fetchedAt = clock.instant();
+        CacheEntry loaded = new CacheEntry(snapshot, fetchedAt, expiresAt(snapshot, fetchedAt));
+        synchronized (entries) {
+            entries.put(key, loaded);
+        }
+        return loaded;
+    }
+
+    private CachedSnapshot stale(CachedSnapshot served, ExchangeRateException failure) {
+        for (StaleSnapshotListener listener : staleListeners) {
+            try {
+                listener.onStale(served, failure);
+            } catch (RuntimeException ignored) {
+                // A failing listener must not turn a servable snapshot into an error.
+            }
+        }
+        return served;
+    }
+
+    private static boolean isOutage(ExchangeRateException failure) {
+        if (failure instanceof ExchangeRateThrottledException) {
+            return true;
+        }
+        if (failure instanceof ExchangeRateApiException apiFailure
+                && apiFailure.errorType() == ExchangeRateApiErrorType.QUOTA_REACHED) {
+            return true;
+        }
+        return RetryPolicy.isTransient(failure);
+    }
+
+    /**
+     * Returns the revalidation executor, creating the default pool on the first stale-while-revalidate
+     * read, so clients without that window never start one.
+     */
+    private Executor revalidationExecutor() {
+        Executor executor = revalidationExecutor;
+        if (executor == null) {
+            synchronized (revalidationLock) {
+                executor = revalidationExecutor;
+                if (executor == null) {
+                    executor = DaemonThreadFactory.pool("exchangerate-revalidate", DEFAULT_REVALIDATION_THREADS);
+                    revalidationExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    private void revalidate(String key) {
+        if (!revalidating.add(key)) {
+            return;
+        }
+        try {
+            revalidationExecutor().execute(() -> {
+                try {
+                    load(key);
+                } catch (RuntimeException ignored) {
+                    // The stale entry stays in place; the next lookup past the window fetches synchronously.
+                } finally {
+                    revalidating.remove(key);
+                }
+            });
+        } catch (RuntimeException e) {
+            revalidating.remove(key);
+        }
+    }
+
+    private Instant expiresAt(ExchangeRateSnapshot snapshot, Instant fetchedAt) {
+        Instant minimumExpiry = fetchedAt.plus(minimumTimeToLive);
+        return snapshot.nextUpdateAt().isAfter(minimumExpiry) ? snapshot.nextUpdateAt() : minimumExpiry;
+    }
+
+    private static String cacheKey(String baseCode) {
+        return CurrencyCode.parse(baseCode).code();
+    }
+
+    private static Duration requireNonNegative(Duration value, String fieldName) {
+        Objects.requireNonNull(value, fieldName);
+        if (value.isNegative()) {
+            throw new IllegalArgumentException(fieldName + " must not be negative");
+        }
+        return value;
+    }
+
+    private record CacheEntry(ExchangeRateSnapshot snapshot, Instant fetchedAt, Instant expiresAt) {
+
+        private CachedSnapshot toResult(Freshness freshness) {
+            return new CachedSnapshot(snapshot, freshness, fetchedAt);
+        }
+    }
+
+    /**
+     * Builder for {@link CachingExchangeRateClient}.
+     */
+    public static final class Builder {
+
+        private final ExchangeRateClient delegate;
+        private int maximumSize = DEFAULT_MAXIMUM_SIZE;
+        private Duration minimumTimeToLive = DEFAULT_MINIMUM_TIME_TO_LIVE;
+        private Duration staleWhileRevalidate = Duration.ZERO;
+        private Duration staleIfError = Duration.ZERO;
+        private Executor revalidationExecutor;
+        private final List<StaleSnapshotListener> staleListeners = new ArrayList<>();
+        private Clock clock = Clock.systemUTC();
+
+        private Builder(ExchangeRateClient delegate) {
+            this.delegate = delegate;
+        }
+
+        /**
+         * Sets the maximum number of cached base currencies.
+         *
+         * @param maximumSize positive entry limit
+         * @return this builder
+         */
+        public Builder maximumSize(int maximumSize) {
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * Sets the minimum time a fetched snapshot is served, protecting against
+         * repeated fetches when the API reports a {@code nextUpdateAt} in the past.
+         *
+         * @param minimumTimeToLive non-negative minimum time-to-live
+         * @return this builder
+         */
+        public Builder minimumTimeToLive(Duration minimumTimeToLive) {
+            this.minimumTimeToLive = minimumTimeToLive;
+            return this;
+        }
+
+        /**
+         * Sets how long past expiry a snapshot is still returned immediately while a background
+         * call fetches its replacement. Disabled ({@link Duration#ZERO}) by default.
+         *
+         * @param staleWhileRevalidate non-negative window past expiry
+         * @return this builder
+         */
+        public Builder staleWhileRevalidate(Duration staleWhileRevalidate) {
+            this.staleWhileRevalidate = staleWhileRevalidate;
+            return this;
+        }
+
+        /**
+         * Sets how long past expiry a snapshot is returned when fetching its replacement fails
+         * with an outage-type error: a transient I/O or 5xx/429 failure, a throttled or
+         * circuit-open call, or a reached quota. Other API errors are thrown.
+         * Disabled ({@link Duration#ZERO}) by default.
+         *
+         * @param staleIfError non-negative maximum staleness
+         * @return this builder
+         */
+        public Builder staleIfError(Duration staleIfError) {
+            this.staleIfError = staleIfError;
+            return this;
+        }
+
+        /**
+         * Sets the executor for stale-while-revalidate background fetches. When not set, a small
+         * pool of daemon threads owned by this client runs them; it is created on the first
+         * revalidation and its threads exit when idle.
+         *
+         * @param revalidationExecutor background executor
+         * @return this builder
+         */
+        public Builder revalidationExecutor(Executor revalidationExecutor) {
+            this.revalidationExecutor = revalidationExecutor;
+            return this;
+        }
+
+        /**
+         * Adds a listener notified whenever a snapshot is served past its expiry.
+         *
+         * @param listener stale read listener
+         * @return this builder
+         */
+        public Builder staleListener(StaleSnapshotListener listener) {
+            staleListeners.add(Objects.requireNonNull(listener, "listener"));
+            return this;
+        }
+
+        /**
+         * Sets the clock used to evaluate expiry.
+         *
+         * @param clock expiry clock
+         * @return this builder
+         */
+        public Builder clock(Clock clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        /**
+         * Builds the caching client.
+         *
+         * @return new caching client
+         */
+        public CachingExchangeRateClient build() {
+            return new CachingExchangeRateClient(this);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package io.github.doma17.exchangerate.cache;
+
+import io.github.doma17.exchangerate.ExchangeRateClient;
+import io.github.doma17.exchangerate.exception.ExchangeRateApiException;
+import io.github.doma17.exchangerate.exception.ExchangeRateCircuitOpenException;
+import io.github.doma17.exchangerate.exception.ExchangeRateClientException;
+import io.github.doma17.exchangerate.exception.ExchangeRateException;
+import io.github.doma17.exchangerate.exception.ExchangeRateThrottledException;
+import io.github.doma17.exchangerate.model.CurrencyCode;
+import io.github.doma17.exchangerate.model.EnrichedRate;
+import io.github.doma17.exchangerate.model.ExchangeRateSnapshot;
+import io.github.doma17.exchangerate.model.HistoricalRates;
+import io.github.doma17.exchangerate.model.PairRate;
+import io.github.doma17.exchangerate.model.QuotaStatus;
+import io.github.doma17.exchangerate.model.SupportedCurrency;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * {@link ExchangeRateClient} decorator that deduplicates concurrent identical calls.
+ * <p>
+ * Calls are keyed by their endpoint segments (for example {@code latest/USD}). While a call is in
+ * flight, other threads asking for the same segments wait on the same pending result instead of
+ * issuing their own request, and receive the same parsed object. A failure is rethrown to each
+ * waiter as a new exception of the same type with the original as its cause, so every waiter
+ * gets its own stack trace and suppressed list. Nothing is kept once
+ * the call completes; combine with {@link CachingExchangeRateClient} (placed in front of this
+ * client) to also reuse completed results.
+ */
+public class CoalescingExchangeRateClient implements ExchangeRateClient {
+
+    private final ExchangeRateClient delegate;
+    private final ConcurrentMap<List<String>, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder coalescedCount = new LongAdder();
+
+    /**
+     * Creates a coalescing client.
+     *
+     * @param delegate client that performs the actual calls
+     */
+    public CoalescingExchangeRateClient(ExchangeRateClient delegate) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+    }
+
+    @Override
+    public ExchangeRateSnapshot getLatestRates(String baseCode) {
+        return coalesce(List.of("latest", key(baseCode)), () -> delegate.getLatestRates(baseCode));
+    }
+
+    @Override
+    public PairRate getPairRate(String baseCode, String targetCode) {
+        return coalesce(
+                List.of("pair", key(baseCode), key(targetCode)),
+                () -> delegate.getPairRate(baseCode, targetCode)
+        );
+    }
+
+    @Override
+    public PairRate convertPairAmount(String baseCode, String targetCode, BigDecimal amount) {
+        Objects.requireNonNull(amount, "amount");
+        return coalesce(
+                List.of("pair", key(baseCode), key(targetCode), key(amount)),
+                () -> delegate.convertPairAmount(baseCode, targetCode, amount)
+        );
+    }
+
+    @Override
+    public HistoricalRates getHistoricalRates(String baseCode, LocalDate date) {
+        Objects.requireNonNull(date, "date");
+        return coalesce(
+                List.of("history", key(baseCode), date.toString()),
+                () -> delegate.getHistoricalRates(baseCode, date)
+        );
+    }
+
+    @Override
+    public HistoricalRates getHistoricalConvertedAmounts(String baseCode, LocalDate date, BigDecimal amount) {
+        Objects.requireNonNull(date, "date");
+        Objects.requireNonNull(amount, "amount");
+        return coalesce(
+                List.of("history", key(baseCode), date.toString(), key(amount)),
+                () -> delegate.getHistoricalConvertedAmounts(baseCode, date, amount)
+        );
+    }
+
+    @Override
+    public QuotaStatus getQuotaStatus() {
+        return coalesce(List.of("quota"), delegate::getQuotaStatus);
+    }
+
+    @Override
+    public List<SupportedCurrency> getSupportedCurrencies() {
+        return coalesce(List.of("codes"), delegate::getSupportedCurrencies);
+    }
+
+    @Override
+    public EnrichedRate getEnrichedRate(String baseCode, String targetCode) {
+        return coalesce(
+                List.of("enriched", key(baseCode), key(targetCode)),
+                () -> delegate.getEnrichedRate(baseCode, targetCode)
+        );
+    }
+
+    @Override
+    public <T> Optional<T> unwrap(Class<T> type) {
+        return ExchangeRateClient.super.unwrap(type).or(() -> delegate.unwrap(type));
+    }
+
+    /**
+     * Returns how many calls were served by joining an in-flight call instead of calling the delegate.
+     *
+     * @return coalesced call count
+     */
+    public long coalescedCount() {
+        return coalescedCount.sum();
+    }
+
+    /**
+     * Returns the number of distinct calls currently in flight.
+     *
+     * @return in-flight call count
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T coalesce(List<String> key, Supplier<T> call) {
+        CompletableFuture<Object> pending = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, pending);
+        if (existing != null) {
+            coalescedCount.increment();
+            return (T) await(existing);
+        }
+
+        try {
+            T result = call.get();
+            pending.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, pending);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> pending) {
+        try {
+            return pending.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw forWaiter(runtimeException);
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Copies a shared failure for one waiter, keeping the type, the fields retry and circuit
+     * breaker classification look at, and the original cause, so the cause chain is the same as
+     * the leader's. Failures outside the library's hierarchy become an
+     * {@link ExchangeRateClientException}.
+     */
+    private static RuntimeException forWaiter(RuntimeException failure) {
+        String message = failure.getMessage();
+        Throwable cause = failure.getCause();
+        if (failure instanceof ExchangeRateApiException apiException) {
+            return withCause(new ExchangeRateApiException(apiException.statusCode(), apiException.errorType(), message), cause);
+        }
+        if (failure instanceof ExchangeRateCircuitOpenException) {
+            return withCause(new ExchangeRateCircuitOpenException(message), cause);
+        }
+        if (failure instanceof ExchangeRateThrottledException) {
+            return withCause(new ExchangeRateThrottledException(message), cause);
+        }
+        if (failure instanceof ExchangeRateClientException) {
+            return new ExchangeRateClientException(message, cause);
+        }
+        if (failure instanceof ExchangeRateException) {
+            return new ExchangeRateException(message, cause);
+        }
+        return new ExchangeRateClientException("Coalesced call failed: " + failure, failure);
+    }
+
+    private static RuntimeException withCause(RuntimeException copy, Throwable cause) {
+        if (cause != null) {
+            copy.initCause(cause);
+        }
+        return copy;
+    }
+
+    private static String key(String currencyCode) {
+        return CurrencyCode.parse(currencyCode).code();
+    }
+
+    private static String key(BigDecimal amount) {
+        return amount.stripTrailingZeros().toPlainString();
+    }
+}
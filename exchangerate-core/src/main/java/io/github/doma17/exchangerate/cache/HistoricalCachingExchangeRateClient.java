@@ -0,0 +1,143 @@
+package io.github.doma17.exchangerate.cache;
+
+import io.github.doma17.exchangerate.ExchangeRateClient;
+import io.github.doma17.exchangerate.model.CurrencyCode;
+import io.github.doma17.exchangerate.model.EnrichedRate;
+import io.github.doma17.exchangerate.model.ExchangeRateSnapshot;
+import io.github.doma17.exchangerate.model.HistoricalRates;
+import io.github.doma17.exchangerate.model.PairRate;
+import io.github.doma17.exchangerate.model.QuotaStatus;
+import io.github.doma17.exchangerate.model.SupportedCurrency;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link ExchangeRateClient} decorator that serves historical rates from a {@link HistoricalRateStore}.
+ * <p>
+ * {@link #getHistoricalRates(String, LocalDate)} reads the store first and only calls the delegate
+ * for dates that are not stored yet, persisting the result. Concurrent misses for the same base
+ * currency and date wait for a single delegate call. Because the store outlives the process, each
+ * base currency and date is fetched from the API at most once. All other endpoints, including
+ * historical converted amounts, are delegated unchanged.
+ */
+public class HistoricalCachingExchangeRateClient implements ExchangeRateClient {
+
+    private final ExchangeRateClient delegate;
+    private final HistoricalRateStore store;
+    private final ConcurrentMap<String, Object> loadLocks = new ConcurrentHashMap<>();
+    private final LongAdder storeHitCount = new LongAdder();
+    private final LongAdder storeMissCount = new LongAdder();
+
+    /**
+     * Creates a store-backed client.
+     *
+     * @param delegate client used for dates that are not stored
+     * @param store historical rate store
+     */
+    public HistoricalCachingExchangeRateClient(ExchangeRateClient delegate, HistoricalRateStore store) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        this.store = Objects.requireNonNull(store, "store");
+    }
+
+    @Override
+    public ExchangeRateSnapshot getLatestRates(String baseCode) {
+        return delegate.getLatestRates(baseCode);
+    }
+
+    @Override
+    public PairRate getPairRate(String baseCode, String targetCode) {
+        return delegate.getPairRate(baseCode, targetCode);
+    }
+
+    @Override
+    public PairRate convertPairAmount(String baseCode, String targetCode, BigDecimal amount) {
+        return delegate.convertPairAmount(baseCode, targetCode, amount);
+    }
+
+    @Override
+    public HistoricalRates getHistoricalRates(String baseCode, LocalDate date) {
+        Objects.requireNonNull(date, "date");
+        String base = CurrencyCode.parse(baseCode).code();
+        Optional<HistoricalRates> stored = store.find(base, date);
+        if (stored.isPresent()) {
+            storeHitCount.increment();
+            return stored.get();
+        }
+
+        String key = base + '/' + date;
+        Object lock = loadLocks.computeIfAbsent(key, ignored -> new Object());
+        try {
+            synchronized (lock) {
+                stored = store.find(base, date);
+                if (stored.isPresent()) {
+                    storeHitCount.increment();
+                    return stored.get();
+                }
+                storeMissCount.increment();
+                HistoricalRates fetched = delegate.getHistoricalRates(base, date);
+                store.put(fetched);
+                return fetched;
+            }
+        } finally {
+            loadLocks.remove(key, lock);
+        }
+    }
+
+    @Override
+    public HistoricalRates getHistoricalConvertedAmounts(String baseCode, LocalDate date, BigDecimal amount) {
+        return delegate.getHistoricalConvertedAmounts(baseCode, date, amount);
+    }
+
+    @Override
+    public QuotaStatus getQuotaStatus() {
+        return delegate.getQuotaStatus();
+    }
+
+    @Override
+    public List<SupportedCurrency> getSupportedCurrencies() {
+        return delegate.getSupportedCurrencies();
+    }
+
+    @Override
+    public EnrichedRate getEnrichedRate(String baseCode, String targetCode) {
+        return delegate.getEnrichedRate(baseCode, targetCode);
+    }
+
+    @Override
+    public <T> Optional<T> unwrap(Class<T> type) {
+        return ExchangeRateClient.super.unwrap(type).or(() -> delegate.unwrap(type));
+    }
+
+    /**
+     * Returns the backing store.
+     *
+     * @return historical rate store
+     */
+    public HistoricalRateStore store() {
+        return store;
+    }
+
+    /**
+     * Returns how many historical lookups were served from the store.
+     *
+     * @return store hit count
+     */
+    public long storeHitCount() {
+        return storeHitCount.sum();
+    }
+
+    /**
+     * Returns how many historical lookups called the delegate.
+     *
+     * @return store miss count
+     */
+    public long storeMissCount() {
+        return storeMissCount.sum();
+    }
+}
@@ -0,0 +1,412 @@
+package io.github.doma17.exchangerate.cache;
+
+import io.github.doma17.exchangerate.exception.ExchangeRateClientException;
+import io.github.doma17.exchangerate.model.CurrencyCode;
+import io.github.doma17.exchangerate.model.HistoricalRates;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Local, append-only store of historical rates backed by one binary file per base currency.
+ * <p>
+ * Each file starts with a header listing its currency columns, followed by one fixed-width row
+ * per date. A row holds the epoch day and, for every column, the rate as a scale byte plus a
+ * 64-bit unscaled value, so rates read back as exactly the {@link BigDecimal} that was stored.
+ * Reads and appends go through a memory mapping of the file; only the date-to-row index is kept
+ * on the heap. The mapping reserves room for further rows, doubling when it fills up, so appends
+ * rarely remap; the unused tail is zero-filled and trimmed when the file is closed or reopened.
+ * When a date brings a currency that is not yet a column, the file is rewritten with the wider
+ * layout. Historical rates never change, so a date that is already stored is not
+ * overwritten.
+ * <p>
+ * Only {@link HistoricalRates#conversionRates()} are persisted. Instances are thread-safe; a
+ * directory should be opened by one store at a time.
+ */
+public final class HistoricalRateStore implements AutoCloseable {
+
+    private static final String FILE_SUFFIX = ".fxrates";
+    private static final int MAGIC = 0x46585231;
+    private static final int FIXED_HEADER_BYTES = Integer.BYTES * 2;
+    private static final int CELL_BYTES = Byte.BYTES + Long.BYTES;
+    private static final byte MISSING_SCALE = Byte.MIN_VALUE;
+    private static final int MINIMUM_CAPACITY_ROWS = 64;
+
+    private final Path directory;
+    private final ConcurrentMap<CurrencyCode, BaseFile> files = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+
+    private HistoricalRateStore(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Opens a store in a directory, creating the directory when missing.
+     *
+     * @param directory directory that holds one file per base currency
+     * @return opened store
+     * @throws ExchangeRateClientException when the directory cannot be created
+     */
+    public static HistoricalRateStore open(Path directory) {
+        Objects.requireNonNull(directory, "directory");
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new ExchangeRateClientException("Unable to create historical rate store at " + directory, e);
+        }
+        return new HistoricalRateStore(directory);
+    }
+
+    /**
+     * Returns the directory holding the store files.
+     *
+     * @return store directory
+     */
+    public Path directory() {
+        return directory;
+    }
+
+    /**
+     * Looks up stored rates for a base currency and date.
+     *
+     * @param baseCode base ISO-4217 code
+     * @param date historical date
+     * @return stored rates, or empty when the date has not been stored
+     * @throws ExchangeRateClientException when the store file cannot be read
+     */
+    public Optional<HistoricalRates> find(String baseCode, LocalDate date) {
+        Objects.requireNonNull(date, "date");
+        BaseFile file = existingFile(CurrencyCode.parse(baseCode));
+        return file == null ? Optional.empty() : Optional.ofNullable(file.read(date));
+    }
+
+    /**
+     * Returns whether rates for a base currency and date are stored.
+     *
+     * @param baseCode base ISO-4217 code
+     * @param date historical date
+     * @return {@code true} when stored
+     * @throws ExchangeRateClientException when the store file cannot be read
+     */
+    public boolean contains(String baseCode, LocalDate date) {
+        Objects.requireNonNull(date, "date");
+        BaseFile file = existingFile(CurrencyCode.parse(baseCode));
+        return file != null && file.contains(date);
+    }
+
+    /**
+     * Stores the conversion rates of a historical response, unless its date is already stored.
+     *
+     * @param historicalRates rates to persist
+     * @throws IllegalArgumentException when a rate does not fit a 64-bit unscaled value
+     * @throws ExchangeRateClientException when the store file cannot be written
+     */
+    public void put(HistoricalRates historicalRates) {
+        Objects.requireNonNull(historicalRates, "historicalRates");
+        file(CurrencyCode.parse(historicalRates.baseCode())).append(historicalRates);
+    }
+
+    /**
+     * Closes all open store files.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        files.values().forEach(BaseFile::close);
+        files.clear();
+    }
+
+    private BaseFile file(CurrencyCode baseCode) {
+        if (closed) {
+            throw new IllegalStateException("historical rate store is closed");
+        }
+        return files.computeIfAbsent(baseCode, code -> new BaseFile(code, path(code)));
+    }
+
+    /**
+     * Returns the file of a base currency for reading, or {@code null} when nothing was ever
+     * stored for it, so lookups never create files.
+     */
+    private BaseFile existingFile(CurrencyCode baseCode) {
+        if (closed) {
+            throw new IllegalStateException("historical rate store is closed");
+        }
+        BaseFile open = files.get(baseCode);
+        if (open != null || !Files.exists(path(baseCode))) {
+            return open;
+        }
+        return file(baseCode);
+    }
+
+    private Path path(CurrencyCode baseCode) {
+        return directory.resolve(baseCode.code() + FILE_SUFFIX);
+    }
+
+    private static ExchangeRateClientException ioFailure(Path path, IOException e) {
+        return new ExchangeRateClientException("I/O error while accessing historical rate store " + path, e);
+    }
+
+    /**
+     * Column layout and mapping of one base currency file, with room for {@code capacityRows} rows.
+     */
+    private record Layout(
+            CurrencyCode[] columns,
+            Map<CurrencyCode, Integer> columnIndexes,
+            MappedByteBuffer buffer,
+            int capacityRows
+    ) {
+
+        private int headerBytes() {
+            return FIXED_HEADER_BYTES + columns.length * Short.BYTES;
+        }
+
+        private int rowBytes() {
+            return Integer.BYTES + columns.length * CELL_BYTES;
+        }
+
+        private int rowOffset(int row) {
+            return headerBytes() + row * rowBytes();
+        }
+    }
+
+    private static final class BaseFile {
+
+        private final CurrencyCode baseCode;
+        private final Path path;
+        private final ConcurrentMap<Long, Integer> rowsByEpochDay = new ConcurrentHashMap<>();
+        private FileChannel channel;
+        private volatile Layout layout;
+        private int rowCount;
+
+        private BaseFile(CurrencyCode baseCode, Path path) {
+            this.baseCode = baseCode;
+            this.path = path;
+            try {
+                open();
+            } catch (IOException e) {
+                throw ioFailure(path, e);
+            }
+        }
+
+        private boolean contains(LocalDate date) {
+            return rowsByEpochDay.containsKey(date.toEpochDay());
+        }
+
+        private HistoricalRates read(LocalDate date) {
+            Integer row = rowsByEpochDay.get(date.toEpochDay());
+            if (row == null) {
+                return null;
+            }
+
+            Layout current = layout;
+            ByteBuffer buffer = current.buffer();
+            int offset = current.rowOffset(row) + Integer.BYTES;
+            Map<String, BigDecimal> rates = new HashMap<>(current.columns().length * 2);
+            for (CurrencyCode column : current.columns()) {
+                byte scale = buffer.get(offset);
+                if (scale != MISSING_SCALE) {
+                    rates.put(column.code(), BigDecimal.valueOf(buffer.getLong(offset + Byte.BYTES), scale));
+                }
+                offset += CELL_BYTES;
+            }
+            return new HistoricalRates(date, baseCode.code(), rates, null, Map.of());
+        }
+
+        private synchronized void append(HistoricalRates historicalRates) {
+            long epochDay = historicalRates.date().toEpochDay();
+            if (rowsByEpochDay.containsKey(epochDay)) {
+                return;
+            }
+
+            Map<CurrencyCode, BigDecimal> rates = new HashMap<>();
+            historicalRates.conversionRates().forEach((code, rate) -> rates.put(CurrencyCode.parse(code), rate));
+            try {
+                if (!layout.columnIndexes().keySet().containsAll(rates.keySet())) {
+                    rewriteWithColumns(rates.keySet());
+                }
+                writeRow(epochDay, rates);
+            } catch (IOException e) {
+                throw ioFailure(path, e);
+            }
+        }
+
+        private synchronized void close() {
+            try {
+                channel.truncate(layout.rowOffset(rowCount));
+                channel.close();
+            } catch (IOException e) {
+                throw ioFailure(path, e);
+            }
+        }
+
+        private void open() throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            if (channel.size() == 0) {
+                writeHeader(channel, new CurrencyCode[0]);
+            }
+
+            CurrencyCode[] columns = readColumns();
+            Layout empty = new Layout(columns, indexColumns(columns), null, 0);
+            long rowBytes = empty.rowBytes();
+            int storedRows = (int) ((channel.size() - empty.headerBytes()) / rowBytes);
+            remap(columns, storedRows);
+            // Trailing zero-filled rows are headroom left behind when the store was not closed.
+            rowCount = storedRows;
+            while (rowCount > 0 && isZeroFilled(layout.buffer(), layout.rowOffset(rowCount - 1), empty.rowBytes())) {
+                rowCount--;
+            }
+
+            for (int row = 0; row < rowCount; row++) {
+                rowsByEpochDay.put((long) layout.buffer().getInt(layout.rowOffset(row)), row);
+            }
+        }
+
+        private CurrencyCode[] readColumns() throws IOException {
+            ByteBuffer fixed = ByteBuffer.allocate(FIXED_HEADER_BYTES);
+            channel.read(fixed, 0);
+            fixed.flip();
+            if (fixed.remaining() < FIXED_HEADER_BYTES || fixed.getInt() != MAGIC) {
+                throw new IOException("not a historical rate store file");
+            }
+
+            int columnCount = fixed.getInt();
+            ByteBuffer header = ByteBuffer.allocate(columnCount * Short.BYTES);
+            channel.read(header, FIXED_HEADER_BYTES);
+            header.flip();
+            CurrencyCode[] columns = new CurrencyCode[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                columns[i] = CurrencyCode.fromIndex(header.getShort());
+            }
+            return columns;
+        }
+
+        private void writeRow(long epochDay, Map<CurrencyCode, BigDecimal> rates) throws IOException {
+            int epochDayValue = Math.toIntExact(epochDay);
+            int rowIndex = rowCount;
+            if (rowIndex >= layout.capacityRows()) {
+                remap(layout.columns(), Math.max(rowIndex + 1, layout.capacityRows() * 2));
+            }
+
+            Layout current = layout;
+            ByteBuffer row = current.buffer().duplicate();
+            row.position(current.rowOffset(rowIndex));
+            row.putInt(epochDayValue);
+            for (CurrencyCode column : current.columns()) {
+                putCell(row, rates.get(column));
+            }
+            rowCount++;
+            rowsByEpochDay.put(epochDay, rowIndex);
+        }
+
+        private void rewriteWithColumns(Iterable<CurrencyCode> added) throws IOException {
+            Layout current = layout;
+            TreeSet<CurrencyCode> union = new TreeSet<>(Arrays.asList(current.columns()));
+            added.forEach(union::add);
+            CurrencyCode[] columns = union.toArray(CurrencyCode[]::new);
+
+            Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+            try (FileChannel target = FileChannel.open(
+                    temporary,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE
+            )) {
+                writeHeader(target, columns);
+                Layout widened = new Layout(columns, indexColumns(columns), null, 0);
+                ByteBuffer source = current.buffer();
+                ByteBuffer row = ByteBuffer.allocate(widened.rowBytes());
+                for (int rowIndex = 0; rowIndex < rowCount; rowIndex++) {
+                    row.clear();
+                    int sourceOffset = current.rowOffset(rowIndex);
+                    row.putInt(source.getInt(sourceOffset));
+                    for (CurrencyCode column : columns) {
+                        Integer sourceColumn = current.columnIndexes().get(column);
+                        if (sourceColumn == null) {
+                            row.put(MISSING_SCALE).putLong(0);
+                        } else {
+                            int cellOffset = sourceOffset + Integer.BYTES + sourceColumn * CELL_BYTES;
+                            row.put(source.get(cellOffset)).putLong(source.getLong(cellOffset + Byte.BYTES));
+                        }
+                    }
+                    row.flip();
+                    target.write(row, widened.rowOffset(rowIndex));
+                }
+                target.force(true);
+            }
+
+            channel.close();
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            remap(columns, rowCount);
+        }
+
+        /**
+         * Maps the file with room for at least {@code minimumRows} rows plus headroom, extending the
+         * file with zeros as needed.
+         */
+        private void remap(CurrencyCode[] columns, int minimumRows) throws IOException {
+            Layout sized = new Layout(columns, indexColumns(columns), null, 0);
+            int capacityRows = Math.max(minimumRows, MINIMUM_CAPACITY_ROWS);
+            long mappedBytes = (long) sized.headerBytes() + (long) capacityRows * sized.rowBytes();
+            if (mappedBytes > Integer.MAX_VALUE) {
+                throw new IOException("historical rate store file exceeds the mappable size");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, mappedBytes);
+            layout = new Layout(columns, sized.columnIndexes(), buffer, capacityRows);
+        }
+
+        private static boolean isZeroFilled(ByteBuffer buffer, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                if (buffer.get(i) != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static void writeHeader(FileChannel target, CurrencyCode[] columns) throws IOException {
+            ByteBuffer header = ByteBuffer.allocate(FIXED_HEADER_BYTES + columns.length * Short.BYTES);
+            header.putInt(MAGIC).putInt(columns.length);
+            for (CurrencyCode column : columns) {
+                header.putShort((short) column.index());
+            }
+            header.flip();
+            target.write(header, 0);
+        }
+
+        private static void putCell(ByteBuffer row, BigDecimal rate) {
+            if (rate == null) {
+                row.put(MISSING_SCALE).putLong(0);
+                return;
+            }
+            int scale = rate.scale();
+            if (scale <= MISSING_SCALE || scale > Byte.MAX_VALUE || rate.unscaledValue().bitLength() > 63) {
+                throw new IllegalArgumentException("rate does not fit a historical rate store cell: " + rate);
+            }
+            row.put((byte) scale).putLong(rate.unscaledValue().longValue());
+        }
+
+        private static Map<CurrencyCode, Integer> indexColumns(CurrencyCode[] columns) {
+            Map<CurrencyCode, Integer> indexes = new HashMap<>(columns.length * 2);
+            for (int i = 0; i < columns.length; i++) {
+                indexes.put(columns[i], i);
+            }
+            return indexes;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package io.github.doma17.exchangerate.cache;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Objects;
+
+/**
+ * One currency whose rate changed between two snapshots of the same base currency.
+ *
+ * @param currencyCode target ISO-4217 code
+ * @param previousRate rate before the change, or {@code null} when the currency was added
+ * @param currentRate rate after the change, or {@code null} when the currency was removed
+ */
+public record RateChange(String currencyCode, BigDecimal previousRate, BigDecimal currentRate) {
+
+    /**
+     * Creates a validated rate change.
+     *
+     * @param currencyCode target ISO-4217 code
+     * @param previousRate rate before the change, or {@code null} when the currency was added
+     * @param currentRate rate after the change, or {@code null} when the currency was removed
+     */
+    public RateChange {
+        Objects.requireNonNull(currencyCode, "currencyCode");
+        if (previousRate == null && currentRate == null) {
+            throw new IllegalArgumentException("previousRate and currentRate must not both be null");
+        }
+    }
+
+    /**
+     * Returns whether the currency was not quoted before.
+     *
+     * @return {@code true} when added
+     */
+    public boolean isAdded() {
+        return previousRate == null;
+    }
+
+    /**
+     * Returns whether the currency is no longer quoted.
+     *
+     * @return {@code true} when removed
+     */
+    public boolean isRemoved() {
+        return currentRate == null;
+    }
+
+    /**
+     * Returns the change relative to the previous rate, {@code current / previous - 1}.
+     *
+     * @return relative change, or {@code null} when added, removed or the previous rate is zero
+     */
+    public BigDecimal relativeChange() {
+        if (previousRate == null || currentRate == null || previousRate.signum() == 0) {
+            return null;
+        }
+        return currentRate.divide(previousRate, MathContext.DECIMAL64).subtract(BigDecimal.ONE);
+    }
+}
@@ -0,0 +1,550 @@
+package io.github.doma17.exchangerate.cache;
+
+import io.github.doma17.exchangerate.DaemonThreadFactory;
+import io.github.doma17.exchangerate.ExchangeRateClient;
+import io.github.doma17.exchangerate.model.CurrencyCode;
+import io.github.doma17.exchangerate.model.EnrichedRate;
+import io.github.doma17.exchangerate.model.ExchangeRateSnapshot;
+import io.github.doma17.exchangerate.model.HistoricalRates;
+import io.github.doma17.exchangerate.model.PairRate;
+import io.github.doma17.exchangerate.model.QuotaStatus;
+import io.github.doma17.exchangerate.model.SupportedCurrency;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps latest snapshots for a set of base currencies fresh in the background.
+ * <p>
+ * Each tracked base currency is re-fetched shortly after its snapshot's
+ * {@link ExchangeRateSnapshot#nextUpdateAt()} (plus a random jitter, so many bases or instances
+ * do not refresh in lockstep). The new snapshot replaces the old one atomically; if a refresh fails,
+ * or the API has not published new rates yet, the previous snapshot keeps being served and the
+ * refresh is retried after {@link Builder#retryDelay(Duration)}.
+ * <p>
+ * Only bases passed to {@link #track(Collection)} are refreshed. Reads of any other base go straight
+ * to the delegate, so caller-supplied codes cannot grow the set of background refreshes; enable
+ * {@link Builder#trackOnDemand(boolean)} to track every base on first use instead, when the codes
+ * requested come from a trusted, bounded set. Wrap the raw API client; a
+ * {@link CachingExchangeRateClient} underneath would hand back the snapshot being refreshed.
+ * <p>
+ * Each refresh that moves at least one rate beyond {@link Builder#changeTolerance(BigDecimal)}
+ * is reported as a {@link SnapshotDiff} to {@link Builder#changeListener(SnapshotChangeListener)}
+ * listeners and to subscribers of {@link #changes()}. Diffs are taken against the rates last
+ * reported, so moves below the tolerance accumulate until they are reported instead of drifting
+ * unnoticed, and applying every diff in order to the first snapshot reproduces the reported rates.
+ */
+public class RateRefreshScheduler implements AutoCloseable {
+
+    /**
+     * Default maximum random delay added to each scheduled refresh.
+     */
+    public static final Duration DEFAULT_JITTER = Duration.ofSeconds(30);
+    /**
+     * Default delay before retrying a failed or premature refresh.
+     */
+    public static final Duration DEFAULT_RETRY_DELAY = Duration.ofMinutes(1);
+
+    private final ExchangeRateClient delegate;
+    private final Clock clock;
+    private final Duration jitter;
+    private final Duration retryDelay;
+    private final ScheduledExecutorService executor;
+    private final boolean ownsExecutor;
+    private final boolean trackOnDemand;
+    private final ConcurrentMap<String, TrackedBase> tracked = new ConcurrentHashMap<>();
+    private final ExchangeRateClient clientView = new RefreshingClient();
+
+    private final BigDecimal changeTolerance;
+    private final List<SnapshotChangeListener> changeListeners;
+    private final ExecutorService changeExecutor;
+    private final boolean ownsChangeExecutor;
+    private final SubmissionPublisher<SnapshotDiff> changePublisher;
+
+    private final LongAdder refreshCount = new LongAdder();
+    private final LongAdder refreshFailureCount = new LongAdder();
+    private final LongAdder droppedChangeCount = new LongAdder();
+    private final LongAdder listenerFailureCount = new LongAdder();
+    private volatile boolean closed;
+
+    private RateRefreshScheduler(Builder builder) {
+        this.delegate = Objects.requireNonNull(builder.delegate, "delegate");
+        this.clock = Objects.requireNonNull(builder.clock, "clock");
+        this.jitter = requireNonNegative(builder.jitter, "jitter");
+        this.retryDelay = requireNonNegative(builder.retryDelay, "retryDelay");
+        this.changeTolerance = Objects.requireNonNull(builder.changeTolerance, "changeTolerance");
+        if (changeTolerance.signum() < 0) {
+            throw new IllegalArgumentException("changeTolerance must not be negative");
+        }
+        this.changeListeners = List.copyOf(builder.changeListeners);
+        this.trackOnDemand = builder.trackOnDemand;
+        this.ownsExecutor = builder.executor == null;
+        this.executor = ownsExecutor
+                ? Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("exchangerate-refresh"))
+                : builder.executor;
+        this.ownsChangeExecutor = builder.changeExecutor == null;
+        this.changeExecutor = ownsChangeExecutor ? DaemonThreadFactory.pool("exchangerate-changes", 1) : null;
+        this.changePublisher = new SubmissionPublisher<>(
+                ownsChangeExecutor ? changeExecutor : builder.changeExecutor,
+                Flow.defaultBufferSize()
+        );
+    }
+
+    /**
+     * Creates a builder for a refresh scheduler.
+     *
+     * @param delegate client used to fetch snapshots
+     * @return scheduler builder
+     */
+    public static Builder builder(ExchangeRateClient delegate) {
+        return new Builder(delegate);
+    }
+
+    /**
+     * Starts tracking base currencies and fetches their first snapshots.
+     * Fetch failures are not thrown; they are retried in the background.
+     *
+     * @param baseCodes base ISO-4217 codes
+     */
+    public void track(Collection<String> baseCodes) {
+        for (String baseCode : baseCodes) {
+            TrackedBase base = trackedBase(baseCode);
+            try {
+                base.load();
+            } catch (RuntimeException e) {
+                refreshFailureCount.increment();
+                schedule(base, retryDelay);
+            }
+        }
+    }
+
+    /**
+     * Stops tracking a base currency and drops its snapshot.
+     *
+     * @param baseCode base ISO-4217 code
+     */
+    public void untrack(String baseCode) {
+        TrackedBase base = tracked.remove(CurrencyCode.parse(baseCode).code());
+        if (base != null) {
+            base.cancel();
+        }
+    }
+
+    /**
+     * Returns the tracked base currencies.
+     *
+     * @return snapshot of tracked ISO-4217 codes
+     */
+    public Set<String> trackedBaseCodes() {
+        return Set.copyOf(tracked.keySet());
+    }
+
+    /**
+     * Returns the current snapshot for a tracked base currency. An untracked base is fetched from
+     * the delegate on every call, or tracked from its first successful fetch when
+     * {@link Builder#trackOnDemand(boolean)} is enabled.
+     *
+     * @param baseCode base ISO-4217 code
+     * @return latest known snapshot
+     */
+    public ExchangeRateSnapshot getLatestRates(String baseCode) {
+        String code = CurrencyCode.parse(baseCode).code();
+        TrackedBase base = tracked.get(code);
+        if (base == null) {
+            return trackOnDemand ? trackAndLoad(code) : delegate.getLatestRates(code);
+        }
+        ExchangeRateSnapshot snapshot = base.snapshot;
+        return snapshot != null ? snapshot : base.load();
+    }
+
+    /**
+     * Returns an {@link ExchangeRateClient} view that serves latest rates from this scheduler
+     * and delegates every other endpoint.
+     *
+     * @return client view
+     */
+    public ExchangeRateClient asClient() {
+        return clientView;
+    }
+
+    /**
+     * Returns a publisher of the rate changes brought by each refresh.
+     * <p>
+     * Diffs are delivered asynchronously on the {@link Builder#changeExecutor(Executor)}, by
+     * default a single daemon thread owned by this scheduler. Each subscriber has a
+     * bounded buffer of {@link Flow#defaultBufferSize()} diffs; a diff that does not fit because a
+     * subscriber has not requested more is dropped for that subscriber and counted in
+     * {@link #droppedChangeCount()}, so a slow subscriber never delays refreshes. Subscribers are
+     * completed when the scheduler is closed.
+     *
+     * @return change publisher
+     */
+    public Flow.Publisher<SnapshotDiff> changes() {
+        return changePublisher;
+    }
+
+    /**
+     * Returns how many diffs were dropped for subscribers of {@link #changes()} with a full buffer.
+     *
+     * @return dropped diff count
+     */
+    public long droppedChangeCount() {
+        return droppedChangeCount.sum();
+    }
+
+    /**
+     * Returns how many calls to {@link Builder#changeListener(SnapshotChangeListener)} listeners
+     * threw. A failing listener does not keep the other listeners or subscribers from the diff.
+     *
+     * @return failed listener call count
+     */
+    public long listenerFailureCount() {
+        return listenerFailureCount.sum();
+    }
+
+    /**
+     * Returns how many background refreshes replaced a snapshot.
+     *
+     * @return successful refresh count
+     */
+    public long refreshCount() {
+        return refreshCount.sum();
+    }
+
+    /**
+     * Returns how many background fetches failed.
+     *
+     * @return failed refresh count
+     */
+    public long refreshFailureCount() {
+        return refreshFailureCount.sum();
+    }
+
+    /**
+     * Cancels scheduled refreshes and shuts down the internal executors, if they were created.
+     * Diffs already published are still delivered before the internal change executor stops.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        tracked.values().forEach(TrackedBase::cancel);
+        changePublisher.close();
+        if (ownsExecutor) {
+            executor.shutdownNow();
+        }
+        if (ownsChangeExecutor) {
+            changeExecutor.shutdown();
+        }
+    }
+
+    private TrackedBase trackedBase(String baseCode) {
+        return tracked.computeIfAbsent(CurrencyCode.parse(baseCode).code(), TrackedBase::new);
+    }
+
+    private ExchangeRateSnapshot trackAndLoad(String baseCode) {
+        TrackedBase base = trackedBase(baseCode);
+        try {
+            return base.load();
+        } catch (RuntimeException e) {
+            tracked.remove(baseCode, base);
+            throw e;
+        }
+    }
+
+    private void refresh(TrackedBase base) {
+        if (closed || tracked.get(base.baseCode) != base) {
+            return;
+        }
+
+        ExchangeRateSnapshot previous = base.snapshot;
+        ExchangeRateSnapshot refreshed;
+        try {
+            refreshed = delegate.getLatestRates(base.baseCode);
+        } catch (RuntimeException e) {
+            refreshFailureCount.increment();
+            schedule(base, retryDelay);
+            return;
+        }
+
+        if (previous != null && !refreshed.lastUpdatedAt().isAfter(previous.lastUpdatedAt())) {
+            schedule(base, retryDelay);
+            return;
+        }
+        base.snapshot = refreshed;
+        refreshCount.increment();
+        scheduleAfter(base, refreshed);
+        publishChanges(base, refreshed);
+    }
+
+    private void publishChanges(TrackedBase base, ExchangeRateSnapshot refreshed) {
+        ExchangeRateSnapshot reported = base.reported;
+        if (reported == null) {
+            base.reported = refreshed;
+            return;
+        }
+        SnapshotDiff diff = SnapshotDiff.between(reported, refreshed, changeTolerance);
+        base.reported = changeTolerance.signum() == 0 ? refreshed : diff.applyTo(reported);
+        if (diff.isEmpty()) {
+            return;
+        }
+        for (SnapshotChangeListener listener : changeListeners) {
+            try {
+                listener.onChange(diff);
+            } catch (RuntimeException e) {
+                listenerFailureCount.increment();
+            }
+        }
+        changePublisher.offer(diff, (subscriber, dropped) -> {
+            droppedChangeCount.increment();
+            return false;
+        });
+    }
+
+    private void scheduleAfter(TrackedBase base, ExchangeRateSnapshot snapshot) {
+        Duration untilUpdate = Duration.between(clock.instant(), snapshot.nextUpdateAt());
+        schedule(base, untilUpdate.isNegative() ? retryDelay : untilUpdate);
+    }
+
+    private void schedule(TrackedBase base, Duration delay) {
+        if (closed) {
+            return;
+        }
+        long jitterMillis = jitter.isZero() ? 0 : ThreadLocalRandom.current().nextLong(jitter.toMillis() + 1);
+        long delayMillis = delay.toMillis() + jitterMillis;
+        synchronized (base) {
+            base.cancel();
+            base.nextRefresh = executor.schedule(() -> refresh(base), delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static Duration requireNonNegative(Duration value, String fieldName) {
+        Objects.requireNonNull(value, fieldName);
+        if (value.isNegative()) {
+            throw new IllegalArgumentException(fieldName + " must not be negative");
+        }
+        return value;
+    }
+
+    private final class TrackedBase {
+
+        private final String baseCode;
+        private volatile ExchangeRateSnapshot snapshot;
+        private volatile ExchangeRateSnapshot reported;
+        private ScheduledFuture<?> nextRefresh;
+
+        private TrackedBase(String baseCode) {
+            this.baseCode = baseCode;
+        }
+
+        private synchronized ExchangeRateSnapshot load() {
+            ExchangeRateSnapshot current = snapshot;
+            if (current != null) {
+                return current;
+            }
+            ExchangeRateSnapshot loaded = delegate.getLatestRates(baseCode);
+            snapshot = loaded;
+            reported = loaded;
+            scheduleAfter(this, loaded);
+            return loaded;
+        }
+
+        private synchronized void cancel() {
+            if (nextRefresh != null) {
+                nextRefresh.cancel(false);
+                nextRefresh = null;
+            }
+        }
+    }
+
+    private final class RefreshingClient implements ExchangeRateClient {
+
+        @Override
+        public ExchangeRateSnapshot getLatestRates(String baseCode) {
+            return RateRefreshScheduler.this.getLatestRates(baseCode);
+        }
+
+        @Override
+        public PairRate getPairRate(String baseCode, String targetCode) {
+            return delegate.getPairRate(baseCode, targetCode);
+        }
+
+        @Override
+        public PairRate convertPairAmount(String baseCode, String targetCode, BigDecimal amount) {
+            return delegate.convertPairAmount(baseCode, targetCode, amount);
+        }
+
+        @Override
+        public HistoricalRates getHistoricalRates(String baseCode, LocalDate date) {
+            return delegate.getHistoricalRates(baseCode, date);
+        }
+
+        @Override
+        public HistoricalRates getHistoricalConvertedAmounts(String baseCode, LocalDate date, BigDecimal amount) {
+            return delegate.getHistoricalConvertedAmounts(baseCode, date, amount);
+        }
+
+        @Override
+        public QuotaStatus getQuotaStatus() {
+            return delegate.getQuotaStatus();
+        }
+
+        @Override
+        public List<SupportedCurrency> getSupportedCurrencies() {
+            return delegate.getSupportedCurrencies();
+        }
+
+        @Override
+        public EnrichedRate getEnrichedRate(String baseCode, String targetCode) {
+            return delegate.getEnrichedRate(baseCode, targetCode);
+        }
+
+        @Override
+        public <T> Optional<T> unwrap(Class<T> type) {
+            return ExchangeRateClient.super.unwrap(type).or(() -> delegate.unwrap(type));
+        }
+    }
+
+    /**
+     * Builder for {@link RateRefreshScheduler}.
+     */
+    public static final class Builder {
+
+        private final ExchangeRateClient delegate;
+        private Duration jitter = DEFAULT_JITTER;
+        private Duration retryDelay = DEFAULT_RETRY_DELAY;
+        private ScheduledExecutorService executor;
+        private Clock clock = Clock.systemUTC();
+        private boolean trackOnDemand;
+        private BigDecimal changeTolerance = BigDecimal.ZERO;
+        private final List<SnapshotChangeListener> changeListeners = new ArrayList<>();
+        private Executor changeExecutor;
+
+        private Builder(ExchangeRateClient delegate) {
+            this.delegate = delegate;
+        }
+
+        /**
+         * Sets the maximum random delay added to each scheduled refresh.
+         *
+         * @param jitter non-negative jitter bound
+         * @return this builder
+         */
+        public Builder jitter(Duration jitter) {
+            this.jitter = jitter;
+            return this;
+        }
+
+        /**
+         * Sets the delay before retrying a failed refresh, or one that returned no newer rates.
+         *
+         * @param retryDelay non-negative retry delay
+         * @return this builder
+         */
+        public Builder retryDelay(Duration retryDelay) {
+            this.retryDelay = retryDelay;
+            return this;
+        }
+
+        /**
+         * Sets the executor that runs refreshes. When not set, a single daemon thread is created
+         * and shut down by {@link RateRefreshScheduler#close()}.
+         *
+         * @param executor scheduled executor
+         * @return this builder
+         */
+        public Builder executor(ScheduledExecutorService executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Sets the clock used to compute refresh delays.
+         *
+         * @param clock scheduling clock
+         * @return this builder
+         */
+        public Builder clock(Clock clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        /**
+         * Sets whether {@link RateRefreshScheduler#getLatestRates(String)} starts tracking a base
+         * currency the first time it is fetched successfully; defaults to {@code false}, serving
+         * untracked bases straight from the delegate. Enable it only when the requested codes come
+         * from a bounded set, since every tracked base is refreshed until it is untracked.
+         *
+         * @param trackOnDemand whether to track bases on first use
+         * @return this builder
+         */
+        public Builder trackOnDemand(boolean trackOnDemand) {
+            this.trackOnDemand = trackOnDemand;
+            return this;
+        }
+
+        /**
+         * Sets the relative move below which a rate is not reported as changed; defaults to zero,
+         * reporting every numeric change.
+         *
+         * @param changeTolerance non-negative relative tolerance, for example {@code 0.0001}
+         * @return this builder
+         * @see SnapshotDiff#between(ExchangeRateSnapshot, ExchangeRateSnapshot, BigDecimal)
+         */
+        public Builder changeTolerance(BigDecimal changeTolerance) {
+            this.changeTolerance = changeTolerance;
+            return this;
+        }
+
+        /**
+         * Adds a listener notified of the rate changes brought by each refresh.
+         *
+         * @param listener change listener
+         * @return this builder
+         */
+        public Builder changeListener(SnapshotChangeListener listener) {
+            changeListeners.add(Objects.requireNonNull(listener, "listener"));
+            return this;
+        }
+
+        /**
+         * Sets the executor that delivers diffs to subscribers of {@link RateRefreshScheduler#changes()}.
+         * When not set, a single daemon thread is created and shut down by
+         * {@link RateRefreshScheduler#close()}.
+         *
+         * @param changeExecutor subscriber delivery executor
+         * @return this builder
+         */
+        public Builder changeExecutor(Executor changeExecutor) {
+            this.changeExecutor = changeExecutor;
+            return this;
+        }
+
+        /**
+         * Builds the scheduler.
+         *
+         * @return new scheduler
+         */
+        public RateRefreshScheduler build() {
+            return new RateRefreshScheduler(this);
+        }
+    }
+}
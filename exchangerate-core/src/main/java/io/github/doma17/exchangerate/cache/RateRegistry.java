@@ -0,0 +1,290 @@
+package io.github.doma17.exchangerate.cache;
+
+import io.github.doma17.exchangerate.conversion.ConversionSession;
+import io.github.doma17.exchangerate.conversion.CrossRateEngine;
+import io.github.doma17.exchangerate.model.CurrencyCode;
+import io.github.doma17.exchangerate.model.ExchangeRateSnapshot;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.math.MathContext;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+/**
+ * Shared registry of the active latest snapshot per base currency, built for read-heavy access
+ * from many threads.
+ * <p>
+ * All snapshots live in one immutable table published through a single volatile reference. A
+ * read is one volatile load followed by an open-addressing probe on the packed
+ * {@link CurrencyCode} index: it never locks, never retries and never allocates. A write builds a
+ * new table from the current one and swaps it in with a compare-and-set, retrying only when
+ * another writer won the race, so writers never block readers. Refreshes are rare next to
+ * reads, which keeps the copying cheap.
+ * <p>
+ * Because the whole table is replaced at once, {@link #snapshots()} and {@link #openSession()}
+ * see one consistent set of snapshots, and {@link #version()} changes on every published write.
+ */
+public final class RateRegistry {
+
+    private static final VarHandle TABLE;
+
+    static {
+        try {
+            TABLE = MethodHandles.lookup().findVarHandle(RateRegistry.class, "table", Table.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private volatile Table table = Table.EMPTY;
+
+    /**
+     * Creates an empty registry.
+     */
+    public RateRegistry() {
+    }
+
+    /**
+     * Returns the snapshot registered for a base currency.
+     *
+     * @param baseCode base currency
+     * @return registered snapshot, or {@code null} when none is registered
+     */
+    public ExchangeRateSnapshot get(CurrencyCode baseCode) {
+        return table.get(baseCode.index());
+    }
+
+    /**
+     * Returns the snapshot registered for a base currency.
+     *
+     * @param baseCode base ISO-4217 code
+     * @return registered snapshot, if any
+     */
+    public Optional<ExchangeRateSnapshot> find(String baseCode) {
+        return Optional.ofNullable(get(CurrencyCode.parse(baseCode)));
+    }
+
+    /**
+     * Registers a snapshot, replacing any snapshot with the same base currency.
+     *
+     * @param snapshot snapshot to publish
+     * @return replaced snapshot, or {@code null} when the base currency was not registered
+     */
+    public ExchangeRateSnapshot put(ExchangeRateSnapshot snapshot) {
+        int key = keyOf(snapshot);
+        return update(current -> current.with(key, snapshot)).get(key);
+    }
+
+    /**
+     * Registers several snapshots in one write, so readers see either none or all of them.
+     *
+     * @param snapshots snapshots to publish; a later snapshot for the same base currency wins
+     */
+    public void putAll(Collection<ExchangeRateSnapshot> snapshots) {
+        Objects.requireNonNull(snapshots, "snapshots");
+        int[] keys = new int[snapshots.size()];
+        ExchangeRateSnapshot[] values = snapshots.toArray(ExchangeRateSnapshot[]::new);
+        for (int i = 0; i < values.length; i++) {
+            keys[i] = keyOf(values[i]);
+        }
+        update(current -> {
+            Table next = current;
+            for (int i = 0; i < keys.length; i++) {
+                next = next.with(keys[i], values[i]);
+            }
+            return next;
+        });
+    }
+
+    /**
+     * Unregisters a base currency.
+     *
+     * @param baseCode base ISO-4217 code
+     * @return removed snapshot, or {@code null} when the base currency was not registered
+     */
+    public ExchangeRateSnapshot remove(String baseCode) {
+        int key = CurrencyCode.parse(baseCode).index();
+        return update(current -> current.without(key)).get(key);
+    }
+
+    /**
+     * Returns the number of registered base currencies.
+     *
+     * @return registered base count
+     */
+    public int size() {
+        return table.size;
+    }
+
+    /**
+     * Returns a counter that increases with every write that changed the registry.
+     *
+     * @return registry version, starting at 0
+     */
+    public long version() {
+        return table.version;
+    }
+
+    /**
+     * Returns the registered base currencies, in registration order.
+     *
+     * @return immutable base code set
+     */
+    public Set<String> baseCodes() {
+        Table current = table;
+        Set<String> baseCodes = new LinkedHashSet<>(current.size * 2);
+        for (int i = 0; i < current.size; i++) {
+            baseCodes.add(current.values[i].baseCode());
+        }
+        return Collections.unmodifiableSet(baseCodes);
+    }
+
+    /**
+     * Returns the registered snapshots as of one version, in registration order.
+     *
+     * @return immutable snapshot list
+     */
+    public List<ExchangeRateSnapshot> snapshots() {
+        Table current = table;
+        return List.of(Arrays.copyOf(current.values, current.size));
+    }
+
+    /**
+     * Pins every registered snapshot into a session using {@link CrossRateEngine#DEFAULT_MATH_CONTEXT}.
+     *
+     * @return conversion session over one consistent version of the registry
+     * @throws IllegalArgumentException when the registry is empty
+     */
+    public ConversionSession openSession() {
+        return openSession(CrossRateEngine.DEFAULT_MATH_CONTEXT);
+    }
+
+    /**
+     * Pins every registered snapshot into a session.
+     *
+     * @param mathContext precision and rounding of derived rates
+     * @return conversion session over one consistent version of the registry
+     * @throws IllegalArgumentException when the registry is empty
+     */
+    public ConversionSession openSession(MathContext mathContext) {
+        return ConversionSession.of(snapshots(), mathContext);
+    }
+
+    private Table update(UnaryOperator<Table> change) {
+        while (true) {
+            Table current = table;
+            Table next = change.apply(current);
+            if (next == current || TABLE.compareAndSet(this, current, next)) {
+                return current;
+            }
+        }
+    }
+
+    private static int keyOf(ExchangeRateSnapshot snapshot) {
+        Objects.requireNonNull(snapshot, "snapshot");
+        return CurrencyCode.parse(snapshot.baseCode()).index();
+    }
+
+    /**
+     * Immutable snapshot table: values in registration order plus an open-addressing index from
+     * packed currency code to position.
+     */
+    private static final class Table {
+
+        private static final Table EMPTY = new Table(new int[0], new ExchangeRateSnapshot[0], 0, index(new int[0]), 0L);
+
+        private final int[] keys;
+        private final ExchangeRateSnapshot[] values;
+        private final int size;
+        private final int[] slots;
+        private final int slotMask;
+        private final long version;
+
+        private Table(int[] keys, ExchangeRateSnapshot[] values, int size, int[] slots, long version) {
+            this.keys = keys;
+            this.values = values;
+            this.size = size;
+            this.slots = slots;
+            this.slotMask = slots.length - 1;
+            this.version = version;
+        }
+
+        private ExchangeRateSnapshot get(int key) {
+            int position = positionOf(key);
+            return position < 0 ? null : values[position];
+        }
+
+        private Table with(int key, ExchangeRateSnapshot value) {
+            int position = positionOf(key);
+            if (position >= 0) {
+                if (values[position] == value) {
+                    return this;
+                }
+                ExchangeRateSnapshot[] nextValues = values.clone();
+                nextValues[position] = value;
+                return new Table(keys, nextValues, size, slots, version + 1);
+            }
+            int[] nextKeys = Arrays.copyOf(keys, size + 1);
+            ExchangeRateSnapshot[] nextValues = Arrays.copyOf(values, size + 1);
+            nextKeys[size] = key;
+            nextValues[size] = value;
+            return new Table(nextKeys, nextValues, size + 1, index(nextKeys), version + 1);
+        }
+
+        private Table without(int key) {
+            int position = positionOf(key);
+            if (position < 0) {
+                return this;
+            }
+            int[] nextKeys = new int[size - 1];
+            ExchangeRateSnapshot[] nextValues = new ExchangeRateSnapshot[size - 1];
+            System.arraycopy(keys, 0, nextKeys, 0, position);
+            System.arraycopy(keys, position + 1, nextKeys, position, size - position - 1);
+            System.arraycopy(values, 0, nextValues, 0, position);
+            System.arraycopy(values, position + 1, nextValues, position, size - position - 1);
+            return new Table(nextKeys, nextValues, size - 1, index(nextKeys), version + 1);
+        }
+
+        private int positionOf(int key) {
+            int slot = mix(key) & slotMask;
+            while (true) {
+                int candidate = slots[slot];
+                if (candidate == 0) {
+                    return -1;
+                }
+                if (keys[candidate - 1] == key) {
+                    return candidate - 1;
+                }
+                slot = (slot + 1) & slotMask;
+            }
+        }
+
+        /**
+         * Builds slots holding position plus one, zero marking an empty slot; at most half full.
+         */
+        private static int[] index(int[] keys) {
+            int capacity = Integer.highestOneBit(Math.max(4, keys.length * 2 - 1)) << 1;
+            int[] slots = new int[capacity];
+            for (int position = 0; position < keys.length; position++) {
+                int slot = mix(keys[position]) & (capacity - 1);
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & (capacity - 1);
+                }
+                slots[slot] = position + 1;
+            }
+            return slots;
+        }
+
+        private static int mix(int key) {
+            int h = key * 0x9E3779B1;
+            return h ^ (h >>> 16);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package io.github.doma17.exchangerate.cache;
+
+/**
+ * Callback notified when a {@link RateRefreshScheduler} refresh changes rates.
+ * <p>
+ * Called on the refresh thread after the new snapshot is in effect, only for refreshes with at
+ * least one change; implementations should return quickly. An exception thrown by a listener is
+ * counted in {@link RateRefreshScheduler#listenerFailureCount()} and does not reach the others.
+ */
+@FunctionalInterface
+public interface SnapshotChangeListener {
+
+    /**
+     * Handles the changes brought by a refresh.
+     *
+     * @param diff non-empty changes of one base currency
+     */
+    void onChange(SnapshotDiff diff);
+}
@@ -0,0 +1,171 @@
+package io.github.doma17.exchangerate.cache;
+
+import io.github.doma17.exchangerate.model.ExchangeRateSnapshot;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Currencies whose rates differ between two snapshots of the same base currency.
+ * <p>
+ * {@link #between(ExchangeRateSnapshot, ExchangeRateSnapshot, BigDecimal)} walks both rate maps
+ * once and keeps only currencies that were added, removed, or moved by more than a relative
+ * tolerance, so consumers do work proportional to the change rather than to the number of
+ * quoted currencies. A consumer holding the previous snapshot can rebuild the current one with
+ * {@link #applyTo(ExchangeRateSnapshot)}.
+ *
+ * @param baseCode base ISO-4217 code of both snapshots
+ * @param previousUpdatedAt last-updated timestamp of the previous snapshot
+ * @param lastUpdatedAt last-updated timestamp of the current snapshot
+ * @param nextUpdateAt next expected refresh of the current snapshot
+ * @param changes changed currencies, in currency code order
+ */
+public record SnapshotDiff(
+        String baseCode,
+        Instant previousUpdatedAt,
+        Instant lastUpdatedAt,
+        Instant nextUpdateAt,
+        List<RateChange> changes
+) {
+
+    /**
+     * Creates a validated snapshot diff.
+     *
+     * @param baseCode base ISO-4217 code of both snapshots
+     * @param previousUpdatedAt last-updated timestamp of the previous snapshot
+     * @param lastUpdatedAt last-updated timestamp of the current snapshot
+     * @param nextUpdateAt next expected refresh of the current snapshot
+     * @param changes changed currencies, in currency code order
+     */
+    public SnapshotDiff {
+        Objects.requireNonNull(baseCode, "baseCode");
+        Objects.requireNonNull(previousUpdatedAt, "previousUpdatedAt");
+        Objects.requireNonNull(lastUpdatedAt, "lastUpdatedAt");
+        Objects.requireNonNull(nextUpdateAt, "nextUpdateAt");
+        changes = List.copyOf(Objects.requireNonNull(changes, "changes"));
+    }
+
+    /**
+     * Compares two snapshots exactly: any numeric difference is a change, while a difference in
+     * scale alone ({@code 1.5} versus {@code 1.50}) is not.
+     *
+     * @param previous older snapshot
+     * @param current newer snapshot of the same base currency
+     * @return diff of the two snapshots
+     */
+    public static SnapshotDiff between(ExchangeRateSnapshot previous, ExchangeRateSnapshot current) {
+        return between(previous, current, BigDecimal.ZERO);
+    }
+
+    /**
+     * Compares two snapshots, ignoring moves within a relative tolerance: a rate counts as
+     * changed when {@code |current - previous| > tolerance * |previous|}.
+     *
+     * @param previous older snapshot
+     * @param current newer snapshot of the same base currency
+     * @param tolerance non-negative relative tolerance, for example {@code 0.0001} for one basis point
+     * @return diff of the two snapshots
+     * @throws IllegalArgumentException when the snapshots have different base currencies
+     */
+    public static SnapshotDiff between(ExchangeRateSnapshot previous, ExchangeRateSnapshot current, BigDecimal tolerance) {
+        Objects.requireNonNull(previous, "previous");
+        Objects.requireNonNull(current, "current");
+        Objects.requireNonNull(tolerance, "tolerance");
+        if (tolerance.signum() < 0) {
+            throw new IllegalArgumentException("tolerance must not be negative");
+        }
+        if (!previous.baseCode().equalsIgnoreCase(current.baseCode())) {
+            throw new IllegalArgumentException(
+                    "Cannot diff snapshots of " + previous.baseCode() + " and " + current.baseCode()
+            );
+        }
+
+        Map<String, BigDecimal> previousRates = previous.conversionRates();
+        Map<String, BigDecimal> currentRates = current.conversionRates();
+        List<RateChange> changes = new ArrayList<>();
+        int retained = 0;
+        for (Map.Entry<String, BigDecimal> entry : currentRates.entrySet()) {
+            BigDecimal previousRate = previousRates.get(entry.getKey());
+            if (previousRate != null) {
+                retained++;
+            }
+            if (previousRate == null || exceeds(previousRate, entry.getValue(), tolerance)) {
+                changes.add(new RateChange(entry.getKey(), previousRate, entry.getValue()));
+            }
+        }
+        if (retained < previousRates.size()) {
+            previousRates.forEach((code, rate) -> {
+                if (!currentRates.containsKey(code)) {
+                    changes.add(new RateChange(code, rate, null));
+                }
+            });
+        }
+        changes.sort(Comparator.comparing(RateChange::currencyCode));
+        return new SnapshotDiff(
+                current.baseCode(),
+                previous.lastUpdatedAt(),
+                current.lastUpdatedAt(),
+                current.nextUpdateAt(),
+                changes
+        );
+    }
+
+    /**
+     * Returns whether no rate changed.
+     *
+     * @return {@code true} when there are no changes
+     */
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    /**
+     * Returns the codes of the changed currencies.
+     *
+     * @return changed ISO-4217 codes
+     */
+    public Set<String> changedCodes() {
+        return changes.stream().map(RateChange::currencyCode).collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Applies the changes to a snapshot: changed and added rates are replaced, removed ones
+     * dropped, and the timestamps taken from the current snapshot. Unchanged rates, including
+     * moves within the tolerance, keep the values of {@code snapshot}.
+     *
+     * @param snapshot snapshot of the same base currency, usually the diff's previous snapshot
+     * @return updated snapshot
+     */
+    public ExchangeRateSnapshot applyTo(ExchangeRateSnapshot snapshot) {
+        Objects.requireNonNull(snapshot, "snapshot");
+        if (!snapshot.baseCode().equalsIgnoreCase(baseCode)) {
+            throw new IllegalArgumentException("Cannot apply a diff of " + baseCode + " to " + snapshot.baseCode());
+        }
+        Map<String, BigDecimal> rates = new HashMap<>(snapshot.conversionRates());
+        for (RateChange change : changes) {
+            if (change.isRemoved()) {
+                rates.remove(change.currencyCode());
+            } else {
+                rates.put(change.currencyCode(), change.currentRate());
+            }
+        }
+        return new ExchangeRateSnapshot(lastUpdatedAt, nextUpdateAt, snapshot.baseCode(), rates);
+    }
+
+    private static boolean exceeds(BigDecimal previous, BigDecimal current, BigDecimal tolerance) {
+        if (current.compareTo(previous) == 0) {
+            return false;
+        }
+        if (tolerance.signum() == 0) {
+            return true;
+        }
+        return current.subtract(previous).abs().compareTo(tolerance.multiply(previous.abs())) > 0;
+    }
+}
@@ -0,0 +1,24 @@
+package io.github.doma17.exchangerate.cache;
+
+import io.github.doma17.exchangerate.exception.ExchangeRateException;
+
+/**
+ * Callback notified when a {@link CachingExchangeRateClient} serves a snapshot past its expiry.
+ * <p>
+ * Called on the calling thread before the stale snapshot is returned, including for reads through
+ * {@link CachingExchangeRateClient#getLatestRates(String)}, which do not report freshness
+ * themselves; implementations should return quickly. A listener that throws does not prevent the
+ * snapshot from being served.
+ */
+@FunctionalInterface
+public interface StaleSnapshotListener {
+
+    /**
+     * Handles a stale read.
+     *
+     * @param served stale snapshot and how it was served
+     * @param failure fetch failure that caused a {@link CachedSnapshot.Freshness#STALE_IF_ERROR} read,
+     *                or {@code null} for {@link CachedSnapshot.Freshness#STALE_WHILE_REVALIDATE}
+     */
+    void onStale(CachedSnapshot served, ExchangeRateException failure);
+}
@@ -0,0 +1,396 @@
+package io.github.doma17.exchangerate.codec;
+
+import io.github.doma17.exchangerate.model.CurrencyCode;
+import io.github.doma17.exchangerate.model.ExchangeRateSnapshot;
+import io.github.doma17.exchangerate.model.HistoricalRates;
+import io.github.doma17.exchangerate.model.PairRate;
+import java.math.BigDecimal;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Compact binary encoding of {@link ExchangeRateSnapshot}, {@link HistoricalRates} and
+ * {@link PairRate}, for passing rates between services without JSON.
+ * <p>
+ * Every frame starts with a magic number, a format version and a frame kind. Currencies are
+ * written as their two-byte {@link CurrencyCode#index()}, and a rate map as a dictionary of
+ * ascending currency indexes followed by one fixed-width cell per currency: a scale byte and a
+ * 64-bit unscaled value. Decoding therefore returns exactly the {@link BigDecimal} that was
+ * encoded, scale included, and a single rate can be read from an encoded snapshot in place with
+ * {@link SnapshotView}. A full {@code latest} snapshot of about 160 currencies takes under 2 KB.
+ * <p>
+ * {@link #encodeDelta(ExchangeRateSnapshot, ExchangeRateSnapshot)} writes only the currencies
+ * whose rate changed, was added or was removed since a previous snapshot, for subscribers that
+ * already hold it.
+ * <p>
+ * All multi-byte values are big-endian, the default {@link ByteBuffer} order, and decode
+ * buffers must use that order. Decode methods read one frame from the buffer's
+ * position and advance past it, so frames can be concatenated. Malformed frames raise
+ * {@link IllegalArgumentException}.
+ */
+public final class RateCodec {
+
+    /**
+     * First four bytes of every frame ({@code "FXRC"}).
+     */
+    public static final int MAGIC = 0x46585243;
+    /**
+     * Format version written by this codec.
+     */
+    public static final byte VERSION = 1;
+
+    static final byte KIND_SNAPSHOT = 1;
+    static final byte KIND_HISTORICAL = 2;
+    static final byte KIND_PAIR = 3;
+    static final byte KIND_DELTA = 4;
+
+    static final int HEADER_BYTES = Integer.BYTES + 2;
+    static final int INSTANT_BYTES = Long.BYTES + Integer.BYTES;
+    static final int CODE_BYTES = Short.BYTES;
+    static final int CELL_BYTES = Byte.BYTES + Long.BYTES;
+
+    private static final byte MISSING_SCALE = Byte.MIN_VALUE;
+
+    private RateCodec() {
+    }
+
+    /**
+     * Encodes a latest snapshot.
+     *
+     * @param snapshot snapshot to encode
+     * @return snapshot frame
+     * @throws IllegalArgumentException when a rate does not fit a fixed-width cell
+     */
+    public static byte[] encode(ExchangeRateSnapshot snapshot) {
+        Objects.requireNonNull(snapshot, "snapshot");
+        RateBlock rates = RateBlock.of(snapshot.conversionRates());
+        ByteBuffer out = header(KIND_SNAPSHOT, 2 * INSTANT_BYTES + CODE_BYTES + rates.encodedSize());
+        putInstant(out, snapshot.lastUpdatedAt());
+        putInstant(out, snapshot.nextUpdateAt());
+        putCode(out, snapshot.baseCode());
+        rates.writeTo(out);
+        return out.array();
+    }
+
+    /**
+     * Encodes historical rates, including the requested amount and converted amounts when present.
+     *
+     * @param historicalRates rates to encode
+     * @return historical frame
+     * @throws IllegalArgumentException when a value does not fit a fixed-width cell
+     */
+    public static byte[] encode(HistoricalRates historicalRates) {
+        Objects.requireNonNull(historicalRates, "historicalRates");
+        RateBlock rates = RateBlock.of(historicalRates.conversionRates());
+        RateBlock amounts = RateBlock.of(historicalRates.conversionAmounts());
+        ByteBuffer out = header(
+                KIND_HISTORICAL,
+                Long.BYTES + CODE_BYTES + rates.encodedSize() + CELL_BYTES + amounts.encodedSize()
+        );
+        out.putLong(historicalRates.date().toEpochDay());
+        putCode(out, historicalRates.baseCode());
+        rates.writeTo(out);
+        putCell(out, historicalRates.requestedAmount());
+        amounts.writeTo(out);
+        return out.array();
+    }
+
+    /**
+     * Encodes a pair rate.
+     *
+     * @param pairRate pair rate to encode
+     * @return pair frame
+     * @throws IllegalArgumentException when a value does not fit a fixed-width cell
+     */
+    public static byte[] encode(PairRate pairRate) {
+        Objects.requireNonNull(pairRate, "pairRate");
+        ByteBuffer out = header(KIND_PAIR, 2 * INSTANT_BYTES + 2 * CODE_BYTES + 2 * CELL_BYTES);
+        putInstant(out, pairRate.lastUpdatedAt());
+        putInstant(out, pairRate.nextUpdateAt());
+        putCode(out, pairRate.baseCode());
+        putCode(out, pairRate.targetCode());
+        putCell(out, pairRate.conversionRate());
+        putCell(out, pairRate.conversionResult());
+        return out.array();
+    }
+
+    /**
+     * Encodes the changes from {@code previous} to {@code current}: rates that differ (including
+     * in scale) or are new, and currencies that were removed. Decode with
+     * {@link #applyDelta(ExchangeRateSnapshot, ByteBuffer)} against the same previous snapshot.
+     *
+     * @param previous snapshot the receiver already holds
+     * @param current snapshot to transmit
+     * @return delta frame
+     * @throws IllegalArgumentException when the snapshots have different base currencies or a rate
+     *         does not fit a fixed-width cell
+     */
+    public static byte[] encodeDelta(ExchangeRateSnapshot previous, ExchangeRateSnapshot current) {
+        Objects.requireNonNull(previous, "previous");
+        Objects.requireNonNull(current, "current");
+        int baseIndex = CurrencyCode.parse(current.baseCode()).index();
+        if (CurrencyCode.parse(previous.baseCode()).index() != baseIndex) {
+            throw new IllegalArgumentException(
+                    "Delta requires the same base code: " + previous.baseCode() + " and " + current.baseCode()
+            );
+        }
+
+        Map<String, BigDecimal> changed = new HashMap<>();
+        current.conversionRates().forEach((code, rate) -> {
+            if (!rate.equals(previous.conversionRates().get(code))) {
+                changed.put(code, rate);
+            }
+        });
+        int[] removed = previous.conversionRates().keySet().stream()
+                .filter(code -> !current.conversionRates().containsKey(code))
+                .mapToInt(code -> CurrencyCode.parse(code).index())
+                .sorted()
+                .toArray();
+        RateBlock changes = RateBlock.of(changed);
+
+        ByteBuffer out = header(
+                KIND_DELTA,
+                3 * INSTANT_BYTES + CODE_BYTES + Short.BYTES + removed.length * CODE_BYTES + changes.encodedSize()
+        );
+        putInstant(out, previous.lastUpdatedAt());
+        putInstant(out, current.lastUpdatedAt());
+        putInstant(out, current.nextUpdateAt());
+        out.putShort((short) baseIndex);
+        out.putShort((short) removed.length);
+        for (int index : removed) {
+            out.putShort((short) index);
+        }
+        changes.writeTo(out);
+        return out.array();
+    }
+
+    /**
+     * Decodes a snapshot frame.
+     *
+     * @param buffer buffer positioned at a snapshot frame; advanced past it
+     * @return decoded snapshot
+     */
+    public static ExchangeRateSnapshot decodeSnapshot(ByteBuffer buffer) {
+        return guard(() -> {
+            readHeader(buffer, KIND_SNAPSHOT);
+            Instant lastUpdatedAt = getInstant(buffer);
+            Instant nextUpdateAt = getInstant(buffer);
+            String baseCode = getCode(buffer);
+            return new ExchangeRateSnapshot(lastUpdatedAt, nextUpdateAt, baseCode, getRates(buffer));
+        });
+    }
+
+    /**
+     * Decodes a historical frame.
+     *
+     * @param buffer buffer positioned at a historical frame; advanced past it
+     * @return decoded historical rates
+     */
+    public static HistoricalRates decodeHistorical(ByteBuffer buffer) {
+        return guard(() -> {
+            readHeader(buffer, KIND_HISTORICAL);
+            LocalDate date = LocalDate.ofEpochDay(buffer.getLong());
+            String baseCode = getCode(buffer);
+            Map<String, BigDecimal> rates = getRates(buffer);
+            BigDecimal requestedAmount = getCell(buffer);
+            return new HistoricalRates(date, baseCode, rates, requestedAmount, getRates(buffer));
+        });
+    }
+
+    /**
+     * Decodes a pair frame.
+     *
+     * @param buffer buffer positioned at a pair frame; advanced past it
+     * @return decoded pair rate
+     */
+    public static PairRate decodePair(ByteBuffer buffer) {
+        return guard(() -> {
+            readHeader(buffer, KIND_PAIR);
+            Instant lastUpdatedAt = getInstant(buffer);
+            Instant nextUpdateAt = getInstant(buffer);
+            String baseCode = getCode(buffer);
+            String targetCode = getCode(buffer);
+            BigDecimal conversionRate = getCell(buffer);
+            if (conversionRate == null) {
+                throw new IllegalArgumentException("pair frame has no conversion rate");
+            }
+            return new PairRate(lastUpdatedAt, nextUpdateAt, baseCode, targetCode, conversionRate, getCell(buffer));
+        });
+    }
+
+    /**
+     * Rebuilds a snapshot from the snapshot it was delta-encoded against and a delta frame.
+     *
+     * @param previous snapshot passed as {@code previous} to {@link #encodeDelta}
+     * @param buffer buffer positioned at a delta frame; advanced past it
+     * @return current snapshot
+     * @throws IllegalArgumentException when the frame was encoded against a different snapshot
+     */
+    public static ExchangeRateSnapshot applyDelta(ExchangeRateSnapshot previous, ByteBuffer buffer) {
+        Objects.requireNonNull(previous, "previous");
+        return guard(() -> {
+            readHeader(buffer, KIND_DELTA);
+            Instant previousUpdatedAt = getInstant(buffer);
+            Instant lastUpdatedAt = getInstant(buffer);
+            Instant nextUpdateAt = getInstant(buffer);
+            String baseCode = getCode(buffer);
+            if (!previousUpdatedAt.equals(previous.lastUpdatedAt())
+                    || !baseCode.equals(CurrencyCode.parse(previous.baseCode()).code())) {
+                throw new IllegalArgumentException(
+                        "delta frame was encoded against " + baseCode + " at " + previousUpdatedAt
+                                + ", not " + previous.baseCode() + " at " + previous.lastUpdatedAt()
+                );
+            }
+            Map<String, BigDecimal> rates = new HashMap<>(previous.conversionRates());
+            int removedCount = Short.toUnsignedInt(buffer.getShort());
+            for (int i = 0; i < removedCount; i++) {
+                rates.remove(getCode(buffer));
+            }
+            rates.putAll(getRates(buffer));
+            return new ExchangeRateSnapshot(lastUpdatedAt, nextUpdateAt, previous.baseCode(), rates);
+        });
+    }
+
+    static void readHeader(ByteBuffer buffer, byte expectedKind) {
+        if (buffer.getInt() != MAGIC) {
+            throw new IllegalArgumentException("not a rate codec frame");
+        }
+        byte version = buffer.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("unsupported rate codec version " + version);
+        }
+        byte kind = buffer.get();
+        if (kind != expectedKind) {
+            throw new IllegalArgumentException("expected frame kind " + expectedKind + " but got " + kind);
+        }
+    }
+
+    static Instant getInstant(ByteBuffer buffer) {
+        return Instant.ofEpochSecond(buffer.getLong(), buffer.getInt());
+    }
+
+    static String getCode(ByteBuffer buffer) {
+        return CurrencyCode.fromIndex(buffer.getShort()).code();
+    }
+
+    static BigDecimal getCell(ByteBuffer buffer) {
+        byte scale = buffer.get();
+        long unscaled = buffer.getLong();
+        return scale == MISSING_SCALE ? null : BigDecimal.valueOf(unscaled, scale);
+    }
+
+    private static Map<String, BigDecimal> getRates(ByteBuffer buffer) {
+        int count = Short.toUnsignedInt(buffer.getShort());
+        String[] codes = new String[count];
+        for (int i = 0; i < count; i++) {
+            codes[i] = getCode(buffer);
+        }
+        Map<String, BigDecimal> rates = new HashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            BigDecimal rate = getCell(buffer);
+            if (rate == null) {
+                throw new IllegalArgumentException("missing rate for " + codes[i]);
+            }
+            rates.put(codes[i], rate);
+        }
+        return rates;
+    }
+
+    private static ByteBuffer header(byte kind, int bodyBytes) {
+        return ByteBuffer.allocate(HEADER_BYTES + bodyBytes).putInt(MAGIC).put(VERSION).put(kind);
+    }
+
+    private static void putInstant(ByteBuffer out, Instant instant) {
+        out.putLong(instant.getEpochSecond()).putInt(instant.getNano());
+    }
+
+    private static void putCode(ByteBuffer out, String currencyCode) {
+        out.putShort((short) CurrencyCode.parse(currencyCode).index());
+    }
+
+    private static void putCell(ByteBuffer out, BigDecimal value) {
+        if (value == null) {
+            out.put(MISSING_SCALE).putLong(0L);
+            return;
+        }
+        out.put((byte) value.scale()).putLong(unscaledLong(value));
+    }
+
+    /**
+     * Returns the unscaled value as a {@code long}. Values of up to 18 digits take a path that does
+     * not materialize the unscaled {@code BigInteger}.
+     */
+    private static long unscaledLong(BigDecimal value) {
+        int scale = value.scale();
+        if (scale <= MISSING_SCALE || scale > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("value does not fit a rate codec cell: " + value);
+        }
+        if (value.precision() <= 18) {
+            return value.scaleByPowerOfTen(scale).longValueExact();
+        }
+        if (value.unscaledValue().bitLength() > 63) {
+            throw new IllegalArgumentException("value does not fit a rate codec cell: " + value);
+        }
+        return value.unscaledValue().longValue();
+    }
+
+    private static <T> T guard(DecodeStep<T> step) {
+        try {
+            return step.decode();
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("truncated or corrupt rate codec frame", e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface DecodeStep<T> {
+        T decode();
+    }
+
+    /**
+     * Rate map validated and ordered for encoding.
+     */
+    private record RateBlock(int[] indexes, BigDecimal[] rates) {
+
+        private static RateBlock of(Map<String, BigDecimal> rateMap) {
+            if (rateMap.size() > 0xFFFF) {
+                throw new IllegalArgumentException("too many currencies: " + rateMap.size());
+            }
+            int[] indexes = new int[rateMap.size()];
+            int i = 0;
+            for (String code : rateMap.keySet()) {
+                indexes[i++] = CurrencyCode.parse(code).index();
+            }
+            Arrays.sort(indexes);
+            BigDecimal[] rates = new BigDecimal[indexes.length];
+            for (int j = 0; j < indexes.length; j++) {
+                BigDecimal rate = rateMap.get(CurrencyCode.fromIndex(indexes[j]).code());
+                if (rate == null) {
+                    throw new IllegalArgumentException("rate map keys must be normalized ISO-4217 codes");
+                }
+                rates[j] = rate;
+            }
+            return new RateBlock(indexes, rates);
+        }
+
+        private int encodedSize() {
+            return Short.BYTES + indexes.length * (CODE_BYTES + CELL_BYTES);
+        }
+
+        private void writeTo(ByteBuffer out) {
+            out.putShort((short) indexes.length);
+            for (int index : indexes) {
+                out.putShort((short) index);
+            }
+            for (BigDecimal rate : rates) {
+                putCell(out, rate);
+            }
+        }
+    }
+}
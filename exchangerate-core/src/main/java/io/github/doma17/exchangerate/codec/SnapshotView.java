@@ -0,0 +1,180 @@
+package io.github.doma17.exchangerate.codec;
+
+import io.github.doma17.exchangerate.model.CurrencyCode;
+import io.github.doma17.exchangerate.model.ExchangeRateSnapshot;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Read-only view of a snapshot frame written by {@link RateCodec#encode(ExchangeRateSnapshot)},
+ * reading rates directly from the encoded bytes.
+ * <p>
+ * Opening a view checks the frame header and bounds but copies nothing; {@link #rate(String)}
+ * binary-searches the encoded currency dictionary and decodes a single cell. This suits a
+ * service that receives a whole snapshot but needs only a few rates. The view shares the
+ * buffer's content, which must not change while the view is in use; the buffer's position is
+ * left untouched.
+ */
+public final class SnapshotView {
+
+    private static final int BASE_OFFSET = RateCodec.HEADER_BYTES + 2 * RateCodec.INSTANT_BYTES;
+    private static final int COUNT_OFFSET = BASE_OFFSET + RateCodec.CODE_BYTES;
+    private static final int CODES_OFFSET = COUNT_OFFSET + Short.BYTES;
+
+    private final ByteBuffer frame;
+    private final int size;
+    private final int cellsOffset;
+
+    private SnapshotView(ByteBuffer frame, int size) {
+        this.frame = frame;
+        this.size = size;
+        this.cellsOffset = CODES_OFFSET + size * RateCodec.CODE_BYTES;
+    }
+
+    /**
+     * Opens a view on the snapshot frame starting at the buffer's position.
+     *
+     * @param buffer buffer holding a snapshot frame
+     * @return snapshot view
+     * @throws IllegalArgumentException when the buffer does not hold a complete snapshot frame
+     */
+    public static SnapshotView of(ByteBuffer buffer) {
+        Objects.requireNonNull(buffer, "buffer");
+        ByteBuffer frame = buffer.slice();
+        if (frame.remaining() < CODES_OFFSET) {
+            throw new IllegalArgumentException("truncated or corrupt rate codec frame");
+        }
+        RateCodec.readHeader(frame.duplicate(), RateCodec.KIND_SNAPSHOT);
+        int size = Short.toUnsignedInt(frame.getShort(COUNT_OFFSET));
+        int frameBytes = CODES_OFFSET + size * (RateCodec.CODE_BYTES + RateCodec.CELL_BYTES);
+        if (frame.remaining() < frameBytes) {
+            throw new IllegalArgumentException("truncated or corrupt rate codec frame");
+        }
+        return new SnapshotView(frame.limit(frameBytes).slice(), size);
+    }
+
+    /**
+     * Returns the encoded frame length, so a caller can skip to the next frame.
+     *
+     * @return frame length in bytes
+     */
+    public int frameBytes() {
+        return frame.limit();
+    }
+
+    /**
+     * Returns the snapshot's base currency.
+     *
+     * @return base ISO-4217 code
+     */
+    public String baseCode() {
+        return CurrencyCode.fromIndex(frame.getShort(BASE_OFFSET)).code();
+    }
+
+    /**
+     * Returns the snapshot's last-updated timestamp.
+     *
+     * @return last-updated timestamp
+     */
+    public Instant lastUpdatedAt() {
+        return instantAt(RateCodec.HEADER_BYTES);
+    }
+
+    /**
+     * Returns the snapshot's next expected refresh timestamp.
+     *
+     * @return next update timestamp
+     */
+    public Instant nextUpdateAt() {
+        return instantAt(RateCodec.HEADER_BYTES + RateCodec.INSTANT_BYTES);
+    }
+
+    /**
+     * Returns the number of quoted currencies.
+     *
+     * @return rate count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the currency at a dictionary position; currencies are in {@link CurrencyCode} order.
+     *
+     * @param index position in {@code [0, size())}
+     * @return currency code
+     */
+    public CurrencyCode currency(int index) {
+        return CurrencyCode.fromIndex(frame.getShort(CODES_OFFSET + Objects.checkIndex(index, size) * RateCodec.CODE_BYTES));
+    }
+
+    /**
+     * Returns the rate at a dictionary position.
+     *
+     * @param index position in {@code [0, size())}
+     * @return exact encoded rate
+     */
+    public BigDecimal rate(int index) {
+        int cell = cellsOffset + Objects.checkIndex(index, size) * RateCodec.CELL_BYTES;
+        return BigDecimal.valueOf(frame.getLong(cell + Byte.BYTES), frame.get(cell));
+    }
+
+    /**
+     * Returns the dictionary position of a currency.
+     *
+     * @param currencyCode currency code, case and surrounding whitespace ignored
+     * @return position, or {@code -1} when the currency is not quoted
+     */
+    public int indexOf(CharSequence currencyCode) {
+        int key = CurrencyCode.indexOf(Objects.requireNonNull(currencyCode, "currencyCode"));
+        if (key < 0) {
+            return -1;
+        }
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int candidate = frame.getShort(CODES_OFFSET + middle * RateCodec.CODE_BYTES);
+            if (candidate < key) {
+                low = middle + 1;
+            } else if (candidate > key) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the rate of a currency.
+     *
+     * @param currencyCode target currency code
+     * @return exact encoded rate, or {@code null} when the currency is not quoted
+     */
+    public BigDecimal rate(String currencyCode) {
+        int index = indexOf(currencyCode);
+        return index < 0 ? null : rate(index);
+    }
+
+    /**
+     * Decodes the whole frame into a snapshot.
+     *
+     * @return decoded snapshot
+     */
+    public ExchangeRateSnapshot toSnapshot() {
+        Map<String, BigDecimal> rates = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            rates.put(currency(i).code(), rate(i));
+        }
+        return new ExchangeRateSnapshot(lastUpdatedAt(), nextUpdateAt(), baseCode(), rates);
+    }
+
+    private Instant instantAt(int offset) {
+        return Instant.ofEpochSecond(frame.getLong(offset), frame.getInt(offset + Long.BYTES));
+    }
+}
@@ -0,0 +1,166 @@
+package io.github.doma17.exchangerate.conversion;
+
+import io.github.doma17.exchangerate.exception.ExchangeRateException;
+import io.github.doma17.exchangerate.model.CurrencyCode;
+import io.github.doma17.exchangerate.model.ExchangeRateSnapshot;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Set of latest snapshots pinned at one point in time, answering any number of rate and
+ * conversion calls without further I/O.
+ * <p>
+ * Every call made through a session sees the same rates, so a multi-leg calculation such as
+ * {@code EUR -> USD -> JPY} cannot mix two refreshes. A pair is answered directly from the
+ * snapshot of its base currency when pinned, inverted from the snapshot of its target currency,
+ * or otherwise derived as a cross rate from the first pinned snapshot quoting both currencies.
+ * <p>
+ * Instances are immutable; lookups take no locks and are safe to share between threads.
+ * {@link #lastUpdatedAt()} identifies the pinned rates for audit records.
+ */
+public final class ConversionSession {
+
+    private final Map<String, ExchangeRateSnapshot> snapshots;
+    private final Map<String, CrossRateEngine> engines;
+    private final Instant lastUpdatedAt;
+
+    private ConversionSession(Collection<ExchangeRateSnapshot> snapshots, MathContext mathContext) {
+        Objects.requireNonNull(snapshots, "snapshots");
+        Objects.requireNonNull(mathContext, "mathContext");
+        if (snapshots.isEmpty()) {
+            throw new IllegalArgumentException("snapshots must not be empty");
+        }
+
+        Map<String, ExchangeRateSnapshot> pinned = new LinkedHashMap<>();
+        Map<String, CrossRateEngine> pinnedEngines = new LinkedHashMap<>();
+        Instant oldest = null;
+        for (ExchangeRateSnapshot snapshot : snapshots) {
+            Objects.requireNonNull(snapshot, "snapshot");
+            if (pinned.putIfAbsent(snapshot.baseCode(), snapshot) != null) {
+                throw new IllegalArgumentException("Duplicate snapshot for base code " + snapshot.baseCode());
+            }
+            pinnedEngines.put(snapshot.baseCode(), CrossRateEngine.of(snapshot, mathContext));
+            if (oldest == null || snapshot.lastUpdatedAt().isBefore(oldest)) {
+                oldest = snapshot.lastUpdatedAt();
+            }
+        }
+        this.snapshots = pinned;
+        this.engines = pinnedEngines;
+        this.lastUpdatedAt = oldest;
+    }
+
+    /**
+     * Pins snapshots using {@link CrossRateEngine#DEFAULT_MATH_CONTEXT} for derived rates.
+     *
+     * @param snapshots snapshots to pin, at most one per base currency
+     * @return conversion session
+     */
+    public static ConversionSession of(Collection<ExchangeRateSnapshot> snapshots) {
+        return of(snapshots, CrossRateEngine.DEFAULT_MATH_CONTEXT);
+    }
+
+    /**
+     * Pins snapshots.
+     *
+     * @param snapshots snapshots to pin, at most one per base currency
+     * @param mathContext precision and rounding of derived rates
+     * @return conversion session
+     */
+    public static ConversionSession of(Collection<ExchangeRateSnapshot> snapshots, MathContext mathContext) {
+        return new ConversionSession(snapshots, mathContext);
+    }
+
+    /**
+     * Returns the last-updated timestamp of the pinned rates. With several snapshots this is the
+     * oldest one, so every rate used by the session is at least this recent.
+     *
+     * @return last-updated timestamp
+     */
+    public Instant lastUpdatedAt() {
+        return lastUpdatedAt;
+    }
+
+    /**
+     * Returns the pinned snapshots, in the order they were given.
+     *
+     * @return immutable snapshot list
+     */
+    public List<ExchangeRateSnapshot> snapshots() {
+        return List.copyOf(snapshots.values());
+    }
+
+    /**
+     * Returns the pinned snapshot for a base currency.
+     *
+     * @param baseCode base ISO-4217 code
+     * @return pinned snapshot
+     * @throws ExchangeRateException when no snapshot was pinned for {@code baseCode}
+     */
+    public ExchangeRateSnapshot snapshot(String baseCode) {
+        String normalizedBase = normalizeCode(baseCode);
+        ExchangeRateSnapshot snapshot = snapshots.get(normalizedBase);
+        if (snapshot == null) {
+            throw new ExchangeRateException("No snapshot pinned for base code " + normalizedBase);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Returns the pinned rate converting one unit of {@code baseCode} into {@code targetCode}.
+     *
+     * @param baseCode base ISO-4217 code
+     * @param targetCode target ISO-4217 code
+     * @return pinned or derived rate
+     * @throws ExchangeRateException when no pinned snapshot quotes the pair
+     */
+    public BigDecimal rate(String baseCode, String targetCode) {
+        String normalizedBase = normalizeCode(baseCode);
+        String normalizedTarget = normalizeCode(targetCode);
+        return engineFor(normalizedBase, normalizedTarget).rate(normalizedBase, normalizedTarget);
+    }
+
+    /**
+     * Converts an amount with the pinned rates, rounding once.
+     *
+     * @param baseCode base ISO-4217 code
+     * @param targetCode target ISO-4217 code
+     * @param amount amount in the base currency
+     * @return amount in the target currency
+     * @throws ExchangeRateException when no pinned snapshot quotes the pair
+     */
+    public BigDecimal convert(String baseCode, String targetCode, BigDecimal amount) {
+        Objects.requireNonNull(amount, "amount");
+        String normalizedBase = normalizeCode(baseCode);
+        String normalizedTarget = normalizeCode(targetCode);
+        return engineFor(normalizedBase, normalizedTarget).convert(normalizedBase, normalizedTarget, amount);
+    }
+
+    private CrossRateEngine engineFor(String baseCode, String targetCode) {
+        CrossRateEngine engine = engines.get(baseCode);
+        if (engine != null && engine.indexOf(targetCode) >= 0) {
+            return engine;
+        }
+        engine = engines.get(targetCode);
+        if (engine != null && engine.indexOf(baseCode) >= 0) {
+            return engine;
+        }
+        for (CrossRateEngine candidate : engines.values()) {
+            if (candidate.indexOf(baseCode) >= 0 && candidate.indexOf(targetCode) >= 0) {
+                return candidate;
+            }
+        }
+        throw new ExchangeRateException(
+                "No pinned snapshot quotes " + baseCode + " and " + targetCode + " (pinned " + snapshots.keySet() + ")"
+        );
+    }
+
+    private static String normalizeCode(String currencyCode) {
+        return CurrencyCode.parse(currencyCode).code();
+    }
+}
@@ -0,0 +1,198 @@
+package io.github.doma17.exchangerate.conversion;
+
+import io.github.doma17.exchangerate.exception.ExchangeRateException;
+import io.github.doma17.exchangerate.model.ExchangeRateSnapshot;
+import io.github.doma17.exchangerate.model.HistoricalRates;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Derives any cross rate from a single pivot rates table.
+ * <p>
+ * Given rates quoted against a pivot currency {@code P}, the rate from {@code A} to {@code B} is
+ * {@code rate[B] / rate[A]}. Rates are held in a dense array indexed by currency, so one
+ * {@code latest/P} call answers the whole pair matrix. Instances are immutable and thread-safe.
+ */
+public final class CrossRateEngine {
+
+    /**
+     * Default precision used for derived rates.
+     */
+    public static final MathContext DEFAULT_MATH_CONTEXT = MathContext.DECIMAL64;
+
+    private final String pivotCode;
+    private final MathContext mathContext;
+    private final String[] codes;
+    private final BigDecimal[] pivotRates;
+    private final Map<String, Integer> indexes;
+
+    private CrossRateEngine(String pivotCode, Map<String, BigDecimal> rates, MathContext mathContext) {
+        this.pivotCode = Objects.requireNonNull(pivotCode, "pivotCode");
+        this.mathContext = Objects.requireNonNull(mathContext, "mathContext");
+        Objects.requireNonNull(rates, "rates");
+
+        Map<String, BigDecimal> table = new LinkedHashMap<>(rates);
+        table.putIfAbsent(pivotCode, BigDecimal.ONE);
+
+        this.codes = table.keySet().toArray(String[]::new);
+        Arrays.sort(codes);
+        this.pivotRates = new BigDecimal[codes.length];
+        this.indexes = new HashMap<>(codes.length * 2);
+        for (int i = 0; i < codes.length; i++) {
+            pivotRates[i] = table.get(codes[i]);
+            indexes.put(codes[i], i);
+        }
+    }
+
+    /**
+     * Creates an engine from a latest snapshot using {@link #DEFAULT_MATH_CONTEXT}.
+     *
+     * @param snapshot pivot snapshot
+     * @return cross rate engine
+     */
+    public static CrossRateEngine of(ExchangeRateSnapshot snapshot) {
+        return of(snapshot, DEFAULT_MATH_CONTEXT);
+    }
+
+    /**
+     * Creates an engine from a latest snapshot.
+     *
+     * @param snapshot pivot snapshot
+     * @param mathContext precision and rounding of derived rates
+     * @return cross rate engine
+     */
+    public static CrossRateEngine of(ExchangeRateSnapshot snapshot, MathContext mathContext) {
+        Objects.requireNonNull(snapshot, "snapshot");
+        return new CrossRateEngine(snapshot.baseCode(), snapshot.conversionRates(), mathContext);
+    }
+
+    /**
+     * Creates an engine from historical rates.
+     *
+     * @param historicalRates pivot historical rates
+     * @param mathContext precision and rounding of derived rates
+     * @return cross rate engine
+     */
+    public static CrossRateEngine of(HistoricalRates historicalRates, MathContext mathContext) {
+        Objects.requireNonNull(historicalRates, "historicalRates");
+        return new CrossRateEngine(historicalRates.baseCode(), historicalRates.conversionRates(), mathContext);
+    }
+
+    /**
+     * Returns the pivot currency all rates are quoted against.
+     *
+     * @return pivot ISO-4217 code
+     */
+    public String pivotCode() {
+        return pivotCode;
+    }
+
+    /**
+     * Returns the precision used for derived rates.
+     *
+     * @return math context
+     */
+    public MathContext mathContext() {
+        return mathContext;
+    }
+
+    /**
+     * Returns the currencies known to this engine, in index order.
+     *
+     * @return sorted currency codes
+     */
+    public List<String> currencies() {
+        return List.of(codes);
+    }
+
+    /**
+     * Returns the dense index of a currency.
+     *
+     * @param currencyCode normalized ISO-4217 code
+     * @return index, or {@code -1} when the currency is unknown
+     */
+    public int indexOf(String currencyCode) {
+        Integer index = indexes.get(currencyCode);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Returns the rate converting one unit of {@code baseCode} into {@code targetCode}.
+     *
+     * @param baseCode normalized base ISO-4217 code
+     * @param targetCode normalized target ISO-4217 code
+     * @return derived cross rate
+     */
+    public BigDecimal rate(String baseCode, String targetCode) {
+        return rate(requireIndex(baseCode), requireIndex(targetCode));
+    }
+
+    /**
+     * Returns the rate between two currencies identified by index.
+     *
+     * @param baseIndex base currency index
+     * @param targetIndex target currency index
+     * @return derived cross rate
+     */
+    public BigDecimal rate(int baseIndex, int targetIndex) {
+        if (baseIndex == targetIndex) {
+            return BigDecimal.ONE;
+        }
+        return pivotRates[targetIndex].divide(requireNonZero(baseIndex), mathContext);
+    }
+
+    /**
+     * Converts an amount between two currencies with a single rounding step.
+     *
+     * @param baseCode normalized base ISO-4217 code
+     * @param targetCode normalized target ISO-4217 code
+     * @param amount amount in the base currency
+     * @return amount in the target currency
+     */
+    public BigDecimal convert(String baseCode, String targetCode, BigDecimal amount) {
+        Objects.requireNonNull(amount, "amount");
+        int baseIndex = requireIndex(baseCode);
+        int targetIndex = requireIndex(targetCode);
+        if (baseIndex == targetIndex) {
+            return amount;
+        }
+        return amount.multiply(pivotRates[targetIndex]).divide(requireNonZero(baseIndex), mathContext);
+    }
+
+    /**
+     * Returns every rate from one currency, as the API would for {@code latest/{baseCode}}.
+     *
+     * @param baseCode normalized base ISO-4217 code
+     * @return map of target currency code to derived rate
+     */
+    public Map<String, BigDecimal> ratesFrom(String baseCode) {
+        int baseIndex = requireIndex(baseCode);
+        Map<String, BigDecimal> rates = new HashMap<>(codes.length * 2);
+        for (int i = 0; i < codes.length; i++) {
+            rates.put(codes[i], rate(baseIndex, i));
+        }
+        return Map.copyOf(rates);
+    }
+
+    private int requireIndex(String currencyCode) {
+        int index = indexOf(Objects.requireNonNull(currencyCode, "currencyCode"));
+        if (index < 0) {
+            throw new ExchangeRateException("No rate found for " + currencyCode + " via pivot " + pivotCode);
+        }
+        return index;
+    }
+
+    private BigDecimal requireNonZero(int baseIndex) {
+        BigDecimal rate = pivotRates[baseIndex];
+        if (rate.signum() == 0) {
+            throw new ExchangeRateException("Pivot rate for " + codes[baseIndex] + " is zero");
+        }
+        return rate;
+    }
+}
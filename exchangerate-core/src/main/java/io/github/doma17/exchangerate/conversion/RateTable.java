@@ -0,0 +1,301 @@
+package io.github.doma17.exchangerate.conversion;
+
+import io.github.doma17.exchangerate.model.CurrencyCode;
+import io.github.doma17.exchangerate.model.ExchangeRateSnapshot;
+import io.github.doma17.exchangerate.model.HistoricalRates;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Compact, primitive view of a rate map for hot conversion loops.
+ * <p>
+ * Currencies are assigned dense indexes in {@link CurrencyCode} order; rates are held in a
+ * {@code double[]} and, for exact integer arithmetic, a {@code long[]} of rates scaled by
+ * {@code 10^fixedPointScale}. Index lookup is an O(1) open-addressing probe on the packed
+ * currency code. Instances are immutable and thread-safe; the arrays are never exposed.
+ * <p>
+ * Every scaled rate must fit in a {@code long}, so the usable scale shrinks as rates grow: a rate
+ * around 42,000 (such as IRR per USD) allows at most 14 decimal places. Building a table whose
+ * scaled rates overflow fails with {@link IllegalArgumentException} naming the currency.
+ */
+public final class RateTable {
+
+    /**
+     * Default number of decimal places kept in fixed-point rates.
+     */
+    public static final int DEFAULT_FIXED_POINT_SCALE = 8;
+
+    private final CurrencyCode baseCode;
+    private final CurrencyCode[] currencies;
+    private final double[] rates;
+    private final long[] scaledRates;
+    private final int fixedPointScale;
+    private final long fixedPointFactor;
+    private final int[] slotKeys;
+    private final int[] slotIndexes;
+    private final int slotMask;
+
+    private RateTable(CurrencyCode baseCode, Map<String, BigDecimal> rateMap, int fixedPointScale) {
+        if (fixedPointScale < 0 || fixedPointScale > 18) {
+            throw new IllegalArgumentException("fixedPointScale must be between 0 and 18");
+        }
+        this.baseCode = Objects.requireNonNull(baseCode, "baseCode");
+        this.fixedPointScale = fixedPointScale;
+        this.fixedPointFactor = BigDecimal.TEN.pow(fixedPointScale).longValueExact();
+
+        this.currencies = rateMap.keySet().stream()
+                .map(CurrencyCode::parse)
+                .sorted()
+                .toArray(CurrencyCode[]::new);
+        this.rates = new double[currencies.length];
+        this.scaledRates = new long[currencies.length];
+        for (int i = 0; i < currencies.length; i++) {
+            BigDecimal rate = rateMap.get(currencies[i].code());
+            rates[i] = rate.doubleValue();
+            scaledRates[i] = scaledRate(currencies[i], rate, fixedPointScale);
+        }
+
+        int capacity = Integer.highestOneBit(Math.max(4, currencies.length * 2 - 1)) << 1;
+        this.slotMask = capacity - 1;
+        this.slotKeys = new int[capacity];
+        this.slotIndexes = new int[capacity];
+        Arrays.fill(slotKeys, -1);
+        for (int i = 0; i < currencies.length; i++) {
+            int slot = mix(currencies[i].index()) & slotMask;
+            while (slotKeys[slot] != -1) {
+                slot = (slot + 1) & slotMask;
+            }
+            slotKeys[slot] = currencies[i].index();
+            slotIndexes[slot] = i;
+        }
+    }
+
+    private static long scaledRate(CurrencyCode currency, BigDecimal rate, int fixedPointScale) {
+        try {
+            return rate.setScale(fixedPointScale, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException(
+                    "rate " + rate.toPlainString() + " for " + currency.code()
+                            + " overflows a long at fixedPointScale " + fixedPointScale,
+                    e
+            );
+        }
+    }
+
+    /**
+     * Creates a table from a latest snapshot with {@link #DEFAULT_FIXED_POINT_SCALE}.
+     *
+     * @param snapshot source snapshot
+     * @return rate table
+     * @throws IllegalArgumentException if the scale is out of range or a scaled rate overflows a {@code long}
+     */
+    public static RateTable of(ExchangeRateSnapshot snapshot) {
+        return of(snapshot, DEFAULT_FIXED_POINT_SCALE);
+    }
+
+    /**
+     * Creates a table from a latest snapshot.
+     *
+     * @param snapshot source snapshot
+     * @param fixedPointScale decimal places kept in fixed-point rates, between 0 and 18
+     * @return rate table
+     * @throws IllegalArgumentException if the scale is out of range or a scaled rate overflows a {@code long}
+     */
+    public static RateTable of(ExchangeRateSnapshot snapshot, int fixedPointScale) {
+        Objects.requireNonNull(snapshot, "snapshot");
+        return new RateTable(CurrencyCode.parse(snapshot.baseCode()), snapshot.conversionRates(), fixedPointScale);
+    }
+
+    /**
+     * Creates a table from historical rates.
+     *
+     * @param historicalRates source historical rates
+     * @param fixedPointScale decimal places kept in fixed-point rates, between 0 and 18
+     * @return rate table
+     * @throws IllegalArgumentException if the scale is out of range or a scaled rate overflows a {@code long}
+     */
+    public static RateTable of(HistoricalRates historicalRates, int fixedPointScale) {
+        Objects.requireNonNull(historicalRates, "historicalRates");
+        return new RateTable(
+                CurrencyCode.parse(historicalRates.baseCode()),
+                historicalRates.conversionRates(),
+                fixedPointScale
+        );
+    }
+
+    /**
+     * Returns the base currency the rates are quoted against.
+     *
+     * @return base currency
+     */
+    public CurrencyCode baseCode() {
+        return baseCode;
+    }
+
+    /**
+     * Returns the number of currencies in the table.
+     *
+     * @return currency count
+     */
+    public int size() {
+        return currencies.length;
+    }
+
+    /**
+     * Returns the currency at a dense index.
+     *
+     * @param index dense index in {@code [0, size())}
+     * @return currency code
+     */
+    public CurrencyCode currency(int index) {
+        return currencies[index];
+    }
+
+    /**
+     * Returns the dense index of a currency.
+     *
+     * @param currencyCode currency code
+     * @return dense index, or {@code -1} when the currency is not in the table
+     */
+    public int indexOf(CurrencyCode currencyCode) {
+        int key = currencyCode.index();
+        int slot = mix(key) & slotMask;
+        while (true) {
+            int candidate = slotKeys[slot];
+            if (candidate == key) {
+                return slotIndexes[slot];
+            }
+            if (candidate == -1) {
+                return -1;
+            }
+            slot = (slot + 1) & slotMask;
+        }
+    }
+
+    /**
+     * Returns the dense index of a currency.
+     *
+     * @param currencyCode currency code, surrounding whitespace and case ignored
+     * @return dense index, or {@code -1} when the value is invalid or not in the table
+     */
+    public int indexOf(CharSequence currencyCode) {
+        int key = CurrencyCode.indexOf(currencyCode);
+        return key < 0 ? -1 : indexOf(CurrencyCode.fromIndex(key));
+    }
+
+    /**
+     * Returns the rate from the base currency to the currency at an index.
+     *
+     * @param index dense index
+     * @return rate as a double
+     */
+    public double rate(int index) {
+        return rates[index];
+    }
+
+    /**
+     * Returns the rate between two currencies at the given indexes.
+     *
+     * @param fromIndex dense index of the source currency
+     * @param toIndex dense index of the target currency
+     * @return cross rate as a double
+     */
+    public double rate(int fromIndex, int toIndex) {
+        return fromIndex == toIndex ? 1.0 : rates[toIndex] / rates[fromIndex];
+    }
+
+    /**
+     * Returns the decimal places of the fixed-point rates.
+     *
+     * @return fixed-point scale
+     */
+    public int fixedPointScale() {
+        return fixedPointScale;
+    }
+
+    /**
+     * Returns the rate at an index as a fixed-point value scaled by {@code 10^fixedPointScale()}.
+     *
+     * @param index dense index
+     * @return scaled rate
+     */
+    public long scaledRate(int index) {
+        return scaledRates[index];
+    }
+
+    /**
+     * Converts amounts between two currencies in bulk.
+     *
+     * @param amounts amounts in the source currency
+     * @param fromIndex dense index of the source currency
+     * @param toIndex dense index of the target currency
+     * @param out destination array, at least as long as {@code amounts}; may be {@code amounts} itself
+     */
+    public void convert(double[] amounts, int fromIndex, int toIndex, double[] out) {
+        checkLengths(amounts.length, out.length);
+        double factor = rate(fromIndex, toIndex);
+        for (int i = 0; i < amounts.length; i++) {
+            out[i] = amounts[i] * factor;
+        }
+    }
+
+    /**
+     * Converts amounts from the base currency to the currency at an index in bulk, using
+     * fixed-point arithmetic. Amounts keep their own implied scale (for example minor units);
+     * each result is rounded half-even to that same scale.
+     *
+     * @param amounts amounts in the base currency
+     * @param toIndex dense index of the target currency
+     * @param out destination array, at least as long as {@code amounts}; may be {@code amounts} itself
+     * @throws ArithmeticException when an intermediate product overflows a {@code long}
+     */
+    public void convertScaled(long[] amounts, int toIndex, long[] out) {
+        checkLengths(amounts.length, out.length);
+        long rate = scaledRates[toIndex];
+        for (int i = 0; i < amounts.length; i++) {
+            out[i] = divideHalfEven(Math.multiplyExact(amounts[i], rate), fixedPointFactor);
+        }
+    }
+
+    /**
+     * Returns a copy of the rates as doubles, in index order.
+     *
+     * @return rate array copy
+     */
+    public double[] toDoubleArray() {
+        return rates.clone();
+    }
+
+    /**
+     * Returns a copy of the fixed-point rates, in index order.
+     *
+     * @return scaled rate array copy
+     */
+    public long[] toScaledArray() {
+        return scaledRates.clone();
+    }
+
+    private static void checkLengths(int amountsLength, int outLength) {
+        if (outLength < amountsLength) {
+            throw new IllegalArgumentException("out must hold at least " + amountsLength + " values");
+        }
+    }
+
+    private static long divideHalfEven(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        long twice = Math.abs(remainder) * 2;
+        if (twice > divisor || (twice == divisor && (quotient & 1) != 0)) {
+            quotient += Long.signum(dividend);
+        }
+        return quotient;
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B1;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,16 @@
+package io.github.doma17.exchangerate.exception;
+
+/**
+ * Exception raised when a call is refused because the circuit breaker in front of the API is open.
+ */
+public class ExchangeRateCircuitOpenException extends ExchangeRateThrottledException {
+
+    /**
+     * Creates a circuit-open exception with a message.
+     *
+     * @param message error description
+     */
+    public ExchangeRateCircuitOpenException(String message) {
+        super(message);
+    }
+}
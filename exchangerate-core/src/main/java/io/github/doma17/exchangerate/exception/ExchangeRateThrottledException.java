@@ -0,0 +1,17 @@
+package io.github.doma17.exchangerate.exception;
+
+/**
+ * Exception raised when a call is refused locally, without reaching the API, to protect the
+ * request rate, the remaining quota or a failing upstream.
+ */
+public class ExchangeRateThrottledException extends ExchangeRateException {
+
+    /**
+     * Creates a throttled exception with a message.
+     *
+     * @param message error description
+     */
+    public ExchangeRateThrottledException(String message) {
+        super(message);
+    }
+}
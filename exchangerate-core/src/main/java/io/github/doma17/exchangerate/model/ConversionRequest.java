@@ -0,0 +1,42 @@
+package io.github.doma17.exchangerate.model;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * One amount to convert in a batch conversion.
+ *
+ * @param baseCode currency of the amount
+ * @param targetCode currency to convert into
+ * @param amount amount in the base currency
+ */
+public record ConversionRequest(
+        CurrencyCode baseCode,
+        CurrencyCode targetCode,
+        BigDecimal amount
+) {
+    /**
+     * Creates a validated conversion request.
+     *
+     * @param baseCode currency of the amount
+     * @param targetCode currency to convert into
+     * @param amount amount in the base currency
+     */
+    public ConversionRequest {
+        Objects.requireNonNull(baseCode, "baseCode");
+        Objects.requireNonNull(targetCode, "targetCode");
+        Objects.requireNonNull(amount, "amount");
+    }
+
+    /**
+     * Creates a conversion request from ISO-4217 codes.
+     *
+     * @param baseCode base ISO-4217 code
+     * @param targetCode target ISO-4217 code
+     * @param amount amount in the base currency
+     * @return conversion request
+     */
+    public static ConversionRequest of(String baseCode, String targetCode, BigDecimal amount) {
+        return new ConversionRequest(CurrencyCode.parse(baseCode), CurrencyCode.parse(targetCode), amount);
+    }
+}
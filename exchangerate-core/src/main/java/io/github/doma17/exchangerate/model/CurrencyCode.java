@@ -0,0 +1,142 @@
+package io.github.doma17.exchangerate.model;
+
+import java.util.Objects;
+
+/**
+ * Interned ISO-4217 alpha-3 currency code.
+ * <p>
+ * Every possible three-letter code is packed into an index in {@code [0, 17576)} and pre-allocated
+ * in a shared table, so {@link #parse(CharSequence)} never allocates and instances can be compared
+ * by identity. The code does not have to be an assigned ISO-4217 currency; only the shape is checked.
+ */
+public final class CurrencyCode implements Comparable<CurrencyCode> {
+
+    /**
+     * Number of distinct three-letter codes, and the exclusive upper bound of {@link #index()}.
+     */
+    public static final int INDEX_COUNT = 26 * 26 * 26;
+
+    private static final CurrencyCode[] TABLE = new CurrencyCode[INDEX_COUNT];
+
+    static {
+        for (int index = 0; index < INDEX_COUNT; index++) {
+            TABLE[index] = new CurrencyCode(index);
+        }
+    }
+
+    private final int index;
+    private final String code;
+
+    private CurrencyCode(int index) {
+        this.index = index;
+        this.code = new String(new char[] {
+                (char) ('A' + index / (26 * 26)),
+                (char) ('A' + index / 26 % 26),
+                (char) ('A' + index % 26)
+        });
+    }
+
+    /**
+     * Parses a currency code, ignoring surrounding whitespace and letter case.
+     *
+     * @param currencyCode code such as {@code "usd"} or {@code " KRW "}
+     * @return interned currency code
+     * @throws IllegalArgumentException when the value is not three ASCII letters
+     */
+    public static CurrencyCode parse(CharSequence currencyCode) {
+        int index = indexOf(Objects.requireNonNull(currencyCode, "currencyCode"));
+        if (index < 0) {
+            throw new IllegalArgumentException("currency code must be ISO-4217 alpha-3: " + currencyCode);
+        }
+        return TABLE[index];
+    }
+
+    /**
+     * Returns the currency code at a packed index.
+     *
+     * @param index packed index in {@code [0, INDEX_COUNT)}
+     * @return interned currency code
+     */
+    public static CurrencyCode fromIndex(int index) {
+        Objects.checkIndex(index, INDEX_COUNT);
+        return TABLE[index];
+    }
+
+    /**
+     * Returns the packed index of a code without throwing for invalid input.
+     *
+     * @param currencyCode code to inspect, surrounding whitespace and case ignored
+     * @return packed index, or {@code -1} when the value is not three ASCII letters
+     */
+    public static int indexOf(CharSequence currencyCode) {
+        int start = 0;
+        int end = currencyCode.length();
+        while (start < end && currencyCode.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && currencyCode.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (end - start != 3) {
+            return -1;
+        }
+
+        int index = 0;
+        for (int i = start; i < end; i++) {
+            int letter = letterValue(currencyCode.charAt(i));
+            if (letter < 0) {
+                return -1;
+            }
+            index = index * 26 + letter;
+        }
+        return index;
+    }
+
+    /**
+     * Returns the packed index of this code.
+     *
+     * @return index in {@code [0, INDEX_COUNT)}
+     */
+    public int index() {
+        return index;
+    }
+
+    /**
+     * Returns the upper-case code.
+     *
+     * @return interned three-letter string
+     */
+    public String code() {
+        return code;
+    }
+
+    @Override
+    public int compareTo(CurrencyCode other) {
+        return Integer.compare(index, other.index);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other;
+    }
+
+    @Override
+    public int hashCode() {
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        return code;
+    }
+
+    private static int letterValue(char c) {
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A';
+        }
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a';
+        }
+        return -1;
+    }
+}
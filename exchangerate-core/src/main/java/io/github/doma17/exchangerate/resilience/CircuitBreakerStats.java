@@ -0,0 +1,19 @@
+package io.github.doma17.exchangerate.resilience;
+
+/**
+ * Point-in-time state and counters of a {@link CircuitBreakingExchangeRateClient}.
+ *
+ * @param state current circuit state
+ * @param failureRate share of failed calls in the sliding window, between 0 and 1
+ * @param bufferedCalls calls currently recorded in the sliding window
+ * @param notPermittedCount calls refused without reaching the delegate
+ * @param transitionCount state transitions since creation
+ */
+public record CircuitBreakerStats(
+        CircuitState state,
+        double failureRate,
+        int bufferedCalls,
+        long notPermittedCount,
+        long transitionCount
+) {
+}
@@ -0,0 +1,559 @@
+package io.github.doma17.exchangerate.resilience;
+
+import io.github.doma17.exchangerate.AsyncExchangeRateClient;
+import io.github.doma17.exchangerate.ExchangeRateClient;
+import io.github.doma17.exchangerate.RetryPolicy;
+import io.github.doma17.exchangerate.exception.ExchangeRateCircuitOpenException;
+import io.github.doma17.exchangerate.exception.ExchangeRateException;
+import io.github.doma17.exchangerate.model.EnrichedRate;
+import io.github.doma17.exchangerate.model.ExchangeRateSnapshot;
+import io.github.doma17.exchangerate.model.HistoricalRates;
+import io.github.doma17.exchangerate.model.PairRate;
+import io.github.doma17.exchangerate.model.QuotaStatus;
+import io.github.doma17.exchangerate.model.SupportedCurrency;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * {@link ExchangeRateClient} decorator that stops calling the API while it is failing.
+ * <p>
+ * The outcomes of the last {@link Builder#slidingWindowSize(int)} calls are recorded. Once at least
+ * {@link Builder#minimumCalls(int)} are recorded and the share of failures reaches
+ * {@link Builder#failureRateThreshold(double)}, the circuit opens: calls fail immediately with
+ * {@link ExchangeRateCircuitOpenException} instead of waiting for the read timeout. After
+ * {@link Builder#openDuration(Duration)} the circuit is half-open and lets
+ * {@link Builder#halfOpenProbes(int)} calls through; it closes when all of them succeed and reopens
+ * on the first failure. Probes that are still unresolved one open duration later are abandoned and
+ * new ones are let through.
+ * <p>
+ * Only failures accepted by {@link Builder#recordFailure(Predicate)} count, by default the transient
+ * ones of {@link RetryPolicy#isTransient(ExchangeRateException)}; typed API errors show that the
+ * API is reachable and count as successes. Cancelled calls and calls ending with an {@link Error}
+ * are not recorded at all; they only give back their half-open probe slot. Place a {@code CachingExchangeRateClient} with
+ * {@code staleIfError} in front of this client to keep serving cached rates while the circuit is open.
+ */
+public class CircuitBreakingExchangeRateClient implements ExchangeRateClient, AsyncExchangeRateClient {
+
+    /**
+     * Default failure share that opens the circuit.
+     */
+    public static final double DEFAULT_FAILURE_RATE_THRESHOLD = 0.5;
+    /**
+     * Default number of recorded call outcomes.
+     */
+    public static final int DEFAULT_SLIDING_WINDOW_SIZE = 20;
+    /**
+     * Default number of recorded calls before the failure rate is evaluated.
+     */
+    public static final int DEFAULT_MINIMUM_CALLS = 10;
+    /**
+     * Default time the circuit stays open before probing.
+     */
+    public static final Duration DEFAULT_OPEN_DURATION = Duration.ofSeconds(30);
+    /**
+     * Default number of probe calls in the half-open state.
+     */
+    public static final int DEFAULT_HALF_OPEN_PROBES = 3;
+
+    private final ExchangeRateClient delegate;
+    private final AsyncExchangeRateClient asyncDelegate;
+    private final Clock clock;
+    private final double failureRateThreshold;
+    private final int minimumCalls;
+    private final Duration openDuration;
+    private final int halfOpenProbes;
+    private final Predicate<ExchangeRateException> recordFailure;
+    private final List<CircuitStateListener> listeners;
+
+    private final Object lock = new Object();
+    private final boolean[] window;
+    private int recordedCalls;
+    private int nextSlot;
+    private int failedCalls;
+    private volatile CircuitState state = CircuitState.CLOSED;
+    private long generation;
+    private Instant openedAt;
+    private Instant halfOpenedAt;
+    private int probesStarted;
+    private int probesSucceeded;
+
+    private final LongAdder notPermittedCount = new LongAdder();
+    private final LongAdder transitionCount = new LongAdder();
+
+    private CircuitBreakingExchangeRateClient(Builder builder) {
+        this.delegate = Objects.requireNonNull(builder.delegate, "delegate");
+        this.asyncDelegate = delegate instanceof AsyncExchangeRateClient asyncClient
+                ? asyncClient
+                : AsyncExchangeRateClient.fromBlocking(delegate);
+        this.clock = Objects.requireNonNull(builder.clock, "clock");
+        if (builder.failureRateThreshold <= 0 || builder.failureRateThreshold > 1) {
+            throw new IllegalArgumentException("failureRateThreshold must be in (0, 1]");
+        }
+        if (builder.slidingWindowSize < 1) {
+            throw new IllegalArgumentException("slidingWindowSize must be positive");
+        }
+        if (builder.minimumCalls < 1 || builder.minimumCalls > builder.slidingWindowSize) {
+            throw new IllegalArgumentException("minimumCalls must be between 1 and slidingWindowSize");
+        }
+        if (builder.halfOpenProbes < 1) {
+            throw new IllegalArgumentException("halfOpenProbes must be positive");
+        }
+        Objects.requireNonNull(builder.openDuration, "openDuration");
+        if (builder.openDuration.isNegative()) {
+            throw new IllegalArgumentException("openDuration must not be negative");
+        }
+        this.failureRateThreshold = builder.failureRateThreshold;
+        this.window = new boolean[builder.slidingWindowSize];
+        this.minimumCalls = builder.minimumCalls;
+        this.openDuration = builder.openDuration;
+        this.halfOpenProbes = builder.halfOpenProbes;
+        this.recordFailure = Objects.requireNonNull(builder.recordFailure, "recordFailure");
+        this.listeners = List.copyOf(builder.listeners);
+    }
+
+    /**
+     * Creates a builder for a circuit-breaking client.
+     *
+     * @param delegate client that performs the calls
+     * @return circuit breaker builder
+     */
+    public static Builder builder(ExchangeRateClient delegate) {
+        return new Builder(delegate);
+    }
+
+    @Override
+    public ExchangeRateSnapshot getLatestRates(String baseCode) {
+        return guarded(() -> delegate.getLatestRates(baseCode));
+    }
+
+    @Override
+    public PairRate getPairRate(String baseCode, String targetCode) {
+        return guarded(() -> delegate.getPairRate(baseCode, targetCode));
+    }
+
+    @Override
+    public PairRate convertPairAmount(String baseCode, String targetCode, BigDecimal amount) {
+        return guarded(() -> delegate.convertPairAmount(baseCode, targetCode, amount));
+    }
+
+    @Override
+    public HistoricalRates getHistoricalRates(String baseCode, LocalDate date) {
+        return guarded(() -> delegate.getHistoricalRates(baseCode, date));
+    }
+
+    @Override
+    public HistoricalRates getHistoricalConvertedAmounts(String baseCode, LocalDate date, BigDecimal amount) {
+        return guarded(() -> delegate.getHistoricalConvertedAmounts(baseCode, date, amount));
+    }
+
+    @Override
+    public QuotaStatus getQuotaStatus() {
+        return guarded(delegate::getQuotaStatus);
+    }
+
+    @Override
+    public List<SupportedCurrency> getSupportedCurrencies() {
+        return guarded(delegate::getSupportedCurrencies);
+    }
+
+    @Override
+    public EnrichedRate getEnrichedRate(String baseCode, String targetCode) {
+        return guarded(() -> delegate.getEnrichedRate(baseCode, targetCode));
+    }
+
+    @Override
+    public <T> Optional<T> unwrap(Class<T> type) {
+        return ExchangeRateClient.super.unwrap(type).or(() -> delegate.unwrap(type));
+    }
+
+    @Override
+    public CompletableFuture<ExchangeRateSnapshot> getLatestRatesAsync(String baseCode) {
+        return guardedAsync(() -> asyncDelegate.getLatestRatesAsync(baseCode));
+    }
+
+    @Override
+    public CompletableFuture<PairRate> getPairRateAsync(String baseCode, String targetCode) {
+        return guardedAsync(() -> asyncDelegate.getPairRateAsync(baseCode, targetCode));
+    }
+
+    @Override
+    public CompletableFuture<PairRate> convertPairAmountAsync(String baseCode, String targetCode, BigDecimal amount) {
+        return guardedAsync(() -> asyncDelegate.convertPairAmountAsync(baseCode, targetCode, amount));
+    }
+
+    @Override
+    public CompletableFuture<HistoricalRates> getHistoricalRatesAsync(String baseCode, LocalDate date) {
+        return guardedAsync(() -> asyncDelegate.getHistoricalRatesAsync(baseCode, date));
+    }
+
+    @Override
+    public CompletableFuture<HistoricalRates> getHistoricalConvertedAmountsAsync(String baseCode, LocalDate date, BigDecimal amount) {
+        return guardedAsync(() -> asyncDelegate.getHistoricalConvertedAmountsAsync(baseCode, date, amount));
+    }
+
+    @Override
+    public CompletableFuture<QuotaStatus> getQuotaStatusAsync() {
+        return guardedAsync(asyncDelegate::getQuotaStatusAsync);
+    }
+
+    @Override
+    public CompletableFuture<List<SupportedCurrency>> getSupportedCurrenciesAsync() {
+        return guardedAsync(asyncDelegate::getSupportedCurrenciesAsync);
+    }
+
+    @Override
+    public CompletableFuture<EnrichedRate> getEnrichedRateAsync(String baseCode, String targetCode) {
+        return guardedAsync(() -> asyncDelegate.getEnrichedRateAsync(baseCode, targetCode));
+    }
+
+    /**
+     * Returns the current state. An open circuit whose open duration has elapsed is reported as
+     * open until the next call moves it to half-open.
+     *
+     * @return circuit state
+     */
+    public CircuitState state() {
+        return state;
+    }
+
+    /**
+     * Returns a snapshot of the state and counters.
+     *
+     * @return current statistics
+     */
+    public CircuitBreakerStats stats() {
+        synchronized (lock) {
+            return new CircuitBreakerStats(
+                    state,
+                    recordedCalls == 0 ? 0 : (double) failedCalls / recordedCalls,
+                    recordedCalls,
+                    notPermittedCount.sum(),
+                    transitionCount.sum()
+            );
+        }
+    }
+
+    private <T> T guarded(Supplier<T> call) {
+        long permit = acquirePermission();
+        boolean recorded = false;
+        try {
+            T result = call.get();
+            recorded = true;
+            onResult(permit, null);
+            return result;
+        } catch (RuntimeException e) {
+            recorded = true;
+            onResult(permit, e);
+            throw e;
+        } finally {
+            if (!recorded) {
+                release(permit);
+            }
+        }
+    }
+
+    private <T> CompletableFuture<T> guardedAsync(Supplier<CompletableFuture<T>> call) {
+        long permit;
+        try {
+            permit = acquirePermission();
+        } catch (ExchangeRateCircuitOpenException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        CompletableFuture<T> future;
+        boolean started = false;
+        try {
+            future = call.get();
+            started = true;
+        } catch (RuntimeException e) {
+            started = true;
+            onResult(permit, e);
+            throw e;
+        } finally {
+            if (!started) {
+                release(permit);
+            }
+        }
+        CompletableFuture<T> outcome = new CompletableFuture<>();
+        future.whenComplete((result, error) -> {
+            try {
+                onResult(permit, error);
+            } finally {
+                if (error == null) {
+                    outcome.complete(result);
+                } else {
+                    outcome.completeExceptionally(error);
+                }
+            }
+        });
+        outcome.whenComplete((result, error) -> {
+            if (outcome.isCancelled()) {
+                future.cancel(true);
+            }
+        });
+        return outcome;
+    }
+
+    /**
+     * Admits a call or throws; returns the state generation the call's outcome belongs to, so
+     * outcomes of calls admitted before a transition do not count towards the new state.
+     */
+    private long acquirePermission() {
+        CircuitState transitionedFrom = null;
+        long permit = -1;
+        synchronized (lock) {
+            if (state == CircuitState.OPEN && !clock.instant().isBefore(openedAt.plus(openDuration))) {
+                transitionedFrom = transitionTo(CircuitState.HALF_OPEN);
+            }
+            if (state == CircuitState.HALF_OPEN && probesStarted >= halfOpenProbes
+                    && !clock.instant().isBefore(halfOpenedAt.plus(openDuration))) {
+                // The probes never reported back; later outcomes of them belong to an old generation.
+                generation++;
+                probesStarted = 0;
+                probesSucceeded = 0;
+                halfOpenedAt = clock.instant();
+            }
+            if (state == CircuitState.CLOSED) {
+                permit = generation;
+            } else if (state == CircuitState.HALF_OPEN && probesStarted < halfOpenProbes) {
+                probesStarted++;
+                permit = generation;
+            }
+        }
+        if (transitionedFrom != null) {
+            notifyListeners(transitionedFrom, CircuitState.HALF_OPEN);
+        }
+        if (permit < 0) {
+            notPermittedCount.increment();
+            throw new ExchangeRateCircuitOpenException("Circuit breaker is " + state + "; call not permitted");
+        }
+        return permit;
+    }
+
+    private void onResult(long permit, Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        if (error instanceof CancellationException || error instanceof Error) {
+            release(permit);
+            return;
+        }
+        boolean failed = error instanceof ExchangeRateException exception
+                && !(error instanceof ExchangeRateCircuitOpenException)
+                && recordFailure.test(exception);
+
+        CircuitState transitionedFrom = null;
+        CircuitState transitionedTo = null;
+        synchronized (lock) {
+            if (permit != generation) {
+                return;
+            }
+            if (state == CircuitState.CLOSED) {
+                record(failed);
+                if (recordedCalls >= minimumCalls && failedCalls >= failureRateThreshold * recordedCalls) {
+                    transitionedTo = CircuitState.OPEN;
+                }
+            } else if (state == CircuitState.HALF_OPEN) {
+                if (failed) {
+                    transitionedTo = CircuitState.OPEN;
+                } else if (++probesSucceeded >= halfOpenProbes) {
+                    transitionedTo = CircuitState.CLOSED;
+                }
+            }
+            if (transitionedTo != null) {
+                transitionedFrom = transitionTo(transitionedTo);
+            }
+        }
+        if (transitionedTo != null) {
+            notifyListeners(transitionedFrom, transitionedTo);
+        }
+    }
+
+    /**
+     * Gives back the half-open probe slot of a call whose outcome says nothing about the API.
+     */
+    private void release(long permit) {
+        synchronized (lock) {
+            if (permit == generation && state == CircuitState.HALF_OPEN) {
+                probesStarted--;
+            }
+        }
+    }
+
+    private void record(boolean failed) {
+        if (recordedCalls == window.length) {
+            if (window[nextSlot]) {
+                failedCalls--;
+            }
+        } else {
+            recordedCalls++;
+        }
+        window[nextSlot] = failed;
+        if (failed) {
+            failedCalls++;
+        }
+        nextSlot = (nextSlot + 1) % window.length;
+    }
+
+    private CircuitState transitionTo(CircuitState newState) {
+        CircuitState previous = state;
+        state = newState;
+        generation++;
+        transitionCount.increment();
+        switch (newState) {
+            case OPEN -> openedAt = clock.instant();
+            case HALF_OPEN -> {
+                halfOpenedAt = clock.instant();
+                probesStarted = 0;
+                probesSucceeded = 0;
+            }
+            case CLOSED -> {
+                recordedCalls = 0;
+                nextSlot = 0;
+                failedCalls = 0;
+            }
+        }
+        return previous;
+    }
+
+    private void notifyListeners(CircuitState from, CircuitState to) {
+        for (CircuitStateListener listener : listeners) {
+            try {
+                listener.onTransition(from, to);
+            } catch (RuntimeException ignored) {
+                // A failing listener must not change the outcome of the call that caused the transition.
+            }
+        }
+    }
+
+    /**
+     * Builder for {@link CircuitBreakingExchangeRateClient}.
+     */
+    public static final class Builder {
+
+        private final ExchangeRateClient delegate;
+        private double failureRateThreshold = DEFAULT_FAILURE_RATE_THRESHOLD;
+        private int slidingWindowSize = DEFAULT_SLIDING_WINDOW_SIZE;
+        private int minimumCalls = DEFAULT_MINIMUM_CALLS;
+        private Duration openDuration = DEFAULT_OPEN_DURATION;
+        private int halfOpenProbes = DEFAULT_HALF_OPEN_PROBES;
+        private Predicate<ExchangeRateException> recordFailure = RetryPolicy::isTransient;
+        private final List<CircuitStateListener> listeners = new ArrayList<>();
+        private Clock clock = Clock.systemUTC();
+
+        private Builder(ExchangeRateClient delegate) {
+            this.delegate = delegate;
+        }
+
+        /**
+         * Sets the share of failed calls in the sliding window that opens the circuit.
+         *
+         * @param failureRateThreshold fraction in {@code (0, 1]}
+         * @return this builder
+         */
+        public Builder failureRateThreshold(double failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+            return this;
+        }
+
+        /**
+         * Sets how many of the most recent call outcomes are recorded.
+         *
+         * @param slidingWindowSize positive window size
+         * @return this builder
+         */
+        public Builder slidingWindowSize(int slidingWindowSize) {
+            this.slidingWindowSize = slidingWindowSize;
+            return this;
+        }
+
+        /**
+         * Sets how many outcomes must be recorded before the failure rate can open the circuit.
+         *
+         * @param minimumCalls calls between 1 and the sliding window size
+         * @return this builder
+         */
+        public Builder minimumCalls(int minimumCalls) {
+            this.minimumCalls = minimumCalls;
+            return this;
+        }
+
+        /**
+         * Sets how long the circuit fails fast before letting probe calls through.
+         *
+         * @param openDuration non-negative open duration
+         * @return this builder
+         */
+        public Builder openDuration(Duration openDuration) {
+            this.openDuration = openDuration;
+            return this;
+        }
+
+        /**
+         * Sets how many probe calls the half-open circuit lets through; all of them must succeed
+         * to close it.
+         *
+         * @param halfOpenProbes positive probe count
+         * @return this builder
+         */
+        public Builder halfOpenProbes(int halfOpenProbes) {
+            this.halfOpenProbes = halfOpenProbes;
+            return this;
+        }
+
+        /**
+         * Replaces the classification of failures that count towards opening the circuit;
+         * defaults to {@link RetryPolicy#isTransient(ExchangeRateException)}.
+         *
+         * @param recordFailure predicate returning {@code true} for failures that indicate an outage
+         * @return this builder
+         */
+        public Builder recordFailure(Predicate<ExchangeRateException> recordFailure) {
+            this.recordFailure = recordFailure;
+            return this;
+        }
+
+        /**
+         * Adds a listener notified of state transitions.
+         *
+         * @param listener transition listener
+         * @return this builder
+         */
+        public Builder listener(CircuitStateListener listener) {
+            listeners.add(Objects.requireNonNull(listener, "listener"));
+            return this;
+        }
+
+        /**
+         * Sets the clock used to time the open state.
+         *
+         * @param clock breaker clock
+         * @return this builder
+         */
+        public Builder clock(Clock clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        /**
+         * Builds the circuit-breaking client.
+         *
+         * @return new client
+         */
+        public CircuitBreakingExchangeRateClient build() {
+            return new CircuitBreakingExchangeRateClient(this);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package io.github.doma17.exchangerate.resilience;
+
+/**
+ * State of a {@link CircuitBreakingExchangeRateClient}.
+ */
+public enum CircuitState {
+    /**
+     * Calls pass through and their outcomes are recorded in the sliding window.
+     */
+    CLOSED,
+    /**
+     * The failure rate crossed the threshold; calls fail fast until the open duration has elapsed.
+     */
+    OPEN,
+    /**
+     * A limited number of probe calls pass through to decide whether to close or reopen the circuit.
+     */
+    HALF_OPEN
+}
@@ -0,0 +1,20 @@
+package io.github.doma17.exchangerate.resilience;
+
+/**
+ * Callback notified when a {@link CircuitBreakingExchangeRateClient} changes state.
+ * <p>
+ * Called on the thread whose call caused the transition, after the new state is in effect;
+ * implementations should return quickly. An exception thrown by a listener is dropped and does
+ * not reach the others or the caller.
+ */
+@FunctionalInterface
+public interface CircuitStateListener {
+
+    /**
+     * Handles a state transition.
+     *
+     * @param from previous state
+     * @param to new state
+     */
+    void onTransition(CircuitState from, CircuitState to);
+}
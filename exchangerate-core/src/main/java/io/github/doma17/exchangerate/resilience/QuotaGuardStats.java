@@ -0,0 +1,25 @@
+package io.github.doma17.exchangerate.resilience;
+
+/**
+ * Point-in-time counters and budget estimate of a {@link QuotaGuardingExchangeRateClient}.
+ *
+ * @param permittedCount calls passed to the delegate client
+ * @param throttledCount permitted calls that first waited for the rate limiter
+ * @param rejectedCount calls refused because the rate limiter wait was too long
+ * @param degradedCount calls refused because the quota budget was exhausted
+ * @param state current spending mode
+ * @param estimatedRemaining requests estimated to remain in the cycle, or {@code -1} before the first reconciliation
+ * @param projectedSpend requests projected to be spent at the observed rate until the quota resets
+ * @param permitsPerSecond current rate limiter refill rate
+ */
+public record QuotaGuardStats(
+        long permittedCount,
+        long throttledCount,
+        long rejectedCount,
+        long degradedCount,
+        QuotaState state,
+        long estimatedRemaining,
+        double projectedSpend,
+        double permitsPerSecond
+) {
+}
@@ -0,0 +1,442 @@
+package io.github.doma17.exchangerate.resilience;
+
+import io.github.doma17.exchangerate.ExchangeRateClient;
+import io.github.doma17.exchangerate.exception.ExchangeRateApiErrorType;
+import io.github.doma17.exchangerate.exception.ExchangeRateApiException;
+import io.github.doma17.exchangerate.exception.ExchangeRateClientException;
+import io.github.doma17.exchangerate.exception.ExchangeRateException;
+import io.github.doma17.exchangerate.exception.ExchangeRateThrottledException;
+import io.github.doma17.exchangerate.model.EnrichedRate;
+import io.github.doma17.exchangerate.model.ExchangeRateSnapshot;
+import io.github.doma17.exchangerate.model.HistoricalRates;
+import io.github.doma17.exchangerate.model.PairRate;
+import io.github.doma17.exchangerate.model.QuotaStatus;
+import io.github.doma17.exchangerate.model.SupportedCurrency;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * {@link ExchangeRateClient} decorator that keeps API usage within the plan quota.
+ * <p>
+ * Every call except {@link #getQuotaStatus()} takes a token from a {@link TokenBucket} first.
+ * The guard periodically reconciles its estimate of the remaining requests with
+ * {@link ExchangeRateClient#getQuotaStatus()}, measures the spend rate between reconciliations
+ * (which includes other consumers of the same key), and projects it to the next
+ * {@link QuotaStatus#refreshDayOfMonth()}:
+ * <ul>
+ *     <li>When the projection exceeds the remaining budget, the guard switches to
+ *     {@link QuotaState#CONSERVING} and lowers the bucket rate to what the budget can sustain.</li>
+ *     <li>When the remaining requests reach the reserve, or the API answers {@code quota-reached},
+ *     it switches to {@link QuotaState#DEGRADED} and refuses calls with
+ *     {@link ExchangeRateThrottledException} until a reconciliation shows quota again.</li>
+ * </ul>
+ * Refused calls fail fast and locally. To keep answering from cache while degraded, place a
+ * {@code CachingExchangeRateClient} with {@code staleIfError} in front of this client.
+ */
+public class QuotaGuardingExchangeRateClient implements ExchangeRateClient {
+
+    /**
+     * Default request rate.
+     */
+    public static final double DEFAULT_PERMITS_PER_SECOND = 5;
+    /**
+     * Default number of requests that can be made back to back.
+     */
+    public static final int DEFAULT_BURST = 10;
+    /**
+     * Default longest wait for a rate limiter token.
+     */
+    public static final Duration DEFAULT_MAX_THROTTLE_WAIT = Duration.ofSeconds(1);
+    /**
+     * Default interval between quota reconciliations.
+     */
+    public static final Duration DEFAULT_RECONCILE_INTERVAL = Duration.ofMinutes(10);
+    /**
+     * Default share of the plan quota kept in reserve.
+     */
+    public static final double DEFAULT_RESERVE_FRACTION = 0.05;
+
+    private static final double MINIMUM_PERMITS_PER_SECOND = 1e-6;
+
+    private final ExchangeRateClient delegate;
+    private final Clock clock;
+    private final TokenBucket bucket;
+    private final double permitsPerSecond;
+    private final Duration maxThrottleWait;
+    private final Duration reconcileInterval;
+    private final double reserveFraction;
+
+    private final Object reconcileLock = new Object();
+    private final AtomicLong spentSinceReconcile = new AtomicLong();
+    private volatile Budget budget;
+    private volatile Instant nextReconcileAt = Instant.MIN;
+
+    private final LongAdder permittedCount = new LongAdder();
+    private final LongAdder throttledCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder degradedCount = new LongAdder();
+
+    private QuotaGuardingExchangeRateClient(Builder builder) {
+        this.delegate = Objects.requireNonNull(builder.delegate, "delegate");
+        this.clock = Objects.requireNonNull(builder.clock, "clock");
+        this.maxThrottleWait = requireNonNegative(builder.maxThrottleWait, "maxThrottleWait");
+        this.reconcileInterval = requireNonNegative(builder.reconcileInterval, "reconcileInterval");
+        if (builder.reserveFraction < 0 || builder.reserveFraction >= 1) {
+            throw new IllegalArgumentException("reserveFraction must be in [0, 1)");
+        }
+        this.reserveFraction = builder.reserveFraction;
+        this.permitsPerSecond = builder.permitsPerSecond;
+        this.bucket = new TokenBucket(builder.permitsPerSecond, builder.burst);
+    }
+
+    /**
+     * Creates a builder for a quota-guarding client.
+     *
+     * @param delegate client that performs the calls
+     * @return quota guard builder
+     */
+    public static Builder builder(ExchangeRateClient delegate) {
+        return new Builder(delegate);
+    }
+
+    @Override
+    public ExchangeRateSnapshot getLatestRates(String baseCode) {
+        return metered(() -> delegate.getLatestRates(baseCode));
+    }
+
+    @Override
+    public PairRate getPairRate(String baseCode, String targetCode) {
+        return metered(() -> delegate.getPairRate(baseCode, targetCode));
+    }
+
+    @Override
+    public PairRate convertPairAmount(String baseCode, String targetCode, BigDecimal amount) {
+        return metered(() -> delegate.convertPairAmount(baseCode, targetCode, amount));
+    }
+
+    @Override
+    public HistoricalRates getHistoricalRates(String baseCode, LocalDate date) {
+        return metered(() -> delegate.getHistoricalRates(baseCode, date));
+    }
+
+    @Override
+    public HistoricalRates getHistoricalConvertedAmounts(String baseCode, LocalDate date, BigDecimal amount) {
+        return metered(() -> delegate.getHistoricalConvertedAmounts(baseCode, date, amount));
+    }
+
+    /**
+     * Fetches the quota status from the delegate and reconciles the budget with it.
+     * This call is not rate limited.
+     *
+     * @return quota status
+     */
+    @Override
+    public QuotaStatus getQuotaStatus() {
+        QuotaStatus status = delegate.getQuotaStatus();
+        reconcile(status);
+        return status;
+    }
+
+    @Override
+    public List<SupportedCurrency> getSupportedCurrencies() {
+        return metered(delegate::getSupportedCurrencies);
+    }
+
+    @Override
+    public EnrichedRate getEnrichedRate(String baseCode, String targetCode) {
+        return metered(() -> delegate.getEnrichedRate(baseCode, targetCode));
+    }
+
+    @Override
+    public <T> Optional<T> unwrap(Class<T> type) {
+        return ExchangeRateClient.super.unwrap(type).or(() -> delegate.unwrap(type));
+    }
+
+    /**
+     * Returns the current spending mode.
+     *
+     * @return quota state
+     */
+    public QuotaState state() {
+        Budget current = budget;
+        if (current == null) {
+            return QuotaState.NORMAL;
+        }
+        return estimatedRemaining(current) <= current.reserve() ? QuotaState.DEGRADED : current.state();
+    }
+
+    /**
+     * Returns a snapshot of the guard counters and budget estimate.
+     *
+     * @return current statistics
+     */
+    public QuotaGuardStats stats() {
+        Budget current = budget;
+        return new QuotaGuardStats(
+                permittedCount.sum(),
+                throttledCount.sum(),
+                rejectedCount.sum(),
+                degradedCount.sum(),
+                state(),
+                current == null ? -1 : estimatedRemaining(current),
+                current == null ? 0 : projectedSpend(current, clock.instant()),
+                bucket.rate()
+        );
+    }
+
+    private <T> T metered(Supplier<T> call) {
+        reconcileIfDue();
+        if (state() == QuotaState.DEGRADED) {
+            degradedCount.increment();
+            Budget current = budget;
+            throw new ExchangeRateThrottledException(
+                    "Quota budget exhausted: " + estimatedRemaining(current) + " requests remaining, reserve "
+                            + current.reserve() + ", quota resets at " + current.resetAt()
+            );
+        }
+        acquireToken();
+
+        spentSinceReconcile.incrementAndGet();
+        permittedCount.increment();
+        try {
+            return call.get();
+        } catch (ExchangeRateApiException e) {
+            if (e.errorType() == ExchangeRateApiErrorType.QUOTA_REACHED) {
+                markQuotaReached();
+            }
+            throw e;
+        }
+    }
+
+    private void acquireToken() {
+        double before = bucket.availableTokens();
+        try {
+            if (!bucket.tryAcquire(maxThrottleWait)) {
+                rejectedCount.increment();
+                throw new ExchangeRateThrottledException(
+                        "Request rate limit of " + bucket.rate() + " per second exceeded"
+                );
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExchangeRateClientException("Interrupted while waiting for the request rate limiter", e);
+        }
+        if (before < 1) {
+            throttledCount.increment();
+        }
+    }
+
+    private void reconcileIfDue() {
+        if (clock.instant().isBefore(nextReconcileAt)) {
+            return;
+        }
+        synchronized (reconcileLock) {
+            if (clock.instant().isBefore(nextReconcileAt)) {
+                return;
+            }
+            nextReconcileAt = clock.instant().plus(reconcileInterval);
+        }
+        try {
+            reconcile(delegate.getQuotaStatus());
+        } catch (ExchangeRateException e) {
+            // Keep the previous estimate; the next reconciliation is already scheduled.
+        }
+    }
+
+    private void reconcile(QuotaStatus status) {
+        synchronized (reconcileLock) {
+            Instant now = clock.instant();
+            Budget previous = budget;
+            long spentLocally = spentSinceReconcile.getAndSet(0);
+
+            double spendPerSecond = 0;
+            if (previous != null) {
+                double elapsedSeconds = Math.max(1, Duration.between(previous.reconciledAt(), now).toMillis() / 1000.0);
+                long consumed = previous.status().requestsRemaining() - (long) status.requestsRemaining();
+                spendPerSecond = (consumed >= 0 ? consumed : spentLocally) / elapsedSeconds;
+            }
+
+            Instant resetAt = nextReset(now, status.refreshDayOfMonth());
+            long reserve = (long) Math.ceil(status.planQuota() * reserveFraction);
+            Budget reconciled = new Budget(status, now, spendPerSecond, resetAt, reserve, QuotaState.NORMAL);
+
+            double secondsUntilReset = Math.max(1, Duration.between(now, resetAt).toSeconds());
+            long available = status.requestsRemaining() - reserve;
+            if (available > 0 && projectedSpend(reconciled, now) > available) {
+                bucket.setRate(Math.max(MINIMUM_PERMITS_PER_SECOND, Math.min(permitsPerSecond, available / secondsUntilReset)));
+                reconciled = reconciled.withState(QuotaState.CONSERVING);
+            } else {
+                bucket.setRate(permitsPerSecond);
+            }
+            budget = reconciled;
+            nextReconcileAt = now.plus(reconcileInterval);
+        }
+    }
+
+    private void markQuotaReached() {
+        synchronized (reconcileLock) {
+            Budget current = budget;
+            Instant now = clock.instant();
+            QuotaStatus exhausted = current == null
+                    ? new QuotaStatus(0, 0, 1)
+                    : new QuotaStatus(current.status().planQuota(), 0, current.status().refreshDayOfMonth());
+            spentSinceReconcile.set(0);
+            budget = new Budget(
+                    exhausted,
+                    now,
+                    current == null ? 0 : current.spendPerSecond(),
+                    current == null ? now.plus(reconcileInterval) : current.resetAt(),
+                    0,
+                    QuotaState.DEGRADED
+            );
+        }
+    }
+
+    private long estimatedRemaining(Budget current) {
+        return current.status().requestsRemaining() - spentSinceReconcile.get();
+    }
+
+    private static double projectedSpend(Budget current, Instant now) {
+        return current.spendPerSecond() * Math.max(0, Duration.between(now, current.resetAt()).toSeconds());
+    }
+
+    static Instant nextReset(Instant now, int refreshDayOfMonth) {
+        LocalDate today = LocalDate.ofInstant(now, ZoneOffset.UTC);
+        LocalDate candidate = resetDate(today.withDayOfMonth(1), refreshDayOfMonth);
+        if (!candidate.isAfter(today)) {
+            candidate = resetDate(today.withDayOfMonth(1).plusMonths(1), refreshDayOfMonth);
+        }
+        return candidate.atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    private static LocalDate resetDate(LocalDate firstOfMonth, int refreshDayOfMonth) {
+        int day = Math.max(1, Math.min(refreshDayOfMonth, firstOfMonth.lengthOfMonth()));
+        return firstOfMonth.withDayOfMonth(day);
+    }
+
+    private static Duration requireNonNegative(Duration value, String fieldName) {
+        Objects.requireNonNull(value, fieldName);
+        if (value.isNegative()) {
+            throw new IllegalArgumentException(fieldName + " must not be negative");
+        }
+        return value;
+    }
+
+    private record Budget(
+            QuotaStatus status,
+            Instant reconciledAt,
+            double spendPerSecond,
+            Instant resetAt,
+            long reserve,
+            QuotaState state
+    ) {
+
+        private Budget withState(QuotaState newState) {
+            return new Budget(status, reconciledAt, spendPerSecond, resetAt, reserve, newState);
+        }
+    }
+
+    /**
+     * Builder for {@link QuotaGuardingExchangeRateClient}.
+     */
+    public static final class Builder {
+
+        private final ExchangeRateClient delegate;
+        private double permitsPerSecond = DEFAULT_PERMITS_PER_SECOND;
+        private int burst = DEFAULT_BURST;
+        private Duration maxThrottleWait = DEFAULT_MAX_THROTTLE_WAIT;
+        private Duration reconcileInterval = DEFAULT_RECONCILE_INTERVAL;
+        private double reserveFraction = DEFAULT_RESERVE_FRACTION;
+        private Clock clock = Clock.systemUTC();
+
+        private Builder(ExchangeRateClient delegate) {
+            this.delegate = delegate;
+        }
+
+        /**
+         * Sets the sustained request rate.
+         *
+         * @param permitsPerSecond positive requests per second
+         * @return this builder
+         */
+        public Builder permitsPerSecond(double permitsPerSecond) {
+            this.permitsPerSecond = permitsPerSecond;
+            return this;
+        }
+
+        /**
+         * Sets how many requests can be made back to back after an idle period.
+         *
+         * @param burst positive burst size
+         * @return this builder
+         */
+        public Builder burst(int burst) {
+            this.burst = burst;
+            return this;
+        }
+
+        /**
+         * Sets the longest time a call waits for the rate limiter before it is refused.
+         *
+         * @param maxThrottleWait non-negative wait limit
+         * @return this builder
+         */
+        public Builder maxThrottleWait(Duration maxThrottleWait) {
+            this.maxThrottleWait = maxThrottleWait;
+            return this;
+        }
+
+        /**
+         * Sets how often the budget is reconciled with {@link ExchangeRateClient#getQuotaStatus()}.
+         *
+         * @param reconcileInterval non-negative interval
+         * @return this builder
+         */
+        public Builder reconcileInterval(Duration reconcileInterval) {
+            this.reconcileInterval = reconcileInterval;
+            return this;
+        }
+
+        /**
+         * Sets the share of the plan quota that is never spent; the guard degrades when the
+         * remaining requests reach it.
+         *
+         * @param reserveFraction fraction in {@code [0, 1)}
+         * @return this builder
+         */
+        public Builder reserveFraction(double reserveFraction) {
+            this.reserveFraction = reserveFraction;
+            return this;
+        }
+
+        /**
+         * Sets the clock used for reconciliation and reset projections.
+         *
+         * @param clock guard clock
+         * @return this builder
+         */
+        public Builder clock(Clock clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        /**
+         * Builds the quota-guarding client.
+         *
+         * @return new quota-guarding client
+         */
+        public QuotaGuardingExchangeRateClient build() {
+            return new QuotaGuardingExchangeRateClient(this);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package io.github.doma17.exchangerate.resilience;
+
+/**
+ * Spending mode of a {@link QuotaGuardingExchangeRateClient}.
+ */
+public enum QuotaState {
+    /**
+     * Calls are limited only by the configured request rate.
+     */
+    NORMAL,
+    /**
+     * The projected spend until the quota resets exceeds the remaining budget, so the request rate
+     * is lowered to what the budget can sustain.
+     */
+    CONSERVING,
+    /**
+     * The remaining quota has reached the reserve; metered calls are refused until the quota resets.
+     */
+    DEGRADED
+}
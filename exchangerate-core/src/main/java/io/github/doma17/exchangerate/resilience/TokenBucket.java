@@ -0,0 +1,109 @@
+package io.github.doma17.exchangerate.resilience;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Thread-safe token bucket that refills continuously at a configurable rate.
+ * <p>
+ * {@link #tryAcquire(Duration)} reserves a token and sleeps until it becomes available, unless
+ * the wait would exceed the given limit. The refill rate can be lowered and raised at runtime.
+ */
+public final class TokenBucket {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final double capacity;
+    private final LongSupplier nanoTime;
+    private double permitsPerSecond;
+    private double tokens;
+    private long refilledAt;
+
+    /**
+     * Creates a full bucket.
+     *
+     * @param permitsPerSecond positive refill rate
+     * @param capacity positive burst size
+     */
+    public TokenBucket(double permitsPerSecond, int capacity) {
+        this(permitsPerSecond, capacity, System::nanoTime);
+    }
+
+    TokenBucket(double permitsPerSecond, int capacity, LongSupplier nanoTime) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.nanoTime = nanoTime;
+        this.tokens = capacity;
+        this.refilledAt = nanoTime.getAsLong();
+        setRate(permitsPerSecond);
+    }
+
+    /**
+     * Takes a token, waiting for it when necessary.
+     *
+     * @param maxWait longest acceptable wait
+     * @return {@code true} when a token was taken; {@code false} when the wait would exceed {@code maxWait}
+     * @throws InterruptedException when interrupted while waiting
+     */
+    public boolean tryAcquire(Duration maxWait) throws InterruptedException {
+        long waitNanos = reserve(maxWait.toNanos());
+        if (waitNanos < 0) {
+            return false;
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the current refill rate.
+     *
+     * @return permits per second
+     */
+    public synchronized double rate() {
+        return permitsPerSecond;
+    }
+
+    /**
+     * Changes the refill rate. Tokens accumulated so far are kept.
+     *
+     * @param permitsPerSecond positive refill rate
+     */
+    public synchronized void setRate(double permitsPerSecond) {
+        if (!(permitsPerSecond > 0)) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive");
+        }
+        refill();
+        this.permitsPerSecond = permitsPerSecond;
+    }
+
+    /**
+     * Returns the tokens currently available, negative when callers are waiting on reservations.
+     *
+     * @return available tokens
+     */
+    public synchronized double availableTokens() {
+        refill();
+        return tokens;
+    }
+
+    private synchronized long reserve(long maxWaitNanos) {
+        refill();
+        long waitNanos = tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) * NANOS_PER_SECOND / permitsPerSecond);
+        if (waitNanos > maxWaitNanos) {
+            return -1;
+        }
+        tokens -= 1;
+        return waitNanos;
+    }
+
+    private void refill() {
+        long now = nanoTime.getAsLong();
+        tokens = Math.min(capacity, tokens + (now - refilledAt) * permitsPerSecond / NANOS_PER_SECOND);
+        refilledAt = now;
+    }
+}
@@ -0,0 +1,276 @@
+package io.github.doma17.exchangerate.timeseries;
+
+import io.github.doma17.exchangerate.exception.ExchangeRateException;
+import io.github.doma17.exchangerate.model.CurrencyCode;
+import io.github.doma17.exchangerate.model.HistoricalRates;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Columnar store of daily historical rates for one base currency.
+ * <p>
+ * Each quoted currency is held as one {@code double} column aligned with a shared, strictly
+ * increasing date column; a currency missing on a date holds {@code NaN}. {@link #series(String)}
+ * extracts a {@link RateSeries} for {@code base -> target}, and {@link #crossSeries(String, String)}
+ * derives any other pair as {@code rate[target] / rate[base]} on each date, so one base's history
+ * answers every pair without further API calls.
+ * <p>
+ * Instances are immutable and thread-safe; {@link #slice(LocalDate, LocalDate)} shares the
+ * columns.
+ */
+public final class RateHistory {
+
+    private final String baseCode;
+    private final long[] epochDays;
+    private final String[] currencies;
+    private final double[][] columns;
+    private final Map<String, Integer> columnIndexes;
+    private final int offset;
+    private final int size;
+
+    private RateHistory(
+            String baseCode,
+            long[] epochDays,
+            String[] currencies,
+            double[][] columns,
+            Map<String, Integer> columnIndexes,
+            int offset,
+            int size
+    ) {
+        this.baseCode = baseCode;
+        this.epochDays = epochDays;
+        this.currencies = currencies;
+        this.columns = columns;
+        this.columnIndexes = columnIndexes;
+        this.offset = offset;
+        this.size = size;
+    }
+
+    /**
+     * Builds a history from rates of one base currency, in any order.
+     *
+     * @param historicalRates rates with distinct dates and a common base currency
+     * @return rate history
+     */
+    public static RateHistory of(Collection<HistoricalRates> historicalRates) {
+        Objects.requireNonNull(historicalRates, "historicalRates");
+        if (historicalRates.isEmpty()) {
+            throw new IllegalArgumentException("historicalRates must not be empty");
+        }
+        List<HistoricalRates> sorted = new ArrayList<>(historicalRates);
+        sorted.sort(Comparator.comparing(HistoricalRates::date));
+        Builder builder = builder(sorted.get(0).baseCode());
+        sorted.forEach(builder::add);
+        return builder.build();
+    }
+
+    /**
+     * Creates a builder that accepts rates in ascending date order, such as the elements of
+     * {@code ExchangeRateFacade#getHistoricalRange}.
+     *
+     * @param baseCode base ISO-4217 code
+     * @return history builder
+     */
+    public static Builder builder(String baseCode) {
+        return new Builder(CurrencyCode.parse(baseCode).code());
+    }
+
+    /**
+     * Returns the currency all columns are quoted against.
+     *
+     * @return base ISO-4217 code
+     */
+    public String baseCode() {
+        return baseCode;
+    }
+
+    /**
+     * Returns the number of dates.
+     *
+     * @return date count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a date by position.
+     *
+     * @param index date index in {@code [0, size())}
+     * @return date
+     */
+    public LocalDate date(int index) {
+        return LocalDate.ofEpochDay(epochDays[offset + Objects.checkIndex(index, size)]);
+    }
+
+    /**
+     * Returns the currencies other than the base that are quoted on at least one date of the full
+     * history, in sorted order.
+     *
+     * @return currency codes
+     */
+    public List<String> currencies() {
+        return List.of(currencies);
+    }
+
+    /**
+     * Returns the dates within a range, without copying the columns.
+     *
+     * @param from first date, inclusive
+     * @param to last date, inclusive
+     * @return sliced history, possibly empty
+     */
+    public RateHistory slice(LocalDate from, LocalDate to) {
+        Objects.requireNonNull(from, "from");
+        Objects.requireNonNull(to, "to");
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        int start = RateSeries.lowerBound(epochDays, offset, offset + size, from.toEpochDay());
+        int end = RateSeries.lowerBound(epochDays, start, offset + size, to.toEpochDay() + 1);
+        return new RateHistory(baseCode, epochDays, currencies, columns, columnIndexes, start, end - start);
+    }
+
+    /**
+     * Returns the series of {@code base -> targetCode} rates, skipping dates where the target was
+     * not quoted.
+     *
+     * @param targetCode target ISO-4217 code
+     * @return rate series
+     * @throws ExchangeRateException when the target is never quoted
+     */
+    public RateSeries series(String targetCode) {
+        return crossSeries(baseCode, targetCode);
+    }
+
+    /**
+     * Derives the series of {@code baseCode -> targetCode} rates as {@code rate[target] / rate[base]}
+     * on each date, skipping dates where either currency was not quoted.
+     *
+     * @param baseCode base ISO-4217 code of the derived pair
+     * @param targetCode target ISO-4217 code of the derived pair
+     * @return rate series
+     * @throws ExchangeRateException when either currency is never quoted
+     */
+    public RateSeries crossSeries(String baseCode, String targetCode) {
+        String normalizedBase = CurrencyCode.parse(baseCode).code();
+        String normalizedTarget = CurrencyCode.parse(targetCode).code();
+        double[] base = column(normalizedBase);
+        double[] target = column(normalizedTarget);
+
+        long[] dates = new long[size];
+        double[] values = new double[size];
+        int count = 0;
+        for (int i = offset; i < offset + size; i++) {
+            double value = target[i] / base[i];
+            if (Double.isFinite(value)) {
+                dates[count] = epochDays[i];
+                values[count] = value;
+                count++;
+            }
+        }
+        return new RateSeries(normalizedBase, normalizedTarget, dates, values, 0, count);
+    }
+
+    private double[] column(String currencyCode) {
+        if (currencyCode.equals(baseCode)) {
+            double[] ones = new double[epochDays.length];
+            Arrays.fill(ones, 1.0);
+            return ones;
+        }
+        Integer index = columnIndexes.get(currencyCode);
+        if (index == null) {
+            throw new ExchangeRateException("No history for " + currencyCode + " against base " + baseCode);
+        }
+        return columns[index];
+    }
+
+    /**
+     * Builder for {@link RateHistory}, growing the columns as dates are added.
+     */
+    public static final class Builder {
+
+        private final String baseCode;
+        private final Map<String, double[]> columns = new HashMap<>();
+        private long[] epochDays = new long[16];
+        private int size;
+
+        private Builder(String baseCode) {
+            this.baseCode = baseCode;
+        }
+
+        /**
+         * Appends the rates of the next date.
+         *
+         * @param historicalRates rates for a date after every date added so far
+         * @return this builder
+         */
+        public Builder add(HistoricalRates historicalRates) {
+            Objects.requireNonNull(historicalRates, "historicalRates");
+            if (!CurrencyCode.parse(historicalRates.baseCode()).code().equals(baseCode)) {
+                throw new IllegalArgumentException(
+                        "Expected base code " + baseCode + " but got " + historicalRates.baseCode()
+                );
+            }
+            long epochDay = historicalRates.date().toEpochDay();
+            if (size > 0 && epochDay <= epochDays[size - 1]) {
+                throw new IllegalArgumentException(
+                        "Dates must be strictly increasing: " + historicalRates.date()
+                                + " after " + LocalDate.ofEpochDay(epochDays[size - 1])
+                );
+            }
+
+            if (size == epochDays.length) {
+                int capacity = size * 2;
+                epochDays = Arrays.copyOf(epochDays, capacity);
+                columns.replaceAll((code, column) -> grow(column, capacity));
+            }
+            epochDays[size] = epochDay;
+            for (Map.Entry<String, BigDecimal> rate : historicalRates.conversionRates().entrySet()) {
+                String code = CurrencyCode.parse(rate.getKey()).code();
+                if (code.equals(baseCode)) {
+                    continue;
+                }
+                double[] column = columns.get(code);
+                if (column == null) {
+                    column = grow(new double[0], epochDays.length);
+                    columns.put(code, column);
+                }
+                column[size] = rate.getValue().doubleValue();
+            }
+            size++;
+            return this;
+        }
+
+        /**
+         * Builds the history.
+         *
+         * @return immutable rate history
+         */
+        public RateHistory build() {
+            String[] currencies = columns.keySet().toArray(String[]::new);
+            Arrays.sort(currencies);
+            double[][] packed = new double[currencies.length][];
+            Map<String, Integer> indexes = new HashMap<>(currencies.length * 2);
+            for (int i = 0; i < currencies.length; i++) {
+                packed[i] = Arrays.copyOf(columns.get(currencies[i]), size);
+                indexes.put(currencies[i], i);
+            }
+            return new RateHistory(baseCode, Arrays.copyOf(epochDays, size), currencies, packed, indexes, 0, size);
+        }
+
+        private static double[] grow(double[] column, int capacity) {
+            double[] grown = Arrays.copyOf(column, capacity);
+            Arrays.fill(grown, column.length, capacity, Double.NaN);
+            return grown;
+        }
+    }
+}
@@ -0,0 +1,350 @@
+package io.github.doma17.exchangerate.timeseries;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Daily rate series of one currency pair, stored as parallel primitive arrays.
+ * <p>
+ * Values are {@code double}s intended for analytics (averages, volatility, returns); use the
+ * {@code BigDecimal} rates of {@link io.github.doma17.exchangerate.model.HistoricalRates} where
+ * exact amounts matter. Dates are strictly increasing but need not be contiguous, so windows and
+ * returns are measured in observations rather than calendar days.
+ * <p>
+ * Instances are immutable and thread-safe. {@link #slice(LocalDate, LocalDate)} shares the
+ * underlying arrays; every rolling aggregate runs in a single O(n) pass and returns a series dated
+ * at the end of each window.
+ */
+public final class RateSeries {
+
+    private final String baseCode;
+    private final String targetCode;
+    private final long[] epochDays;
+    private final double[] values;
+    private final int offset;
+    private final int size;
+
+    RateSeries(String baseCode, String targetCode, long[] epochDays, double[] values, int offset, int size) {
+        this.baseCode = Objects.requireNonNull(baseCode, "baseCode");
+        this.targetCode = Objects.requireNonNull(targetCode, "targetCode");
+        this.epochDays = epochDays;
+        this.values = values;
+        this.offset = offset;
+        this.size = size;
+    }
+
+    /**
+     * Returns the currency the rates are quoted from.
+     *
+     * @return base ISO-4217 code
+     */
+    public String baseCode() {
+        return baseCode;
+    }
+
+    /**
+     * Returns the currency the rates are quoted in.
+     *
+     * @return target ISO-4217 code
+     */
+    public String targetCode() {
+        return targetCode;
+    }
+
+    /**
+     * Returns the number of observations.
+     *
+     * @return series length
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether the series has no observations.
+     *
+     * @return {@code true} when empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the date of an observation.
+     *
+     * @param index observation index in {@code [0, size())}
+     * @return observation date
+     */
+    public LocalDate date(int index) {
+        return LocalDate.ofEpochDay(epochDays[offset + Objects.checkIndex(index, size)]);
+    }
+
+    /**
+     * Returns the value of an observation.
+     *
+     * @param index observation index in {@code [0, size())}
+     * @return observation value
+     */
+    public double value(int index) {
+        return values[offset + Objects.checkIndex(index, size)];
+    }
+
+    /**
+     * Copies the values into a new array.
+     *
+     * @return values in date order
+     */
+    public double[] toArray() {
+        return Arrays.copyOfRange(values, offset, offset + size);
+    }
+
+    /**
+     * Returns the observations dated within a range, without copying.
+     *
+     * @param from first date, inclusive
+     * @param to last date, inclusive
+     * @return sliced series, possibly empty
+     */
+    public RateSeries slice(LocalDate from, LocalDate to) {
+        Objects.requireNonNull(from, "from");
+        Objects.requireNonNull(to, "to");
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        int start = lowerBound(epochDays, offset, offset + size, from.toEpochDay());
+        int end = lowerBound(epochDays, start, offset + size, to.toEpochDay() + 1);
+        return new RateSeries(baseCode, targetCode, epochDays, values, start, end - start);
+    }
+
+    /**
+     * Returns the arithmetic mean of all values.
+     *
+     * @return mean, or {@code NaN} when empty
+     */
+    public double mean() {
+        if (size == 0) {
+            return Double.NaN;
+        }
+        double sum = 0.0;
+        for (int i = offset; i < offset + size; i++) {
+            sum += values[i];
+        }
+        return sum / size;
+    }
+
+    /**
+     * Returns the sample standard deviation of all values.
+     *
+     * @return standard deviation, or {@code NaN} with fewer than two values
+     */
+    public double stdDev() {
+        if (size < 2) {
+            return Double.NaN;
+        }
+        double mean = mean();
+        double squares = 0.0;
+        for (int i = offset; i < offset + size; i++) {
+            double deviation = values[i] - mean;
+            squares += deviation * deviation;
+        }
+        return Math.sqrt(squares / (size - 1));
+    }
+
+    /**
+     * Returns the smallest value.
+     *
+     * @return minimum, or {@code NaN} when empty
+     */
+    public double min() {
+        double min = Double.NaN;
+        for (int i = offset; i < offset + size; i++) {
+            if (!(values[i] >= min)) {
+                min = values[i];
+            }
+        }
+        return min;
+    }
+
+    /**
+     * Returns the largest value.
+     *
+     * @return maximum, or {@code NaN} when empty
+     */
+    public double max() {
+        double max = Double.NaN;
+        for (int i = offset; i < offset + size; i++) {
+            if (!(values[i] <= max)) {
+                max = values[i];
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Returns the mean of every window of {@code window} consecutive observations, maintained with a
+     * running sum.
+     *
+     * @param window observations per window, at least 1
+     * @return rolling means dated at each window end; empty when the series is shorter than the window
+     */
+    public RateSeries rollingMean(int window) {
+        requireWindow(window, 1);
+        int count = windowCount(window);
+        double[] out = new double[count];
+        double sum = 0.0;
+        for (int i = 0; i < size; i++) {
+            sum += values[offset + i];
+            if (i >= window) {
+                sum -= values[offset + i - window];
+            }
+            if (i >= window - 1) {
+                out[i - window + 1] = sum / window;
+            }
+        }
+        return windowed(window, out);
+    }
+
+    /**
+     * Returns the sample standard deviation of every window of {@code window} consecutive
+     * observations. Running sums are taken around the first value, which keeps the variance
+     * accurate for rates whose spread is tiny next to their level.
+     *
+     * @param window observations per window, at least 2
+     * @return rolling standard deviations dated at each window end; empty when the series is shorter than the window
+     */
+    public RateSeries rollingStdDev(int window) {
+        requireWindow(window, 2);
+        int count = windowCount(window);
+        double[] out = new double[count];
+        double shift = size == 0 ? 0.0 : values[offset];
+        double sum = 0.0;
+        double squares = 0.0;
+        for (int i = 0; i < size; i++) {
+            double added = values[offset + i] - shift;
+            sum += added;
+            squares += added * added;
+            if (i >= window) {
+                double removed = values[offset + i - window] - shift;
+                sum -= removed;
+                squares -= removed * removed;
+            }
+            if (i >= window - 1) {
+                double variance = (squares - sum * sum / window) / (window - 1);
+                out[i - window + 1] = Math.sqrt(Math.max(variance, 0.0));
+            }
+        }
+        return windowed(window, out);
+    }
+
+    /**
+     * Returns the minimum of every window of {@code window} consecutive observations, using a
+     * monotonic queue so each value is examined a constant number of times.
+     *
+     * @param window observations per window, at least 1
+     * @return rolling minimums dated at each window end; empty when the series is shorter than the window
+     */
+    public RateSeries rollingMin(int window) {
+        return rollingExtreme(window, true);
+    }
+
+    /**
+     * Returns the maximum of every window of {@code window} consecutive observations, using a
+     * monotonic queue so each value is examined a constant number of times.
+     *
+     * @param window observations per window, at least 1
+     * @return rolling maximums dated at each window end; empty when the series is shorter than the window
+     */
+    public RateSeries rollingMax(int window) {
+        return rollingExtreme(window, false);
+    }
+
+    /**
+     * Returns the simple return {@code v[i] / v[i - 1] - 1} of each observation after the first.
+     *
+     * @return returns dated at the later observation
+     */
+    public RateSeries returns() {
+        return differences(false);
+    }
+
+    /**
+     * Returns the log return {@code ln(v[i] / v[i - 1])} of each observation after the first.
+     * Log returns add up across periods, so their rolling standard deviation is the usual
+     * volatility measure.
+     *
+     * @return log returns dated at the later observation
+     */
+    public RateSeries logReturns() {
+        return differences(true);
+    }
+
+    @Override
+    public String toString() {
+        return "RateSeries[" + baseCode + "->" + targetCode + ", size=" + size
+                + (size == 0 ? "" : ", " + date(0) + ".." + date(size - 1)) + "]";
+    }
+
+    private RateSeries rollingExtreme(int window, boolean minimum) {
+        requireWindow(window, 1);
+        int count = windowCount(window);
+        double[] out = new double[count];
+        int[] queue = new int[size];
+        int head = 0;
+        int tail = 0;
+        for (int i = 0; i < size; i++) {
+            double value = values[offset + i];
+            while (tail > head && (minimum ? values[offset + queue[tail - 1]] >= value : values[offset + queue[tail - 1]] <= value)) {
+                tail--;
+            }
+            queue[tail++] = i;
+            if (queue[head] <= i - window) {
+                head++;
+            }
+            if (i >= window - 1) {
+                out[i - window + 1] = values[offset + queue[head]];
+            }
+        }
+        return windowed(window, out);
+    }
+
+    private RateSeries differences(boolean logarithmic) {
+        int count = Math.max(size - 1, 0);
+        double[] out = new double[count];
+        for (int i = 0; i < count; i++) {
+            double ratio = values[offset + i + 1] / values[offset + i];
+            out[i] = logarithmic ? Math.log(ratio) : ratio - 1.0;
+        }
+        return windowed(2, out);
+    }
+
+    private RateSeries windowed(int window, double[] out) {
+        int dateStart = offset + window - 1;
+        long[] dates = out.length == 0 ? new long[0] : Arrays.copyOfRange(epochDays, dateStart, dateStart + out.length);
+        return new RateSeries(baseCode, targetCode, dates, out, 0, out.length);
+    }
+
+    private int windowCount(int window) {
+        return Math.max(size - window + 1, 0);
+    }
+
+    private static void requireWindow(int window, int minimum) {
+        if (window < minimum) {
+            throw new IllegalArgumentException("window must be at least " + minimum);
+        }
+    }
+
+    static int lowerBound(long[] sorted, int from, int to, long key) {
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sorted[middle] < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
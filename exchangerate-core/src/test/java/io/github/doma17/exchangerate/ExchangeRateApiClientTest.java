@@ -4,15 +4,31 @@ import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpServer;
 import io.github.doma17.exchangerate.exception.ExchangeRateApiErrorType;
 import io.github.doma17.exchangerate.exception.ExchangeRateApiException;
+import io.github.doma17.exchangerate.exception.ExchangeRateClientException;
 import io.github.doma17.exchangerate.model.ExchangeRateSnapshot;
 import io.github.doma17.exchangerate.model.HistoricalRates;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.math.BigDecimal;
 import java.net.InetSocketAddress;
 import java.net.URI;
+import java.net.http.HttpClient;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -22,13 +38,25 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class ExchangeRateApiClientTest {
 
+    private static final String LATEST_USD = """
+            {"result":"success","time_last_update_unix":1700000000,"time_next_update_unix":1700003600,
+             "base_code":"USD","conversion_rates":{"KRW":1321.21}}
+            """;
+
     private final Map<String, StubResponse> responses = new ConcurrentHashMap<>();
+    private final Queue<Boolean> dropConnection = new ConcurrentLinkedQueue<>();
+    private final Queue<Duration> responseDelays = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private final List<String> requestMethods = new CopyOnWriteArrayList<>();
+    private ExecutorService serverExecutor;
     private HttpServer server;
 
     @BeforeEach
     void setUp() throws IOException {
+        serverExecutor = Executors.newCachedThreadPool();
         server = HttpServer.create(new InetSocketAddress(0), 0);
         server.createContext("/", this::handle);
+        server.setExecutor(serverExecutor);
         server.start();
     }
 
@@ -37,6 +65,7 @@ class ExchangeRateApiClientTest {
         if (server != null) {
             server.stop(0);
         }
+        serverExecutor.shutdownNow();
         responses.clear();
     }
 
@@ -114,32 +143,413 @@ class ExchangeRateApiClientTest {
         assertThat(rates.conversionRates()).containsKey("JPY");
     }
 
+    @Test
+    void getLatestRatesAsyncParsesResponse() {
+        stub(
+                "/v6/test-key/latest/EUR",
+                200,
+                """
+                {
+                  "result": "success",
+                  "time_last_update_unix": 1700000000,
+                  "time_next_update_unix": 1700003600,
+                  "base_code": "EUR",
+                  "conversion_rates": {
+                    "USD": 1.09
+                  }
+                }
+                """
+        );
+
+        ExchangeRateApiClient client = newClient();
+        ExchangeRateSnapshot snapshot = client.getLatestRatesAsync("eur").join();
+
+        assertThat(snapshot.baseCode()).isEqualTo("EUR");
+        assertThat(snapshot.conversionRates().get("USD")).isEqualByComparingTo("1.09");
+    }
+
+    @Test
+    void asyncCallCompletesExceptionallyOnApiError() {
+        stub(
+                "/v6/test-key/pair/USD/ZZZ",
+                200,
+                """
+                {
+                  "result": "error",
+                  "error-type": "unsupported-code"
+                }
+                """
+        );
+
+        ExchangeRateApiClient client = newClient();
+
+        assertThatThrownBy(() -> client.getPairRateAsync("USD", "ZZZ").join())
+                .isInstanceOf(CompletionException.class)
+                .cause()
+                .isInstanceOf(ExchangeRateApiException.class);
+    }
+
+    @Test
+    void streamingParserDecodesLatestAndHistoricalRates() {
+        stub(
+                "/v6/test-key/latest/USD",
+                200,
+                """
+                {
+                  "result": "success",
+                  "documentation": "https://www.exchangerate-api.com/docs",
+                  "time_last_update_unix": 1700000000,
+                  "time_next_update_unix": 1700003600,
+                  "base_code": "USD",
+                  "conversion_rates": {
+                    "KRW": 1321.21,
+                    "EUR": 0.91
+                  }
+                }
+                """
+        );
+        stub(
+                "/v6/test-key/history/USD/2024/5/1/100",
+                200,
+                """
+                {
+                  "result": "success",
+                  "year": 2024,
+                  "month": 5,
+                  "day": 1,
+                  "base_code": "USD",
+                  "requested_amount": 100,
+                  "conversion_amounts": {
+                    "JPY": 15422
+                  }
+                }
+                """
+        );
+
+        ExchangeRateApiClient client = newClient(true);
+        ExchangeRateSnapshot snapshot = client.getLatestRates("USD");
+        HistoricalRates amounts = client
+                .getHistoricalConvertedAmountsAsync("USD", LocalDate.of(2024, 5, 1), new BigDecimal("100.00"))
+                .join();
+
+        assertThat(snapshot.nextUpdateAt().getEpochSecond()).isEqualTo(1700003600L);
+        assertThat(snapshot.conversionRates()).containsEntry("KRW", new BigDecimal("1321.21"));
+        assertThat(amounts.requestedAmount()).isEqualByComparingTo("100");
+        assertThat(amounts.conversionAmounts()).containsEntry("JPY", new BigDecimal("15422"));
+    }
+
+    @Test
+    void streamingParserMatchesTreeParserOnNonNumericRates() {
+        stub(
+                "/v6/test-key/latest/USD",
+                200,
+                """
+                {"result":"success","time_last_update_unix":1700000000,"time_next_update_unix":1700003600,
+                 "base_code":"USD","conversion_rates":{"KRW":1321.21,"EUR":null,"JPY":"n/a"}}
+                """
+        );
+
+        ExchangeRateSnapshot tree = newClient(false).getLatestRates("USD");
+        ExchangeRateSnapshot streaming = newClient(true).getLatestRates("USD");
+
+        assertThat(streaming.conversionRates()).isEqualTo(tree.conversionRates());
+        assertThat(streaming.conversionRates()).containsEntry("EUR", BigDecimal.ZERO);
+    }
+
+    @Test
+    void streamingParserThrowsTypedExceptionOnApiError() {
+        stub(
+                "/v6/test-key/history/USD/1900/1/1",
+                200,
+                """
+                {
+                  "result": "error",
+                  "error-type": "no-data-available"
+                }
+                """
+        );
+
+        ExchangeRateApiClient client = newClient(true);
+
+        assertThatThrownBy(() -> client.getHistoricalRates("USD", LocalDate.of(1900, 1, 1)))
+                .isInstanceOf(ExchangeRateApiException.class)
+                .extracting(ex -> ((ExchangeRateApiException) ex).errorType())
+                .isEqualTo(ExchangeRateApiErrorType.NO_DATA_AVAILABLE);
+    }
+
+    @Test
+    void responseListenerReceivesPayloadSizeForEveryParserPath() {
+        String latest = """
+                {"result":"success","time_last_update_unix":1700000000,"time_next_update_unix":1700003600,
+                 "base_code":"USD","conversion_rates":{"KRW":1321.21}}
+                """;
+        String error = "{\"result\":\"error\",\"error-type\":\"unsupported-code\"}";
+        stub("/v6/test-key/latest/USD", 200, latest);
+        stub("/v6/test-key/pair/USD/ZZZ", 200, error);
+        List<String> events = new CopyOnWriteArrayList<>();
+        ExchangeRateResponseListener listener = (endpoint, statusCode, payloadBytes, parseNanos) -> {
+            assertThat(parseNanos).isNotNegative();
+            events.add(endpoint + ":" + statusCode + ":" + payloadBytes);
+        };
+        int latestBytes = latest.getBytes(StandardCharsets.UTF_8).length;
+
+        newClient(false, listener).getLatestRates("USD");
+        newClient(true, listener).getLatestRates("USD");
+        newClient(true, listener).getLatestRatesAsync("USD").join();
+        assertThatThrownBy(() -> newClient(false, listener).getPairRate("USD", "ZZZ"))
+                .isInstanceOf(ExchangeRateApiException.class);
+
+        assertThat(events).containsExactly(
+                "latest:200:" + latestBytes,
+                "latest:200:" + latestBytes,
+                "latest:200:" + latestBytes,
+                "pair:200:" + error.length()
+        );
+    }
+
+    @Test
+    void retriesDroppedConnectionsWithBackoff() {
+        stub("/v6/test-key/latest/USD", 200, LATEST_USD);
+        RetryPolicy retryPolicy = RetryPolicy.builder()
+                .maxAttempts(3)
+                .initialBackoff(Duration.ofMillis(5))
+                .build();
+
+        dropConnection.addAll(List.of(true, true));
+        assertThat(newClient(retryPolicy).getLatestRates("USD").baseCode()).isEqualTo("USD");
+        assertThat(requestCount.getAndSet(0)).isEqualTo(3);
+
+        dropConnection.addAll(List.of(true, true));
+        assertThat(newClient(retryPolicy).getLatestRatesAsync("USD").join().baseCode()).isEqualTo("USD");
+        assertThat(requestCount.getAndSet(0)).isEqualTo(3);
+
+        dropConnection.addAll(List.of(true, true, true));
+        assertThatThrownBy(() -> newClient(retryPolicy).getLatestRates("USD"))
+                .isInstanceOf(ExchangeRateClientException.class);
+        assertThat(requestCount.get()).isEqualTo(3);
+    }
+
+    @Test
+    void doesNotRetryTypedApiErrors() {
+        stub("/v6/test-key/latest/USD", 403, "{\"result\":\"error\",\"error-type\":\"invalid-key\"}");
+        RetryPolicy retryPolicy = RetryPolicy.builder()
+                .maxAttempts(3)
+                .initialBackoff(Duration.ofMillis(5))
+                .build();
+
+        assertThatThrownBy(() -> newClient(retryPolicy).getLatestRates("USD"))
+                .isInstanceOfSatisfying(
+                        ExchangeRateApiException.class,
+                        exception -> assertThat(exception.errorType()).isEqualTo(ExchangeRateApiErrorType.INVALID_KEY)
+                );
+        assertThat(requestCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    void mapsErrorStatusWithoutJsonBodyToRetryableApiError() {
+        stub("/v6/test-key/latest/USD", 503, "text/html", "<html><body>Service Unavailable</body></html>");
+        stub("/v6/test-key/latest/EUR", 429, "text/plain", "");
+        RetryPolicy retryPolicy = RetryPolicy.builder()
+                .maxAttempts(2)
+                .initialBackoff(Duration.ofMillis(5))
+                .build();
+
+        for (boolean streamingParser : new boolean[] {false, true}) {
+            ExchangeRateApiClient client = newClient(streamingParser, retryPolicy);
+
+            assertThatThrownBy(() -> client.getLatestRates("USD"))
+                    .isInstanceOfSatisfying(ExchangeRateApiException.class, exception -> {
+                        assertThat(exception.statusCode()).isEqualTo(503);
+                        assertThat(exception.errorType()).isEqualTo(ExchangeRateApiErrorType.UNKNOWN_ERROR);
+                        assertThat(RetryPolicy.isTransient(exception)).isTrue();
+                    });
+            assertThat(requestCount.getAndSet(0)).isEqualTo(2);
+            assertThatThrownBy(() -> client.getLatestRatesAsync("EUR").join())
+                    .cause()
+                    .isInstanceOfSatisfying(ExchangeRateApiException.class,
+                            exception -> assertThat(exception.statusCode()).isEqualTo(429));
+            assertThat(requestCount.getAndSet(0)).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void interruptingBlockedCallCancelsIt() throws InterruptedException {
+        stub("/v6/test-key/latest/USD", 200, LATEST_USD);
+        responseDelays.add(Duration.ofSeconds(5));
+        responseDelays.add(Duration.ofSeconds(5));
+        ExchangeRateApiClient client = newClient(RetryPolicy.builder().hedgeDelay(Duration.ofSeconds(10)).build());
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        AtomicBoolean interrupted = new AtomicBoolean();
+
+        Thread caller = new Thread(() -> {
+            try {
+                client.getLatestRates("USD");
+            } catch (RuntimeException e) {
+                failure.set(e);
+                interrupted.set(Thread.currentThread().isInterrupted());
+            }
+        });
+        caller.start();
+        Thread.sleep(200);
+        caller.interrupt();
+        caller.join(2_000);
+
+        assertThat(caller.isAlive()).isFalse();
+        assertThat(failure.get()).isInstanceOf(ExchangeRateClientException.class).hasMessageContaining("Interrupted");
+        assertThat(interrupted).isTrue();
+    }
+
+    @Test
+    void hedgedRequestReturnsFirstResponse() {
+        stub("/v6/test-key/latest/USD", 200, LATEST_USD);
+        RetryPolicy retryPolicy = RetryPolicy.builder().hedgeDelay(Duration.ofMillis(50)).build();
+
+        for (boolean streamingParser : new boolean[] {false, true}) {
+            responseDelays.add(Duration.ofSeconds(5));
+            ExchangeRateApiClient client = newClient(streamingParser, retryPolicy);
+
+            long startedAt = System.nanoTime();
+            ExchangeRateSnapshot snapshot = client.getLatestRates("USD");
+
+            assertThat(snapshot.baseCode()).isEqualTo("USD");
+            assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isLessThan(Duration.ofSeconds(4));
+            assertThat(requestCount.getAndSet(0)).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void gzipResponsesAreDecompressedOnEveryParserPath() {
+        stub("/v6/test-key/latest/USD", 200, LATEST_USD);
+        List<Long> payloadSizes = new CopyOnWriteArrayList<>();
+        int port = server.getAddress().getPort();
+        ExchangeRateApiOptions.Builder options = ExchangeRateApiOptions.builder("test-key")
+                .baseUri(URI.create("http://localhost:" + port + "/v6"))
+                .gzip(true)
+                .responseListener((endpoint, statusCode, payloadBytes, parseNanos) -> payloadSizes.add(payloadBytes));
+
+        ExchangeRateApiClient treeClient = new ExchangeRateApiClient(options.build());
+        ExchangeRateApiClient streamingClient = new ExchangeRateApiClient(options.streamingParser(true).build());
+
+        assertThat(treeClient.getLatestRates("USD").conversionRates()).containsKey("KRW");
+        assertThat(streamingClient.getLatestRates("USD").conversionRates()).containsKey("KRW");
+        assertThat(streamingClient.getLatestRatesAsync("USD").join().conversionRates()).containsKey("KRW");
+        assertThat(payloadSizes).hasSize(3)
+                .allSatisfy(size -> assertThat(size).isNotEqualTo(LATEST_USD.getBytes(StandardCharsets.UTF_8).length));
+    }
+
+    @Test
+    void warmUpSendsHeadRequestWithoutApiKey() {
+        ExchangeRateApiClient client = newClient();
+
+        client.warmUp().join();
+
+        assertThat(requestMethods).containsExactly("HEAD");
+    }
+
+    @Test
+    void httpClientSettingsApplyToDefaultClient() {
+        ExchangeRateApiOptions options = ExchangeRateApiOptions.builder("test-key")
+                .httpVersion(HttpClient.Version.HTTP_1_1)
+                .virtualThreads(true)
+                .build();
+
+        assertThat(options.httpVersion()).isEqualTo(HttpClient.Version.HTTP_1_1);
+        assertThat(ExchangeRateApiOptions.builder("test-key").build().httpVersion()).isEqualTo(HttpClient.Version.HTTP_2);
+        assertThat(ExchangeRateApiClient.virtualThreadExecutor() != null).isEqualTo(Runtime.version().feature() >= 21);
+        stub("/v6/test-key/latest/USD", 200, LATEST_USD);
+        int port = server.getAddress().getPort();
+        ExchangeRateApiClient client = new ExchangeRateApiClient(ExchangeRateApiOptions.builder("test-key")
+                .baseUri(URI.create("http://localhost:" + port + "/v6"))
+                .httpVersion(HttpClient.Version.HTTP_1_1)
+                .virtualThreads(true)
+                .build());
+        assertThat(client.getLatestRatesAsync("USD").join().baseCode()).isEqualTo("USD");
+    }
+
+    private ExchangeRateApiClient newClient(RetryPolicy retryPolicy) {
+        int port = server.getAddress().getPort();
+        ExchangeRateApiOptions options = ExchangeRateApiOptions.builder("test-key")
+                .baseUri(URI.create("http://localhost:" + port + "/v6"))
+                .retryPolicy(retryPolicy)
+                .build();
+        return new ExchangeRateApiClient(options);
+    }
+
     private ExchangeRateApiClient newClient() {
+        return newClient(false);
+    }
+
+    private ExchangeRateApiClient newClient(boolean streamingParser) {
+        return newClient(streamingParser, (ExchangeRateResponseListener) null);
+    }
+
+    private ExchangeRateApiClient newClient(boolean streamingParser, ExchangeRateResponseListener listener) {
+        int port = server.getAddress().getPort();
+        ExchangeRateApiOptions options = ExchangeRateApiOptions.builder("test-key")
+                .baseUri(URI.create("http://localhost:" + port + "/v6"))
+                .streamingParser(streamingParser)
+                .responseListener(listener)
+                .build();
+        return new ExchangeRateApiClient(options);
+    }
+
+    private ExchangeRateApiClient newClient(boolean streamingParser, RetryPolicy retryPolicy) {
         int port = server.getAddress().getPort();
         ExchangeRateApiOptions options = ExchangeRateApiOptions.builder("test-key")
                 .baseUri(URI.create("http://localhost:" + port + "/v6"))
+                .streamingParser(streamingParser)
+                .retryPolicy(retryPolicy)
                 .build();
         return new ExchangeRateApiClient(options);
     }
 
     private void stub(String path, int statusCode, String body) {
-        responses.put(path, new StubResponse(statusCode, body));
+        stub(path, statusCode, "application/json", body);
+    }
+
+    private void stub(String path, int statusCode, String contentType, String body) {
+        responses.put(path, new StubResponse(statusCode, contentType, body));
     }
 
     private void handle(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        requestMethods.add(exchange.getRequestMethod());
+        if (dropConnection.poll() != null) {
+            exchange.sendResponseHeaders(200, 1024);
+            exchange.getResponseBody().write('{');
+            exchange.close();
+            return;
+        }
+        Duration delay = responseDelays.poll();
+        if (delay != null) {
+            try {
+                Thread.sleep(delay.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
         String path = exchange.getRequestURI().getPath();
         StubResponse stubResponse = responses.getOrDefault(
                 path,
-                new StubResponse(404, "{\"result\":\"error\",\"error-type\":\"malformed-request\"}")
+                new StubResponse(404, "application/json", "{\"result\":\"error\",\"error-type\":\"malformed-request\"}")
         );
 
         byte[] payload = stubResponse.body.getBytes(StandardCharsets.UTF_8);
-        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(payload);
+            }
+            payload = compressed.toByteArray();
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+        }
+        exchange.getResponseHeaders().add("Content-Type", stubResponse.contentType);
         exchange.sendResponseHeaders(stubResponse.statusCode, payload.length);
         exchange.getResponseBody().write(payload);
         exchange.close();
     }
 
-    private record StubResponse(int statusCode, String body) {
+    private record StubResponse(int statusCode, String contentType, String body) {
     }
 }
@@ -0,0 +1,196 @@
+package io.github.doma17.exchangerate;
+
+import io.github.doma17.exchangerate.cache.CachingExchangeRateClient;
+import io.github.doma17.exchangerate.cache.HistoricalCachingExchangeRateClient;
+import io.github.doma17.exchangerate.cache.HistoricalRateStore;
+import io.github.doma17.exchangerate.exception.ExchangeRateException;
+import io.github.doma17.exchangerate.model.ConversionRequest;
+import io.github.doma17.exchangerate.model.ExchangeRateSnapshot;
+import io.github.doma17.exchangerate.model.HistoricalRates;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExchangeRateFacadeTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 1, 31);
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-01-31T12:00:00Z"), ZoneOffset.UTC);
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @TempDir
+    Path storeDirectory;
+
+    @AfterEach
+    void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void historicalRangeStreamsInDateOrderWithBoundedConcurrency() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        FakeExchangeRateClient client = new FakeExchangeRateClient().onHistory((base, date) -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(31 - date.getDayOfMonth());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            inFlight.decrementAndGet();
+            return historical(base, date);
+        });
+        ExchangeRateFacade facade = new ExchangeRateFacade(client, AsyncExchangeRateClient.fromBlocking(client, executor), CLOCK);
+
+        Stream<HistoricalRates> range = facade.getHistoricalRange("usd", LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 20), 3);
+        assertThat(client.calls("history")).isZero();
+
+        List<LocalDate> dates = range.map(HistoricalRates::date).toList();
+
+        assertThat(dates).hasSize(20).isSorted().startsWith(LocalDate.of(2026, 1, 1)).endsWith(LocalDate.of(2026, 1, 20));
+        assertThat(client.calls("history")).isEqualTo(20);
+        assertThat(maxInFlight.get()).isBetween(1, 3);
+    }
+
+    @Test
+    void historicalRangeSkipsStoredDatesAndUsesLatestForToday() {
+        FakeExchangeRateClient delegate = new FakeExchangeRateClient()
+                .onHistory(ExchangeRateFacadeTest::historical)
+                .onLatest(base -> new ExchangeRateSnapshot(Instant.EPOCH, Instant.EPOCH, base, Map.of("KRW", BigDecimal.TEN)));
+
+        try (HistoricalRateStore store = HistoricalRateStore.open(storeDirectory)) {
+            store.put(historical("USD", TODAY.minusDays(2)));
+            ExchangeRateFacade facade = new ExchangeRateFacade(new HistoricalCachingExchangeRateClient(delegate, store), CLOCK);
+
+            List<HistoricalRates> range = facade.getHistoricalRange("USD", TODAY.minusDays(3), TODAY).toList();
+
+            assertThat(range).extracting(HistoricalRates::date)
+                    .containsExactly(TODAY.minusDays(3), TODAY.minusDays(2), TODAY.minusDays(1), TODAY);
+            assertThat(range.get(3).conversionRates()).containsEntry("KRW", BigDecimal.TEN);
+            assertThat(delegate.calls("history")).isEqualTo(2);
+            assertThat(delegate.calls("latest")).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void historicalRangeFindsStoreBehindOtherDecorators() {
+        FakeExchangeRateClient delegate = new FakeExchangeRateClient().onHistory(ExchangeRateFacadeTest::historical);
+
+        try (HistoricalRateStore store = HistoricalRateStore.open(storeDirectory)) {
+            store.put(historical("USD", TODAY.minusDays(1)));
+            ExchangeRateClient client = new CachingExchangeRateClient(new HistoricalCachingExchangeRateClient(delegate, store));
+            // The asynchronous side bypasses the store, so only a direct store read avoids the second call.
+            ExchangeRateFacade facade = new ExchangeRateFacade(client, AsyncExchangeRateClient.fromBlocking(delegate, executor), CLOCK);
+
+            List<HistoricalRates> range = facade.getHistoricalRange("USD", TODAY.minusDays(2), TODAY.minusDays(1)).toList();
+
+            assertThat(range).extracting(HistoricalRates::date).containsExactly(TODAY.minusDays(2), TODAY.minusDays(1));
+            assertThat(delegate.calls("history")).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void historicalRangeRejectsInvalidBounds() {
+        ExchangeRateFacade facade = new ExchangeRateFacade(new FakeExchangeRateClient(), CLOCK);
+
+        assertThatThrownBy(() -> facade.getHistoricalRange("USD", TODAY, TODAY.minusDays(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> facade.getHistoricalRange("USD", TODAY, TODAY.plusDays(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> facade.getHistoricalRange("USD", TODAY, TODAY, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void convertAllFetchesEachBaseOnceAndKeepsInputOrder() {
+        Map<String, AtomicInteger> latestCalls = new ConcurrentHashMap<>();
+        FakeExchangeRateClient client = new FakeExchangeRateClient().onLatest(base -> {
+            latestCalls.computeIfAbsent(base, ignored -> new AtomicInteger()).incrementAndGet();
+            return new ExchangeRateSnapshot(Instant.EPOCH, Instant.EPOCH, base, Map.of(
+                    "KRW", new BigDecimal("1400.123"),
+                    "JPY", new BigDecimal("150.5"),
+                    "USD", new BigDecimal("0.9134")
+            ));
+        });
+        ExchangeRateFacade facade = new ExchangeRateFacade(client, AsyncExchangeRateClient.fromBlocking(client, executor), CLOCK);
+
+        List<BigDecimal> converted = facade.convertAll(List.of(
+                ConversionRequest.of("usd", "KRW", new BigDecimal("2")),
+                ConversionRequest.of("EUR", "USD", new BigDecimal("10")),
+                ConversionRequest.of("USD", "JPY", new BigDecimal("3.3")),
+                ConversionRequest.of("EUR", "EUR", new BigDecimal("1.005")),
+                ConversionRequest.of("USD", "KRW", new BigDecimal("1"))
+        ));
+
+        assertThat(converted).containsExactly(
+                new BigDecimal("2800"),
+                new BigDecimal("9.13"),
+                new BigDecimal("497"),
+                new BigDecimal("1.00"),
+                new BigDecimal("1400")
+        );
+        assertThat(latestCalls).containsOnlyKeys("USD", "EUR");
+        assertThat(latestCalls.values()).allSatisfy(calls -> assertThat(calls).hasValue(1));
+    }
+
+    @Test
+    void convertAllStreamsWithCustomRoundingAndCrossRates() {
+        AtomicInteger latestCalls = new AtomicInteger();
+        FakeExchangeRateClient client = new FakeExchangeRateClient().onLatest(base -> {
+            latestCalls.incrementAndGet();
+            return new ExchangeRateSnapshot(Instant.EPOCH, Instant.EPOCH, base, Map.of(
+                    "USD", BigDecimal.ONE,
+                    "EUR", new BigDecimal("0.8"),
+                    "KRW", new BigDecimal("1400")
+            ));
+        });
+        ExchangeRateFacade facade = new ExchangeRateFacade(client, CLOCK).withCrossRates("USD");
+
+        List<BigDecimal> converted = facade.convertAll(Stream.of(
+                ConversionRequest.of("EUR", "KRW", new BigDecimal("1")),
+                ConversionRequest.of("KRW", "EUR", new BigDecimal("1000")),
+                ConversionRequest.of("EUR", "USD", new BigDecimal("0.01"))
+        ), RoundingMode.DOWN).toList();
+
+        assertThat(converted).containsExactly(new BigDecimal("1750"), new BigDecimal("0.57"), new BigDecimal("0.01"));
+        assertThat(latestCalls).hasValue(1);
+        assertThatThrownBy(() -> facade.convertAll(List.of(ConversionRequest.of("EUR", "GBP", BigDecimal.ONE))))
+                .isInstanceOf(ExchangeRateException.class);
+    }
+
+    @Test
+    void blockingClientIsNotOffloadedToCommonPool() {
+        AtomicReference<Thread> caller = new AtomicReference<>();
+        FakeExchangeRateClient client = new FakeExchangeRateClient().onHistory((base, date) -> {
+            caller.set(Thread.currentThread());
+            return historical(base, date);
+        });
+        ExchangeRateFacade facade = new ExchangeRateFacade(client, CLOCK);
+
+        assertThat(facade.getRatesAsync("USD", TODAY.minusDays(1)).join()).containsKey("KRW");
+        assertThat(caller.get()).isNotInstanceOf(ForkJoinWorkerThread.class);
+    }
+
+    private static HistoricalRates historical(String base, LocalDate date) {
+        return new HistoricalRates(date, base, Map.of("KRW", BigDecimal.valueOf(1400 + date.getDayOfMonth())), null, Map.of());
+    }
+}
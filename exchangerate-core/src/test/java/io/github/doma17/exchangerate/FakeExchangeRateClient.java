@@ -0,0 +1,106 @@
+package io.github.doma17.exchangerate;
+
+import io.github.doma17.exchangerate.model.EnrichedRate;
+import io.github.doma17.exchangerate.model.ExchangeRateSnapshot;
+import io.github.doma17.exchangerate.model.HistoricalRates;
+import io.github.doma17.exchangerate.model.PairRate;
+import io.github.doma17.exchangerate.model.QuotaStatus;
+import io.github.doma17.exchangerate.model.SupportedCurrency;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * In-memory {@link ExchangeRateClient} for decorator tests that records call counts per endpoint.
+ */
+public class FakeExchangeRateClient implements ExchangeRateClient {
+
+    private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+    private volatile Function<String, ExchangeRateSnapshot> latest = base -> {
+        throw new UnsupportedOperationException("latest");
+    };
+    private volatile BiFunction<String, LocalDate, HistoricalRates> history = (base, date) -> {
+        throw new UnsupportedOperationException("history");
+    };
+    private volatile Supplier<QuotaStatus> quota = () -> {
+        throw new UnsupportedOperationException("quota");
+    };
+
+    public FakeExchangeRateClient onLatest(Function<String, ExchangeRateSnapshot> handler) {
+        this.latest = handler;
+        return this;
+    }
+
+    public FakeExchangeRateClient onHistory(BiFunction<String, LocalDate, HistoricalRates> handler) {
+        this.history = handler;
+        return this;
+    }
+
+    public FakeExchangeRateClient onQuota(Supplier<QuotaStatus> handler) {
+        this.quota = handler;
+        return this;
+    }
+
+    public int calls(String endpoint) {
+        AtomicInteger count = calls.get(endpoint);
+        return count == null ? 0 : count.get();
+    }
+
+    @Override
+    public ExchangeRateSnapshot getLatestRates(String baseCode) {
+        record("latest");
+        return latest.apply(baseCode);
+    }
+
+    @Override
+    public PairRate getPairRate(String baseCode, String targetCode) {
+        record("pair");
+        throw new UnsupportedOperationException("pair");
+    }
+
+    @Override
+    public PairRate convertPairAmount(String baseCode, String targetCode, BigDecimal amount) {
+        record("pair");
+        throw new UnsupportedOperationException("pair");
+    }
+
+    @Override
+    public HistoricalRates getHistoricalRates(String baseCode, LocalDate date) {
+        record("history");
+        return history.apply(baseCode, date);
+    }
+
+    @Override
+    public HistoricalRates getHistoricalConvertedAmounts(String baseCode, LocalDate date, BigDecimal amount) {
+        record("history");
+        throw new UnsupportedOperationException("history");
+    }
+
+    @Override
+    public QuotaStatus getQuotaStatus() {
+        record("quota");
+        return quota.get();
+    }
+
+    @Override
+    public List<SupportedCurrency> getSupportedCurrencies() {
+        record("codes");
+        throw new UnsupportedOperationException("codes");
+    }
+
+    @Override
+    public EnrichedRate getEnrichedRate(String baseCode, String targetCode) {
+        record("enriched");
+        throw new UnsupportedOperationException("enriched");
+    }
+
+    private void record(String endpoint) {
+        calls.computeIfAbsent(endpoint, key -> new AtomicInteger()).incrementAndGet();
+    }
+}
@@ -0,0 +1,73 @@
+package io.github.doma17.exchangerate;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import io.github.doma17.exchangerate.exception.ExchangeRateApiErrorType;
+import io.github.doma17.exchangerate.exception.ExchangeRateApiException;
+import io.github.doma17.exchangerate.exception.ExchangeRateClientException;
+import io.github.doma17.exchangerate.exception.ExchangeRateThrottledException;
+import java.io.IOException;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RetryPolicyTest {
+
+    @Test
+    void classifiesTransientFailures() {
+        assertThat(RetryPolicy.isTransient(new ExchangeRateClientException("reset", new IOException("reset")))).isTrue();
+        assertThat(RetryPolicy.isTransient(new ExchangeRateClientException("timeout", new HttpTimeoutException("timeout")))).isTrue();
+        assertThat(RetryPolicy.isTransient(
+                new ExchangeRateApiException(503, ExchangeRateApiErrorType.UNKNOWN_ERROR, "unavailable"))).isTrue();
+        assertThat(RetryPolicy.isTransient(
+                new ExchangeRateApiException(502, ExchangeRateApiErrorType.MALFORMED_REQUEST, "bad gateway"))).isTrue();
+        assertThat(RetryPolicy.isTransient(
+                new ExchangeRateApiException(429, ExchangeRateApiErrorType.UNKNOWN_ERROR, "slow down"))).isTrue();
+
+        assertThat(RetryPolicy.isTransient(
+                new ExchangeRateClientException("bad json", new JsonParseException(null, "bad json")))).isFalse();
+        assertThat(RetryPolicy.isTransient(
+                new ExchangeRateClientException("interrupted", new InterruptedException()))).isFalse();
+        assertThat(RetryPolicy.isTransient(
+                new ExchangeRateApiException(403, ExchangeRateApiErrorType.INVALID_KEY, "invalid"))).isFalse();
+        assertThat(RetryPolicy.isTransient(
+                new ExchangeRateApiException(429, ExchangeRateApiErrorType.QUOTA_REACHED, "quota"))).isFalse();
+        assertThat(RetryPolicy.isTransient(new ExchangeRateThrottledException("throttled"))).isFalse();
+    }
+
+    @Test
+    void backoffGrowsExponentiallyUpToCapWithJitter() {
+        RetryPolicy exact = RetryPolicy.builder()
+                .initialBackoff(Duration.ofMillis(100))
+                .maxBackoff(Duration.ofMillis(350))
+                .jitter(0)
+                .build();
+        assertThat(exact.backoff(1)).isEqualTo(Duration.ofMillis(100));
+        assertThat(exact.backoff(2)).isEqualTo(Duration.ofMillis(200));
+        assertThat(exact.backoff(3)).isEqualTo(Duration.ofMillis(350));
+
+        RetryPolicy jittered = RetryPolicy.builder()
+                .initialBackoff(Duration.ofMillis(100))
+                .jitter(0.5)
+                .build();
+        for (int i = 0; i < 100; i++) {
+            assertThat(jittered.backoff(1)).isBetween(Duration.ofMillis(50), Duration.ofMillis(100));
+        }
+    }
+
+    @Test
+    void noneMakesSingleAttempt() {
+        ExchangeRateClientException failure = new ExchangeRateClientException("reset", new IOException("reset"));
+
+        assertThat(RetryPolicy.none().maxAttempts()).isEqualTo(1);
+        assertThat(RetryPolicy.none().hedgeDelay()).isNull();
+        assertThat(RetryPolicy.none().shouldRetry(failure, 1)).isFalse();
+        assertThat(RetryPolicy.builder().maxAttempts(2).build().shouldRetry(failure, 1)).isTrue();
+        assertThatThrownBy(() -> RetryPolicy.builder().maxAttempts(0).build())
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RetryPolicy.builder().jitter(1.5).build())
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
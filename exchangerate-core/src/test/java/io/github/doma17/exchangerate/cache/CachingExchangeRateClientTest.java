@@ -0,0 +1,249 @@
+package io.github.doma17.exchangerate.cache;
+
+import io.github.doma17.exchangerate.FakeExchangeRateClient;
+import io.github.doma17.exchangerate.cache.CachedSnapshot.Freshness;
+import io.github.doma17.exchangerate.exception.ExchangeRateApiErrorType;
+import io.github.doma17.exchangerate.exception.ExchangeRateApiException;
+import io.github.doma17.exchangerate.exception.ExchangeRateClientException;
+import io.github.doma17.exchangerate.exception.ExchangeRateException;
+import java.io.IOException;
+import io.github.doma17.exchangerate.model.ExchangeRateSnapshot;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CachingExchangeRateClientTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final FakeExchangeRateClient delegate = new FakeExchangeRateClient()
+            .onLatest(base -> new ExchangeRateSnapshot(NOW, NOW.plus(Duration.ofHours(1)), base, Map.of("KRW", BigDecimal.TEN)));
+
+    @Test
+    void servesSnapshotUntilNextUpdate() {
+        MutableClock clock = new MutableClock(NOW);
+        CachingExchangeRateClient client = CachingExchangeRateClient.builder(delegate).clock(clock).build();
+
+        ExchangeRateSnapshot first = client.getLatestRates("USD");
+        ExchangeRateSnapshot second = client.getLatestRates("usd");
+        clock.now = NOW.plus(Duration.ofHours(1));
+        client.getLatestRates("USD");
+
+        assertThat(second).isSameAs(first);
+        assertThat(delegate.calls("latest")).isEqualTo(2);
+        assertThat(client.stats()).isEqualTo(new CacheStats(1, 2, 0, 1));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedBase() {
+        CachingExchangeRateClient client = CachingExchangeRateClient.builder(delegate)
+                .clock(new MutableClock(NOW))
+                .maximumSize(2)
+                .build();
+
+        client.getLatestRates("USD");
+        client.getLatestRates("EUR");
+        client.getLatestRates("USD");
+        client.getLatestRates("JPY");
+        client.getLatestRates("USD");
+        client.getLatestRates("EUR");
+
+        assertThat(delegate.calls("latest")).isEqualTo(4);
+        assertThat(client.stats().evictionCount()).isEqualTo(2);
+        assertThat(client.stats().size()).isEqualTo(2);
+    }
+
+    @Test
+    void keepsSnapshotForMinimumTimeToLiveWhenNextUpdateHasPassed() {
+        MutableClock clock = new MutableClock(NOW.plus(Duration.ofHours(2)));
+        CachingExchangeRateClient client = CachingExchangeRateClient.builder(delegate)
+                .clock(clock)
+                .minimumTimeToLive(Duration.ofMinutes(5))
+                .build();
+
+        client.getLatestRates("USD");
+        client.getLatestRates("USD");
+
+        assertThat(delegate.calls("latest")).isEqualTo(1);
+    }
+
+    @Test
+    void servesStaleSnapshotWhileRevalidatingInBackground() {
+        MutableClock clock = new MutableClock(NOW);
+        List<Runnable> background = new ArrayList<>();
+        CachingExchangeRateClient client = CachingExchangeRateClient.builder(delegate)
+                .clock(clock)
+                .staleWhileRevalidate(Duration.ofMinutes(10))
+                .revalidationExecutor(background::add)
+                .build();
+
+        ExchangeRateSnapshot first = client.getLatestRates("USD");
+        clock.now = NOW.plus(Duration.ofMinutes(65));
+        CachedSnapshot stale = client.lookup("USD");
+        client.lookup("USD");
+
+        assertThat(stale.snapshot()).isSameAs(first);
+        assertThat(stale.freshness()).isEqualTo(Freshness.STALE_WHILE_REVALIDATE);
+        assertThat(stale.isStale()).isTrue();
+        assertThat(background).hasSize(1);
+        assertThat(delegate.calls("latest")).isEqualTo(1);
+
+        background.get(0).run();
+        CachedSnapshot refreshed = client.lookup("USD");
+
+        assertThat(refreshed.freshness()).isEqualTo(Freshness.FRESH);
+        assertThat(refreshed.snapshot()).isNotSameAs(first);
+        assertThat(refreshed.fetchedAt()).isEqualTo(clock.now);
+        assertThat(client.stats().staleCount()).isEqualTo(2);
+    }
+
+    @Test
+    void revalidatesOnDefaultDaemonPool() throws Exception {
+        MutableClock clock = new MutableClock(NOW);
+        CompletableFuture<Thread> revalidatedOn = new CompletableFuture<>();
+        AtomicInteger fetches = new AtomicInteger();
+        FakeExchangeRateClient recording = new FakeExchangeRateClient().onLatest(base -> {
+            if (fetches.incrementAndGet() > 1) {
+                revalidatedOn.complete(Thread.currentThread());
+            }
+            return new ExchangeRateSnapshot(NOW, NOW.plus(Duration.ofHours(1)), base, Map.of("KRW", BigDecimal.TEN));
+        });
+        CachingExchangeRateClient client = CachingExchangeRateClient.builder(recording)
+                .clock(clock)
+                .staleWhileRevalidate(Duration.ofMinutes(10))
+                .build();
+
+        client.getLatestRates("USD");
+        clock.now = NOW.plus(Duration.ofMinutes(65));
+        client.lookup("USD");
+
+        Thread thread = revalidatedOn.get(5, TimeUnit.SECONDS);
+        assertThat(thread.getName()).startsWith("exchangerate-revalidate-");
+        assertThat(thread.isDaemon()).isTrue();
+    }
+
+    @Test
+    void fetchesSynchronouslyPastStaleWhileRevalidateWindow() {
+        MutableClock clock = new MutableClock(NOW);
+        List<Runnable> background = new ArrayList<>();
+        CachingExchangeRateClient client = CachingExchangeRateClient.builder(delegate)
+                .clock(clock)
+                .staleWhileRevalidate(Duration.ofMinutes(10))
+                .revalidationExecutor(background::add)
+                .build();
+
+        client.getLatestRates("USD");
+        clock.now = NOW.plus(Duration.ofMinutes(75));
+
+        assertThat(client.lookup("USD").freshness()).isEqualTo(Freshness.FRESH);
+        assertThat(background).isEmpty();
+        assertThat(delegate.calls("latest")).isEqualTo(2);
+    }
+
+    @Test
+    void fallsBackToStaleSnapshotOnErrorWithinMaxStaleness() {
+        MutableClock clock = new MutableClock(NOW);
+        CachingExchangeRateClient client = CachingExchangeRateClient.builder(delegate)
+                .clock(clock)
+                .staleIfError(Duration.ofMinutes(30))
+                .build();
+
+        ExchangeRateSnapshot first = client.getLatestRates("USD");
+        delegate.onLatest(base -> {
+            throw new ExchangeRateApiException(429, ExchangeRateApiErrorType.QUOTA_REACHED, "quota-reached");
+        });
+        clock.now = NOW.plus(Duration.ofMinutes(80));
+        CachedSnapshot fallback = client.lookup("USD");
+
+        assertThat(fallback.snapshot()).isSameAs(first);
+        assertThat(fallback.freshness()).isEqualTo(Freshness.STALE_IF_ERROR);
+        assertThat(client.stats().staleCount()).isEqualTo(1);
+
+        clock.now = NOW.plus(Duration.ofMinutes(91));
+        assertThatThrownBy(() -> client.lookup("USD")).isInstanceOf(ExchangeRateApiException.class);
+    }
+
+    @Test
+    void reportsStaleIfErrorReadsToListeners() {
+        MutableClock clock = new MutableClock(NOW);
+        List<ExchangeRateException> failures = new ArrayList<>();
+        List<CachedSnapshot> served = new ArrayList<>();
+        CachingExchangeRateClient client = CachingExchangeRateClient.builder(delegate)
+                .clock(clock)
+                .staleIfError(Duration.ofMinutes(30))
+                .staleListener((snapshot, failure) -> {
+                    served.add(snapshot);
+                    failures.add(failure);
+                })
+                .build();
+
+        ExchangeRateSnapshot first = client.getLatestRates("USD");
+        ExchangeRateClientException outage = new ExchangeRateClientException("connection reset", new IOException("reset"));
+        delegate.onLatest(base -> {
+            throw outage;
+        });
+        clock.now = NOW.plus(Duration.ofMinutes(70));
+
+        assertThat(client.getLatestRates("USD")).isSameAs(first);
+        assertThat(served).singleElement().extracting(CachedSnapshot::freshness).isEqualTo(Freshness.STALE_IF_ERROR);
+        assertThat(failures).containsExactly(outage);
+    }
+
+    @Test
+    void throwsNonOutageErrorsInsteadOfServingStale() {
+        MutableClock clock = new MutableClock(NOW);
+        CachingExchangeRateClient client = CachingExchangeRateClient.builder(delegate)
+                .clock(clock)
+                .staleIfError(Duration.ofMinutes(30))
+                .build();
+
+        client.getLatestRates("USD");
+        delegate.onLatest(base -> {
+            throw new ExchangeRateApiException(403, ExchangeRateApiErrorType.INVALID_KEY, "invalid-key");
+        });
+        clock.now = NOW.plus(Duration.ofMinutes(70));
+
+        assertThatThrownBy(() -> client.lookup("USD"))
+                .isInstanceOf(ExchangeRateApiException.class)
+                .extracting(e -> ((ExchangeRateApiException) e).errorType())
+                .isEqualTo(ExchangeRateApiErrorType.INVALID_KEY);
+        assertThat(client.stats().staleCount()).isZero();
+    }
+
+    static final class MutableClock extends Clock {
+
+        volatile Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
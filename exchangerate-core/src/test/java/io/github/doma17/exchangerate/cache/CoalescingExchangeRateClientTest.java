@@ -0,0 +1,138 @@
+package io.github.doma17.exchangerate.cache;
+
+import io.github.doma17.exchangerate.FakeExchangeRateClient;
+import io.github.doma17.exchangerate.RetryPolicy;
+import io.github.doma17.exchangerate.exception.ExchangeRateApiErrorType;
+import io.github.doma17.exchangerate.exception.ExchangeRateApiException;
+import io.github.doma17.exchangerate.exception.ExchangeRateClientException;
+import io.github.doma17.exchangerate.model.ExchangeRateSnapshot;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CoalescingExchangeRateClientTest {
+
+    private static final int CALLERS = 8;
+
+    @Test
+    void concurrentCallersShareOneDelegateCall() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        FakeExchangeRateClient delegate = new FakeExchangeRateClient().onLatest(base -> {
+            await(release);
+            return new ExchangeRateSnapshot(Instant.EPOCH, Instant.EPOCH, base, Map.of("KRW", BigDecimal.ONE));
+        });
+        CoalescingExchangeRateClient client = new CoalescingExchangeRateClient(delegate);
+
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<ExchangeRateSnapshot>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                String baseCode = i % 2 == 0 ? "USD" : "usd";
+                results.add(executor.submit(() -> client.getLatestRates(baseCode)));
+            }
+            waitUntilCoalesced(client, CALLERS - 1);
+            release.countDown();
+
+            ExchangeRateSnapshot first = results.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<ExchangeRateSnapshot> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isSameAs(first);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(delegate.calls("latest")).isEqualTo(1);
+        assertThat(client.inFlightCount()).isZero();
+    }
+
+    @Test
+    void failuresAreSharedAndNotRetained() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        FakeExchangeRateClient delegate = new FakeExchangeRateClient().onLatest(base -> {
+            await(release);
+            throw new ExchangeRateApiException(200, ExchangeRateApiErrorType.QUOTA_REACHED, "quota");
+        });
+        CoalescingExchangeRateClient client = new CoalescingExchangeRateClient(delegate);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = executor.submit(() -> client.getLatestRates("USD"));
+            Future<?> second = executor.submit(() -> client.getLatestRates("USD"));
+            waitUntilCoalesced(client, 1);
+            release.countDown();
+
+            List<Throwable> failures = new ArrayList<>();
+            for (Future<?> result : List.of(first, second)) {
+                assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                        .hasCauseInstanceOf(ExchangeRateApiException.class)
+                        .satisfies(e -> failures.add(e.getCause()));
+            }
+            assertThat(failures.get(0)).isNotSameAs(failures.get(1));
+            assertThat(failures).extracting(failure -> ((ExchangeRateApiException) failure).errorType())
+                    .containsOnly(ExchangeRateApiErrorType.QUOTA_REACHED);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThatThrownBy(() -> client.getLatestRates("USD")).isInstanceOf(ExchangeRateApiException.class);
+        assertThat(delegate.calls("latest")).isEqualTo(2);
+    }
+
+    @Test
+    void waitersGetCopiesWithTheOriginalCause() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        IOException ioFailure = new IOException("connection reset");
+        FakeExchangeRateClient delegate = new FakeExchangeRateClient().onLatest(base -> {
+            await(release);
+            throw new ExchangeRateClientException("I/O error", ioFailure);
+        });
+        CoalescingExchangeRateClient client = new CoalescingExchangeRateClient(delegate);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = executor.submit(() -> client.getLatestRates("USD"));
+            Future<?> second = executor.submit(() -> client.getLatestRates("USD"));
+            waitUntilCoalesced(client, 1);
+            release.countDown();
+
+            for (Future<?> result : List.of(first, second)) {
+                assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                        .cause()
+                        .isInstanceOfSatisfying(ExchangeRateClientException.class, failure -> {
+                            assertThat(failure.getCause()).isSameAs(ioFailure);
+                            assertThat(RetryPolicy.isTransient(failure)).isTrue();
+                        });
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void waitUntilCoalesced(CoalescingExchangeRateClient client, long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (client.coalescedCount() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(client.coalescedCount()).isEqualTo(expected);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
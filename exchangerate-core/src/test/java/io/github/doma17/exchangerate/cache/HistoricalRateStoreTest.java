@@ -0,0 +1,157 @@
+package io.github.doma17.exchangerate.cache;
+
+import io.github.doma17.exchangerate.FakeExchangeRateClient;
+import io.github.doma17.exchangerate.model.HistoricalRates;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HistoricalRateStoreTest {
+
+    private static final LocalDate DATE = LocalDate.of(2025, 12, 31);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void roundTripsRatesExactly() {
+        Map<String, BigDecimal> rates = Map.of(
+                "KRW", new BigDecimal("1443.2500"),
+                "EUR", new BigDecimal("0.85312"),
+                "JPY", new BigDecimal("156.7E+0")
+        );
+
+        try (HistoricalRateStore store = HistoricalRateStore.open(directory)) {
+            store.put(historical("usd", DATE, rates));
+
+            HistoricalRates stored = store.find("USD", DATE).orElseThrow();
+            assertThat(stored.conversionRates()).isEqualTo(rates);
+            assertThat(stored.baseCode()).isEqualTo("USD");
+            assertThat(stored.date()).isEqualTo(DATE);
+            assertThat(store.find("USD", DATE.minusDays(1))).isEmpty();
+            assertThat(store.find("EUR", DATE)).isEmpty();
+        }
+    }
+
+    @Test
+    void persistsAcrossReopen() {
+        try (HistoricalRateStore store = HistoricalRateStore.open(directory)) {
+            store.put(historical("USD", DATE, Map.of("KRW", new BigDecimal("1443.25"))));
+            store.put(historical("USD", DATE.plusDays(1), Map.of("KRW", new BigDecimal("1450.1"))));
+        }
+
+        try (HistoricalRateStore store = HistoricalRateStore.open(directory)) {
+            assertThat(store.contains("USD", DATE)).isTrue();
+            assertThat(store.find("USD", DATE.plusDays(1)).orElseThrow().conversionRates())
+                    .containsEntry("KRW", new BigDecimal("1450.1"));
+        }
+    }
+
+    @Test
+    void lookupsOfUnstoredBasesCreateNoFiles() throws IOException {
+        try (HistoricalRateStore store = HistoricalRateStore.open(directory)) {
+            assertThat(store.find("EUR", DATE)).isEmpty();
+            assertThat(store.contains("JPY", DATE)).isFalse();
+
+            try (Stream<Path> entries = Files.list(directory)) {
+                assertThat(entries).isEmpty();
+            }
+
+            store.put(historical("EUR", DATE, Map.of("KRW", new BigDecimal("1690.4"))));
+            assertThat(store.contains("EUR", DATE)).isTrue();
+        }
+        assertThat(directory.resolve("EUR.fxrates")).exists();
+    }
+
+    @Test
+    void reservesHeadroomForAppendsAndTrimsItOnClose() throws IOException {
+        Path file = directory.resolve("USD.fxrates");
+        Path crashed = Files.createDirectory(directory.resolve("crashed"));
+        long exactBytes = Integer.BYTES * 2 + Short.BYTES + 100L * (Integer.BYTES + Byte.BYTES + Long.BYTES);
+
+        try (HistoricalRateStore store = HistoricalRateStore.open(directory)) {
+            for (int day = 0; day < 100; day++) {
+                store.put(historical("USD", DATE.plusDays(day), Map.of("KRW", BigDecimal.valueOf(1400 + day))));
+            }
+            assertThat(Files.size(file)).isGreaterThan(exactBytes);
+            Files.copy(file, crashed.resolve("USD.fxrates"));
+        }
+
+        assertThat(Files.size(file)).isEqualTo(exactBytes);
+        try (HistoricalRateStore store = HistoricalRateStore.open(crashed)) {
+            assertThat(store.find("USD", DATE.plusDays(99)).orElseThrow().conversionRates())
+                    .containsEntry("KRW", BigDecimal.valueOf(1499));
+            assertThat(store.contains("USD", DATE.plusDays(100))).isFalse();
+            store.put(historical("USD", DATE.plusDays(100), Map.of("KRW", BigDecimal.valueOf(1500))));
+        }
+        try (HistoricalRateStore store = HistoricalRateStore.open(crashed)) {
+            assertThat(store.contains("USD", DATE.plusDays(100))).isTrue();
+            assertThat(store.contains("USD", LocalDate.ofEpochDay(0))).isFalse();
+        }
+    }
+
+    @Test
+    void widensColumnsWhenNewCurrencyAppears() {
+        try (HistoricalRateStore store = HistoricalRateStore.open(directory)) {
+            store.put(historical("USD", DATE, Map.of("KRW", new BigDecimal("1443.25"))));
+            store.put(historical("USD", DATE.plusDays(1), Map.of(
+                    "KRW", new BigDecimal("1450.1"),
+                    "EUR", new BigDecimal("0.85")
+            )));
+
+            assertThat(store.find("USD", DATE).orElseThrow().conversionRates())
+                    .isEqualTo(Map.of("KRW", new BigDecimal("1443.25")));
+        }
+
+        try (HistoricalRateStore store = HistoricalRateStore.open(directory)) {
+            assertThat(store.find("USD", DATE.plusDays(1)).orElseThrow().conversionRates())
+                    .containsEntry("EUR", new BigDecimal("0.85"))
+                    .hasSize(2);
+        }
+    }
+
+    @Test
+    void keepsFirstStoredRowForDate() {
+        try (HistoricalRateStore store = HistoricalRateStore.open(directory)) {
+            store.put(historical("USD", DATE, Map.of("KRW", new BigDecimal("1443.25"))));
+            store.put(historical("USD", DATE, Map.of("KRW", new BigDecimal("9999"))));
+
+            assertThat(store.find("USD", DATE).orElseThrow().conversionRates())
+                    .containsEntry("KRW", new BigDecimal("1443.25"));
+        }
+    }
+
+    @Test
+    void clientFetchesEachDateOnceAcrossStoreInstances() {
+        FakeExchangeRateClient delegate = new FakeExchangeRateClient()
+                .onHistory((base, date) -> historical(base, date, Map.of("KRW", new BigDecimal("1443.25"))));
+
+        try (HistoricalRateStore store = HistoricalRateStore.open(directory)) {
+            HistoricalCachingExchangeRateClient client = new HistoricalCachingExchangeRateClient(delegate, store);
+            client.getHistoricalRates("USD", DATE);
+            client.getHistoricalRates("usd", DATE);
+            assertThat(client.storeHitCount()).isEqualTo(1);
+            assertThat(client.storeMissCount()).isEqualTo(1);
+        }
+        try (HistoricalRateStore store = HistoricalRateStore.open(directory)) {
+            HistoricalCachingExchangeRateClient client = new HistoricalCachingExchangeRateClient(delegate, store);
+            HistoricalRates rates = client.getHistoricalRates("USD", DATE);
+
+            assertThat(rates.conversionRates()).containsEntry("KRW", new BigDecimal("1443.25"));
+        }
+
+        assertThat(delegate.calls("history")).isEqualTo(1);
+    }
+
+    private static HistoricalRates historical(String base, LocalDate date, Map<String, BigDecimal> rates) {
+        return new HistoricalRates(date, base, rates, null, Map.of());
+    }
+}
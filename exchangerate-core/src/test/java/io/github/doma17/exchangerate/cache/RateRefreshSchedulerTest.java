@@ -0,0 +1,252 @@
+package io.github.doma17.exchangerate.cache;
+
+import io.github.doma17.exchangerate.FakeExchangeRateClient;
+import io.github.doma17.exchangerate.exception.ExchangeRateClientException;
+import io.github.doma17.exchangerate.model.ExchangeRateSnapshot;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateRefreshSchedulerTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final AtomicInteger version = new AtomicInteger();
+    private final FakeExchangeRateClient delegate = new FakeExchangeRateClient()
+            .onLatest(base -> snapshot(base, version.incrementAndGet()));
+    private RateRefreshScheduler scheduler;
+
+    @AfterEach
+    void closeScheduler() {
+        if (scheduler != null) {
+            scheduler.close();
+        }
+    }
+
+    @Test
+    void servesTrackedSnapshotAndSwapsInRefreshedOne() throws InterruptedException {
+        scheduler = newScheduler();
+        scheduler.track(List.of("usd"));
+        ExchangeRateSnapshot first = scheduler.asClient().getLatestRates("USD");
+
+        awaitTrue(() -> scheduler.refreshCount() >= 1);
+
+        assertThat(scheduler.trackedBaseCodes()).containsExactly("USD");
+        assertThat(first.lastUpdatedAt()).isEqualTo(NOW.plusSeconds(1));
+        assertThat(scheduler.getLatestRates("USD").lastUpdatedAt()).isAfter(first.lastUpdatedAt());
+    }
+
+    @Test
+    void keepsServingPreviousSnapshotWhenRefreshFails() throws InterruptedException {
+        scheduler = newScheduler();
+        scheduler.track(List.of("USD"));
+        ExchangeRateSnapshot first = scheduler.getLatestRates("USD");
+        delegate.onLatest(base -> {
+            throw new ExchangeRateClientException("unavailable", null);
+        });
+
+        awaitTrue(() -> scheduler.refreshFailureCount() >= 2);
+
+        assertThat(scheduler.getLatestRates("USD")).isSameAs(first);
+        assertThat(scheduler.refreshCount()).isZero();
+    }
+
+    @Test
+    void trackDoesNotThrowWhenInitialFetchFails() throws InterruptedException {
+        delegate.onLatest(base -> {
+            throw new ExchangeRateClientException("unavailable", null);
+        });
+        scheduler = newScheduler();
+
+        scheduler.track(List.of("USD"));
+        delegate.onLatest(base -> snapshot(base, version.incrementAndGet()));
+
+        awaitTrue(() -> scheduler.refreshCount() >= 1);
+        assertThat(scheduler.refreshFailureCount()).isEqualTo(1);
+    }
+
+    @Test
+    void servesUntrackedBaseFromDelegateWithoutTrackingIt() {
+        scheduler = newScheduler();
+
+        ExchangeRateSnapshot first = scheduler.getLatestRates("EUR");
+        ExchangeRateSnapshot second = scheduler.getLatestRates("EUR");
+
+        assertThat(second.lastUpdatedAt()).isAfter(first.lastUpdatedAt());
+        assertThat(delegate.calls("latest")).isEqualTo(2);
+        assertThat(scheduler.trackedBaseCodes()).isEmpty();
+    }
+
+    @Test
+    void tracksOnDemandOnlyAfterSuccessfulFetch() throws InterruptedException {
+        delegate.onLatest(base -> {
+            throw new ExchangeRateClientException("unavailable", null);
+        });
+        scheduler = newSchedulerBuilder().trackOnDemand(true).build();
+
+        assertThatThrownBy(() -> scheduler.getLatestRates("EUR")).isInstanceOf(ExchangeRateClientException.class);
+        assertThat(scheduler.trackedBaseCodes()).isEmpty();
+
+        delegate.onLatest(base -> snapshot(base, version.incrementAndGet()));
+        scheduler.getLatestRates("eur");
+
+        assertThat(scheduler.trackedBaseCodes()).containsExactly("EUR");
+        awaitTrue(() -> scheduler.refreshCount() >= 1);
+    }
+
+    @Test
+    void stopsRefreshingUntrackedBase() throws InterruptedException {
+        scheduler = newScheduler();
+        scheduler.track(List.of("USD"));
+        scheduler.untrack("USD");
+        int callsAfterUntrack = delegate.calls("latest");
+
+        Thread.sleep(100);
+
+        assertThat(delegate.calls("latest")).isEqualTo(callsAfterUntrack);
+        assertThat(scheduler.trackedBaseCodes()).isEmpty();
+    }
+
+    @Test
+    void notifiesListenersAndSubscribersOfRefreshedRates() throws InterruptedException {
+        List<SnapshotDiff> notified = new CopyOnWriteArrayList<>();
+        List<SnapshotDiff> published = new CopyOnWriteArrayList<>();
+        scheduler = newSchedulerBuilder().changeListener(notified::add).build();
+        scheduler.changes().subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(SnapshotDiff item) {
+                published.add(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        scheduler.track(List.of("USD"));
+        ExchangeRateSnapshot first = scheduler.getLatestRates("USD");
+
+        awaitTrue(() -> published.size() >= 2);
+
+        SnapshotDiff diff = notified.get(0);
+        assertThat(diff.previousUpdatedAt()).isEqualTo(first.lastUpdatedAt());
+        assertThat(diff.changes()).singleElement().satisfies(change -> {
+            assertThat(change.currencyCode()).isEqualTo("KRW");
+            assertThat(change.previousRate()).isEqualTo(first.conversionRates().get("KRW"));
+        });
+        assertThat(published.subList(0, 2)).isEqualTo(notified.subList(0, 2));
+        assertThat(scheduler.droppedChangeCount()).isZero();
+    }
+
+    @Test
+    void isolatesFailingListenersAndDeliversOnChangeExecutor() throws InterruptedException {
+        List<SnapshotDiff> notified = new CopyOnWriteArrayList<>();
+        List<String> deliveryThreads = new CopyOnWriteArrayList<>();
+        ExecutorService changeExecutor = Executors.newSingleThreadExecutor(task -> new Thread(task, "test-changes"));
+        try {
+            scheduler = newSchedulerBuilder()
+                    .changeListener(diff -> {
+                        throw new IllegalStateException("listener failure");
+                    })
+                    .changeListener(notified::add)
+                    .changeExecutor(changeExecutor)
+                    .build();
+            scheduler.changes().subscribe(new Flow.Subscriber<>() {
+                @Override
+                public void onSubscribe(Flow.Subscription subscription) {
+                    subscription.request(Long.MAX_VALUE);
+                }
+
+                @Override
+                public void onNext(SnapshotDiff item) {
+                    deliveryThreads.add(Thread.currentThread().getName());
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                }
+
+                @Override
+                public void onComplete() {
+                }
+            });
+            scheduler.track(List.of("USD"));
+
+            awaitTrue(() -> deliveryThreads.size() >= 2 && notified.size() >= 2);
+
+            assertThat(scheduler.listenerFailureCount()).isGreaterThanOrEqualTo(2);
+            assertThat(deliveryThreads).allMatch("test-changes"::equals);
+        } finally {
+            scheduler.close();
+            changeExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    void withholdsChangesWithinToleranceUntilTheyAccumulate() throws InterruptedException {
+        List<SnapshotDiff> notified = new CopyOnWriteArrayList<>();
+        scheduler = newSchedulerBuilder()
+                .changeTolerance(new BigDecimal("0.002"))
+                .changeListener(notified::add)
+                .build();
+        scheduler.track(List.of("USD"));
+
+        awaitTrue(() -> !notified.isEmpty());
+
+        RateChange change = notified.get(0).changes().get(0);
+        assertThat(change.previousRate()).isEqualTo(BigDecimal.valueOf(1301));
+        assertThat(change.currentRate()).isEqualTo(BigDecimal.valueOf(1304));
+        assertThat(scheduler.refreshCount()).isGreaterThanOrEqualTo(3);
+    }
+
+    private RateRefreshScheduler newScheduler() {
+        return newSchedulerBuilder().build();
+    }
+
+    private RateRefreshScheduler.Builder newSchedulerBuilder() {
+        return RateRefreshScheduler.builder(delegate)
+                .jitter(Duration.ZERO)
+                .retryDelay(Duration.ofMillis(10))
+                .clock(Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private static ExchangeRateSnapshot snapshot(String base, int version) {
+        return new ExchangeRateSnapshot(
+                NOW.plusSeconds(version),
+                NOW.plusMillis(20),
+                base,
+                Map.of("KRW", BigDecimal.valueOf(1300 + version))
+        );
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 5s").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package io.github.doma17.exchangerate.cache;
+
+import io.github.doma17.exchangerate.model.CurrencyCode;
+import io.github.doma17.exchangerate.model.ExchangeRateSnapshot;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateRegistryTest {
+
+    @Test
+    void publishesReplacesAndRemovesSnapshots() {
+        RateRegistry registry = new RateRegistry();
+        ExchangeRateSnapshot usd = snapshot("USD", 1400);
+        ExchangeRateSnapshot eur = snapshot("EUR", 1500);
+
+        assertThat(registry.find("USD")).isEmpty();
+        assertThat(registry.put(usd)).isNull();
+        assertThat(registry.put(eur)).isNull();
+        ExchangeRateSnapshot newerUsd = snapshot("USD", 1410);
+        assertThat(registry.put(newerUsd)).isSameAs(usd);
+
+        assertThat(registry.get(CurrencyCode.parse("usd"))).isSameAs(newerUsd);
+        assertThat(registry.find("eur")).containsSame(eur);
+        assertThat(registry.snapshots()).containsExactly(newerUsd, eur);
+        assertThat(registry.baseCodes()).containsExactly("USD", "EUR");
+        assertThat(registry.openSession().rate("EUR", "KRW")).isEqualByComparingTo("1500");
+        assertThat(registry.version()).isEqualTo(3);
+
+        assertThat(registry.remove("USD")).isSameAs(newerUsd);
+        assertThat(registry.remove("USD")).isNull();
+        assertThat(registry.find("USD")).isEmpty();
+        assertThat(registry.find("EUR")).containsSame(eur);
+        assertThat(registry.size()).isEqualTo(1);
+        assertThat(registry.version()).isEqualTo(4);
+    }
+
+    @Test
+    void putAllPublishesManyBasesAtOnce() {
+        RateRegistry registry = new RateRegistry();
+        List<ExchangeRateSnapshot> snapshots = new ArrayList<>();
+        for (char first = 'A'; first <= 'Z'; first++) {
+            snapshots.add(snapshot(first + "AA", first));
+            snapshots.add(snapshot(first + "BB", first));
+        }
+
+        registry.putAll(snapshots);
+
+        assertThat(registry.size()).isEqualTo(52);
+        assertThat(registry.snapshots()).containsExactlyElementsOf(snapshots);
+        for (ExchangeRateSnapshot snapshot : snapshots) {
+            assertThat(registry.find(snapshot.baseCode())).containsSame(snapshot);
+        }
+        assertThat(registry.find("ZZZ")).isEmpty();
+    }
+
+    @Test
+    void concurrentWritersNeverLoseUpdatesAndReadersNeverSeeGaps() throws Exception {
+        RateRegistry registry = new RateRegistry();
+        registry.put(snapshot("USD", 0));
+        int writers = 4;
+        int writesPerWriter = 500;
+        AtomicBoolean failed = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(writers + 2);
+        try {
+            List<CompletableFuture<Void>> writes = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                String baseCode = "W" + (char) ('A' + w) + "X";
+                writes.add(CompletableFuture.runAsync(() -> {
+                    for (int i = 1; i <= writesPerWriter; i++) {
+                        registry.put(snapshot(baseCode, i));
+                        registry.put(snapshot("USD", i));
+                    }
+                }, executor));
+            }
+            CompletableFuture<Void> allWrites = CompletableFuture.allOf(writes.toArray(CompletableFuture[]::new));
+            for (int r = 0; r < 2; r++) {
+                executor.execute(() -> {
+                    CurrencyCode usd = CurrencyCode.parse("USD");
+                    while (!allWrites.isDone()) {
+                        if (registry.get(usd) == null) {
+                            failed.set(true);
+                        }
+                    }
+                });
+            }
+            allWrites.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(failed).isFalse();
+        assertThat(registry.size()).isEqualTo(writers + 1);
+        assertThat(registry.version()).isEqualTo(1 + 2L * writers * writesPerWriter);
+        for (int w = 0; w < writers; w++) {
+            assertThat(registry.find("W" + (char) ('A' + w) + "X").orElseThrow().conversionRates())
+                    .containsEntry("KRW", BigDecimal.valueOf(writesPerWriter));
+        }
+    }
+
+    private static ExchangeRateSnapshot snapshot(String baseCode, long krw) {
+        return new ExchangeRateSnapshot(Instant.EPOCH, Instant.EPOCH, baseCode, Map.of("KRW", BigDecimal.valueOf(krw)));
+    }
+}
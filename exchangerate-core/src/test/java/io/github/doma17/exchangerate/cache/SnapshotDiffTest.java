@@ -0,0 +1,69 @@
+package io.github.doma17.exchangerate.cache;
+
+import io.github.doma17.exchangerate.model.ExchangeRateSnapshot;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SnapshotDiffTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Test
+    void reportsOnlyChangedAddedAndRemovedCurrencies() {
+        ExchangeRateSnapshot previous = snapshot(0, Map.of("EUR", "0.90", "JPY", "150", "KRW", "1300"));
+        ExchangeRateSnapshot current = snapshot(60, Map.of("EUR", "0.900", "GBP", "0.78", "KRW", "1310"));
+
+        SnapshotDiff diff = SnapshotDiff.between(previous, current);
+
+        assertThat(diff.baseCode()).isEqualTo("USD");
+        assertThat(diff.previousUpdatedAt()).isEqualTo(NOW);
+        assertThat(diff.lastUpdatedAt()).isEqualTo(NOW.plusSeconds(60));
+        assertThat(diff.changes()).extracting(RateChange::currencyCode).containsExactly("GBP", "JPY", "KRW");
+        assertThat(diff.changes().get(0).isAdded()).isTrue();
+        assertThat(diff.changes().get(1).isRemoved()).isTrue();
+        assertThat(diff.changes().get(2).relativeChange()).isEqualByComparingTo("0.007692307692308");
+    }
+
+    @Test
+    void ignoresMovesWithinTolerance() {
+        ExchangeRateSnapshot previous = snapshot(0, Map.of("EUR", "0.9000", "KRW", "1300"));
+        ExchangeRateSnapshot current = snapshot(60, Map.of("EUR", "0.9001", "KRW", "1301"));
+
+        SnapshotDiff diff = SnapshotDiff.between(previous, current, new BigDecimal("0.0005"));
+
+        assertThat(diff.changedCodes()).containsExactly("KRW");
+        assertThat(SnapshotDiff.between(previous, current, new BigDecimal("0.001")).isEmpty()).isTrue();
+    }
+
+    @Test
+    void appliesChangesToPreviousSnapshot() {
+        ExchangeRateSnapshot previous = snapshot(0, Map.of("EUR", "0.90", "JPY", "150", "KRW", "1300"));
+        ExchangeRateSnapshot current = snapshot(60, Map.of("EUR", "0.90", "GBP", "0.78", "KRW", "1310"));
+
+        ExchangeRateSnapshot applied = SnapshotDiff.between(previous, current).applyTo(previous);
+
+        assertThat(applied).isEqualTo(current);
+    }
+
+    @Test
+    void rejectsMismatchedBasesAndNegativeTolerance() {
+        ExchangeRateSnapshot usd = snapshot(0, Map.of("KRW", "1300"));
+        ExchangeRateSnapshot eur = new ExchangeRateSnapshot(NOW, NOW, "EUR", Map.of("KRW", BigDecimal.ONE));
+
+        assertThatThrownBy(() -> SnapshotDiff.between(usd, eur)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SnapshotDiff.between(usd, usd, new BigDecimal("-0.1")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static ExchangeRateSnapshot snapshot(long seconds, Map<String, String> rates) {
+        Map<String, BigDecimal> decimals = new HashMap<>();
+        rates.forEach((code, rate) -> decimals.put(code, new BigDecimal(rate)));
+        return new ExchangeRateSnapshot(NOW.plusSeconds(seconds), NOW.plusSeconds(seconds + 60), "USD", decimals);
+    }
+}
@@ -0,0 +1,170 @@
+package io.github.doma17.exchangerate.codec;
+
+import io.github.doma17.exchangerate.model.CurrencyCode;
+import io.github.doma17.exchangerate.model.ExchangeRateSnapshot;
+import io.github.doma17.exchangerate.model.HistoricalRates;
+import io.github.doma17.exchangerate.model.PairRate;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateCodecTest {
+
+    private static final Instant UPDATED = Instant.parse("2026-01-31T00:00:01Z");
+    private static final Instant NEXT = Instant.parse("2026-02-01T00:00:01.123456789Z");
+
+    @Test
+    void snapshotRoundTripKeepsEveryBigDecimalExactly() {
+        Random random = new Random(22);
+        for (int run = 0; run < 50; run++) {
+            ExchangeRateSnapshot snapshot = new ExchangeRateSnapshot(UPDATED, NEXT, "USD", randomRates(random, 160));
+
+            byte[] frame = RateCodec.encode(snapshot);
+            ExchangeRateSnapshot decoded = RateCodec.decodeSnapshot(ByteBuffer.wrap(frame));
+
+            assertThat(decoded).isEqualTo(snapshot);
+            assertThat(frame.length).isLessThan(2048);
+        }
+    }
+
+    @Test
+    void keepsScaleSignAndExtremeValues() {
+        Map<String, BigDecimal> rates = Map.of(
+                "USD", new BigDecimal("1.000000"),
+                "KRW", new BigDecimal("1.3E+3"),
+                "EUR", new BigDecimal("-0.00000000000000000001"),
+                "JPY", BigDecimal.valueOf(Long.MAX_VALUE, 127),
+                "GBP", BigDecimal.valueOf(Long.MIN_VALUE, -127),
+                "CHF", BigDecimal.ZERO
+        );
+        ExchangeRateSnapshot snapshot = new ExchangeRateSnapshot(Instant.EPOCH, Instant.MAX, "USD", rates);
+
+        ExchangeRateSnapshot decoded = RateCodec.decodeSnapshot(ByteBuffer.wrap(RateCodec.encode(snapshot)));
+
+        decoded.conversionRates().forEach((code, rate) -> assertThat(rate.scale()).isEqualTo(rates.get(code).scale()));
+        assertThat(decoded).isEqualTo(snapshot);
+    }
+
+    @Test
+    void historicalAndPairFramesRoundTripIncludingOptionalValues() {
+        Random random = new Random(7);
+        HistoricalRates plain = new HistoricalRates(LocalDate.of(2024, 2, 29), "EUR", randomRates(random, 40), null, Map.of());
+        HistoricalRates amounts = new HistoricalRates(
+                LocalDate.of(1999, 1, 4),
+                "EUR",
+                Map.of("USD", new BigDecimal("1.1789")),
+                new BigDecimal("250.00"),
+                Map.of("USD", new BigDecimal("294.7250"))
+        );
+        PairRate pair = new PairRate(UPDATED, NEXT, "USD", "KRW", new BigDecimal("1452.3801"), null);
+        PairRate converted = new PairRate(UPDATED, NEXT, "USD", "KRW", new BigDecimal("1452.3801"), new BigDecimal("14523.801"));
+
+        ByteBuffer frames = concat(RateCodec.encode(plain), RateCodec.encode(amounts), RateCodec.encode(pair), RateCodec.encode(converted));
+
+        assertThat(RateCodec.decodeHistorical(frames)).isEqualTo(plain);
+        assertThat(RateCodec.decodeHistorical(frames)).isEqualTo(amounts);
+        assertThat(RateCodec.decodePair(frames)).isEqualTo(pair);
+        assertThat(RateCodec.decodePair(frames)).isEqualTo(converted);
+        assertThat(frames.hasRemaining()).isFalse();
+    }
+
+    @Test
+    void deltaCarriesOnlyChangedAddedAndRemovedRates() {
+        Random random = new Random(3);
+        Map<String, BigDecimal> previousRates = randomRates(random, 160);
+        String[] codes = previousRates.keySet().stream().sorted().toArray(String[]::new);
+        previousRates.put(codes[1], new BigDecimal("1.25"));
+        Map<String, BigDecimal> currentRates = new HashMap<>(previousRates);
+        currentRates.put(codes[0], new BigDecimal("1300.5"));
+        currentRates.put(codes[1], new BigDecimal("1.2500"));
+        currentRates.remove(codes[2]);
+        currentRates.put("ZZZ", new BigDecimal("42.5"));
+        ExchangeRateSnapshot previous = new ExchangeRateSnapshot(UPDATED, NEXT, "USD", previousRates);
+        ExchangeRateSnapshot current = new ExchangeRateSnapshot(NEXT, NEXT.plusSeconds(86_400), "USD", currentRates);
+
+        byte[] delta = RateCodec.encodeDelta(previous, current);
+        ExchangeRateSnapshot applied = RateCodec.applyDelta(previous, ByteBuffer.wrap(delta));
+
+        assertThat(applied).isEqualTo(current);
+        assertThat(applied.conversionRates().get(codes[1]).scale()).isEqualTo(currentRates.get(codes[1]).scale());
+        assertThat(delta.length).isLessThan(RateCodec.encode(current).length / 10);
+        assertThatThrownBy(() -> RateCodec.applyDelta(current, ByteBuffer.wrap(delta)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RateCodec.encodeDelta(previous, new ExchangeRateSnapshot(UPDATED, NEXT, "EUR", Map.of())))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void viewReadsRatesInPlace() {
+        Map<String, BigDecimal> rates = randomRates(new Random(11), 160);
+        rates.put("KRW", new BigDecimal("1452.380100"));
+        ExchangeRateSnapshot snapshot = new ExchangeRateSnapshot(UPDATED, NEXT, "USD", rates);
+        ByteBuffer buffer = concat(new byte[] {9, 9}, RateCodec.encode(snapshot), RateCodec.encode(snapshot));
+        buffer.position(2);
+
+        SnapshotView view = SnapshotView.of(buffer);
+
+        assertThat(buffer.position()).isEqualTo(2);
+        assertThat(view.baseCode()).isEqualTo("USD");
+        assertThat(view.lastUpdatedAt()).isEqualTo(UPDATED);
+        assertThat(view.nextUpdateAt()).isEqualTo(NEXT);
+        assertThat(view.size()).isEqualTo(rates.size());
+        assertThat(view.rate(" krw")).isEqualTo(new BigDecimal("1452.380100"));
+        assertThat(view.rate("ZZZ")).isNull();
+        assertThat(view.currency(0).compareTo(view.currency(1))).isNegative();
+        assertThat(view.toSnapshot()).isEqualTo(snapshot);
+        for (String code : rates.keySet()) {
+            assertThat(view.rate(code)).isEqualTo(rates.get(code));
+        }
+
+        buffer.position(2 + view.frameBytes());
+        assertThat(SnapshotView.of(buffer).toSnapshot()).isEqualTo(snapshot);
+    }
+
+    @Test
+    void rejectsUnencodableValuesAndCorruptFrames() {
+        BigDecimal tooWide = new BigDecimal(BigInteger.ONE.shiftLeft(63));
+        BigDecimal tooPrecise = BigDecimal.valueOf(1, 128);
+        assertThatThrownBy(() -> RateCodec.encode(new ExchangeRateSnapshot(UPDATED, NEXT, "USD", Map.of("KRW", tooWide))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RateCodec.encode(new PairRate(UPDATED, NEXT, "USD", "KRW", tooPrecise, null)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        byte[] frame = RateCodec.encode(new ExchangeRateSnapshot(UPDATED, NEXT, "USD", Map.of("KRW", BigDecimal.TEN)));
+        byte[] truncated = Arrays.copyOf(frame, frame.length - 1);
+        assertThatThrownBy(() -> RateCodec.decodeSnapshot(ByteBuffer.wrap(truncated))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SnapshotView.of(ByteBuffer.wrap(truncated))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RateCodec.decodePair(ByteBuffer.wrap(frame))).isInstanceOf(IllegalArgumentException.class);
+        byte[] badMagic = frame.clone();
+        badMagic[0] = 0;
+        assertThatThrownBy(() -> RateCodec.decodeSnapshot(ByteBuffer.wrap(badMagic))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Map<String, BigDecimal> randomRates(Random random, int count) {
+        Map<String, BigDecimal> rates = new HashMap<>();
+        while (rates.size() < count) {
+            String code = CurrencyCode.fromIndex(random.nextInt(CurrencyCode.INDEX_COUNT)).code();
+            long unscaled = random.nextLong() >> random.nextInt(63);
+            rates.put(code, BigDecimal.valueOf(unscaled, random.nextInt(30) - 5));
+        }
+        return rates;
+    }
+
+    private static ByteBuffer concat(byte[]... frames) {
+        ByteBuffer buffer = ByteBuffer.allocate(Arrays.stream(frames).mapToInt(frame -> frame.length).sum());
+        for (byte[] frame : frames) {
+            buffer.put(frame);
+        }
+        return buffer.flip();
+    }
+}
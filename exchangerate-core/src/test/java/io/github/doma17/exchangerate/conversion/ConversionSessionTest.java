@@ -0,0 +1,87 @@
+package io.github.doma17.exchangerate.conversion;
+
+import io.github.doma17.exchangerate.ExchangeRateFacade;
+import io.github.doma17.exchangerate.FakeExchangeRateClient;
+import io.github.doma17.exchangerate.exception.ExchangeRateException;
+import io.github.doma17.exchangerate.model.ExchangeRateSnapshot;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConversionSessionTest {
+
+    private static final Instant USD_UPDATED = Instant.parse("2026-01-31T00:00:01Z");
+    private static final Instant EUR_UPDATED = Instant.parse("2026-01-30T00:00:01Z");
+
+    private static final ExchangeRateSnapshot USD = new ExchangeRateSnapshot(
+            USD_UPDATED,
+            USD_UPDATED.plusSeconds(86_400),
+            "USD",
+            Map.of("USD", BigDecimal.ONE, "EUR", new BigDecimal("0.8"), "JPY", new BigDecimal("150"))
+    );
+    private static final ExchangeRateSnapshot EUR = new ExchangeRateSnapshot(
+            EUR_UPDATED,
+            EUR_UPDATED.plusSeconds(86_400),
+            "EUR",
+            Map.of("EUR", BigDecimal.ONE, "USD", new BigDecimal("1.3"), "KRW", new BigDecimal("1500"))
+    );
+
+    @Test
+    void answersDirectInvertedAndCrossRatesFromPinnedSnapshots() {
+        ConversionSession session = ConversionSession.of(List.of(USD, EUR));
+
+        assertThat(session.rate("usd", "JPY")).isEqualByComparingTo("150");
+        assertThat(session.rate("EUR", "USD")).isEqualByComparingTo("1.3");
+        assertThat(session.rate("JPY", "USD")).isEqualByComparingTo(BigDecimal.ONE.divide(new BigDecimal("150"), MathContext.DECIMAL64));
+        assertThat(session.rate("JPY", "EUR")).isEqualByComparingTo(new BigDecimal("0.8").divide(new BigDecimal("150"), MathContext.DECIMAL64));
+        assertThat(session.convert("EUR", "KRW", new BigDecimal("2"))).isEqualByComparingTo("3000");
+        assertThat(session.lastUpdatedAt()).isEqualTo(EUR_UPDATED);
+        assertThat(session.snapshot("eur")).isSameAs(EUR);
+        assertThat(session.snapshots()).containsExactly(USD, EUR);
+        assertThatThrownBy(() -> session.rate("JPY", "KRW")).isInstanceOf(ExchangeRateException.class);
+        assertThatThrownBy(() -> session.snapshot("JPY")).isInstanceOf(ExchangeRateException.class);
+    }
+
+    @Test
+    void fallsBackToAnotherSnapshotWhenTheBaseSnapshotLacksTheTarget() {
+        ConversionSession session = ConversionSession.of(List.of(USD, EUR));
+
+        assertThat(session.rate("USD", "KRW"))
+                .isEqualByComparingTo(new BigDecimal("1500").divide(new BigDecimal("1.3"), MathContext.DECIMAL64));
+        assertThat(session.convert("USD", "KRW", new BigDecimal("1.3"))).isEqualByComparingTo("1500");
+    }
+
+    @Test
+    void rejectsEmptyOrDuplicateSnapshots() {
+        assertThatThrownBy(() -> ConversionSession.of(List.of())).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ConversionSession.of(List.of(USD, USD))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void facadeSessionFetchesOnceAndIgnoresLaterRefreshes() {
+        AtomicInteger refreshes = new AtomicInteger();
+        FakeExchangeRateClient client = new FakeExchangeRateClient().onLatest(base -> {
+            BigDecimal jpy = new BigDecimal(150 + refreshes.getAndIncrement());
+            return new ExchangeRateSnapshot(USD_UPDATED, USD_UPDATED, base, Map.of("EUR", new BigDecimal("0.8"), "JPY", jpy));
+        });
+        ExchangeRateFacade facade = new ExchangeRateFacade(client).withCrossRates("USD");
+
+        ConversionSession session = facade.openSession();
+        BigDecimal eurToUsd = session.convert("EUR", "USD", BigDecimal.TEN);
+        BigDecimal first = session.convert("USD", "JPY", eurToUsd);
+        facade.getRate("USD", "JPY");
+        BigDecimal second = session.convert("USD", "JPY", eurToUsd);
+
+        assertThat(first).isEqualByComparingTo("1875").isEqualByComparingTo(second);
+        assertThat(session.lastUpdatedAt()).isEqualTo(USD_UPDATED);
+        assertThat(client.calls("latest")).isEqualTo(2);
+        assertThatThrownBy(() -> new ExchangeRateFacade(client).openSession()).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,62 @@
+package io.github.doma17.exchangerate.conversion;
+
+import io.github.doma17.exchangerate.ExchangeRateFacade;
+import io.github.doma17.exchangerate.FakeExchangeRateClient;
+import io.github.doma17.exchangerate.exception.ExchangeRateException;
+import io.github.doma17.exchangerate.model.ExchangeRateSnapshot;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.Instant;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CrossRateEngineTest {
+
+    private static final ExchangeRateSnapshot USD = new ExchangeRateSnapshot(
+            Instant.EPOCH,
+            Instant.EPOCH,
+            "USD",
+            Map.of("USD", BigDecimal.ONE, "EUR", new BigDecimal("0.8"), "KRW", new BigDecimal("1300"))
+    );
+
+    @Test
+    void derivesCrossRatesFromPivot() {
+        CrossRateEngine engine = CrossRateEngine.of(USD);
+
+        assertThat(engine.rate("EUR", "KRW")).isEqualByComparingTo("1625");
+        assertThat(engine.rate("KRW", "USD")).isEqualByComparingTo(BigDecimal.ONE.divide(new BigDecimal("1300"), MathContext.DECIMAL64));
+        assertThat(engine.rate("EUR", "EUR")).isEqualByComparingTo("1");
+        assertThat(engine.convert("EUR", "KRW", new BigDecimal("2"))).isEqualByComparingTo("3250");
+        assertThat(engine.ratesFrom("EUR")).containsEntry("USD", new BigDecimal("1.25"));
+    }
+
+    @Test
+    void usesConfiguredMathContext() {
+        CrossRateEngine engine = CrossRateEngine.of(USD, new MathContext(4));
+
+        assertThat(engine.rate("KRW", "EUR")).isEqualTo(new BigDecimal("0.0006154"));
+    }
+
+    @Test
+    void rejectsUnknownCurrency() {
+        CrossRateEngine engine = CrossRateEngine.of(USD);
+
+        assertThat(engine.indexOf("JPY")).isEqualTo(-1);
+        assertThatThrownBy(() -> engine.rate("USD", "JPY")).isInstanceOf(ExchangeRateException.class);
+    }
+
+    @Test
+    void facadeAnswersAnyPairWithOnePivotCall() {
+        FakeExchangeRateClient client = new FakeExchangeRateClient().onLatest(base -> USD);
+        ExchangeRateFacade facade = new ExchangeRateFacade(client).withCrossRates("usd");
+
+        assertThat(facade.getRate("EUR", "KRW")).isEqualByComparingTo("1625");
+        assertThat(facade.getRate("krw", "EUR")).isEqualByComparingTo(new BigDecimal("0.8").divide(new BigDecimal("1300"), MathContext.DECIMAL64));
+        assertThat(facade.convert("EUR", "USD", BigDecimal.TEN)).isEqualByComparingTo("12.5");
+        assertThat(facade.getRateAsync("KRW", "KRW").join()).isEqualByComparingTo("1");
+        assertThat(client.calls("latest")).isEqualTo(4);
+    }
+}
@@ -0,0 +1,75 @@
+package io.github.doma17.exchangerate.conversion;
+
+import io.github.doma17.exchangerate.model.CurrencyCode;
+import io.github.doma17.exchangerate.model.ExchangeRateSnapshot;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class RateTableTest {
+
+    private static final ExchangeRateSnapshot USD = new ExchangeRateSnapshot(
+            Instant.EPOCH,
+            Instant.EPOCH,
+            "USD",
+            Map.of("USD", BigDecimal.ONE, "EUR", new BigDecimal("0.8"), "KRW", new BigDecimal("1300.125"))
+    );
+
+    @Test
+    void indexesCurrenciesInCodeOrder() {
+        RateTable table = RateTable.of(USD);
+
+        assertThat(table.size()).isEqualTo(3);
+        assertThat(table.currency(0).code()).isEqualTo("EUR");
+        assertThat(table.indexOf(CurrencyCode.parse("KRW"))).isEqualTo(1);
+        assertThat(table.indexOf("usd")).isEqualTo(2);
+        assertThat(table.indexOf("JPY")).isEqualTo(-1);
+        assertThat(table.indexOf("not-a-code")).isEqualTo(-1);
+    }
+
+    @Test
+    void convertsDoublesInBulk() {
+        RateTable table = RateTable.of(USD);
+        double[] amounts = {1, 10, 2.5};
+        double[] out = new double[3];
+
+        table.convert(amounts, table.indexOf("EUR"), table.indexOf("KRW"), out);
+
+        assertThat(table.rate(table.indexOf("KRW"))).isEqualTo(1300.125);
+        assertThat(out).containsExactly(new double[] {1625.15625, 16251.5625, 4062.890625}, within(1e-9));
+    }
+
+    @Test
+    void convertsFixedPointWithHalfEvenRounding() {
+        RateTable table = RateTable.of(USD, 3);
+        long[] cents = {100, 1, -1, 4};
+
+        table.convertScaled(cents, table.indexOf("KRW"), cents);
+
+        assertThat(table.scaledRate(table.indexOf("KRW"))).isEqualTo(1_300_125L);
+        assertThat(cents).containsExactly(130_012L, 1_300L, -1_300L, 5_200L);
+    }
+
+    @Test
+    void rejectsScaleWhoseScaledRatesOverflow() {
+        ExchangeRateSnapshot irr = new ExchangeRateSnapshot(
+                Instant.EPOCH,
+                Instant.EPOCH,
+                "USD",
+                Map.of("USD", BigDecimal.ONE, "IRR", new BigDecimal("42000.5"))
+        );
+
+        RateTable table = RateTable.of(irr, 14);
+
+        assertThat(table.scaledRate(table.indexOf("IRR"))).isEqualTo(4_200_050_000_000_000_000L);
+        assertThatThrownBy(() -> RateTable.of(irr, 15))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("IRR")
+                .hasCauseInstanceOf(ArithmeticException.class);
+    }
+}
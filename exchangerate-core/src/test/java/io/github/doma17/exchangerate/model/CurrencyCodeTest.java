@@ -0,0 +1,37 @@
+package io.github.doma17.exchangerate.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CurrencyCodeTest {
+
+    @Test
+    void parseNormalizesAndInterns() {
+        CurrencyCode usd = CurrencyCode.parse(" usd ");
+
+        assertThat(usd.code()).isEqualTo("USD");
+        assertThat(usd).isSameAs(CurrencyCode.parse("USD"));
+        assertThat(usd).isSameAs(CurrencyCode.fromIndex(usd.index()));
+        assertThat(CurrencyCode.parse(new StringBuilder("kRw")).code()).isEqualTo("KRW");
+    }
+
+    @Test
+    void indexPacksLettersInOrder() {
+        assertThat(CurrencyCode.parse("AAA").index()).isZero();
+        assertThat(CurrencyCode.parse("ZZZ").index()).isEqualTo(CurrencyCode.INDEX_COUNT - 1);
+        assertThat(CurrencyCode.parse("EUR")).isLessThan(CurrencyCode.parse("USD"));
+    }
+
+    @Test
+    void rejectsInvalidCodes() {
+        assertThat(CurrencyCode.indexOf("US")).isEqualTo(-1);
+        assertThat(CurrencyCode.indexOf("US1")).isEqualTo(-1);
+        assertThat(CurrencyCode.indexOf("U SD")).isEqualTo(-1);
+        assertThatThrownBy(() -> CurrencyCode.parse("dollar"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("ISO-4217 alpha-3");
+        assertThatThrownBy(() -> CurrencyCode.parse(null)).isInstanceOf(NullPointerException.class);
+    }
+}
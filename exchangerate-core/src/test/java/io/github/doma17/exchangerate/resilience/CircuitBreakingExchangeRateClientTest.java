@@ -0,0 +1,297 @@
+package io.github.doma17.exchangerate.resilience;
+
+import com.sun.net.httpserver.HttpServer;
+import io.github.doma17.exchangerate.ExchangeRateApiClient;
+import io.github.doma17.exchangerate.ExchangeRateApiOptions;
+import io.github.doma17.exchangerate.ExchangeRateClient;
+import io.github.doma17.exchangerate.FakeExchangeRateClient;
+import io.github.doma17.exchangerate.exception.ExchangeRateApiErrorType;
+import io.github.doma17.exchangerate.exception.ExchangeRateApiException;
+import io.github.doma17.exchangerate.exception.ExchangeRateCircuitOpenException;
+import io.github.doma17.exchangerate.exception.ExchangeRateClientException;
+import io.github.doma17.exchangerate.model.ExchangeRateSnapshot;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CircuitBreakingExchangeRateClientTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-11T00:00:00Z");
+
+    private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+    private final AtomicReference<Error> error = new AtomicReference<>();
+    private final AtomicReference<CountDownLatch> gate = new AtomicReference<>();
+    private final FakeExchangeRateClient delegate = new FakeExchangeRateClient()
+            .onLatest(base -> {
+                CountDownLatch currentGate = gate.get();
+                if (currentGate != null) {
+                    awaitUninterruptibly(currentGate);
+                }
+                RuntimeException current = failure.get();
+                if (current != null) {
+                    throw current;
+                }
+                Error currentError = error.get();
+                if (currentError != null) {
+                    throw currentError;
+                }
+                return new ExchangeRateSnapshot(NOW, NOW, base, Map.of("KRW", BigDecimal.TEN));
+            });
+    private final QuotaGuardingExchangeRateClientTest.MutableClock clock = new QuotaGuardingExchangeRateClientTest.MutableClock(NOW);
+    private final List<String> transitions = new CopyOnWriteArrayList<>();
+
+    @Test
+    void opensAtFailureRateAndFailsFast() {
+        CircuitBreakingExchangeRateClient client = newClient();
+        client.getLatestRates("USD");
+        client.getLatestRates("USD");
+        failure.set(outage());
+
+        callIgnoringFailure(client);
+        assertThat(client.state()).isEqualTo(CircuitState.CLOSED);
+        callIgnoringFailure(client);
+
+        assertThat(client.state()).isEqualTo(CircuitState.OPEN);
+        assertThat(client.stats().failureRate()).isEqualTo(0.5);
+        assertThatThrownBy(() -> client.getLatestRates("USD")).isInstanceOf(ExchangeRateCircuitOpenException.class);
+        assertThatThrownBy(() -> client.getLatestRatesAsync("USD").join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(ExchangeRateCircuitOpenException.class);
+        assertThat(delegate.calls("latest")).isEqualTo(4);
+        assertThat(client.stats().notPermittedCount()).isEqualTo(2);
+        assertThat(transitions).containsExactly("CLOSED->OPEN");
+    }
+
+    @Test
+    void halfOpenProbesCloseOrReopenTheCircuit() {
+        CircuitBreakingExchangeRateClient client = newClient();
+        failure.set(outage());
+        for (int i = 0; i < 4; i++) {
+            callIgnoringFailure(client);
+        }
+        assertThat(client.state()).isEqualTo(CircuitState.OPEN);
+
+        clock.now = NOW.plus(Duration.ofSeconds(30));
+        callIgnoringFailure(client);
+        assertThat(client.state()).isEqualTo(CircuitState.OPEN);
+
+        clock.now = NOW.plus(Duration.ofSeconds(60));
+        failure.set(null);
+        client.getLatestRates("USD");
+        assertThat(client.state()).isEqualTo(CircuitState.HALF_OPEN);
+        client.getLatestRates("USD");
+
+        assertThat(client.state()).isEqualTo(CircuitState.CLOSED);
+        assertThat(client.stats().bufferedCalls()).isZero();
+        assertThat(transitions).containsExactly(
+                "CLOSED->OPEN",
+                "OPEN->HALF_OPEN",
+                "HALF_OPEN->OPEN",
+                "OPEN->HALF_OPEN",
+                "HALF_OPEN->CLOSED"
+        );
+    }
+
+    @Test
+    void typedApiErrorsDoNotOpenTheCircuit() {
+        CircuitBreakingExchangeRateClient client = newClient();
+        failure.set(new ExchangeRateApiException(200, ExchangeRateApiErrorType.UNSUPPORTED_CODE, "unsupported"));
+
+        for (int i = 0; i < 10; i++) {
+            callIgnoringFailure(client);
+        }
+
+        assertThat(client.state()).isEqualTo(CircuitState.CLOSED);
+        assertThat(client.stats().failureRate()).isZero();
+        assertThat(delegate.calls("latest")).isEqualTo(10);
+    }
+
+    @Test
+    void serverErrorWithoutJsonBodyOpensTheCircuit() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            byte[] body = "<html><body>503 Service Unavailable</body></html>".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "text/html");
+            exchange.sendResponseHeaders(503, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        try {
+            ExchangeRateApiClient apiClient = new ExchangeRateApiClient(ExchangeRateApiOptions.builder("test-key")
+                    .baseUri(URI.create("http://localhost:" + server.getAddress().getPort() + "/v6"))
+                    .build());
+            CircuitBreakingExchangeRateClient client = newClient(apiClient);
+
+            for (int i = 0; i < 4; i++) {
+                assertThatThrownBy(() -> client.getLatestRates("USD"))
+                        .isInstanceOfSatisfying(ExchangeRateApiException.class,
+                                exception -> assertThat(exception.statusCode()).isEqualTo(503));
+            }
+
+            assertThat(client.state()).isEqualTo(CircuitState.OPEN);
+            assertThat(client.stats().failureRate()).isEqualTo(1.0);
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void probesEndingWithErrorGiveBackTheirSlot() {
+        CircuitBreakingExchangeRateClient client = openedClient();
+        clock.now = NOW.plus(Duration.ofSeconds(30));
+        failure.set(null);
+        error.set(new StackOverflowError());
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> client.getLatestRates("USD")).isInstanceOf(StackOverflowError.class);
+        }
+        error.set(null);
+        client.getLatestRates("USD");
+        client.getLatestRates("USD");
+
+        assertThat(client.state()).isEqualTo(CircuitState.CLOSED);
+        assertThat(client.stats().notPermittedCount()).isZero();
+    }
+
+    @Test
+    void cancelledAsyncProbesAreNotRecordedAsSuccesses() {
+        CircuitBreakingExchangeRateClient client = openedClient();
+        clock.now = NOW.plus(Duration.ofSeconds(30));
+        CountDownLatch released = new CountDownLatch(1);
+        gate.set(released);
+        try {
+            CompletableFuture<ExchangeRateSnapshot> first = client.getLatestRatesAsync("USD");
+            CompletableFuture<ExchangeRateSnapshot> second = client.getLatestRatesAsync("USD");
+            assertThatThrownBy(() -> client.getLatestRatesAsync("USD").join())
+                    .hasCauseInstanceOf(ExchangeRateCircuitOpenException.class);
+
+            first.cancel(true);
+            second.cancel(true);
+            assertThat(client.state()).isEqualTo(CircuitState.HALF_OPEN);
+
+            gate.set(null);
+            failure.set(outage());
+            callIgnoringFailure(client);
+            assertThat(client.state()).isEqualTo(CircuitState.OPEN);
+        } finally {
+            released.countDown();
+        }
+    }
+
+    @Test
+    void probesThatNeverReportBackAreReplacedAfterTheOpenDuration() {
+        CircuitBreakingExchangeRateClient client = openedClient();
+        clock.now = NOW.plus(Duration.ofSeconds(30));
+        CountDownLatch released = new CountDownLatch(1);
+        gate.set(released);
+        try {
+            client.getLatestRatesAsync("USD");
+            client.getLatestRatesAsync("USD");
+            assertThatThrownBy(() -> client.getLatestRates("USD")).isInstanceOf(ExchangeRateCircuitOpenException.class);
+
+            clock.now = NOW.plus(Duration.ofSeconds(60));
+            gate.set(null);
+            failure.set(null);
+            client.getLatestRates("USD");
+            client.getLatestRates("USD");
+
+            assertThat(client.state()).isEqualTo(CircuitState.CLOSED);
+        } finally {
+            released.countDown();
+        }
+    }
+
+    @Test
+    void failingListenersDoNotChangeCallOutcomes() {
+        CircuitBreakingExchangeRateClient client = CircuitBreakingExchangeRateClient.builder(delegate)
+                .slidingWindowSize(2)
+                .minimumCalls(2)
+                .openDuration(Duration.ofSeconds(30))
+                .halfOpenProbes(1)
+                .listener((from, to) -> {
+                    throw new IllegalStateException("listener failure");
+                })
+                .listener((from, to) -> transitions.add(from + "->" + to))
+                .clock(clock)
+                .build();
+        failure.set(outage());
+        callIgnoringFailure(client);
+        assertThatThrownBy(() -> client.getLatestRates("USD")).isSameAs(failure.get());
+
+        clock.now = NOW.plus(Duration.ofSeconds(30));
+        failure.set(null);
+        assertThat(client.getLatestRatesAsync("USD")).succeedsWithin(Duration.ofSeconds(5));
+
+        assertThat(client.state()).isEqualTo(CircuitState.CLOSED);
+        assertThat(transitions).containsExactly("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED");
+    }
+
+    private CircuitBreakingExchangeRateClient openedClient() {
+        CircuitBreakingExchangeRateClient client = newClient();
+        failure.set(outage());
+        for (int i = 0; i < 4; i++) {
+            callIgnoringFailure(client);
+        }
+        assertThat(client.state()).isEqualTo(CircuitState.OPEN);
+        return client;
+    }
+
+    private CircuitBreakingExchangeRateClient newClient() {
+        return newClient(delegate);
+    }
+
+    private CircuitBreakingExchangeRateClient newClient(ExchangeRateClient delegate) {
+        return CircuitBreakingExchangeRateClient.builder(delegate)
+                .slidingWindowSize(4)
+                .minimumCalls(4)
+                .failureRateThreshold(0.5)
+                .openDuration(Duration.ofSeconds(30))
+                .halfOpenProbes(2)
+                .listener((from, to) -> transitions.add(from + "->" + to))
+                .clock(clock)
+                .build();
+    }
+
+    private static ExchangeRateClientException outage() {
+        return new ExchangeRateClientException("I/O error", new IOException("connection refused"));
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void callIgnoringFailure(CircuitBreakingExchangeRateClient client) {
+        try {
+            client.getLatestRates("USD");
+        } catch (RuntimeException ignored) {
+            // Outcome is asserted through the circuit state.
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package io.github.doma17.exchangerate.resilience;
+
+import io.github.doma17.exchangerate.FakeExchangeRateClient;
+import io.github.doma17.exchangerate.exception.ExchangeRateApiErrorType;
+import io.github.doma17.exchangerate.exception.ExchangeRateApiException;
+import io.github.doma17.exchangerate.exception.ExchangeRateThrottledException;
+import io.github.doma17.exchangerate.model.ExchangeRateSnapshot;
+import io.github.doma17.exchangerate.model.QuotaStatus;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class QuotaGuardingExchangeRateClientTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-11T00:00:00Z");
+
+    private final AtomicInteger remaining = new AtomicInteger(1000);
+    private final FakeExchangeRateClient delegate = new FakeExchangeRateClient()
+            .onQuota(() -> new QuotaStatus(1000, remaining.get(), 1))
+            .onLatest(base -> new ExchangeRateSnapshot(NOW, NOW, base, Map.of("KRW", BigDecimal.TEN)));
+
+    @Test
+    void refusesCallsWhenRequestRateIsExceeded() {
+        QuotaGuardingExchangeRateClient client = QuotaGuardingExchangeRateClient.builder(delegate)
+                .permitsPerSecond(0.001)
+                .burst(2)
+                .maxThrottleWait(Duration.ZERO)
+                .clock(Clock.fixed(NOW, ZoneOffset.UTC))
+                .build();
+
+        client.getLatestRates("USD");
+        client.getLatestRates("USD");
+
+        assertThatThrownBy(() -> client.getLatestRates("USD")).isInstanceOf(ExchangeRateThrottledException.class);
+        assertThat(delegate.calls("latest")).isEqualTo(2);
+        assertThat(client.stats().permittedCount()).isEqualTo(2);
+        assertThat(client.stats().rejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void degradesWhenRemainingQuotaReachesReserve() {
+        remaining.set(52);
+        QuotaGuardingExchangeRateClient client = QuotaGuardingExchangeRateClient.builder(delegate)
+                .permitsPerSecond(1000)
+                .clock(Clock.fixed(NOW, ZoneOffset.UTC))
+                .build();
+
+        client.getLatestRates("USD");
+        client.getLatestRates("USD");
+
+        assertThat(client.state()).isEqualTo(QuotaState.DEGRADED);
+        assertThatThrownBy(() -> client.getLatestRates("USD"))
+                .isInstanceOf(ExchangeRateThrottledException.class)
+                .hasMessageContaining("reserve 50");
+        assertThat(client.stats().estimatedRemaining()).isEqualTo(50);
+        assertThat(client.stats().degradedCount()).isEqualTo(1);
+        assertThat(delegate.calls("quota")).isEqualTo(1);
+    }
+
+    @Test
+    void conservesWhenProjectedSpendExceedsRemainingBudget() {
+        MutableClock clock = new MutableClock(NOW);
+        QuotaGuardingExchangeRateClient client = QuotaGuardingExchangeRateClient.builder(delegate)
+                .permitsPerSecond(1000)
+                .reconcileInterval(Duration.ofHours(1))
+                .clock(clock)
+                .build();
+
+        client.getLatestRates("USD");
+        clock.now = NOW.plus(Duration.ofHours(1));
+        remaining.set(900);
+        client.getLatestRates("USD");
+
+        QuotaGuardStats stats = client.stats();
+        assertThat(stats.state()).isEqualTo(QuotaState.CONSERVING);
+        assertThat(stats.projectedSpend()).isGreaterThan(850);
+        assertThat(stats.permitsPerSecond()).isLessThan(0.001);
+    }
+
+    @Test
+    void degradesAfterQuotaReachedAndRecoversOnReconciliation() {
+        MutableClock clock = new MutableClock(NOW);
+        QuotaGuardingExchangeRateClient client = QuotaGuardingExchangeRateClient.builder(delegate)
+                .permitsPerSecond(1000)
+                .clock(clock)
+                .build();
+        client.getLatestRates("USD");
+        delegate.onLatest(base -> {
+            throw new ExchangeRateApiException(429, ExchangeRateApiErrorType.QUOTA_REACHED, "quota-reached");
+        });
+
+        assertThatThrownBy(() -> client.getLatestRates("USD")).isInstanceOf(ExchangeRateApiException.class);
+        assertThat(client.state()).isEqualTo(QuotaState.DEGRADED);
+
+        client.getQuotaStatus();
+        assertThat(client.state()).isEqualTo(QuotaState.NORMAL);
+    }
+
+    @Test
+    void projectsResetToNextRefreshDay() {
+        assertThat(QuotaGuardingExchangeRateClient.nextReset(NOW, 1)).isEqualTo(Instant.parse("2026-02-01T00:00:00Z"));
+        assertThat(QuotaGuardingExchangeRateClient.nextReset(NOW, 20)).isEqualTo(Instant.parse("2026-01-20T00:00:00Z"));
+        assertThat(QuotaGuardingExchangeRateClient.nextReset(Instant.parse("2026-02-15T00:00:00Z"), 31))
+                .isEqualTo(Instant.parse("2026-02-28T00:00:00Z"));
+    }
+
+    static final class MutableClock extends Clock {
+
+        volatile Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package io.github.doma17.exchangerate.timeseries;
+
+import io.github.doma17.exchangerate.ExchangeRateFacade;
+import io.github.doma17.exchangerate.FakeExchangeRateClient;
+import io.github.doma17.exchangerate.exception.ExchangeRateException;
+import io.github.doma17.exchangerate.model.HistoricalRates;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class RateHistoryTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+
+    @Test
+    void extractsDirectAndCrossSeriesSkippingMissingDates() {
+        RateHistory history = RateHistory.of(List.of(
+                rates(START.plusDays(2), Map.of("EUR", "0.90", "KRW", "1350")),
+                rates(START, Map.of("EUR", "0.80", "KRW", "1300")),
+                rates(START.plusDays(1), Map.of("KRW", "1320"))
+        ));
+
+        assertThat(history.size()).isEqualTo(3);
+        assertThat(history.currencies()).containsExactly("EUR", "KRW");
+
+        RateSeries usdKrw = history.series("krw");
+        assertThat(usdKrw.toArray()).containsExactly(1300, 1320, 1350);
+        assertThat(usdKrw.date(1)).isEqualTo(START.plusDays(1));
+
+        RateSeries eurKrw = history.crossSeries("EUR", "KRW");
+        assertThat(eurKrw.baseCode()).isEqualTo("EUR");
+        assertThat(eurKrw.size()).isEqualTo(2);
+        assertThat(eurKrw.date(1)).isEqualTo(START.plusDays(2));
+        assertThat(eurKrw.value(0)).isCloseTo(1625.0, within(1e-9));
+        assertThat(eurKrw.value(1)).isCloseTo(1500.0, within(1e-9));
+        assertThat(history.crossSeries("EUR", "USD").value(0)).isCloseTo(1.25, within(1e-12));
+
+        RateHistory sliced = history.slice(START.plusDays(1), START.plusDays(5));
+        assertThat(sliced.size()).isEqualTo(2);
+        assertThat(sliced.series("KRW").toArray()).containsExactly(1320, 1350);
+        assertThatThrownBy(() -> history.series("JPY")).isInstanceOf(ExchangeRateException.class);
+    }
+
+    @Test
+    void builderRejectsOutOfOrderDatesAndForeignBases() {
+        RateHistory.Builder builder = RateHistory.builder("USD").add(rates(START, Map.of("KRW", "1300")));
+
+        assertThatThrownBy(() -> builder.add(rates(START, Map.of("KRW", "1300"))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> builder.add(new HistoricalRates(START.plusDays(1), "EUR", Map.of(), null, Map.of())))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rollingAggregatesMatchNaiveWindows() {
+        Random random = new Random(21);
+        List<HistoricalRates> days = new ArrayList<>();
+        double level = 1350.0;
+        for (int day = 0; day < 200; day++) {
+            level *= 1.0 + (random.nextDouble() - 0.5) * 0.02;
+            days.add(rates(START.plusDays(day), Map.of("KRW", BigDecimal.valueOf(level).toPlainString())));
+        }
+        RateSeries series = RateHistory.of(days).series("KRW");
+        double[] values = series.toArray();
+        int window = 20;
+
+        RateSeries mean = series.rollingMean(window);
+        RateSeries stdDev = series.rollingStdDev(window);
+        RateSeries min = series.rollingMin(window);
+        RateSeries max = series.rollingMax(window);
+        assertThat(mean.size()).isEqualTo(values.length - window + 1);
+        assertThat(mean.date(0)).isEqualTo(START.plusDays(window - 1));
+        for (int end = window - 1; end < values.length; end++) {
+            RateSeries naive = series.slice(START.plusDays(end - window + 1), START.plusDays(end));
+            int index = end - window + 1;
+            assertThat(mean.value(index)).isCloseTo(naive.mean(), within(1e-9));
+            assertThat(stdDev.value(index)).isCloseTo(naive.stdDev(), within(1e-7));
+            assertThat(min.value(index)).isEqualTo(naive.min());
+            assertThat(max.value(index)).isEqualTo(naive.max());
+        }
+
+        RateSeries returns = series.returns();
+        RateSeries logReturns = series.logReturns();
+        assertThat(returns.size()).isEqualTo(values.length - 1);
+        assertThat(returns.date(0)).isEqualTo(START.plusDays(1));
+        assertThat(returns.value(4)).isCloseTo(values[5] / values[4] - 1.0, within(1e-15));
+        assertThat(logReturns.value(4)).isCloseTo(Math.log(values[5] / values[4]), within(1e-15));
+        assertThat(series.rollingMean(values.length + 1).isEmpty()).isTrue();
+        assertThatThrownBy(() -> series.rollingStdDev(1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void facadeCollectsRangeIntoHistory() {
+        FakeExchangeRateClient client = new FakeExchangeRateClient()
+                .onHistory((base, date) -> rates(date, Map.of("KRW", String.valueOf(1300 + date.getDayOfMonth()))));
+        Clock clock = Clock.fixed(Instant.parse("2025-02-01T00:00:00Z"), ZoneOffset.UTC);
+        ExchangeRateFacade facade = new ExchangeRateFacade(client, clock);
+
+        RateHistory history = facade.getRateHistory("USD", START, START.plusDays(9));
+
+        assertThat(history.size()).isEqualTo(10);
+        assertThat(history.series("KRW").rollingMean(10).toArray()).containsExactly(1305.5);
+    }
+
+    private static HistoricalRates rates(LocalDate date, Map<String, String> rates) {
+        Map<String, BigDecimal> decimals = new HashMap<>();
+        rates.forEach((code, rate) -> decimals.put(code, new BigDecimal(rate)));
+        return new HistoricalRates(date, "USD", decimals, null, Map.of());
+    }
+}
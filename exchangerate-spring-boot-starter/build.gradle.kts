@@ -19,6 +19,9 @@ dependencies {
 
     compileOnly("org.springframework.boot:spring-boot-autoconfigure:3.5.11")
     compileOnly("org.springframework.boot:spring-boot-configuration-processor:3.5.11")
+    compileOnly("io.micrometer:micrometer-core:1.15.9")
+    compileOnly(platform("io.projectreactor:reactor-bom:2024.0.15"))
+    compileOnly("io.projectreactor:reactor-core")
     annotationProcessor("org.springframework.boot:spring-boot-configuration-processor:3.5.11")
 
     testImplementation(platform("org.junit:junit-bom:5.14.3"))
@@ -26,6 +29,10 @@ dependencies {
     testImplementation("org.assertj:assertj-core:3.27.7")
     testImplementation("org.springframework.boot:spring-boot-autoconfigure:3.5.11")
     testImplementation("org.springframework.boot:spring-boot-test:3.5.11")
+    testImplementation("io.micrometer:micrometer-core:1.15.9")
+    testImplementation(platform("io.projectreactor:reactor-bom:2024.0.15"))
+    testImplementation("io.projectreactor:reactor-core")
+    testImplementation("io.projectreactor:reactor-test")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 }
 
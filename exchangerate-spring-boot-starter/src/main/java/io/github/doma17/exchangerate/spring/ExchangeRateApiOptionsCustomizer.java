@@ -0,0 +1,19 @@
+package io.github.doma17.exchangerate.spring;
+
+import io.github.doma17.exchangerate.ExchangeRateApiOptions;
+
+/**
+ * Callback that adjusts the auto-configured {@link ExchangeRateApiOptions} before they are built.
+ * All customizer beans are applied in {@link org.springframework.core.annotation.Order} order,
+ * after the values bound from {@link ExchangeRateApiProperties}.
+ */
+@FunctionalInterface
+public interface ExchangeRateApiOptionsCustomizer {
+
+    /**
+     * Customizes the options builder.
+     *
+     * @param builder options builder
+     */
+    void customize(ExchangeRateApiOptions.Builder builder);
+}
@@ -1,8 +1,13 @@
 package io.github.doma17.exchangerate.spring;
 
 import io.github.doma17.exchangerate.ExchangeRateApiOptions;
+import io.github.doma17.exchangerate.cache.RateRefreshScheduler;
+import io.github.doma17.exchangerate.resilience.CircuitBreakingExchangeRateClient;
 import java.net.URI;
+import java.net.http.HttpClient;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
@@ -17,6 +22,10 @@ public class ExchangeRateApiProperties {
     private URI baseUrl = ExchangeRateApiOptions.DEFAULT_BASE_URI;
     private Duration connectTimeout = ExchangeRateApiOptions.DEFAULT_CONNECT_TIMEOUT;
     private Duration readTimeout = ExchangeRateApiOptions.DEFAULT_READ_TIMEOUT;
+    private final Http http = new Http();
+    private final Refresh refresh = new Refresh();
+    private final Metrics metrics = new Metrics();
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker();
 
     /**
      * Returns whether auto-configuration is enabled.
@@ -107,4 +116,374 @@ public class ExchangeRateApiProperties {
     public void setReadTimeout(Duration readTimeout) {
         this.readTimeout = Objects.requireNonNull(readTimeout, "readTimeout");
     }
+
+    /**
+     * Returns HTTP client settings.
+     *
+     * @return HTTP settings
+     */
+    public Http getHttp() {
+        return http;
+    }
+
+    /**
+     * Returns background refresh settings.
+     *
+     * @return refresh settings
+     */
+    public Refresh getRefresh() {
+        return refresh;
+    }
+
+    /**
+     * HTTP client settings ({@code exchangerate.api.http.*}).
+     */
+    public static class Http {
+
+        private HttpClient.Version version = ExchangeRateApiOptions.DEFAULT_HTTP_VERSION;
+        private boolean virtualThreads;
+        private boolean gzip;
+        private boolean warmUp;
+
+        /**
+         * Returns the preferred HTTP protocol version.
+         *
+         * @return HTTP version
+         */
+        public HttpClient.Version getVersion() {
+            return version;
+        }
+
+        /**
+         * Sets the preferred HTTP protocol version.
+         *
+         * @param version HTTP version ({@code HTTP_2} or {@code HTTP_1_1})
+         */
+        public void setVersion(HttpClient.Version version) {
+            this.version = Objects.requireNonNull(version, "version");
+        }
+
+        /**
+         * Returns whether the HTTP client runs on virtual threads (JDK 21+).
+         *
+         * @return {@code true} when virtual threads are requested
+         */
+        public boolean isVirtualThreads() {
+            return virtualThreads;
+        }
+
+        /**
+         * Sets whether the HTTP client runs on virtual threads (JDK 21+).
+         *
+         * @param virtualThreads virtual threads flag
+         */
+        public void setVirtualThreads(boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+        }
+
+        /**
+         * Returns whether responses are requested gzip-compressed.
+         *
+         * @return {@code true} when gzip is enabled
+         */
+        public boolean isGzip() {
+            return gzip;
+        }
+
+        /**
+         * Sets whether responses are requested gzip-compressed.
+         *
+         * @param gzip gzip flag
+         */
+        public void setGzip(boolean gzip) {
+            this.gzip = gzip;
+        }
+
+        /**
+         * Returns whether a connection to the API host is opened at startup.
+         *
+         * @return {@code true} when warm-up is enabled
+         */
+        public boolean isWarmUp() {
+            return warmUp;
+        }
+
+        /**
+         * Sets whether a connection to the API host is opened at startup.
+         *
+         * @param warmUp warm-up flag
+         */
+        public void setWarmUp(boolean warmUp) {
+            this.warmUp = warmUp;
+        }
+    }
+
+    /**
+     * Returns Micrometer instrumentation settings.
+     *
+     * @return metrics settings
+     */
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Returns circuit breaker settings.
+     *
+     * @return circuit breaker settings
+     */
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * Circuit breaker settings ({@code exchangerate.api.circuit-breaker.*}).
+     */
+    public static class CircuitBreaker {
+
+        private boolean enabled;
+        private double failureRateThreshold = CircuitBreakingExchangeRateClient.DEFAULT_FAILURE_RATE_THRESHOLD;
+        private int slidingWindowSize = CircuitBreakingExchangeRateClient.DEFAULT_SLIDING_WINDOW_SIZE;
+        private int minimumCalls = CircuitBreakingExchangeRateClient.DEFAULT_MINIMUM_CALLS;
+        private Duration openDuration = CircuitBreakingExchangeRateClient.DEFAULT_OPEN_DURATION;
+        private int halfOpenProbes = CircuitBreakingExchangeRateClient.DEFAULT_HALF_OPEN_PROBES;
+
+        /**
+         * Returns whether the client is wrapped in a circuit breaker.
+         *
+         * @return {@code true} when enabled
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Sets whether the client is wrapped in a circuit breaker.
+         *
+         * @param enabled enabled flag
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * Returns the share of failed calls that opens the circuit.
+         *
+         * @return failure rate threshold in {@code (0, 1]}
+         */
+        public double getFailureRateThreshold() {
+            return failureRateThreshold;
+        }
+
+        /**
+         * Sets the share of failed calls that opens the circuit.
+         *
+         * @param failureRateThreshold failure rate threshold in {@code (0, 1]}
+         */
+        public void setFailureRateThreshold(double failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+        }
+
+        /**
+         * Returns how many recent call outcomes are recorded.
+         *
+         * @return sliding window size
+         */
+        public int getSlidingWindowSize() {
+            return slidingWindowSize;
+        }
+
+        /**
+         * Sets how many recent call outcomes are recorded.
+         *
+         * @param slidingWindowSize sliding window size
+         */
+        public void setSlidingWindowSize(int slidingWindowSize) {
+            this.slidingWindowSize = slidingWindowSize;
+        }
+
+        /**
+         * Returns how many outcomes are needed before the failure rate is evaluated.
+         *
+         * @return minimum calls
+         */
+        public int getMinimumCalls() {
+            return minimumCalls;
+        }
+
+        /**
+         * Sets how many outcomes are needed before the failure rate is evaluated.
+         *
+         * @param minimumCalls minimum calls
+         */
+        public void setMinimumCalls(int minimumCalls) {
+            this.minimumCalls = minimumCalls;
+        }
+
+        /**
+         * Returns how long the circuit fails fast before probing.
+         *
+         * @return open duration
+         */
+        public Duration getOpenDuration() {
+            return openDuration;
+        }
+
+        /**
+         * Sets how long the circuit fails fast before probing.
+         *
+         * @param openDuration open duration
+         */
+        public void setOpenDuration(Duration openDuration) {
+            this.openDuration = openDuration;
+        }
+
+        /**
+         * Returns how many probe calls the half-open circuit lets through.
+         *
+         * @return half-open probe count
+         */
+        public int getHalfOpenProbes() {
+            return halfOpenProbes;
+        }
+
+        /**
+         * Sets how many probe calls the half-open circuit lets through.
+         *
+         * @param halfOpenProbes half-open probe count
+         */
+        public void setHalfOpenProbes(int halfOpenProbes) {
+            this.halfOpenProbes = halfOpenProbes;
+        }
+    }
+
+    /**
+     * Micrometer instrumentation settings ({@code exchangerate.api.metrics.*}).
+     */
+    public static class Metrics {
+
+        private boolean enabled = true;
+
+        /**
+         * Returns whether client calls are recorded when a {@code MeterRegistry} bean is present.
+         *
+         * @return {@code true} when enabled
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Sets whether client calls are recorded when a {@code MeterRegistry} bean is present.
+         *
+         * @param enabled enabled flag
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+
+    /**
+     * Background refresh settings ({@code exchangerate.api.refresh.*}).
+     */
+    public static class Refresh {
+
+        private boolean enabled;
+        private List<String> baseCodes = new ArrayList<>();
+        private boolean trackOnDemand;
+        private Duration jitter = RateRefreshScheduler.DEFAULT_JITTER;
+        private Duration retryDelay = RateRefreshScheduler.DEFAULT_RETRY_DELAY;
+
+        /**
+         * Returns whether latest rates are refreshed in the background.
+         *
+         * @return {@code true} when enabled
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Sets whether latest rates are refreshed in the background.
+         *
+         * @param enabled enabled flag
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * Returns base currencies fetched at startup.
+         *
+         * @return base ISO-4217 codes
+         */
+        public List<String> getBaseCodes() {
+            return baseCodes;
+        }
+
+        /**
+         * Sets base currencies fetched at startup and refreshed in the background. Other base
+         * currencies are read from the API on every call unless {@code track-on-demand} is enabled.
+         *
+         * @param baseCodes base ISO-4217 codes
+         */
+        public void setBaseCodes(List<String> baseCodes) {
+            this.baseCodes = Objects.requireNonNull(baseCodes, "baseCodes");
+        }
+
+        /**
+         * Returns whether base currencies outside {@code base-codes} are tracked on first use.
+         *
+         * @return {@code true} when bases are tracked on first use
+         */
+        public boolean isTrackOnDemand() {
+            return trackOnDemand;
+        }
+
+        /**
+         * Sets whether base currencies outside {@code base-codes} are tracked on first use. Enable
+         * only when the requested codes come from a bounded set.
+         *
+         * @param trackOnDemand whether to track bases on first use
+         */
+        public void setTrackOnDemand(boolean trackOnDemand) {
+            this.trackOnDemand = trackOnDemand;
+        }
+
+        /**
+         * Returns the maximum random delay added to each refresh.
+         *
+         * @return refresh jitter
+         */
+        public Duration getJitter() {
+            return jitter;
+        }
+
+        /**
+         * Sets the maximum random delay added to each refresh.
+         *
+         * @param jitter refresh jitter
+         */
+        public void setJitter(Duration jitter) {
+            this.jitter = Objects.requireNonNull(jitter, "jitter");
+        }
+
+        /**
+         * Returns the delay before retrying a failed refresh.
+         *
+         * @return retry delay
+         */
+        public Duration getRetryDelay() {
+            return retryDelay;
+        }
+
+        /**
+         * Sets the delay before retrying a failed refresh.
+         *
+         * @param retryDelay retry delay
+         */
+        public void setRetryDelay(Duration retryDelay) {
+            this.retryDelay = Objects.requireNonNull(retryDelay, "retryDelay");
+        }
+    }
 }
@@ -4,7 +4,13 @@ import io.github.doma17.exchangerate.ExchangeRateApiClient;
 import io.github.doma17.exchangerate.ExchangeRateApiOptions;
 import io.github.doma17.exchangerate.ExchangeRateClient;
 import io.github.doma17.exchangerate.ExchangeRateFacade;
+import io.github.doma17.exchangerate.cache.RateRefreshScheduler;
+import io.github.doma17.exchangerate.resilience.CircuitBreakingExchangeRateClient;
+import io.github.doma17.exchangerate.resilience.CircuitStateListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import java.time.Clock;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
@@ -12,6 +18,8 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 
 /**
  * Spring Boot auto-configuration for ExchangeRate client beans.
@@ -26,30 +34,84 @@ public class ExchangeRateAutoConfiguration {
      * Creates immutable API options from bound properties.
      *
      * @param properties bound configuration properties
+     * @param customizers options customizers, applied in order
      * @return API options bean
      */
     @Bean
     @ConditionalOnMissingBean
     @ConditionalOnProperty(prefix = "exchangerate.api", name = "api-key")
-    public ExchangeRateApiOptions exchangeRateApiOptions(ExchangeRateApiProperties properties) {
-        return ExchangeRateApiOptions.builder(properties.getApiKey())
+    public ExchangeRateApiOptions exchangeRateApiOptions(
+            ExchangeRateApiProperties properties,
+            ObjectProvider<ExchangeRateApiOptionsCustomizer> customizers
+    ) {
+        ExchangeRateApiProperties.Http http = properties.getHttp();
+        ExchangeRateApiOptions.Builder builder = ExchangeRateApiOptions.builder(properties.getApiKey())
                 .baseUri(properties.getBaseUrl())
                 .connectTimeout(properties.getConnectTimeout())
                 .readTimeout(properties.getReadTimeout())
-                .build();
+                .httpVersion(http.getVersion())
+                .virtualThreads(http.isVirtualThreads())
+                .gzip(http.isGzip());
+        customizers.orderedStream().forEach(customizer -> customizer.customize(builder));
+        return builder.build();
     }
 
     /**
-     * Creates the low-level API client bean.
+     * Creates the low-level API client bean, decorated by any {@link ExchangeRateClientCustomizer} beans.
+     * With {@code exchangerate.api.http.warm-up=true} a connection to the API host is opened in the
+     * background right away.
      *
      * @param options API options
+     * @param properties bound configuration properties
+     * @param customizers client customizers, applied in order
      * @return API client bean
      */
     @Bean
     @ConditionalOnMissingBean
     @ConditionalOnBean(ExchangeRateApiOptions.class)
-    public ExchangeRateClient exchangeRateClient(ExchangeRateApiOptions options) {
-        return new ExchangeRateApiClient(options);
+    public ExchangeRateClient exchangeRateClient(
+            ExchangeRateApiOptions options,
+            ExchangeRateApiProperties properties,
+            ObjectProvider<ExchangeRateClientCustomizer> customizers
+    ) {
+        ExchangeRateApiClient apiClient = new ExchangeRateApiClient(options);
+        if (properties.getHttp().isWarmUp()) {
+            apiClient.warmUp();
+        }
+        ExchangeRateClient client = apiClient;
+        for (ExchangeRateClientCustomizer customizer : customizers.orderedStream().toList()) {
+            client = customizer.customize(client);
+        }
+        return client;
+    }
+
+    /**
+     * Wraps the client in a circuit breaker when {@code exchangerate.api.circuit-breaker.enabled=true}.
+     * Ordered first, so the breaker sits directly around the API client and other decorators,
+     * including metrics, see its fast failures.
+     *
+     * @param properties bound configuration properties
+     * @param listeners circuit state listeners, notified in order
+     * @return client customizer
+     */
+    @Bean
+    @Order(0)
+    @ConditionalOnProperty(prefix = "exchangerate.api.circuit-breaker", name = "enabled", havingValue = "true")
+    public ExchangeRateClientCustomizer exchangeRateCircuitBreakerCustomizer(
+            ExchangeRateApiProperties properties,
+            ObjectProvider<CircuitStateListener> listeners
+    ) {
+        ExchangeRateApiProperties.CircuitBreaker circuitBreaker = properties.getCircuitBreaker();
+        return client -> {
+            CircuitBreakingExchangeRateClient.Builder builder = CircuitBreakingExchangeRateClient.builder(client)
+                    .failureRateThreshold(circuitBreaker.getFailureRateThreshold())
+                    .slidingWindowSize(circuitBreaker.getSlidingWindowSize())
+                    .minimumCalls(circuitBreaker.getMinimumCalls())
+                    .openDuration(circuitBreaker.getOpenDuration())
+                    .halfOpenProbes(circuitBreaker.getHalfOpenProbes());
+            listeners.orderedStream().forEach(builder::listener);
+            return builder.build();
+        };
     }
 
     /**
@@ -64,16 +126,97 @@ public class ExchangeRateAutoConfiguration {
     }
 
     /**
-     * Creates the high-level facade bean.
+     * Creates the background refresh scheduler when {@code exchangerate.api.refresh.enabled=true}.
      *
      * @param client API client bean
+     * @param properties bound configuration properties
+     * @param exchangeRateClock clock bean
+     * @return refresh scheduler bean
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    @ConditionalOnBean(ExchangeRateClient.class)
+    @ConditionalOnProperty(prefix = "exchangerate.api.refresh", name = "enabled", havingValue = "true")
+    public RateRefreshScheduler rateRefreshScheduler(
+            ExchangeRateClient client,
+            ExchangeRateApiProperties properties,
+            Clock exchangeRateClock
+    ) {
+        ExchangeRateApiProperties.Refresh refresh = properties.getRefresh();
+        RateRefreshScheduler scheduler = RateRefreshScheduler.builder(client)
+                .jitter(refresh.getJitter())
+                .retryDelay(refresh.getRetryDelay())
+                .trackOnDemand(refresh.isTrackOnDemand())
+                .clock(exchangeRateClock)
+                .build();
+        scheduler.track(refresh.getBaseCodes());
+        return scheduler;
+    }
+
+    /**
+     * Creates the high-level facade bean. Latest rates are read through the refresh scheduler when present.
+     *
+     * @param client API client bean
+     * @param refreshScheduler optional refresh scheduler bean
      * @param exchangeRateClock clock bean
      * @return facade bean
      */
     @Bean
     @ConditionalOnMissingBean
     @ConditionalOnBean(ExchangeRateClient.class)
-    public ExchangeRateFacade exchangeRateFacade(ExchangeRateClient client, Clock exchangeRateClock) {
-        return new ExchangeRateFacade(client, exchangeRateClock);
+    public ExchangeRateFacade exchangeRateFacade(
+            ExchangeRateClient client,
+            ObjectProvider<RateRefreshScheduler> refreshScheduler,
+            Clock exchangeRateClock
+    ) {
+        RateRefreshScheduler scheduler = refreshScheduler.getIfAvailable();
+        return new ExchangeRateFacade(scheduler != null ? scheduler.asClient() : client, exchangeRateClock);
+    }
+
+    /**
+     * Micrometer instrumentation, active when Micrometer is on the classpath and a
+     * {@link MeterRegistry} bean is present.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MeterRegistry.class)
+    @ConditionalOnProperty(prefix = "exchangerate.api.metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+    static class MetricsConfiguration {
+
+        /**
+         * Records response payload sizes and decode times.
+         *
+         * @param registry meter registry, when present
+         * @return options customizer
+         */
+        @Bean
+        ExchangeRateApiOptionsCustomizer exchangeRateMetricsOptionsCustomizer(ObjectProvider<MeterRegistry> registry) {
+            return builder -> registry.ifAvailable(meterRegistry -> builder.responseListener(new MicrometerResponseListener(meterRegistry)));
+        }
+
+        /**
+         * Records a timer per endpoint call.
+         *
+         * @param registry meter registry, when present
+         * @return client customizer
+         */
+        @Bean
+        ExchangeRateClientCustomizer exchangeRateMetricsClientCustomizer(ObjectProvider<MeterRegistry> registry) {
+            return client -> {
+                MeterRegistry meterRegistry = registry.getIfAvailable();
+                return meterRegistry == null ? client : new MicrometerExchangeRateClient(client, meterRegistry);
+            };
+        }
+
+        /**
+         * Publishes the state and counters of the quota guard and circuit breaker in the client's
+         * decorator chain, when present.
+         *
+         * @param client API client bean, when present
+         * @return meter binder
+         */
+        @Bean
+        MeterBinder exchangeRateResilienceMetrics(ObjectProvider<ExchangeRateClient> client) {
+            return registry -> client.ifAvailable(exchangeRateClient -> new ResilienceMetrics(exchangeRateClient).bindTo(registry));
+        }
     }
 }
@@ -0,0 +1,21 @@
+package io.github.doma17.exchangerate.spring;
+
+import io.github.doma17.exchangerate.ExchangeRateClient;
+
+/**
+ * Callback that decorates the auto-configured {@link ExchangeRateClient}.
+ * All customizer beans are applied in {@link org.springframework.core.annotation.Order} order;
+ * each receives the client returned by the previous one, so the last customizer produces the
+ * outermost decorator.
+ */
+@FunctionalInterface
+public interface ExchangeRateClientCustomizer {
+
+    /**
+     * Returns the client to use instead of the given one, typically a decorator around it.
+     *
+     * @param client current client
+     * @return client to expose
+     */
+    ExchangeRateClient customize(ExchangeRateClient client);
+}
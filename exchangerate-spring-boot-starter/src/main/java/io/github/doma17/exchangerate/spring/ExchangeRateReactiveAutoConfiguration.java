@@ -0,0 +1,31 @@
+package io.github.doma17.exchangerate.spring;
+
+import io.github.doma17.exchangerate.ExchangeRateClient;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import reactor.core.publisher.Mono;
+
+/**
+ * Spring Boot auto-configuration for the Project Reactor client, active when Reactor is on the classpath.
+ */
+@AutoConfiguration(after = ExchangeRateAutoConfiguration.class)
+@ConditionalOnClass(Mono.class)
+public class ExchangeRateReactiveAutoConfiguration {
+
+    /**
+     * Creates the reactive client over the API client bean, so it shares the client's decorators
+     * and non-blocking I/O.
+     *
+     * @param client API client bean
+     * @return reactive client bean
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBean(ExchangeRateClient.class)
+    public ReactiveExchangeRateClient reactiveExchangeRateClient(ExchangeRateClient client) {
+        return ReactiveExchangeRateClient.of(client);
+    }
+}
@@ -0,0 +1,219 @@
+package io.github.doma17.exchangerate.spring;
+
+import io.github.doma17.exchangerate.AsyncExchangeRateClient;
+import io.github.doma17.exchangerate.ExchangeRateClient;
+import io.github.doma17.exchangerate.exception.ExchangeRateApiException;
+import io.github.doma17.exchangerate.exception.ExchangeRateCircuitOpenException;
+import io.github.doma17.exchangerate.exception.ExchangeRateClientException;
+import io.github.doma17.exchangerate.exception.ExchangeRateThrottledException;
+import io.github.doma17.exchangerate.model.EnrichedRate;
+import io.github.doma17.exchangerate.model.ExchangeRateSnapshot;
+import io.github.doma17.exchangerate.model.HistoricalRates;
+import io.github.doma17.exchangerate.model.PairRate;
+import io.github.doma17.exchangerate.model.QuotaStatus;
+import io.github.doma17.exchangerate.model.SupportedCurrency;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * {@link ExchangeRateClient} decorator that records a Micrometer {@link Timer} named
+ * {@value #REQUESTS_METRIC} for every call, blocking or asynchronous.
+ * <p>
+ * Timers are tagged with {@code endpoint} ({@code latest}, {@code pair}, {@code history},
+ * {@code quota}, {@code codes}, {@code enriched}), {@code outcome} ({@code SUCCESS},
+ * {@code API_ERROR}, {@code CLIENT_ERROR}, {@code CIRCUIT_OPEN}, {@code THROTTLED} or {@code UNKNOWN}) and
+ * {@code error.type} (the {@code ExchangeRateApiErrorType} wire value, or {@code none}).
+ * Asynchronous calls use the delegate's own asynchronous methods when it implements
+ * {@link AsyncExchangeRateClient}; otherwise blocking calls are offloaded as described by
+ * {@link AsyncExchangeRateClient#fromBlocking(ExchangeRateClient)}, never to the common fork-join pool.
+ */
+public class MicrometerExchangeRateClient implements ExchangeRateClient, AsyncExchangeRateClient {
+
+    /**
+     * Name of the per-call timer.
+     */
+    public static final String REQUESTS_METRIC = "exchangerate.client.requests";
+
+    private static final String NO_ERROR = "none";
+
+    private final ExchangeRateClient delegate;
+    private final AsyncExchangeRateClient asyncDelegate;
+    private final MeterRegistry registry;
+    private final Meter.MeterProvider<Timer> timers;
+
+    /**
+     * Creates an instrumented client.
+     *
+     * @param delegate client that performs the calls
+     * @param registry registry the timers are registered in
+     */
+    public MicrometerExchangeRateClient(ExchangeRateClient delegate, MeterRegistry registry) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        this.registry = Objects.requireNonNull(registry, "registry");
+        this.asyncDelegate = delegate instanceof AsyncExchangeRateClient asyncClient
+                ? asyncClient
+                : AsyncExchangeRateClient.fromBlocking(delegate);
+        this.timers = Timer.builder(REQUESTS_METRIC)
+                .description("ExchangeRate-API calls")
+                .withRegistry(registry);
+    }
+
+    @Override
+    public ExchangeRateSnapshot getLatestRates(String baseCode) {
+        return timed("latest", () -> delegate.getLatestRates(baseCode));
+    }
+
+    @Override
+    public PairRate getPairRate(String baseCode, String targetCode) {
+        return timed("pair", () -> delegate.getPairRate(baseCode, targetCode));
+    }
+
+    @Override
+    public PairRate convertPairAmount(String baseCode, String targetCode, BigDecimal amount) {
+        return timed("pair", () -> delegate.convertPairAmount(baseCode, targetCode, amount));
+    }
+
+    @Override
+    public HistoricalRates getHistoricalRates(String baseCode, LocalDate date) {
+        return timed("history", () -> delegate.getHistoricalRates(baseCode, date));
+    }
+
+    @Override
+    public HistoricalRates getHistoricalConvertedAmounts(String baseCode, LocalDate date, BigDecimal amount) {
+        return timed("history", () -> delegate.getHistoricalConvertedAmounts(baseCode, date, amount));
+    }
+
+    @Override
+    public QuotaStatus getQuotaStatus() {
+        return timed("quota", delegate::getQuotaStatus);
+    }
+
+    @Override
+    public List<SupportedCurrency> getSupportedCurrencies() {
+        return timed("codes", delegate::getSupportedCurrencies);
+    }
+
+    @Override
+    public EnrichedRate getEnrichedRate(String baseCode, String targetCode) {
+        return timed("enriched", () -> delegate.getEnrichedRate(baseCode, targetCode));
+    }
+
+    @Override
+    public <T> Optional<T> unwrap(Class<T> type) {
+        return ExchangeRateClient.super.unwrap(type).or(() -> delegate.unwrap(type));
+    }
+
+    @Override
+    public CompletableFuture<ExchangeRateSnapshot> getLatestRatesAsync(String baseCode) {
+        return timedAsync("latest", () -> asyncDelegate.getLatestRatesAsync(baseCode));
+    }
+
+    @Override
+    public CompletableFuture<PairRate> getPairRateAsync(String baseCode, String targetCode) {
+        return timedAsync("pair", () -> asyncDelegate.getPairRateAsync(baseCode, targetCode));
+    }
+
+    @Override
+    public CompletableFuture<PairRate> convertPairAmountAsync(String baseCode, String targetCode, BigDecimal amount) {
+        return timedAsync("pair", () -> asyncDelegate.convertPairAmountAsync(baseCode, targetCode, amount));
+    }
+
+    @Override
+    public CompletableFuture<HistoricalRates> getHistoricalRatesAsync(String baseCode, LocalDate date) {
+        return timedAsync("history", () -> asyncDelegate.getHistoricalRatesAsync(baseCode, date));
+    }
+
+    @Override
+    public CompletableFuture<HistoricalRates> getHistoricalConvertedAmountsAsync(String baseCode, LocalDate date, BigDecimal amount) {
+        return timedAsync("history", () -> asyncDelegate.getHistoricalConvertedAmountsAsync(baseCode, date, amount));
+    }
+
+    @Override
+    public CompletableFuture<QuotaStatus> getQuotaStatusAsync() {
+        return timedAsync("quota", asyncDelegate::getQuotaStatusAsync);
+    }
+
+    @Override
+    public CompletableFuture<List<SupportedCurrency>> getSupportedCurrenciesAsync() {
+        return timedAsync("codes", asyncDelegate::getSupportedCurrenciesAsync);
+    }
+
+    @Override
+    public CompletableFuture<EnrichedRate> getEnrichedRateAsync(String baseCode, String targetCode) {
+        return timedAsync("enriched", () -> asyncDelegate.getEnrichedRateAsync(baseCode, targetCode));
+    }
+
+    private <T> T timed(String endpoint, Supplier<T> call) {
+        Timer.Sample sample = Timer.start(registry);
+        try {
+            T result = call.get();
+            sample.stop(timers.withTags(tags(endpoint, null)));
+            return result;
+        } catch (RuntimeException e) {
+            sample.stop(timers.withTags(tags(endpoint, e)));
+            throw e;
+        }
+    }
+
+    private <T> CompletableFuture<T> timedAsync(String endpoint, Supplier<CompletableFuture<T>> call) {
+        Timer.Sample sample = Timer.start(registry);
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            sample.stop(timers.withTags(tags(endpoint, e)));
+            throw e;
+        }
+        CompletableFuture<T> outcome = new CompletableFuture<>();
+        future.whenComplete((result, error) -> {
+            try {
+                sample.stop(timers.withTags(tags(endpoint, error)));
+            } finally {
+                if (error == null) {
+                    outcome.complete(result);
+                } else {
+                    outcome.completeExceptionally(error);
+                }
+            }
+        });
+        outcome.whenComplete((result, error) -> {
+            if (outcome.isCancelled()) {
+                future.cancel(true);
+            }
+        });
+        return outcome;
+    }
+
+    private static Tags tags(String endpoint, Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        String outcome;
+        String errorType = NO_ERROR;
+        if (error == null) {
+            outcome = "SUCCESS";
+        } else if (error instanceof ExchangeRateApiException apiException) {
+            outcome = "API_ERROR";
+            errorType = apiException.errorType().wireValue();
+        } else if (error instanceof ExchangeRateCircuitOpenException) {
+            outcome = "CIRCUIT_OPEN";
+        } else if (error instanceof ExchangeRateThrottledException) {
+            outcome = "THROTTLED";
+        } else if (error instanceof ExchangeRateClientException) {
+            outcome = "CLIENT_ERROR";
+        } else {
+            outcome = "UNKNOWN";
+        }
+        return Tags.of("endpoint", endpoint, "outcome", outcome, "error.type", errorType);
+    }
+}
@@ -0,0 +1,58 @@
+package io.github.doma17.exchangerate.spring;
+
+import io.github.doma17.exchangerate.ExchangeRateResponseListener;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ExchangeRateResponseListener} that records response payload sizes and decode times as
+ * Micrometer histograms tagged by endpoint.
+ * <ul>
+ *     <li>{@value #PAYLOAD_SIZE_METRIC}: distribution summary of response body sizes in bytes</li>
+ *     <li>{@value #PARSE_TIME_METRIC}: timer of response decode times</li>
+ * </ul>
+ */
+public class MicrometerResponseListener implements ExchangeRateResponseListener {
+
+    /**
+     * Name of the response payload size distribution summary.
+     */
+    public static final String PAYLOAD_SIZE_METRIC = "exchangerate.client.response.size";
+    /**
+     * Name of the response decode time timer.
+     */
+    public static final String PARSE_TIME_METRIC = "exchangerate.client.response.parse";
+
+    private final Meter.MeterProvider<DistributionSummary> payloadSizes;
+    private final Meter.MeterProvider<Timer> parseTimes;
+
+    /**
+     * Creates a listener that registers its meters in a registry.
+     *
+     * @param registry meter registry
+     */
+    public MicrometerResponseListener(MeterRegistry registry) {
+        Objects.requireNonNull(registry, "registry");
+        this.payloadSizes = DistributionSummary.builder(PAYLOAD_SIZE_METRIC)
+                .description("Size of ExchangeRate-API response bodies")
+                .baseUnit("bytes")
+                .publishPercentileHistogram()
+                .withRegistry(registry);
+        this.parseTimes = Timer.builder(PARSE_TIME_METRIC)
+                .description("Time spent decoding ExchangeRate-API response bodies")
+                .publishPercentileHistogram()
+                .withRegistry(registry);
+    }
+
+    @Override
+    public void onResponse(String endpoint, int statusCode, long payloadBytes, long parseNanos) {
+        Tags tags = Tags.of("endpoint", endpoint);
+        payloadSizes.withTags(tags).record(payloadBytes);
+        parseTimes.withTags(tags).record(parseNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,194 @@
+package io.github.doma17.exchangerate.spring;
+
+import io.github.doma17.exchangerate.AsyncExchangeRateClient;
+import io.github.doma17.exchangerate.ExchangeRateClient;
+import io.github.doma17.exchangerate.ExchangeRateFacade;
+import io.github.doma17.exchangerate.model.EnrichedRate;
+import io.github.doma17.exchangerate.model.ExchangeRateSnapshot;
+import io.github.doma17.exchangerate.model.HistoricalRates;
+import io.github.doma17.exchangerate.model.PairRate;
+import io.github.doma17.exchangerate.model.QuotaStatus;
+import io.github.doma17.exchangerate.model.SupportedCurrency;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Project Reactor view of the ExchangeRate-API endpoints.
+ * <p>
+ * Every method mirrors {@link ExchangeRateClient} and is lazy: the request is sent when the
+ * returned publisher is subscribed, and cancelling the subscription cancels the pending call;
+ * {@code ExchangeRateApiClient} then aborts the HTTP request and any retry or hedge in flight.
+ * Calls go through the delegate's {@link AsyncExchangeRateClient} methods, which for
+ * {@code ExchangeRateApiClient} and its standard decorators use non-blocking HTTP I/O, so no
+ * Reactor thread waits on the network. Errors are signalled with the same exception types the
+ * blocking methods throw.
+ */
+public class ReactiveExchangeRateClient {
+
+    private final AsyncExchangeRateClient delegate;
+
+    /**
+     * Creates a reactive client over an asynchronous client.
+     *
+     * @param delegate client that performs the calls
+     */
+    public ReactiveExchangeRateClient(AsyncExchangeRateClient delegate) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+    }
+
+    /**
+     * Creates a reactive client over any client. A client that implements
+     * {@link AsyncExchangeRateClient} is used directly; the blocking calls of any other client are
+     * offloaded to {@link Schedulers#boundedElastic()}.
+     *
+     * @param client client that performs the calls
+     * @return reactive client
+     */
+    public static ReactiveExchangeRateClient of(ExchangeRateClient client) {
+        Objects.requireNonNull(client, "client");
+        if (client instanceof AsyncExchangeRateClient asyncClient) {
+            return new ReactiveExchangeRateClient(asyncClient);
+        }
+        Scheduler scheduler = Schedulers.boundedElastic();
+        return new ReactiveExchangeRateClient(AsyncExchangeRateClient.fromBlocking(client, scheduler::schedule));
+    }
+
+    /**
+     * Returns the latest rates for all supported currencies against the given base currency.
+     *
+     * @param baseCode base ISO-4217 code (for example {@code USD})
+     * @return latest snapshot for the base currency
+     */
+    public Mono<ExchangeRateSnapshot> getLatestRates(String baseCode) {
+        return call(() -> delegate.getLatestRatesAsync(baseCode));
+    }
+
+    /**
+     * Returns the latest conversion rate between two currencies.
+     *
+     * @param baseCode base ISO-4217 code
+     * @param targetCode target ISO-4217 code
+     * @return latest pair rate
+     */
+    public Mono<PairRate> getPairRate(String baseCode, String targetCode) {
+        return call(() -> delegate.getPairRateAsync(baseCode, targetCode));
+    }
+
+    /**
+     * Converts an amount using the latest pair rate.
+     *
+     * @param baseCode base ISO-4217 code
+     * @param targetCode target ISO-4217 code
+     * @param amount amount to convert
+     * @return pair rate including conversion result
+     */
+    public Mono<PairRate> convertPairAmount(String baseCode, String targetCode, BigDecimal amount) {
+        return call(() -> delegate.convertPairAmountAsync(baseCode, targetCode, amount));
+    }
+
+    /**
+     * Returns historical rates for all available currencies at a specific date.
+     *
+     * @param baseCode base ISO-4217 code
+     * @param date date to query
+     * @return historical rates snapshot
+     */
+    public Mono<HistoricalRates> getHistoricalRates(String baseCode, LocalDate date) {
+        return call(() -> delegate.getHistoricalRatesAsync(baseCode, date));
+    }
+
+    /**
+     * Converts an amount to all available currencies for a specific historical date.
+     *
+     * @param baseCode base ISO-4217 code
+     * @param date date to query
+     * @param amount amount to convert
+     * @return historical conversion amounts response
+     */
+    public Mono<HistoricalRates> getHistoricalConvertedAmounts(String baseCode, LocalDate date, BigDecimal amount) {
+        return call(() -> delegate.getHistoricalConvertedAmountsAsync(baseCode, date, amount));
+    }
+
+    /**
+     * Returns historical rates for every date in a range, fetching up to
+     * {@link ExchangeRateFacade#DEFAULT_RANGE_CONCURRENCY} dates concurrently.
+     *
+     * @param baseCode base ISO-4217 code
+     * @param from first date, inclusive
+     * @param to last date, inclusive
+     * @return rates in date order
+     * @see #getHistoricalRange(String, LocalDate, LocalDate, int)
+     */
+    public Flux<HistoricalRates> getHistoricalRange(String baseCode, LocalDate from, LocalDate to) {
+        return getHistoricalRange(baseCode, from, to, ExchangeRateFacade.DEFAULT_RANGE_CONCURRENCY);
+    }
+
+    /**
+     * Returns historical rates for every date in a range.
+     * <p>
+     * The first {@code maxConcurrency} dates are requested on subscription. After that requests
+     * follow downstream demand: at most {@code maxConcurrency} dates are in flight or waiting to
+     * be consumed, and the next date is requested only as an earlier one is consumed, so a slow
+     * subscriber slows the requests instead of buffering the range. Elements are emitted in date
+     * order. Cancelling the subscription cancels the calls in flight.
+     *
+     * @param baseCode base ISO-4217 code
+     * @param from first date, inclusive
+     * @param to last date, inclusive
+     * @param maxConcurrency maximum number of dates fetched at once, at least {@code 1}
+     * @return rates in date order
+     */
+    public Flux<HistoricalRates> getHistoricalRange(String baseCode, LocalDate from, LocalDate to, int maxConcurrency) {
+        Objects.requireNonNull(baseCode, "baseCode");
+        Objects.requireNonNull(from, "from");
+        Objects.requireNonNull(to, "to");
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to: " + from + " > " + to);
+        }
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be at least 1");
+        }
+        return Flux.fromStream(() -> from.datesUntil(to.plusDays(1)))
+                .flatMapSequential(date -> getHistoricalRates(baseCode, date), maxConcurrency, 1);
+    }
+
+    /**
+     * Returns the API quota status for the current account.
+     *
+     * @return quota metadata
+     */
+    public Mono<QuotaStatus> getQuotaStatus() {
+        return call(delegate::getQuotaStatusAsync);
+    }
+
+    /**
+     * Returns the currently supported currency codes.
+     *
+     * @return supported currency codes and display names
+     */
+    public Flux<SupportedCurrency> getSupportedCurrencies() {
+        return call(delegate::getSupportedCurrenciesAsync).flatMapIterable(currencies -> currencies);
+    }
+
+    /**
+     * Returns enriched conversion data between two currencies.
+     *
+     * @param baseCode base ISO-4217 code
+     * @param targetCode target ISO-4217 code
+     * @return enriched pair rate metadata
+     */
+    public Mono<EnrichedRate> getEnrichedRate(String baseCode, String targetCode) {
+        return call(() -> delegate.getEnrichedRateAsync(baseCode, targetCode));
+    }
+
+    private static <T> Mono<T> call(Supplier<CompletableFuture<T>> request) {
+        return Mono.fromFuture(request);
+    }
+}
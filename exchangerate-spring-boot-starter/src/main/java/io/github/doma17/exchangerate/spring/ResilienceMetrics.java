@@ -0,0 +1,143 @@
+package io.github.doma17.exchangerate.spring;
+
+import io.github.doma17.exchangerate.ExchangeRateClient;
+import io.github.doma17.exchangerate.resilience.CircuitBreakingExchangeRateClient;
+import io.github.doma17.exchangerate.resilience.CircuitState;
+import io.github.doma17.exchangerate.resilience.QuotaGuardStats;
+import io.github.doma17.exchangerate.resilience.QuotaGuardingExchangeRateClient;
+import io.github.doma17.exchangerate.resilience.QuotaState;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Objects;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * {@link MeterBinder} that exposes the {@code stats()} of the quota guard and circuit breaker
+ * found in a client's decorator chain through {@link ExchangeRateClient#unwrap(Class)}. Meters are
+ * only registered for the decorators that are present.
+ * <ul>
+ *     <li>{@value #QUOTA_CALLS_METRIC}: calls by {@code outcome} ({@code permitted},
+ *     {@code throttled}, {@code rejected}, {@code degraded})</li>
+ *     <li>{@value #QUOTA_STATE_METRIC}: {@code 1} for the current {@code state}, {@code 0} for the others</li>
+ *     <li>{@value #QUOTA_REMAINING_METRIC}: estimated remaining requests</li>
+ *     <li>{@value #QUOTA_PROJECTED_SPEND_METRIC}: projected requests spent by the quota refresh day</li>
+ *     <li>{@value #QUOTA_BUCKET_RATE_METRIC}: current token bucket rate in permits per second</li>
+ *     <li>{@value #CIRCUIT_STATE_METRIC}: {@code 1} for the current {@code state}, {@code 0} for the others</li>
+ *     <li>{@value #CIRCUIT_FAILURE_RATE_METRIC}: failure rate in the sliding window</li>
+ *     <li>{@value #CIRCUIT_NOT_PERMITTED_METRIC}: calls refused by the breaker</li>
+ *     <li>{@value #CIRCUIT_TRANSITIONS_METRIC}: state transitions</li>
+ * </ul>
+ */
+public class ResilienceMetrics implements MeterBinder {
+
+    /**
+     * Name of the quota guard call counter.
+     */
+    public static final String QUOTA_CALLS_METRIC = "exchangerate.client.quota.calls";
+    /**
+     * Name of the quota guard state gauge.
+     */
+    public static final String QUOTA_STATE_METRIC = "exchangerate.client.quota.state";
+    /**
+     * Name of the estimated remaining requests gauge.
+     */
+    public static final String QUOTA_REMAINING_METRIC = "exchangerate.client.quota.remaining";
+    /**
+     * Name of the projected spend gauge.
+     */
+    public static final String QUOTA_PROJECTED_SPEND_METRIC = "exchangerate.client.quota.projected.spend";
+    /**
+     * Name of the token bucket rate gauge.
+     */
+    public static final String QUOTA_BUCKET_RATE_METRIC = "exchangerate.client.quota.bucket.rate";
+    /**
+     * Name of the circuit state gauge.
+     */
+    public static final String CIRCUIT_STATE_METRIC = "exchangerate.client.circuit.state";
+    /**
+     * Name of the circuit failure rate gauge.
+     */
+    public static final String CIRCUIT_FAILURE_RATE_METRIC = "exchangerate.client.circuit.failure.rate";
+    /**
+     * Name of the refused call counter.
+     */
+    public static final String CIRCUIT_NOT_PERMITTED_METRIC = "exchangerate.client.circuit.not.permitted";
+    /**
+     * Name of the state transition counter.
+     */
+    public static final String CIRCUIT_TRANSITIONS_METRIC = "exchangerate.client.circuit.transitions";
+
+    private final ExchangeRateClient client;
+
+    /**
+     * Creates a binder for the decorators of a client.
+     *
+     * @param client outermost client, searched with {@link ExchangeRateClient#unwrap(Class)}
+     */
+    public ResilienceMetrics(ExchangeRateClient client) {
+        this.client = Objects.requireNonNull(client, "client");
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        client.unwrap(QuotaGuardingExchangeRateClient.class).ifPresent(guard -> bindQuota(guard, registry));
+        client.unwrap(CircuitBreakingExchangeRateClient.class).ifPresent(breaker -> bindCircuit(breaker, registry));
+    }
+
+    private static void bindQuota(QuotaGuardingExchangeRateClient guard, MeterRegistry registry) {
+        quotaCalls(guard, registry, "permitted", QuotaGuardStats::permittedCount);
+        quotaCalls(guard, registry, "throttled", QuotaGuardStats::throttledCount);
+        quotaCalls(guard, registry, "rejected", QuotaGuardStats::rejectedCount);
+        quotaCalls(guard, registry, "degraded", QuotaGuardStats::degradedCount);
+        for (QuotaState state : QuotaState.values()) {
+            Gauge.builder(QUOTA_STATE_METRIC, guard, g -> g.stats().state() == state ? 1 : 0)
+                    .description("Current quota guard state")
+                    .tag("state", state.name())
+                    .register(registry);
+        }
+        Gauge.builder(QUOTA_REMAINING_METRIC, guard, g -> g.stats().estimatedRemaining())
+                .description("Estimated ExchangeRate-API requests remaining in the quota period")
+                .baseUnit("requests")
+                .register(registry);
+        Gauge.builder(QUOTA_PROJECTED_SPEND_METRIC, guard, g -> g.stats().projectedSpend())
+                .description("Requests projected to be spent by the quota refresh day")
+                .baseUnit("requests")
+                .register(registry);
+        Gauge.builder(QUOTA_BUCKET_RATE_METRIC, guard, g -> g.stats().permitsPerSecond())
+                .description("Current token bucket rate of the quota guard")
+                .baseUnit("permits.per.second")
+                .register(registry);
+    }
+
+    private static void quotaCalls(
+            QuotaGuardingExchangeRateClient guard,
+            MeterRegistry registry,
+            String outcome,
+            ToDoubleFunction<QuotaGuardStats> count
+    ) {
+        FunctionCounter.builder(QUOTA_CALLS_METRIC, guard, g -> count.applyAsDouble(g.stats()))
+                .description("Calls seen by the quota guard")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private static void bindCircuit(CircuitBreakingExchangeRateClient breaker, MeterRegistry registry) {
+        for (CircuitState state : CircuitState.values()) {
+            Gauge.builder(CIRCUIT_STATE_METRIC, breaker, b -> b.stats().state() == state ? 1 : 0)
+                    .description("Current circuit breaker state")
+                    .tag("state", state.name())
+                    .register(registry);
+        }
+        Gauge.builder(CIRCUIT_FAILURE_RATE_METRIC, breaker, b -> b.stats().failureRate())
+                .description("Share of failed calls in the circuit breaker's sliding window")
+                .register(registry);
+        FunctionCounter.builder(CIRCUIT_NOT_PERMITTED_METRIC, breaker, b -> b.stats().notPermittedCount())
+                .description("Calls refused by the circuit breaker")
+                .register(registry);
+        FunctionCounter.builder(CIRCUIT_TRANSITIONS_METRIC, breaker, b -> b.stats().transitionCount())
+                .description("Circuit breaker state transitions")
+                .register(registry);
+    }
+}
@@ -1,17 +1,31 @@
 package io.github.doma17.exchangerate.spring;
 
+import io.github.doma17.exchangerate.ExchangeRateApiClient;
+import io.github.doma17.exchangerate.ExchangeRateApiOptions;
 import io.github.doma17.exchangerate.ExchangeRateClient;
 import io.github.doma17.exchangerate.ExchangeRateFacade;
+import io.github.doma17.exchangerate.cache.RateRefreshScheduler;
+import io.github.doma17.exchangerate.resilience.CircuitBreakingExchangeRateClient;
+import io.github.doma17.exchangerate.resilience.CircuitStateListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.http.HttpClient;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.FilteredClassLoader;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import reactor.core.publisher.Mono;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 class ExchangeRateAutoConfigurationTest {
 
     private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
-            .withConfiguration(AutoConfigurations.of(ExchangeRateAutoConfiguration.class));
+            .withConfiguration(AutoConfigurations.of(
+                    ExchangeRateAutoConfiguration.class,
+                    ExchangeRateReactiveAutoConfiguration.class
+            ));
 
     @Test
     void registersBeansWhenApiKeyConfigured() {
@@ -20,6 +34,22 @@ class ExchangeRateAutoConfigurationTest {
                 .run(context -> {
                     assertThat(context).hasSingleBean(ExchangeRateClient.class);
                     assertThat(context).hasSingleBean(ExchangeRateFacade.class);
+                    assertThat(context).doesNotHaveBean(RateRefreshScheduler.class);
+                });
+    }
+
+    @Test
+    void registersRefreshSchedulerWhenEnabled() {
+        contextRunner
+                .withPropertyValues(
+                        "exchangerate.api.api-key=test-key",
+                        "exchangerate.api.refresh.enabled=true",
+                        "exchangerate.api.refresh.jitter=5s"
+                )
+                .run(context -> {
+                    assertThat(context).hasSingleBean(RateRefreshScheduler.class);
+                    assertThat(context).hasSingleBean(ExchangeRateClient.class);
+                    assertThat(context).hasSingleBean(ExchangeRateFacade.class);
                 });
     }
 
@@ -30,4 +60,84 @@ class ExchangeRateAutoConfigurationTest {
             assertThat(context).doesNotHaveBean(ExchangeRateFacade.class);
         });
     }
+
+    @Test
+    void instrumentsClientWhenMeterRegistryPresent() {
+        contextRunner
+                .withPropertyValues("exchangerate.api.api-key=test-key")
+                .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+                .run(context -> {
+                    assertThat(context.getBean(ExchangeRateClient.class)).isInstanceOf(MicrometerExchangeRateClient.class);
+                    assertThat(context.getBean(ExchangeRateApiOptions.class).responseListener())
+                            .isInstanceOf(MicrometerResponseListener.class);
+                });
+    }
+
+    @Test
+    void leavesClientBareWithoutMeterRegistryOrMicrometer() {
+        contextRunner
+                .withPropertyValues("exchangerate.api.api-key=test-key")
+                .run(context -> assertThat(context.getBean(ExchangeRateClient.class)).isInstanceOf(ExchangeRateApiClient.class));
+        contextRunner
+                .withPropertyValues("exchangerate.api.api-key=test-key")
+                .withClassLoader(new FilteredClassLoader(MeterRegistry.class))
+                .run(context -> assertThat(context.getBean(ExchangeRateClient.class)).isInstanceOf(ExchangeRateApiClient.class));
+        contextRunner
+                .withPropertyValues("exchangerate.api.api-key=test-key", "exchangerate.api.metrics.enabled=false")
+                .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+                .run(context -> assertThat(context.getBean(ExchangeRateClient.class)).isInstanceOf(ExchangeRateApiClient.class));
+    }
+
+    @Test
+    void wrapsClientInCircuitBreakerWhenEnabled() {
+        contextRunner
+                .withPropertyValues(
+                        "exchangerate.api.api-key=test-key",
+                        "exchangerate.api.circuit-breaker.enabled=true",
+                        "exchangerate.api.circuit-breaker.minimum-calls=5"
+                )
+                .withBean(CircuitStateListener.class, () -> (from, to) -> { })
+                .run(context -> assertThat(context.getBean(ExchangeRateClient.class))
+                        .isInstanceOf(CircuitBreakingExchangeRateClient.class));
+        contextRunner
+                .withPropertyValues("exchangerate.api.api-key=test-key", "exchangerate.api.circuit-breaker.enabled=true")
+                .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+                .run(context -> {
+                    assertThat(context.getBean(ExchangeRateClient.class)).isInstanceOf(MicrometerExchangeRateClient.class);
+
+                    MeterRegistry registry = context.getBean(MeterRegistry.class);
+                    context.getBean(MeterBinder.class).bindTo(registry);
+                    assertThat(registry.get(ResilienceMetrics.CIRCUIT_STATE_METRIC).tag("state", "CLOSED").gauge().value())
+                            .isEqualTo(1);
+                });
+    }
+
+    @Test
+    void registersReactiveClientWhenReactorPresent() {
+        contextRunner
+                .withPropertyValues("exchangerate.api.api-key=test-key")
+                .run(context -> assertThat(context).hasSingleBean(ReactiveExchangeRateClient.class));
+        contextRunner
+                .withPropertyValues("exchangerate.api.api-key=test-key")
+                .withClassLoader(new FilteredClassLoader(Mono.class))
+                .run(context -> assertThat(context).doesNotHaveBean(ReactiveExchangeRateClient.class));
+        contextRunner.run(context -> assertThat(context).doesNotHaveBean(ReactiveExchangeRateClient.class));
+    }
+
+    @Test
+    void bindsHttpSettingsToOptions() {
+        contextRunner
+                .withPropertyValues(
+                        "exchangerate.api.api-key=test-key",
+                        "exchangerate.api.http.version=HTTP_1_1",
+                        "exchangerate.api.http.virtual-threads=true",
+                        "exchangerate.api.http.gzip=true"
+                )
+                .run(context -> {
+                    ExchangeRateApiOptions options = context.getBean(ExchangeRateApiOptions.class);
+                    assertThat(options.httpVersion()).isEqualTo(HttpClient.Version.HTTP_1_1);
+                    assertThat(options.virtualThreads()).isTrue();
+                    assertThat(options.gzip()).isTrue();
+                });
+    }
 }
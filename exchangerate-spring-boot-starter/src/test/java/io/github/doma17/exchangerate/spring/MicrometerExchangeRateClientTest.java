@@ -0,0 +1,114 @@
+package io.github.doma17.exchangerate.spring;
+
+import io.github.doma17.exchangerate.ExchangeRateClient;
+import io.github.doma17.exchangerate.exception.ExchangeRateApiErrorType;
+import io.github.doma17.exchangerate.exception.ExchangeRateApiException;
+import io.github.doma17.exchangerate.model.ExchangeRateSnapshot;
+import io.github.doma17.exchangerate.resilience.CircuitBreakingExchangeRateClient;
+import io.github.doma17.exchangerate.resilience.QuotaGuardingExchangeRateClient;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MicrometerExchangeRateClientTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void recordsTimerPerEndpointWithOutcomeAndErrorType() {
+        MicrometerExchangeRateClient client = new MicrometerExchangeRateClient(stubClient(), registry);
+
+        client.getLatestRates("USD");
+        client.getLatestRatesAsync("USD").join();
+        assertThatThrownBy(() -> client.getPairRate("USD", "ZZZ")).isInstanceOf(ExchangeRateApiException.class);
+
+        Timer latest = registry.get(MicrometerExchangeRateClient.REQUESTS_METRIC)
+                .tags("endpoint", "latest", "outcome", "SUCCESS", "error.type", "none")
+                .timer();
+        Timer pair = registry.get(MicrometerExchangeRateClient.REQUESTS_METRIC)
+                .tags("endpoint", "pair", "outcome", "API_ERROR", "error.type", "unsupported-code")
+                .timer();
+        assertThat(latest.count()).isEqualTo(2);
+        assertThat(pair.count()).isEqualTo(1);
+    }
+
+    @Test
+    void offloadsBlockingDelegateOffTheCommonPool() {
+        AtomicReference<Thread> caller = new AtomicReference<>();
+        ExchangeRateClient stub = stubClient();
+        ExchangeRateClient recording = (ExchangeRateClient) Proxy.newProxyInstance(
+                ExchangeRateClient.class.getClassLoader(),
+                new Class<?>[] {ExchangeRateClient.class},
+                (proxy, method, args) -> {
+                    caller.set(Thread.currentThread());
+                    return method.invoke(stub, args);
+                }
+        );
+        MicrometerExchangeRateClient client = new MicrometerExchangeRateClient(recording, registry);
+
+        client.getLatestRatesAsync("USD").join();
+
+        assertThat(caller.get()).isNotInstanceOf(ForkJoinWorkerThread.class);
+    }
+
+    @Test
+    void responseListenerRecordsPayloadAndParseHistograms() {
+        MicrometerResponseListener listener = new MicrometerResponseListener(registry);
+
+        listener.onResponse("latest", 200, 4096, 1_500_000);
+        listener.onResponse("latest", 200, 2048, 500_000);
+
+        assertThat(registry.get(MicrometerResponseListener.PAYLOAD_SIZE_METRIC).tag("endpoint", "latest").summary().totalAmount())
+                .isEqualTo(6144);
+        assertThat(registry.get(MicrometerResponseListener.PARSE_TIME_METRIC).tag("endpoint", "latest").timer().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void resilienceMetricsExposeQuotaGuardAndCircuitBreakerStats() {
+        QuotaGuardingExchangeRateClient guard = QuotaGuardingExchangeRateClient.builder(stubClient())
+                .permitsPerSecond(2)
+                .build();
+        CircuitBreakingExchangeRateClient breaker = CircuitBreakingExchangeRateClient.builder(guard).build();
+        ExchangeRateClient client = new MicrometerExchangeRateClient(breaker, registry);
+
+        new ResilienceMetrics(client).bindTo(registry);
+
+        assertThat(registry.get(ResilienceMetrics.QUOTA_CALLS_METRIC).tag("outcome", "permitted").functionCounter().count())
+                .isZero();
+        assertThat(registry.get(ResilienceMetrics.QUOTA_STATE_METRIC).tag("state", "NORMAL").gauge().value()).isEqualTo(1);
+        assertThat(registry.get(ResilienceMetrics.QUOTA_BUCKET_RATE_METRIC).gauge().value()).isEqualTo(2);
+        assertThat(registry.get(ResilienceMetrics.CIRCUIT_STATE_METRIC).tag("state", "OPEN").gauge().value()).isZero();
+        assertThat(registry.get(ResilienceMetrics.CIRCUIT_TRANSITIONS_METRIC).functionCounter().count()).isZero();
+    }
+
+    private static ExchangeRateClient stubClient() {
+        return (ExchangeRateClient) Proxy.newProxyInstance(
+                ExchangeRateClient.class.getClassLoader(),
+                new Class<?>[] {ExchangeRateClient.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getLatestRates" -> new ExchangeRateSnapshot(
+                            Instant.EPOCH,
+                            Instant.EPOCH,
+                            (String) args[0],
+                            Map.of("KRW", BigDecimal.TEN)
+                    );
+                    case "getPairRate" -> throw new ExchangeRateApiException(
+                            200,
+                            ExchangeRateApiErrorType.UNSUPPORTED_CODE,
+                            "unsupported-code"
+                    );
+                    default -> throw new UnsupportedOperationException(method.getName());
+                }
+        );
+    }
+}
@@ -0,0 +1,204 @@
+package io.github.doma17.exchangerate.spring;
+
+import io.github.doma17.exchangerate.AsyncExchangeRateClient;
+import io.github.doma17.exchangerate.ExchangeRateApiClient;
+import io.github.doma17.exchangerate.ExchangeRateApiOptions;
+import io.github.doma17.exchangerate.ExchangeRateClient;
+import io.github.doma17.exchangerate.RetryPolicy;
+import io.github.doma17.exchangerate.exception.ExchangeRateApiErrorType;
+import io.github.doma17.exchangerate.exception.ExchangeRateApiException;
+import io.github.doma17.exchangerate.model.ExchangeRateSnapshot;
+import io.github.doma17.exchangerate.model.HistoricalRates;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReactiveExchangeRateClientTest {
+
+    private static final LocalDate FROM = LocalDate.of(2026, 1, 1);
+
+    private final List<LocalDate> requestedDates = new CopyOnWriteArrayList<>();
+    private final List<CompletableFuture<HistoricalRates>> pending = new CopyOnWriteArrayList<>();
+
+    @Test
+    void sendsRequestOnlyOnSubscribeAndUnwrapsErrors() {
+        ReactiveExchangeRateClient client = new ReactiveExchangeRateClient(stubClient());
+
+        Mono<ExchangeRateSnapshot> latest = client.getLatestRates("USD");
+        assertThat(requestedDates).isEmpty();
+
+        StepVerifier.create(latest)
+                .assertNext(snapshot -> assertThat(snapshot.conversionRates()).containsEntry("KRW", BigDecimal.TEN))
+                .verifyComplete();
+        StepVerifier.create(client.getPairRate("USD", "ZZZ"))
+                .expectError(ExchangeRateApiException.class)
+                .verify();
+    }
+
+    @Test
+    void fetchesHistoricalRangeInDateOrderAsDemandAllows() {
+        ReactiveExchangeRateClient client = new ReactiveExchangeRateClient(stubClient());
+
+        StepVerifier.create(client.getHistoricalRange("USD", FROM, FROM.plusDays(9), 2), 0)
+                .then(() -> assertThat(requestedDates).containsExactly(FROM, FROM.plusDays(1)))
+                .then(() -> pending.get(1).complete(historical(FROM.plusDays(1))))
+                .then(() -> pending.get(0).complete(historical(FROM)))
+                .then(() -> assertThat(requestedDates).hasSize(2))
+                .thenRequest(1)
+                .assertNext(rates -> assertThat(rates.date()).isEqualTo(FROM))
+                .then(() -> assertThat(requestedDates).hasSize(3))
+                .thenCancel()
+                .verify();
+
+        assertThat(pending.get(2)).isCancelled();
+        assertThat(requestedDates).hasSize(3);
+    }
+
+    @Test
+    void rejectsInvalidRange() {
+        ReactiveExchangeRateClient client = new ReactiveExchangeRateClient(stubClient());
+
+        assertThatThrownBy(() -> client.getHistoricalRange("USD", FROM, FROM.minusDays(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> client.getHistoricalRange("USD", FROM, FROM, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void offloadsBlockingOnlyClients() {
+        ExchangeRateClient blocking = (ExchangeRateClient) Proxy.newProxyInstance(
+                ExchangeRateClient.class.getClassLoader(),
+                new Class<?>[] {ExchangeRateClient.class},
+                (proxy, method, args) -> snapshot((String) args[0])
+        );
+
+        StepVerifier.create(ReactiveExchangeRateClient.of(blocking).getLatestRates("EUR"))
+                .assertNext(snapshot -> assertThat(snapshot.baseCode()).isEqualTo("EUR"))
+                .verifyComplete();
+    }
+
+    @Test
+    void cancellingSubscriptionAbortsTheHttpRequest() throws Exception {
+        try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            ExchangeRateApiClient apiClient = new ExchangeRateApiClient(ExchangeRateApiOptions.builder("test-key")
+                    .baseUri(URI.create("http://127.0.0.1:" + server.getLocalPort() + "/v6"))
+                    .httpVersion(HttpClient.Version.HTTP_1_1)
+                    .retryPolicy(RetryPolicy.builder().maxAttempts(3).hedgeDelay(Duration.ofSeconds(10)).build())
+                    .build());
+
+            assertCancellationAbortsRequest(server, ReactiveExchangeRateClient.of(apiClient));
+        }
+    }
+
+    @Test
+    void cancellingSubscriptionAbortsTheRequestThroughAutoConfiguredDecorators() throws Exception {
+        try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            new ApplicationContextRunner()
+                    .withConfiguration(AutoConfigurations.of(
+                            ExchangeRateAutoConfiguration.class,
+                            ExchangeRateReactiveAutoConfiguration.class
+                    ))
+                    .withPropertyValues(
+                            "exchangerate.api.api-key=test-key",
+                            "exchangerate.api.base-url=http://127.0.0.1:" + server.getLocalPort() + "/v6",
+                            "exchangerate.api.http.version=HTTP_1_1",
+                            "exchangerate.api.circuit-breaker.enabled=true"
+                    )
+                    .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+                    .run(context -> {
+                        assertThat(context.getBean(ExchangeRateClient.class)).isInstanceOf(MicrometerExchangeRateClient.class);
+                        assertCancellationAbortsRequest(server, context.getBean(ReactiveExchangeRateClient.class));
+                    });
+        }
+    }
+
+    private static void assertCancellationAbortsRequest(ServerSocket server, ReactiveExchangeRateClient client)
+            throws InterruptedException {
+        CountDownLatch received = new CountDownLatch(1);
+        CountDownLatch aborted = new CountDownLatch(1);
+        Thread acceptor = new Thread(() -> {
+            try (Socket socket = server.accept()) {
+                InputStream in = socket.getInputStream();
+                String headersEnd = "\r\n\r\n";
+                int matched = 0;
+                while (matched < headersEnd.length()) {
+                    int next = in.read();
+                    if (next < 0) {
+                        return;
+                    }
+                    matched = next == headersEnd.charAt(matched) ? matched + 1 : next == '\r' ? 1 : 0;
+                }
+                received.countDown();
+                if (in.read() < 0) {
+                    aborted.countDown();
+                }
+            } catch (IOException e) {
+                aborted.countDown();
+            }
+        });
+        acceptor.setDaemon(true);
+        acceptor.start();
+
+        Disposable subscription = client.getLatestRates("USD").subscribe();
+        assertThat(received.await(5, TimeUnit.SECONDS)).isTrue();
+        subscription.dispose();
+
+        assertThat(aborted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private AsyncExchangeRateClient stubClient() {
+        return (AsyncExchangeRateClient) Proxy.newProxyInstance(
+                AsyncExchangeRateClient.class.getClassLoader(),
+                new Class<?>[] {AsyncExchangeRateClient.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getLatestRatesAsync" -> CompletableFuture.completedFuture(snapshot((String) args[0]));
+                    case "getPairRateAsync" -> CompletableFuture.failedFuture(new ExchangeRateApiException(
+                            200,
+                            ExchangeRateApiErrorType.UNSUPPORTED_CODE,
+                            "unsupported-code"
+                    ));
+                    case "getHistoricalRatesAsync" -> {
+                        CompletableFuture<HistoricalRates> future = new CompletableFuture<>();
+                        requestedDates.add((LocalDate) args[1]);
+                        pending.add(future);
+                        yield future;
+                    }
+                    default -> throw new UnsupportedOperationException(method.getName());
+                }
+        );
+    }
+
+    private static ExchangeRateSnapshot snapshot(String baseCode) {
+        return new ExchangeRateSnapshot(Instant.EPOCH, Instant.EPOCH, baseCode, Map.of("KRW", BigDecimal.TEN));
+    }
+
+    private static HistoricalRates historical(LocalDate date) {
+        return new HistoricalRates(date, "USD", Map.of("KRW", BigDecimal.TEN), null, Map.of());
+    }
+}
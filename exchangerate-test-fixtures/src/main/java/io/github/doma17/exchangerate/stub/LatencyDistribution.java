@@ -0,0 +1,95 @@
+package io.github.doma17.exchangerate.stub;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.random.RandomGenerator;
+
+/**
+ * Distribution of the delay {@link StubExchangeRateServer} adds before each response.
+ */
+@FunctionalInterface
+public interface LatencyDistribution {
+
+    /**
+     * Draws one delay.
+     *
+     * @param random random source
+     * @return delay in nanoseconds; zero or negative means no delay
+     */
+    long sampleNanos(RandomGenerator random);
+
+    /**
+     * Returns a distribution without delay.
+     *
+     * @return zero-delay distribution
+     */
+    static LatencyDistribution none() {
+        return random -> 0;
+    }
+
+    /**
+     * Returns a constant delay.
+     *
+     * @param delay delay
+     * @return fixed distribution
+     */
+    static LatencyDistribution fixed(Duration delay) {
+        long nanos = requireNonNegative(delay, "delay");
+        return random -> nanos;
+    }
+
+    /**
+     * Returns delays spread evenly between two bounds.
+     *
+     * @param min shortest delay, inclusive
+     * @param max longest delay, exclusive
+     * @return uniform distribution
+     */
+    static LatencyDistribution uniform(Duration min, Duration max) {
+        long minNanos = requireNonNegative(min, "min");
+        long maxNanos = requireNonNegative(max, "max");
+        if (minNanos > maxNanos) {
+            throw new IllegalArgumentException("min must not be greater than max");
+        }
+        if (minNanos == maxNanos) {
+            return random -> minNanos;
+        }
+        return random -> random.nextLong(minNanos, maxNanos);
+    }
+
+    /**
+     * Returns exponentially distributed delays, as between independent arrivals.
+     *
+     * @param mean mean delay
+     * @return exponential distribution
+     */
+    static LatencyDistribution exponential(Duration mean) {
+        double meanNanos = requireNonNegative(mean, "mean");
+        return random -> (long) (meanNanos * random.nextExponential());
+    }
+
+    /**
+     * Returns log-normally distributed delays: most responses close to the median and a long tail
+     * of slow ones, the usual shape of remote API latency.
+     *
+     * @param median median delay
+     * @param sigma standard deviation of the delay's logarithm; around {@code 0.5} gives a p99 of
+     *              about three times the median
+     * @return log-normal distribution
+     */
+    static LatencyDistribution logNormal(Duration median, double sigma) {
+        double medianNanos = requireNonNegative(median, "median");
+        if (!(sigma >= 0) || Double.isInfinite(sigma)) {
+            throw new IllegalArgumentException("sigma must be a non-negative finite number");
+        }
+        return random -> (long) (medianNanos * Math.exp(sigma * random.nextGaussian()));
+    }
+
+    private static long requireNonNegative(Duration duration, String name) {
+        Objects.requireNonNull(duration, name);
+        if (duration.isNegative()) {
+            throw new IllegalArgumentException(name + " must not be negative");
+        }
+        return duration.toNanos();
+    }
+}
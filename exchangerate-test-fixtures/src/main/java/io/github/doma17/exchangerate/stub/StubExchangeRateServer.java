@@ -0,0 +1,830 @@
+package io.github.doma17.exchangerate.stub;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.doma17.exchangerate.ExchangeRateApiOptions;
+import io.github.doma17.exchangerate.exception.ExchangeRateApiErrorType;
+import io.github.doma17.exchangerate.model.CurrencyCode;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Clock;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Local stand-in for {@code v6.exchangerate-api.com} for load, latency and resilience testing.
+ * <p>
+ * Serves every endpoint the client calls ({@code latest}, {@code pair}, {@code history},
+ * {@code quota}, {@code codes}, {@code enriched}) under {@code /v6/{apiKey}/} with the API's
+ * response shapes, status codes and error types. Rates come from {@link StubRates}, so the same
+ * seed always yields the same responses. On top of that the server can inject:
+ * <ul>
+ *     <li>response delays drawn from a {@link LatencyDistribution}, globally or per endpoint;</li>
+ *     <li>typed API errors with a given probability per request;</li>
+ *     <li>untyped {@code 503} responses, which the client treats as transient and retries;</li>
+ *     <li>a plan quota, after which every request but {@code quota} gets {@code quota-reached}.</li>
+ * </ul>
+ * Delays are served from a timer rather than by parking a request thread, so thousands of delayed
+ * requests can be outstanding at once. Responses are gzip-compressed when the request accepts it.
+ * <p>
+ * Run it in-process through {@link #builder()}, or standalone with {@link #main(String[])}.
+ */
+public final class StubExchangeRateServer implements AutoCloseable {
+
+    /**
+     * API key accepted unless {@link Builder#apiKey(String)} sets another.
+     */
+    public static final String DEFAULT_API_KEY = "stub-key";
+
+    /**
+     * Endpoint names, as used by {@link Builder#latency(String, LatencyDistribution)} and
+     * {@link #requestCount(String)}.
+     */
+    public static final List<String> ENDPOINTS = List.of("latest", "pair", "history", "quota", "codes", "enriched");
+
+    private static final String PATH_PREFIX = "/v6/";
+    private static final LocalDate FIRST_HISTORICAL_DATE = LocalDate.of(1990, 1, 1);
+    private static final int AMOUNT_SCALE = 4;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final ScheduledExecutorService delayer;
+    private final ObjectMapper objectMapper;
+    private final String apiKey;
+    private final StubRates rates;
+    private final Clock clock;
+    private final LatencyDistribution latency;
+    private final Map<String, LatencyDistribution> endpointLatencies;
+    private final List<Fault> faults;
+    private final int planQuota;
+    private final boolean quotaEnforced;
+    private final AtomicLong requestsRemaining;
+    private final Map<String, Map<String, Object>> targetData;
+    private final LongAdder requestCount = new LongAdder();
+    private final Map<String, LongAdder> endpointRequestCounts = new ConcurrentHashMap<>();
+
+    private StubExchangeRateServer(Builder builder) throws IOException {
+        this.apiKey = builder.apiKey;
+        this.rates = builder.rates;
+        this.clock = builder.clock;
+        this.latency = builder.latency;
+        this.endpointLatencies = Map.copyOf(builder.endpointLatencies);
+        this.faults = List.copyOf(builder.faults);
+        this.planQuota = builder.planQuota;
+        this.quotaEnforced = builder.quotaEnforced;
+        this.requestsRemaining = new AtomicLong(planQuota);
+        this.targetData = targetData(rates.currencies());
+        this.objectMapper = new ObjectMapper().enable(JsonGenerator.Feature.WRITE_BIGDECIMAL_AS_PLAIN);
+
+        this.executor = Executors.newFixedThreadPool(builder.threads);
+        this.delayer = Executors.newSingleThreadScheduledExecutor();
+        this.server = HttpServer.create(new InetSocketAddress(builder.host, builder.port), builder.backlog);
+        this.server.createContext("/", this::handle);
+        this.server.setExecutor(executor);
+        this.server.start();
+    }
+
+    /**
+     * Creates a builder for a server on a free loopback port with default rates, no delays, no
+     * injected errors and no quota.
+     *
+     * @return server builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the base URI to pass to {@link ExchangeRateApiOptions.Builder#baseUri(URI)}.
+     *
+     * @return base URI ending in {@code /v6}
+     */
+    public URI baseUri() {
+        InetSocketAddress address = server.getAddress();
+        return URI.create("http://" + address.getHostString() + ":" + address.getPort() + "/v6");
+    }
+
+    /**
+     * Returns the port the server listens on.
+     *
+     * @return bound port
+     */
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Returns client options pointing at this server with its API key.
+     *
+     * @return options builder, for further settings
+     */
+    public ExchangeRateApiOptions.Builder options() {
+        return ExchangeRateApiOptions.builder(apiKey).baseUri(baseUri());
+    }
+
+    /**
+     * Returns the accepted API key.
+     *
+     * @return API key
+     */
+    public String apiKey() {
+        return apiKey;
+    }
+
+    /**
+     * Returns the rates the server responds with, for computing expected values.
+     *
+     * @return rate tables
+     */
+    public StubRates rates() {
+        return rates;
+    }
+
+    /**
+     * Returns the date {@code latest}, {@code pair} and {@code enriched} responses are for.
+     *
+     * @return current date in UTC by the server's clock
+     */
+    public LocalDate today() {
+        return LocalDate.ofInstant(clock.instant(), ZoneOffset.UTC);
+    }
+
+    /**
+     * Returns the number of requests received.
+     *
+     * @return request count
+     */
+    public long requestCount() {
+        return requestCount.sum();
+    }
+
+    /**
+     * Returns the number of requests received for one endpoint.
+     *
+     * @param endpoint endpoint name from {@link #ENDPOINTS}
+     * @return request count
+     */
+    public long requestCount(String endpoint) {
+        LongAdder count = endpointRequestCounts.get(endpoint);
+        return count == null ? 0 : count.sum();
+    }
+
+    /**
+     * Returns the requests left before {@code quota-reached} is returned.
+     *
+     * @return remaining requests, or {@link Integer#MAX_VALUE} when no quota is enforced
+     */
+    public long requestsRemaining() {
+        return Math.max(0, requestsRemaining.get());
+    }
+
+    /**
+     * Restores the full plan quota, as at the start of a billing period.
+     */
+    public void resetQuota() {
+        requestsRemaining.set(planQuota);
+    }
+
+    /**
+     * Stops the server, dropping responses that are still delayed.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        delayer.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    /**
+     * Runs a server until the process is stopped.
+     * <p>
+     * Options, all optional: {@code --host=127.0.0.1}, {@code --port=8080}, {@code --api-key=stub-key},
+     * {@code --seed=0}, {@code --latency-ms=20} for a fixed delay or {@code --latency-ms=10-50} for a
+     * uniform one, {@code --error=<error-type>:<probability>} (repeatable, for example
+     * {@code --error=unknown-code:0.01}), {@code --server-error-rate=0.05}, {@code --quota=1500} and
+     * {@code --threads=16}.
+     *
+     * @param args command-line options
+     * @throws InterruptedException when interrupted while serving
+     */
+    public static void main(String[] args) throws InterruptedException {
+        Builder builder = builder().port(8080);
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            String value = arg.substring(separator + 1);
+            switch (arg.substring(2, separator)) {
+                case "host" -> builder.host(value);
+                case "port" -> builder.port(Integer.parseInt(value));
+                case "api-key" -> builder.apiKey(value);
+                case "seed" -> builder.rates(StubRates.of(Long.parseLong(value)));
+                case "latency-ms" -> builder.latency(parseLatency(value));
+                case "error" -> {
+                    int colon = value.lastIndexOf(':');
+                    if (colon < 0) {
+                        throw new IllegalArgumentException("Expected --error=<error-type>:<probability> but got " + arg);
+                    }
+                    builder.error(errorType(value.substring(0, colon)), Double.parseDouble(value.substring(colon + 1)));
+                }
+                case "server-error-rate" -> builder.serverErrorRate(Double.parseDouble(value));
+                case "quota" -> builder.quota(Integer.parseInt(value));
+                case "threads" -> builder.threads(Integer.parseInt(value));
+                default -> throw new IllegalArgumentException("Unknown option " + arg);
+            }
+        }
+
+        StubExchangeRateServer server = builder.start();
+        CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            stopped.countDown();
+        }));
+        System.out.println("Stub ExchangeRate-API listening on " + server.baseUri() + " with API key " + server.apiKey());
+        stopped.await();
+    }
+
+    private static LatencyDistribution parseLatency(String value) {
+        int dash = value.indexOf('-');
+        if (dash < 0) {
+            return LatencyDistribution.fixed(Duration.ofMillis(Long.parseLong(value)));
+        }
+        return LatencyDistribution.uniform(
+                Duration.ofMillis(Long.parseLong(value.substring(0, dash))),
+                Duration.ofMillis(Long.parseLong(value.substring(dash + 1)))
+        );
+    }
+
+    private static ExchangeRateApiErrorType errorType(String wireValue) {
+        return Arrays.stream(ExchangeRateApiErrorType.values())
+                .filter(type -> type.wireValue().equalsIgnoreCase(wireValue))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown error type " + wireValue));
+    }
+
+    private void handle(HttpExchange exchange) {
+        String path = exchange.getRequestURI().getPath();
+        String[] segments = path.startsWith(PATH_PREFIX)
+                ? path.substring(PATH_PREFIX.length()).split("/")
+                : new String[0];
+        String endpoint = segments.length > 1 ? segments[1] : "";
+
+        requestCount.increment();
+        endpointRequestCounts.computeIfAbsent(endpoint, key -> new LongAdder()).increment();
+
+        Response response;
+        try {
+            response = respond(segments, endpoint);
+        } catch (RuntimeException e) {
+            response = error(ExchangeRateApiErrorType.UNKNOWN_ERROR);
+        }
+
+        long delayNanos = endpointLatencies.getOrDefault(endpoint, latency).sampleNanos(ThreadLocalRandom.current());
+        Response delayed = response;
+        if (delayNanos <= 0) {
+            send(exchange, delayed);
+        } else {
+            delayer.schedule(() -> executor.execute(() -> send(exchange, delayed)), delayNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Response respond(String[] segments, String endpoint) {
+        if (segments.length < 2) {
+            return error(ExchangeRateApiErrorType.MALFORMED_REQUEST);
+        }
+        if (!segments[0].equals(apiKey)) {
+            return error(ExchangeRateApiErrorType.INVALID_KEY);
+        }
+        if (quotaEnforced && !endpoint.equals("quota") && ENDPOINTS.contains(endpoint)
+                && requestsRemaining.getAndUpdate(remaining -> remaining > 0 ? remaining - 1 : 0) <= 0) {
+            return error(ExchangeRateApiErrorType.QUOTA_REACHED);
+        }
+        Response fault = injectedFault();
+        if (fault != null) {
+            return fault;
+        }
+
+        String[] arguments = Arrays.copyOfRange(segments, 2, segments.length);
+        try {
+            return switch (endpoint) {
+                case "latest" -> latest(arguments);
+                case "pair" -> pair(arguments);
+                case "history" -> history(arguments);
+                case "quota" -> arguments.length == 0 ? quota() : error(ExchangeRateApiErrorType.MALFORMED_REQUEST);
+                case "codes" -> arguments.length == 0 ? codes() : error(ExchangeRateApiErrorType.MALFORMED_REQUEST);
+                case "enriched" -> enriched(arguments);
+                default -> error(ExchangeRateApiErrorType.MALFORMED_REQUEST);
+            };
+        } catch (InvalidRequest e) {
+            return error(e.errorType);
+        }
+    }
+
+    private Response injectedFault() {
+        if (faults.isEmpty()) {
+            return null;
+        }
+        double draw = ThreadLocalRandom.current().nextDouble();
+        for (Fault fault : faults) {
+            draw -= fault.probability();
+            if (draw < 0) {
+                return fault.errorType() == null
+                        ? new Response(503, Map.of("result", "error"))
+                        : error(fault.errorType());
+            }
+        }
+        return null;
+    }
+
+    private Response latest(String[] arguments) {
+        requireArguments(arguments, 1);
+        String baseCode = currency(arguments[0]);
+        LocalDate today = today();
+        Map<String, Object> body = success();
+        putUpdateTimes(body, today);
+        body.put("base_code", baseCode);
+        body.put("conversion_rates", rates.rates(baseCode, today));
+        return new Response(200, body);
+    }
+
+    private Response pair(String[] arguments) {
+        if (arguments.length != 2 && arguments.length != 3) {
+            throw new InvalidRequest(ExchangeRateApiErrorType.MALFORMED_REQUEST);
+        }
+        String baseCode = currency(arguments[0]);
+        String targetCode = currency(arguments[1]);
+        LocalDate today = today();
+        BigDecimal rate = rates.rate(baseCode, targetCode, today);
+        Map<String, Object> body = success();
+        putUpdateTimes(body, today);
+        body.put("base_code", baseCode);
+        body.put("target_code", targetCode);
+        body.put("conversion_rate", rate);
+        if (arguments.length == 3) {
+            body.put("conversion_result", convert(amount(arguments[2]), rate));
+        }
+        return new Response(200, body);
+    }
+
+    private Response history(String[] arguments) {
+        if (arguments.length != 4 && arguments.length != 5) {
+            throw new InvalidRequest(ExchangeRateApiErrorType.MALFORMED_REQUEST);
+        }
+        String baseCode = currency(arguments[0]);
+        LocalDate date = date(arguments[1], arguments[2], arguments[3]);
+        if (date.isBefore(FIRST_HISTORICAL_DATE) || date.isAfter(today())) {
+            throw new InvalidRequest(ExchangeRateApiErrorType.NO_DATA_AVAILABLE);
+        }
+        Map<String, BigDecimal> dayRates = rates.rates(baseCode, date);
+        Map<String, Object> body = success();
+        body.put("year", date.getYear());
+        body.put("month", date.getMonthValue());
+        body.put("day", date.getDayOfMonth());
+        body.put("base_code", baseCode);
+        if (arguments.length == 5) {
+            BigDecimal amount = amount(arguments[4]);
+            Map<String, BigDecimal> amounts = new LinkedHashMap<>(dayRates.size() * 2);
+            dayRates.forEach((code, rate) -> amounts.put(code, convert(amount, rate)));
+            body.put("requested_amount", amount);
+            body.put("conversion_amounts", amounts);
+        } else {
+            body.put("conversion_rates", dayRates);
+        }
+        return new Response(200, body);
+    }
+
+    private Response quota() {
+        Map<String, Object> body = success();
+        body.put("plan_quota", planQuota);
+        body.put("requests_remaining", requestsRemaining());
+        body.put("refresh_day_of_month", 1);
+        return new Response(200, body);
+    }
+
+    private Response codes() {
+        List<List<String>> supported = rates.currencies().stream()
+                .sorted()
+                .map(code -> List.of(code, (String) targetData.get(code).get("currency_name")))
+                .toList();
+        Map<String, Object> body = success();
+        body.put("supported_codes", supported);
+        return new Response(200, body);
+    }
+
+    private Response enriched(String[] arguments) {
+        requireArguments(arguments, 2);
+        String baseCode = currency(arguments[0]);
+        String targetCode = currency(arguments[1]);
+        LocalDate today = today();
+        Map<String, Object> body = success();
+        putUpdateTimes(body, today);
+        body.put("base_code", baseCode);
+        body.put("target_code", targetCode);
+        body.put("conversion_rate", rates.rate(baseCode, targetCode, today));
+        body.put("target_data", targetData.get(targetCode));
+        return new Response(200, body);
+    }
+
+    private static Map<String, Object> success() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("result", "success");
+        return body;
+    }
+
+    private static void putUpdateTimes(Map<String, Object> body, LocalDate date) {
+        Instant lastUpdate = date.atStartOfDay(ZoneOffset.UTC).toInstant().plusSeconds(1);
+        body.put("time_last_update_unix", lastUpdate.getEpochSecond());
+        body.put("time_next_update_unix", lastUpdate.plus(Duration.ofDays(1)).getEpochSecond());
+    }
+
+    private static void requireArguments(String[] arguments, int count) {
+        if (arguments.length != count) {
+            throw new InvalidRequest(ExchangeRateApiErrorType.MALFORMED_REQUEST);
+        }
+    }
+
+    private String currency(String segment) {
+        int index = CurrencyCode.indexOf(segment);
+        if (index < 0) {
+            throw new InvalidRequest(ExchangeRateApiErrorType.MALFORMED_REQUEST);
+        }
+        String code = CurrencyCode.fromIndex(index).code();
+        if (!rates.supports(code)) {
+            throw new InvalidRequest(ExchangeRateApiErrorType.UNSUPPORTED_CODE);
+        }
+        return code;
+    }
+
+    private static BigDecimal amount(String segment) {
+        try {
+            return new BigDecimal(segment);
+        } catch (NumberFormatException e) {
+            throw new InvalidRequest(ExchangeRateApiErrorType.MALFORMED_REQUEST);
+        }
+    }
+
+    private static LocalDate date(String year, String month, String day) {
+        try {
+            return LocalDate.of(Integer.parseInt(year), Integer.parseInt(month), Integer.parseInt(day));
+        } catch (NumberFormatException | DateTimeException e) {
+            throw new InvalidRequest(ExchangeRateApiErrorType.MALFORMED_REQUEST);
+        }
+    }
+
+    private static BigDecimal convert(BigDecimal amount, BigDecimal rate) {
+        return amount.multiply(rate).setScale(AMOUNT_SCALE, RoundingMode.HALF_EVEN);
+    }
+
+    private static Response error(ExchangeRateApiErrorType errorType) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("result", "error");
+        body.put("error-type", errorType.wireValue());
+        return new Response(statusCode(errorType), body);
+    }
+
+    /**
+     * HTTP status the API sends with each error type.
+     */
+    static int statusCode(ExchangeRateApiErrorType errorType) {
+        return switch (errorType) {
+            case MALFORMED_REQUEST -> 400;
+            case INVALID_KEY, INACTIVE_ACCOUNT, PLAN_UPGRADE_REQUIRED -> 403;
+            case UNSUPPORTED_CODE, UNKNOWN_CODE, NO_DATA_AVAILABLE -> 404;
+            case QUOTA_REACHED -> 429;
+            case UNKNOWN_ERROR -> 500;
+        };
+    }
+
+    private void send(HttpExchange exchange, Response response) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(response.body());
+            String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            if (acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip")) {
+                body = gzip(body);
+                exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(response.statusCode(), body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (IOException e) {
+            // The client went away; nothing left to do with this exchange.
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(body.length / 2);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(body);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Builds the {@code enriched} target data from the JDK's locale data: the alphabetically first
+     * country using the currency, its English names and the symbol's code points.
+     */
+    private static Map<String, Map<String, Object>> targetData(List<String> currencies) {
+        Map<String, Locale> countries = new HashMap<>();
+        Arrays.stream(Locale.getAvailableLocales())
+                .filter(locale -> locale.getCountry().length() == 2 && locale.getVariant().isEmpty())
+                .sorted(Comparator.comparing(Locale::getCountry).thenComparing(Locale::toLanguageTag))
+                .forEach(locale -> {
+                    try {
+                        Currency currency = Currency.getInstance(locale);
+                        if (currency != null) {
+                            countries.putIfAbsent(currency.getCurrencyCode(), locale);
+                        }
+                    } catch (IllegalArgumentException e) {
+                        // Locale without a currency.
+                    }
+                });
+
+        Map<String, Map<String, Object>> data = new HashMap<>(currencies.size() * 2);
+        for (String code : currencies) {
+            Locale country = countries.get(code);
+            String name = code;
+            String symbol = code;
+            try {
+                Currency currency = Currency.getInstance(code);
+                name = currency.getDisplayName(Locale.ENGLISH);
+                symbol = country != null ? currency.getSymbol(country) : currency.getSymbol(Locale.ENGLISH);
+            } catch (IllegalArgumentException e) {
+                // Not an ISO-4217 currency the JDK knows; keep the code.
+            }
+            String[] words = name.split(" ");
+            Map<String, Object> target = new LinkedHashMap<>();
+            target.put("locale", country != null ? country.getDisplayCountry(Locale.ENGLISH) : "");
+            target.put("two_letter_code", country != null ? country.getCountry() : "");
+            target.put("currency_name", name);
+            target.put("currency_name_short", words[words.length - 1]);
+            target.put("display_symbol", symbol.codePoints()
+                    .mapToObj(codePoint -> String.format(Locale.ROOT, "%04X", codePoint))
+                    .collect(Collectors.joining(",")));
+            target.put("flag_url", "");
+            data.put(code, target);
+        }
+        return data;
+    }
+
+    private record Response(int statusCode, Map<String, Object> body) {
+    }
+
+    /**
+     * Injected failure; a {@code null} error type stands for an untyped {@code 503}.
+     */
+    private record Fault(ExchangeRateApiErrorType errorType, double probability) {
+    }
+
+    private static final class InvalidRequest extends RuntimeException {
+
+        private final ExchangeRateApiErrorType errorType;
+
+        private InvalidRequest(ExchangeRateApiErrorType errorType) {
+            super(errorType.wireValue(), null, false, false);
+            this.errorType = errorType;
+        }
+    }
+
+    /**
+     * Builder for {@link StubExchangeRateServer}.
+     */
+    public static final class Builder {
+
+        private String host = "127.0.0.1";
+        private int port;
+        private int backlog = 1024;
+        private int threads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+        private String apiKey = DEFAULT_API_KEY;
+        private StubRates rates = StubRates.of(0);
+        private Clock clock = Clock.systemUTC();
+        private LatencyDistribution latency = LatencyDistribution.none();
+        private final Map<String, LatencyDistribution> endpointLatencies = new HashMap<>();
+        private final List<Fault> faults = new ArrayList<>();
+        private int planQuota = Integer.MAX_VALUE;
+        private boolean quotaEnforced;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the address to bind; defaults to {@code 127.0.0.1}.
+         *
+         * @param host host name or address
+         * @return this builder
+         */
+        public Builder host(String host) {
+            this.host = Objects.requireNonNull(host, "host");
+            return this;
+        }
+
+        /**
+         * Sets the port; defaults to {@code 0}, a free port.
+         *
+         * @param port port in {@code [0, 65535]}
+         * @return this builder
+         */
+        public Builder port(int port) {
+            if (port < 0 || port > 65535) {
+                throw new IllegalArgumentException("port must be in [0, 65535]");
+            }
+            this.port = port;
+            return this;
+        }
+
+        /**
+         * Sets the number of threads building and writing responses; defaults to twice the
+         * processor count, at least four. Delays do not occupy these threads.
+         *
+         * @param threads thread count, at least {@code 1}
+         * @return this builder
+         */
+        public Builder threads(int threads) {
+            if (threads < 1) {
+                throw new IllegalArgumentException("threads must be at least 1");
+            }
+            this.threads = threads;
+            return this;
+        }
+
+        /**
+         * Sets the queue length for incoming connections; defaults to {@code 1024}.
+         *
+         * @param backlog connection backlog, at least {@code 1}
+         * @return this builder
+         */
+        public Builder backlog(int backlog) {
+            if (backlog < 1) {
+                throw new IllegalArgumentException("backlog must be at least 1");
+            }
+            this.backlog = backlog;
+            return this;
+        }
+
+        /**
+         * Sets the only API key accepted; other keys get {@code invalid-key}.
+         *
+         * @param apiKey API key
+         * @return this builder
+         */
+        public Builder apiKey(String apiKey) {
+            Objects.requireNonNull(apiKey, "apiKey");
+            if (apiKey.isBlank()) {
+                throw new IllegalArgumentException("apiKey must not be blank");
+            }
+            this.apiKey = apiKey;
+            return this;
+        }
+
+        /**
+         * Sets the rates served; defaults to {@code StubRates.of(0)}.
+         *
+         * @param rates rate tables
+         * @return this builder
+         */
+        public Builder rates(StubRates rates) {
+            this.rates = Objects.requireNonNull(rates, "rates");
+            return this;
+        }
+
+        /**
+         * Sets the clock deciding today's date for latest and historical responses.
+         *
+         * @param clock clock
+         * @return this builder
+         */
+        public Builder clock(Clock clock) {
+            this.clock = Objects.requireNonNull(clock, "clock");
+            return this;
+        }
+
+        /**
+         * Sets the delay added to every response, errors included.
+         *
+         * @param latency delay distribution
+         * @return this builder
+         */
+        public Builder latency(LatencyDistribution latency) {
+            this.latency = Objects.requireNonNull(latency, "latency");
+            return this;
+        }
+
+        /**
+         * Sets the delay added to responses of one endpoint, overriding {@link #latency(LatencyDistribution)}.
+         *
+         * @param endpoint endpoint name from {@link #ENDPOINTS}
+         * @param latency delay distribution
+         * @return this builder
+         */
+        public Builder latency(String endpoint, LatencyDistribution latency) {
+            if (!ENDPOINTS.contains(endpoint)) {
+                throw new IllegalArgumentException("Unknown endpoint " + endpoint + "; expected one of " + ENDPOINTS);
+            }
+            endpointLatencies.put(endpoint, Objects.requireNonNull(latency, "latency"));
+            return this;
+        }
+
+        /**
+         * Makes requests fail with an API error type at the given probability, after the API key
+         * and quota checks. Probabilities of all injected errors add up.
+         *
+         * @param errorType error type to respond with, at its usual HTTP status
+         * @param probability probability per request, in {@code [0, 1]}
+         * @return this builder
+         */
+        public Builder error(ExchangeRateApiErrorType errorType, double probability) {
+            faults.add(new Fault(Objects.requireNonNull(errorType, "errorType"), requireProbability(probability)));
+            return this;
+        }
+
+        /**
+         * Makes requests fail with an untyped {@code 503} at the given probability, as during an
+         * outage; the client's default retry policy retries these.
+         *
+         * @param probability probability per request, in {@code [0, 1]}
+         * @return this builder
+         */
+        public Builder serverErrorRate(double probability) {
+            faults.add(new Fault(null, requireProbability(probability)));
+            return this;
+        }
+
+        /**
+         * Enforces a plan quota: once this many requests were made, every request except
+         * {@code quota} gets {@code quota-reached} until {@link StubExchangeRateServer#resetQuota()}.
+         * Without a quota, the {@code quota} endpoint reports {@link Integer#MAX_VALUE}.
+         *
+         * @param planQuota requests allowed, at least {@code 0}
+         * @return this builder
+         */
+        public Builder quota(int planQuota) {
+            if (planQuota < 0) {
+                throw new IllegalArgumentException("planQuota must not be negative");
+            }
+            this.planQuota = planQuota;
+            this.quotaEnforced = true;
+            return this;
+        }
+
+        /**
+         * Binds and starts the server.
+         *
+         * @return running server
+         * @throws UncheckedIOException when the address cannot be bound
+         */
+        public StubExchangeRateServer start() {
+            double totalProbability = faults.stream().mapToDouble(Fault::probability).sum();
+            if (totalProbability > 1) {
+                throw new IllegalArgumentException("Injected error probabilities add up to more than 1: " + totalProbability);
+            }
+            try {
+                return new StubExchangeRateServer(this);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to start stub server on " + host + ":" + port, e);
+            }
+        }
+
+        private static double requireProbability(double probability) {
+            if (!(probability >= 0 && probability <= 1)) {
+                throw new IllegalArgumentException("probability must be in [0, 1]");
+            }
+            return probability;
+        }
+    }
+}
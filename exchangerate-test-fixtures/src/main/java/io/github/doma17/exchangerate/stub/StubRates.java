@@ -0,0 +1,206 @@
+package io.github.doma17.exchangerate.stub;
+
+import io.github.doma17.exchangerate.model.CurrencyCode;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Deterministic rate tables served by {@link StubExchangeRateServer}.
+ * <p>
+ * Every currency's USD value is a function of the seed, the currency and the date only: a
+ * fixed anchor, a slow yearly swing of a few percent, and a small day-to-day wobble. The same seed
+ * therefore yields the same rates on every run and for every base, and cross rates are consistent
+ * across bases up to rounding. Anchors of the default currencies approximate real market levels
+ * so payload sizes and magnitudes look realistic; they are not market data.
+ * <p>
+ * Instances are immutable and thread-safe.
+ */
+public final class StubRates {
+
+    /**
+     * Currencies quoted by {@link #of(long)}.
+     */
+    public static final List<String> DEFAULT_CURRENCIES = List.of(
+            "USD", "EUR", "JPY", "GBP", "CNY", "AUD", "CAD", "CHF", "HKD", "SGD",
+            "SEK", "KRW", "NOK", "NZD", "INR", "MXN", "TWD", "ZAR", "BRL", "DKK",
+            "PLN", "THB", "ILS", "IDR", "CZK", "AED", "TRY", "HUF", "CLP", "SAR",
+            "PHP", "MYR", "COP", "RUB", "RON", "PEN", "BHD", "BGN", "ARS", "KWD"
+    );
+
+    private static final Map<String, Double> ANCHORS = Map.ofEntries(
+            Map.entry("USD", 1.0), Map.entry("EUR", 0.92), Map.entry("JPY", 150.0), Map.entry("GBP", 0.79),
+            Map.entry("CNY", 7.2), Map.entry("AUD", 1.52), Map.entry("CAD", 1.36), Map.entry("CHF", 0.88),
+            Map.entry("HKD", 7.8), Map.entry("SGD", 1.34), Map.entry("SEK", 10.5), Map.entry("KRW", 1350.0),
+            Map.entry("NOK", 10.6), Map.entry("NZD", 1.65), Map.entry("INR", 83.5), Map.entry("MXN", 17.5),
+            Map.entry("TWD", 32.0), Map.entry("ZAR", 18.5), Map.entry("BRL", 5.1), Map.entry("DKK", 6.9),
+            Map.entry("PLN", 4.0), Map.entry("THB", 36.0), Map.entry("ILS", 3.7), Map.entry("IDR", 16000.0),
+            Map.entry("CZK", 23.0), Map.entry("AED", 3.6725), Map.entry("TRY", 32.0), Map.entry("HUF", 360.0),
+            Map.entry("CLP", 930.0), Map.entry("SAR", 3.75), Map.entry("PHP", 57.0), Map.entry("MYR", 4.7),
+            Map.entry("COP", 3900.0), Map.entry("RUB", 92.0), Map.entry("RON", 4.6), Map.entry("PEN", 3.7),
+            Map.entry("BHD", 0.376), Map.entry("BGN", 1.8), Map.entry("ARS", 880.0), Map.entry("KWD", 0.307)
+    );
+
+    private static final int USD = CurrencyCode.parse("USD").index();
+    private static final MathContext PRECISION = new MathContext(6);
+    private static final double YEARLY_SWING = 0.03;
+    private static final double DAILY_WOBBLE = 0.004;
+    private static final double DAYS_PER_YEAR = 365.25;
+
+    private final long seed;
+    private final List<String> currencies;
+    private final Map<String, Integer> positions;
+    private final int[] codeIndexes;
+    private final double[] anchors;
+    private final double[] phases;
+
+    private StubRates(long seed, List<String> currencies) {
+        this.seed = seed;
+        this.currencies = currencies;
+        this.positions = new HashMap<>(currencies.size() * 2);
+        this.codeIndexes = new int[currencies.size()];
+        this.anchors = new double[currencies.size()];
+        this.phases = new double[currencies.size()];
+        for (int i = 0; i < currencies.size(); i++) {
+            String code = currencies.get(i);
+            int codeIndex = CurrencyCode.parse(code).index();
+            positions.put(code, i);
+            codeIndexes[i] = codeIndex;
+            anchors[i] = ANCHORS.getOrDefault(code, Math.pow(10, 4 * unit(seed, codeIndex, -1) - 1));
+            phases[i] = 2 * Math.PI * unit(seed, codeIndex, -2);
+        }
+    }
+
+    /**
+     * Returns rates for {@link #DEFAULT_CURRENCIES}.
+     *
+     * @param seed seed of the day-to-day variation
+     * @return rate tables
+     */
+    public static StubRates of(long seed) {
+        return of(seed, DEFAULT_CURRENCIES);
+    }
+
+    /**
+     * Returns rates for the given currencies; currencies without a built-in anchor get one derived
+     * from the seed.
+     *
+     * @param seed seed of the day-to-day variation
+     * @param currencies distinct ISO-4217 codes, in the order responses list them
+     * @return rate tables
+     */
+    public static StubRates of(long seed, Collection<String> currencies) {
+        Objects.requireNonNull(currencies, "currencies");
+        if (currencies.isEmpty()) {
+            throw new IllegalArgumentException("currencies must not be empty");
+        }
+        List<String> normalized = currencies.stream().map(code -> CurrencyCode.parse(code).code()).toList();
+        if (normalized.stream().distinct().count() != normalized.size()) {
+            throw new IllegalArgumentException("currencies must be distinct: " + normalized);
+        }
+        return new StubRates(seed, normalized);
+    }
+
+    /**
+     * Returns the seed.
+     *
+     * @return seed of the day-to-day variation
+     */
+    public long seed() {
+        return seed;
+    }
+
+    /**
+     * Returns the quoted currencies.
+     *
+     * @return ISO-4217 codes in response order
+     */
+    public List<String> currencies() {
+        return currencies;
+    }
+
+    /**
+     * Returns whether a currency is quoted.
+     *
+     * @param currencyCode ISO-4217 code, case ignored
+     * @return {@code true} when quoted
+     */
+    public boolean supports(String currencyCode) {
+        int index = CurrencyCode.indexOf(Objects.requireNonNull(currencyCode, "currencyCode"));
+        return index >= 0 && positions.containsKey(CurrencyCode.fromIndex(index).code());
+    }
+
+    /**
+     * Returns the rate of one pair on a date, exactly as the server reports it.
+     *
+     * @param baseCode quoted base ISO-4217 code
+     * @param targetCode quoted target ISO-4217 code
+     * @param date rate date
+     * @return rate rounded to six significant digits, or exactly one when base and target are equal
+     */
+    public BigDecimal rate(String baseCode, String targetCode, LocalDate date) {
+        int base = position(baseCode);
+        int target = position(targetCode);
+        long epochDay = Objects.requireNonNull(date, "date").toEpochDay();
+        return rate(usdValue(base, epochDay), target, epochDay, base == target);
+    }
+
+    /**
+     * Returns the rates of every quoted currency against a base on a date, the base included.
+     *
+     * @param baseCode quoted base ISO-4217 code
+     * @param date rate date
+     * @return rates in {@link #currencies()} order
+     */
+    public Map<String, BigDecimal> rates(String baseCode, LocalDate date) {
+        int base = position(baseCode);
+        long epochDay = Objects.requireNonNull(date, "date").toEpochDay();
+        double baseValue = usdValue(base, epochDay);
+        Map<String, BigDecimal> rates = new LinkedHashMap<>(currencies.size() * 2);
+        for (int i = 0; i < currencies.size(); i++) {
+            rates.put(currencies.get(i), rate(baseValue, i, epochDay, i == base));
+        }
+        return rates;
+    }
+
+    private BigDecimal rate(double baseValue, int target, long epochDay, boolean identity) {
+        if (identity) {
+            return BigDecimal.ONE;
+        }
+        return new BigDecimal(usdValue(target, epochDay) / baseValue, PRECISION).stripTrailingZeros();
+    }
+
+    private int position(String currencyCode) {
+        Integer position = positions.get(CurrencyCode.parse(currencyCode).code());
+        if (position == null) {
+            throw new IllegalArgumentException("Currency not quoted: " + currencyCode);
+        }
+        return position;
+    }
+
+    private double usdValue(int position, long epochDay) {
+        if (codeIndexes[position] == USD) {
+            return 1.0;
+        }
+        double swing = YEARLY_SWING * Math.sin(2 * Math.PI * epochDay / DAYS_PER_YEAR + phases[position]);
+        double wobble = DAILY_WOBBLE * (2 * unit(seed, codeIndexes[position], epochDay) - 1);
+        return anchors[position] * (1 + swing + wobble);
+    }
+
+    /**
+     * Maps the inputs to a uniformly distributed number in {@code [0, 1)} with the SplitMix64 finalizer.
+     */
+    private static double unit(long seed, int codeIndex, long epochDay) {
+        long z = seed + 0x9E3779B97F4A7C15L * (((long) codeIndex << 32) ^ epochDay);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z ^= z >>> 31;
+        return (z >>> 11) * 0x1.0p-53;
+    }
+}
@@ -0,0 +1,153 @@
+package io.github.doma17.exchangerate.stub;
+
+import io.github.doma17.exchangerate.ExchangeRateApiClient;
+import io.github.doma17.exchangerate.ExchangeRateApiOptions;
+import io.github.doma17.exchangerate.RetryPolicy;
+import io.github.doma17.exchangerate.exception.ExchangeRateApiErrorType;
+import io.github.doma17.exchangerate.exception.ExchangeRateApiException;
+import io.github.doma17.exchangerate.model.EnrichedRate;
+import io.github.doma17.exchangerate.model.ExchangeRateSnapshot;
+import io.github.doma17.exchangerate.model.HistoricalRates;
+import io.github.doma17.exchangerate.model.PairRate;
+import io.github.doma17.exchangerate.model.SupportedCurrency;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StubExchangeRateServerTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-03-15T12:00:00Z"), ZoneOffset.UTC);
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 15);
+
+    private StubExchangeRateServer server;
+
+    @AfterEach
+    void stopServer() {
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Test
+    void servesEveryEndpointWithDeterministicRates() {
+        server = StubExchangeRateServer.builder().clock(CLOCK).rates(StubRates.of(7)).start();
+        ExchangeRateApiClient client = new ExchangeRateApiClient(server.options().gzip(true).build());
+        LocalDate date = TODAY.minusDays(30);
+
+        ExchangeRateSnapshot latest = client.getLatestRates("usd");
+        PairRate pair = client.convertPairAmount("EUR", "KRW", new BigDecimal("10"));
+        HistoricalRates history = client.getHistoricalRates("USD", date);
+        HistoricalRates amounts = client.getHistoricalConvertedAmounts("USD", date, new BigDecimal("2"));
+        EnrichedRate enriched = client.getEnrichedRate("USD", "JPY");
+
+        assertThat(latest.lastUpdatedAt()).isEqualTo(Instant.parse("2026-03-15T00:00:01Z"));
+        assertThat(latest.conversionRates()).isEqualTo(server.rates().rates("USD", TODAY));
+        assertThat(latest.conversionRates()).containsEntry("USD", BigDecimal.ONE).hasSize(40);
+        assertThat(pair.conversionRate()).isEqualTo(server.rates().rate("EUR", "KRW", TODAY));
+        assertThat(pair.conversionResult()).isEqualByComparingTo(pair.conversionRate().multiply(BigDecimal.TEN));
+        assertThat(history.date()).isEqualTo(date);
+        assertThat(history.conversionRates()).isEqualTo(server.rates().rates("USD", date));
+        assertThat(amounts.requestedAmount()).isEqualByComparingTo("2");
+        assertThat(amounts.conversionAmounts().get("KRW"))
+                .isEqualByComparingTo(history.conversionRates().get("KRW").multiply(BigDecimal.valueOf(2)));
+        assertThat(enriched.targetData().twoLetterCode()).isEqualTo("JP");
+        assertThat(enriched.targetData().currencyName()).isEqualTo("Japanese Yen");
+        assertThat(client.getSupportedCurrencies()).contains(new SupportedCurrency("KRW", "South Korean Won"));
+        assertThat(client.getQuotaStatus().requestsRemaining()).isEqualTo(Integer.MAX_VALUE);
+        assertThat(server.requestCount()).isEqualTo(7);
+        assertThat(server.requestCount("history")).isEqualTo(2);
+    }
+
+    @Test
+    void answersInvalidRequestsWithApiErrors() {
+        server = StubExchangeRateServer.builder().clock(CLOCK).start();
+        ExchangeRateApiClient client = new ExchangeRateApiClient(server.options().build());
+        ExchangeRateApiClient wrongKey = new ExchangeRateApiClient(
+                ExchangeRateApiOptions.builder("other-key").baseUri(server.baseUri()).build()
+        );
+
+        assertApiError(() -> wrongKey.getLatestRates("USD"), ExchangeRateApiErrorType.INVALID_KEY, 403);
+        assertApiError(() -> client.getLatestRates("XYZ"), ExchangeRateApiErrorType.UNSUPPORTED_CODE, 404);
+        assertApiError(() -> client.getHistoricalRates("USD", TODAY.plusDays(1)), ExchangeRateApiErrorType.NO_DATA_AVAILABLE, 404);
+    }
+
+    @Test
+    void reachesQuotaUntilReset() {
+        server = StubExchangeRateServer.builder().clock(CLOCK).quota(2).start();
+        ExchangeRateApiClient client = new ExchangeRateApiClient(server.options().build());
+
+        client.getLatestRates("USD");
+        client.getPairRate("USD", "EUR");
+
+        assertApiError(() -> client.getLatestRates("USD"), ExchangeRateApiErrorType.QUOTA_REACHED, 429);
+        assertThat(client.getQuotaStatus().requestsRemaining()).isZero();
+        server.resetQuota();
+        assertThat(client.getLatestRates("USD").baseCode()).isEqualTo("USD");
+        assertThat(server.requestsRemaining()).isEqualTo(1);
+    }
+
+    @Test
+    void injectsTypedErrorsAndRetryableServerErrors() {
+        server = StubExchangeRateServer.builder().clock(CLOCK).error(ExchangeRateApiErrorType.UNKNOWN_CODE, 1).start();
+        ExchangeRateApiClient client = new ExchangeRateApiClient(server.options().build());
+        assertApiError(() -> client.getLatestRates("USD"), ExchangeRateApiErrorType.UNKNOWN_CODE, 404);
+        server.close();
+
+        server = StubExchangeRateServer.builder().clock(CLOCK).serverErrorRate(1).start();
+        ExchangeRateApiClient retrying = new ExchangeRateApiClient(server.options()
+                .retryPolicy(RetryPolicy.builder().maxAttempts(3).initialBackoff(Duration.ofMillis(1)).build())
+                .build());
+        assertApiError(() -> retrying.getLatestRates("USD"), ExchangeRateApiErrorType.UNKNOWN_ERROR, 503);
+        assertThat(server.requestCount("latest")).isEqualTo(3);
+    }
+
+    @Test
+    void delaysResponsesWithoutBlockingOtherRequests() {
+        server = StubExchangeRateServer.builder()
+                .clock(CLOCK)
+                .threads(1)
+                .latency("latest", LatencyDistribution.fixed(Duration.ofMillis(200)))
+                .start();
+        ExchangeRateApiClient client = new ExchangeRateApiClient(server.options().build());
+
+        long started = System.nanoTime();
+        CompletableFuture<ExchangeRateSnapshot> slow = client.getLatestRatesAsync("USD");
+        client.getPairRate("USD", "EUR");
+        long pairMillis = Duration.ofNanos(System.nanoTime() - started).toMillis();
+        slow.join();
+        long latestMillis = Duration.ofNanos(System.nanoTime() - started).toMillis();
+
+        assertThat(pairMillis).isLessThan(200);
+        assertThat(latestMillis).isGreaterThanOrEqualTo(200);
+    }
+
+    @Test
+    void rejectsInvalidConfiguration() {
+        assertThatThrownBy(() -> StubExchangeRateServer.builder()
+                .error(ExchangeRateApiErrorType.UNKNOWN_ERROR, 0.6)
+                .serverErrorRate(0.6)
+                .start())
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> StubExchangeRateServer.builder().latency("convert", LatencyDistribution.none()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LatencyDistribution.uniform(Duration.ofMillis(5), Duration.ofMillis(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void assertApiError(Runnable call, ExchangeRateApiErrorType errorType, int statusCode) {
+        assertThatThrownBy(call::run)
+                .isInstanceOfSatisfying(ExchangeRateApiException.class, e -> {
+                    assertThat(e.errorType()).isEqualTo(errorType);
+                    assertThat(e.statusCode()).isEqualTo(statusCode);
+                });
+    }
+}
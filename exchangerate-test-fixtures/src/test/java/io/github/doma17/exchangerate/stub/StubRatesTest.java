@@ -0,0 +1,47 @@
+package io.github.doma17.exchangerate.stub;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class StubRatesTest {
+
+    private static final LocalDate DATE = LocalDate.of(2025, 6, 30);
+
+    @Test
+    void sameSeedYieldsSameRates() {
+        assertThat(StubRates.of(42).rates("EUR", DATE)).isEqualTo(StubRates.of(42).rates("EUR", DATE));
+        assertThat(StubRates.of(42).rates("EUR", DATE)).isNotEqualTo(StubRates.of(43).rates("EUR", DATE));
+        assertThat(StubRates.of(42).rates("EUR", DATE)).isNotEqualTo(StubRates.of(42).rates("EUR", DATE.plusDays(1)));
+    }
+
+    @Test
+    void crossRatesAreConsistentAcrossBases() {
+        StubRates rates = StubRates.of(1);
+
+        BigDecimal eurJpy = rates.rate("EUR", "JPY", DATE);
+        BigDecimal derived = rates.rate("USD", "JPY", DATE).divide(rates.rate("USD", "EUR", DATE), MathContext.DECIMAL64);
+
+        assertThat(eurJpy.doubleValue()).isCloseTo(derived.doubleValue(), within(eurJpy.doubleValue() * 1e-5));
+        assertThat(rates.rate("USD", "KRW", DATE).doubleValue()).isBetween(1300.0, 1400.0);
+        assertThat(rates.rate("JPY", "JPY", DATE)).isEqualTo(BigDecimal.ONE);
+    }
+
+    @Test
+    void quotesCustomCurrenciesInGivenOrder() {
+        StubRates rates = StubRates.of(0, List.of("gbp", "ISK", "USD"));
+
+        assertThat(rates.rates("USD", DATE)).containsOnlyKeys("GBP", "ISK", "USD");
+        assertThat(rates.rates("USD", DATE).keySet()).containsExactly("GBP", "ISK", "USD");
+        assertThat(rates.supports("isk")).isTrue();
+        assertThat(rates.supports("EUR")).isFalse();
+        assertThatThrownBy(() -> rates.rate("USD", "EUR", DATE)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> StubRates.of(0, List.of("USD", "usd"))).isInstanceOf(IllegalArgumentException.class);
+    }
+}
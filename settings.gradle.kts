@@ -2,6 +2,10 @@ rootProject.name = "fx-rates-java-client"
 
 include("fx-rates-core")
 include("fx-rates-spring-boot-starter")
+include("fx-rates-benchmarks")
+include("fx-rates-test-fixtures")
 
 project(":fx-rates-core").projectDir = file("exchangerate-core")
 project(":fx-rates-spring-boot-starter").projectDir = file("exchangerate-spring-boot-starter")
+project(":fx-rates-benchmarks").projectDir = file("exchangerate-benchmarks")
+project(":fx-rates-test-fixtures").projectDir = file("exchangerate-test-fixtures")